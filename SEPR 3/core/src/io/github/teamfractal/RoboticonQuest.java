@@ -13,6 +13,8 @@ import com.badlogic.gdx.utils.Timer;
 import io.github.teamfractal.animation.AnimationCustomHeader;
 import io.github.teamfractal.animation.AnimationPhaseTimeout;
 import io.github.teamfractal.animation.IAnimationFinish;
+import io.github.teamfractal.command.CommandProcessor;
+import io.github.teamfractal.command.EndPhase;
 import io.github.teamfractal.entity.*;
 import io.github.teamfractal.screens.*;
 import io.github.teamfractal.util.*;
@@ -64,6 +66,12 @@ public class RoboticonQuest extends Game {
 	private float effectChance;
 	private int currentPlayerIndex;
 
+	/**
+	 * Whether a phase is currently being started, and how many more phase changes have been asked for since
+	 */
+	private boolean advancingPhase;
+	private int queuedPhases;
+
 	private AnimationCustomHeader playerHeader;
 	private AnimationCustomHeader phase1description;
 	private AnimationCustomHeader phase2description;
@@ -74,6 +82,11 @@ public class RoboticonQuest extends Game {
 	private PlotEffectSource plotEffectSource;
 	private PlayerEffectSource playerEffectSource;
 
+	/**
+	 * Carries out every action taken by the players, whether it comes from the UI or an AI player
+	 */
+	private final CommandProcessor commandProcessor = new CommandProcessor(this);
+
 	public RoboticonQuest() {
 		_instance = this;
 		reset(false);
@@ -197,8 +210,17 @@ public class RoboticonQuest extends Game {
 		this.playerList.add(player2);
         this.currentPlayerIndex = 0;
         this.market = new Market();
+        this.commandProcessor.clearHistory();
 
     }
+
+	/**
+	 * Getter for the command processor, through which all of the players' actions are carried out
+	 * @return The game's command processor
+	 */
+	public CommandProcessor getCommandProcessor() {
+		return commandProcessor;
+	}
 	/**
 	 * Implements the functionality of the current phase
 	 */
@@ -260,15 +282,18 @@ public class RoboticonQuest extends Game {
                 this.getPlayer().generateResources();
 				this.market.generateRoboticon();
 				this.roboticonMarket.actors().refreshRoboticonShop();
-                Timer timer = new Timer();
-                timer.scheduleTask(new Timer.Task() {
-                    @Override
-                    public void run() {
-						nextPhase();
-                        //This check is needed to stop any future phases from being cut short by accident
-                    }
-                }, 3);
-                timer.start();
+				if (!commandProcessor.isReplaying()) {
+					Timer timer = new Timer();
+					timer.scheduleTask(new Timer.Task() {
+						@Override
+						public void run() {
+							commandProcessor.execute(new EndPhase());
+							//This check is needed to stop any future phases from being cut short by accident
+						}
+					}, 3);
+					timer.start();
+				}
+				//A replay already holds the end of this phase
 
 				gameScreen.getActors().switchNextButton();
                 break;
@@ -349,20 +374,40 @@ public class RoboticonQuest extends Game {
 	}
 	/**
 	 * Advances the current phase
+	 * If this is called while a phase is being started (as the AI player does when it ends its turn), the request is
+	 * queued and carried out once the current phase has finished starting, rather than starting the next phase
+	 * inside the current one: this stops the stack from growing with every phase the AI plays
 	 */
 	public void nextPhase() {
         if ((phase == 1) && (landBoughtThisTurn == 0) && (this.getPlayer().getMoney() >= 10)) {
             return;
         }
-        phase += 1;
-        implementPhase();
+
+		queuedPhases ++;
+		if (advancingPhase) {
+			return;
+		}
+
+		advancingPhase = true;
+		try {
+			while (queuedPhases > 0) {
+				queuedPhases --;
+				phase += 1;
+				implementPhase();
+			}
+		} finally {
+			advancingPhase = false;
+			queuedPhases = 0;
+		}
 	}
 
 	/**
 	 * Event callback on player bought a {@link io.github.teamfractal.entity.LandPlot}
+	 * @param plot The plot that was bought
 	 */
-	public void landPurchasedThisTurn() {
+	public void landPurchasedThisTurn(LandPlot plot) {
 		landBoughtThisTurn ++;
+		plotManager.plotClaimed(plot);
 	}
 	/**
 	 * Getter for landBoughtThisTurn
@@ -502,16 +547,7 @@ public class RoboticonQuest extends Game {
 	 * @return Returns true if ended, false if not
 	 */
     private boolean checkGameEnded() {
-        boolean ended = true;
-		LandPlot[][] plots = plotManager.getLandPlots();
-        for (LandPlot[] plot : plots) {
-            for (LandPlot aPlot : plot) {
-                if (aPlot == null) {
-					ended = false;
-                }
-            }
-        }
-        return ended;
+        return plotManager.allPlotsOwned();
 	}
 
 	/**
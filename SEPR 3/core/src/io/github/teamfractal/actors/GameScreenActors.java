@@ -15,7 +15,6 @@ package io.github.teamfractal.actors;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
@@ -26,6 +25,11 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.command.BuyPlot;
+import io.github.teamfractal.command.CommandListener;
+import io.github.teamfractal.command.EndPhase;
+import io.github.teamfractal.command.GameCommand;
+import io.github.teamfractal.command.Install;
 import io.github.teamfractal.entity.LandPlot;
 import io.github.teamfractal.entity.Player;
 import io.github.teamfractal.entity.Roboticon;
@@ -71,6 +75,15 @@ public class GameScreenActors {
 		this.game = game;
 		this.screen = screen;
 		this.stage = screen.getStage();
+
+		game.getCommandProcessor().addListener(new CommandListener() {
+			@Override
+			public void commandExecuted(GameCommand command, boolean succeeded) {
+				if (succeeded) {
+					showCommand(command);
+				}
+			}
+		});
 	}
 
 	/**
@@ -363,12 +376,7 @@ public class GameScreenActors {
 			return;
 		}
 
-		Player player = game.getPlayer();
-		if (player.purchaseLandPlot(selectedPlot)) {
-			TiledMapTileLayer.Cell playerTile = selectedPlot.getPlayerTile();
-			playerTile.setTile(screen.getPlayerTile(player));
-			textUpdate();
-
+		if (game.getCommandProcessor().execute(new BuyPlot(selectedPlot.getX(), selectedPlot.getY()))) {
 			nextButton.setVisible(true);
 		}
 	}
@@ -385,7 +393,7 @@ public class GameScreenActors {
         buyLandPlotBtn.setVisible(false);
         plotStatsTable.setVisible(false);
         hideInstallRoboticon();
-        game.nextPhase();
+        game.getCommandProcessor().execute(new EndPhase());
         installRoboticonSelect.setItems(game.getPlayer().getRoboticonAmountList());
         textUpdate();
     }
@@ -445,12 +453,29 @@ public class GameScreenActors {
 	 * @param roboticon The roboticon that is to be installed
 	 */
 	public void installRoboticonFunction(LandPlot selectedPlot, Roboticon roboticon){
-        selectedPlot.installRoboticon(roboticon);
-        TiledMapTileLayer.Cell roboticonTile = selectedPlot.getRoboticonTile();
-        roboticonTile.setTile(screen.getResourcePlayerTile(selectedPlot.getOwner(),roboticon.getCustomisation()));
-        selectedPlot.setHasRoboticon(true);
+        int index = game.getPlayer().getRoboticons().indexOf(roboticon, true);
+        game.getCommandProcessor().execute(new Install(selectedPlot.getX(), selectedPlot.getY(), index));
     }
 
+	/**
+	 * Shows the effects of a command on the map, whoever issued it
+	 * @param command The command that was carried out
+	 */
+	private void showCommand(GameCommand command) {
+		if (command instanceof BuyPlot) {
+			BuyPlot buyPlot = (BuyPlot) command;
+			LandPlot plot = game.plotManager.getPlot(buyPlot.getX(), buyPlot.getY());
+			plot.getPlayerTile().setTile(screen.getPlayerTile(plot.getOwner()));
+		} else if (command instanceof Install) {
+			Install install = (Install) command;
+			LandPlot plot = game.plotManager.getPlot(install.getX(), install.getY());
+			plot.getRoboticonTile().setTile(screen.getResourcePlayerTile(plot.getOwner(),
+					plot.getInstalledRoboticon().getCustomisation()));
+		}
+
+		textUpdate();
+	}
+
     public void switchNextButton() {
 		nextButton.setVisible(!nextButton.isVisible());
 	}
@@ -23,7 +23,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextField;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import io.github.teamfractal.RoboticonQuest;
-import io.github.teamfractal.entity.enums.PurchaseStatus;
+import io.github.teamfractal.command.EndPhase;
+import io.github.teamfractal.command.Trade;
 import io.github.teamfractal.entity.enums.ResourceType;
 
 /**
@@ -218,7 +219,7 @@ public class ResourceMarketActors extends Table {
         exitButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                game.nextPhase();
+                game.getCommandProcessor().execute(new EndPhase());
             }
         });
         add(exitButton).colspan(2).expandX().width(490);
@@ -244,19 +245,10 @@ public class ResourceMarketActors extends Table {
         adjustableActor.setActionEvent(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                if (buy) {
-                    // Buy from market
-                    if (game.getPlayer().purchaseResourceFromMarket(adjustableActor.getValue(), game.market, resource) == PurchaseStatus.Success) {
-                        game.gameScreen.getActors().textUpdate();
-                        widgetUpdate();
-                    }
-                } else {
-                    // Sell to market
-                    if (adjustableActor.getValue() <= game.getPlayer().getResource(resource)) {
-                        game.getPlayer().sellResourceToMarket(adjustableActor.getValue(), game.market, resource);
-                        game.gameScreen.getActors().textUpdate();
-                        widgetUpdate();
-                    }
+                // Buy from or sell to market
+                if (game.getCommandProcessor().execute(new Trade(resource, adjustableActor.getValue(), buy))) {
+                    game.gameScreen.getActors().textUpdate();
+                    widgetUpdate();
                 }
                 //Set the widget's button up to perform the necessary buying/selling transaction based on the
                 //parameters given to the function
@@ -24,8 +24,10 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.command.Customise;
+import io.github.teamfractal.command.EndPhase;
+import io.github.teamfractal.command.PurchaseRoboticon;
 import io.github.teamfractal.entity.Roboticon;
-import io.github.teamfractal.entity.enums.PurchaseStatus;
 import io.github.teamfractal.entity.enums.ResourceType;
 
 import java.util.ArrayList;
@@ -326,7 +328,7 @@ public class RoboticonMarketActors extends Table {
         exitButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                game.nextPhase();
+                game.getCommandProcessor().execute(new EndPhase());
             }
         });
     }
@@ -380,7 +382,8 @@ public class RoboticonMarketActors extends Table {
      * @param index The position of the currently selected, non-customised roboticon
      */
     public void purchaseCustomisationFunction(ResourceType resource, int index) {
-        if (game.getPlayer().purchaseCustomisationFromMarket(resource, roboticons.get(index), game.market) == PurchaseStatus.Success) {
+        int roboticon = game.getPlayer().getRoboticons().indexOf(roboticons.get(index), true);
+        if (game.getCommandProcessor().execute(new Customise(resource, roboticon))) {
             widgetUpdate();
             //Refresh the customisation area to reflect the new customisation purchase
             game.gameScreen.getActors().textUpdate();
@@ -396,7 +399,7 @@ public class RoboticonMarketActors extends Table {
      * Buys the selected amount of roboticons and places them in the player's inventory
      */
     public void purchaseRoboticonFunction() {
-        if (game.getPlayer().purchaseRoboticonsFromMarket(roboticonPurchaseAmount, game.market) == PurchaseStatus.Success) {
+        if (game.getCommandProcessor().execute(new PurchaseRoboticon(roboticonPurchaseAmount))) {
             if (game.market.getResource(ResourceType.ROBOTICON) == 0) {
                 roboticonPurchaseAmount = 0;
             } else {
@@ -18,6 +18,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.command.EndPhase;
 import io.github.teamfractal.entity.Player;
 import io.github.teamfractal.screens.AbstractAnimationScreen;
 
@@ -118,7 +119,7 @@ public class AnimationPhaseTimeout implements IAnimation {
 	public void callAnimationFinish() {
 		if (continueAnimation()) {
 			callbackDone = true;
-			game.nextPhase();
+			game.getCommandProcessor().execute(new EndPhase());
 
 			if (callback != null)
 				callback.OnAnimationFinish();
@@ -0,0 +1,57 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.entity.LandPlot;
+
+/**
+ * Buys a plot of land during phase 1
+ */
+public class BuyPlot implements GameCommand {
+	private final int x;
+	private final int y;
+
+	/**
+	 * @param x The x index of the plot on the map.
+	 * @param y The y index of the plot on the map.
+	 */
+	public BuyPlot(int x, int y) {
+		this.x = x;
+		this.y = y;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	@Override
+	public boolean execute(RoboticonQuest game) {
+		if (game.getPhase() != 1 || !game.canPurchaseLandThisTurn()) {
+			return false;
+		}
+
+		LandPlot plot = game.plotManager.getPlot(x, y);
+		return plot != null && game.getPlayer().purchaseLandPlot(plot);
+	}
+
+	@Override
+	public String toString() {
+		return "BuyPlot(" + x + ", " + y + ")";
+	}
+}
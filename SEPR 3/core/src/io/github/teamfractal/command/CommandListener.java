@@ -0,0 +1,25 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+/**
+ * Told about every command that's carried out, so that the interface can show its effects
+ */
+public interface CommandListener {
+	/**
+	 * @param command   The command.
+	 * @param succeeded True if the command was carried out, false if it wasn't allowed.
+	 */
+	void commandExecuted(GameCommand command, boolean succeeded);
+}
@@ -0,0 +1,131 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import io.github.teamfractal.RoboticonQuest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Carries out commands against the game and keeps a record of them
+ *
+ * Every action that changes the game (from the UI, an AI player or a phase timer) goes through here, so the whole game
+ * can be played without the interface and the recorded commands can be replayed later on. Commands are recorded
+ * before they're carried out, so that any commands issued while one is being carried out (such as an AI player's turn
+ * starting when the phase is ended) are recorded after it.
+ */
+public class CommandProcessor {
+	private final RoboticonQuest game;
+	private final ArrayList<GameCommand> history;
+	private final ArrayList<CommandListener> listeners;
+	private boolean replaying;
+
+	public CommandProcessor(RoboticonQuest game) {
+		this.game = game;
+		this.history = new ArrayList<GameCommand>();
+		this.listeners = new ArrayList<CommandListener>();
+	}
+
+	/**
+	 * Carries out a command
+	 * Commands issued while a replay is running are ignored, as the replay already holds everything that happened
+	 *
+	 * @param command The command.
+	 * @return True if the command was carried out.
+	 */
+	public boolean execute(GameCommand command) {
+		if (replaying) {
+			return false;
+		}
+
+		return apply(command);
+	}
+
+	/**
+	 * Carries out a batch of commands, one after another
+	 *
+	 * @param commands The commands.
+	 * @return The number of commands that were carried out.
+	 */
+	public int executeBatch(List<GameCommand> commands) {
+		int executed = 0;
+		for (GameCommand command : commands) {
+			if (execute(command)) {
+				executed++;
+			}
+		}
+
+		return executed;
+	}
+
+	/**
+	 * Carries out a recorded list of commands again, on a game in the same state as the one that they were recorded
+	 * from. AI players and phase timers hold off until the replay has finished.
+	 *
+	 * @param commands The commands, as returned by {@link #getHistory()}.
+	 * @return The number of commands that were carried out.
+	 */
+	public int replay(List<GameCommand> commands) {
+		ArrayList<GameCommand> script = new ArrayList<GameCommand>(commands);
+		int executed = 0;
+
+		replaying = true;
+		try {
+			for (GameCommand command : script) {
+				if (apply(command)) {
+					executed++;
+				}
+			}
+		} finally {
+			replaying = false;
+		}
+
+		return executed;
+	}
+
+	/**
+	 * @return True while a replay is running.
+	 */
+	public boolean isReplaying() {
+		return replaying;
+	}
+
+	/**
+	 * @return Every command issued since the history was last cleared, in the order that they were issued.
+	 */
+	public List<GameCommand> getHistory() {
+		return Collections.unmodifiableList(history);
+	}
+
+	public void clearHistory() {
+		history.clear();
+	}
+
+	public void addListener(CommandListener listener) {
+		listeners.add(listener);
+	}
+
+	private boolean apply(GameCommand command) {
+		history.add(command);
+
+		boolean succeeded = command.execute(game);
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).commandExecuted(command, succeeded);
+		}
+
+		return succeeded;
+	}
+}
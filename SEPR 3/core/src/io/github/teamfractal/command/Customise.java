@@ -0,0 +1,58 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import com.badlogic.gdx.utils.Array;
+import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.entity.Roboticon;
+import io.github.teamfractal.entity.enums.PurchaseStatus;
+import io.github.teamfractal.entity.enums.ResourceType;
+
+/**
+ * Buys a customisation for one of the player's roboticons during phase 2
+ * Only roboticons which haven't been installed or customised yet can be customised
+ */
+public class Customise implements GameCommand {
+	private final ResourceType resource;
+	private final int roboticon;
+
+	/**
+	 * @param resource  The resource that the roboticon will be customised to produce.
+	 * @param roboticon The roboticon's index in the player's list of roboticons.
+	 */
+	public Customise(ResourceType resource, int roboticon) {
+		this.resource = resource;
+		this.roboticon = roboticon;
+	}
+
+	@Override
+	public boolean execute(RoboticonQuest game) {
+		Array<Roboticon> roboticons = game.getPlayer().getRoboticons();
+		if (game.getPhase() != 2 || roboticon < 0 || roboticon >= roboticons.size) {
+			return false;
+		}
+
+		Roboticon target = roboticons.get(roboticon);
+		if (target.isInstalled() || target.getCustomisation() != ResourceType.Unknown) {
+			return false;
+		}
+
+		return game.getPlayer().purchaseCustomisationFromMarket(resource, target, game.market) == PurchaseStatus.Success;
+	}
+
+	@Override
+	public String toString() {
+		return "Customise(" + resource + ", " + roboticon + ")";
+	}
+}
@@ -0,0 +1,33 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import io.github.teamfractal.RoboticonQuest;
+
+/**
+ * Ends the current phase
+ * In phase 1 the phase only ends once the player has bought a plot, or can't afford to
+ */
+public class EndPhase implements GameCommand {
+	@Override
+	public boolean execute(RoboticonQuest game) {
+		game.nextPhase();
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "EndPhase";
+	}
+}
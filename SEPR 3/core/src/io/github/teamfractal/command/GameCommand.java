@@ -0,0 +1,33 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import io.github.teamfractal.RoboticonQuest;
+
+/**
+ * An action taken by the current player, carried out directly against the game's state
+ *
+ * Commands only hold the details of the action (plot positions, roboticon indices, amounts) rather than references
+ * to the objects that they act on, so a list of commands can be carried out again later on to replay a game.
+ * Commands are issued through the game's {@link CommandProcessor}, whether they come from the UI or an AI player.
+ */
+public interface GameCommand {
+	/**
+	 * Carries out the command on behalf of the current player
+	 *
+	 * @param game The game to act on
+	 * @return True if the command was carried out, or false if it isn't allowed right now
+	 */
+	boolean execute(RoboticonQuest game);
+}
@@ -0,0 +1,72 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import com.badlogic.gdx.utils.Array;
+import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.entity.LandPlot;
+import io.github.teamfractal.entity.Roboticon;
+
+/**
+ * Installs one of the player's roboticons on a plot that they own during phase 3
+ */
+public class Install implements GameCommand {
+	private final int x;
+	private final int y;
+	private final int roboticon;
+
+	/**
+	 * @param x         The x index of the plot on the map.
+	 * @param y         The y index of the plot on the map.
+	 * @param roboticon The roboticon's index in the player's list of roboticons.
+	 */
+	public Install(int x, int y, int roboticon) {
+		this.x = x;
+		this.y = y;
+		this.roboticon = roboticon;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	@Override
+	public boolean execute(RoboticonQuest game) {
+		Array<Roboticon> roboticons = game.getPlayer().getRoboticons();
+		if (game.getPhase() != 3 || roboticon < 0 || roboticon >= roboticons.size) {
+			return false;
+		}
+
+		LandPlot plot = game.plotManager.getPlot(x, y);
+		if (plot == null || plot.getOwner() != game.getPlayer() || plot.hasRoboticon()) {
+			return false;
+		}
+
+		if (!plot.installRoboticon(roboticons.get(roboticon))) {
+			return false;
+		}
+		plot.setHasRoboticon(true);
+
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "Install(" + x + ", " + y + ", " + roboticon + ")";
+	}
+}
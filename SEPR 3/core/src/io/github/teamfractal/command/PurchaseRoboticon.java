@@ -0,0 +1,78 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import com.badlogic.gdx.utils.Array;
+import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.entity.Player;
+import io.github.teamfractal.entity.Roboticon;
+import io.github.teamfractal.entity.enums.PurchaseStatus;
+import io.github.teamfractal.entity.enums.ResourceType;
+
+/**
+ * Buys roboticons from the market during phase 2
+ * New roboticons are added to the end of the player's list of roboticons, and can be customised as soon as they've
+ * been bought, so that nothing is customised if the purchase fails
+ */
+public class PurchaseRoboticon implements GameCommand {
+	private final int amount;
+	private final ResourceType customisation;
+
+	/**
+	 * @param amount The number of roboticons to buy.
+	 */
+	public PurchaseRoboticon(int amount) {
+		this(amount, ResourceType.Unknown);
+	}
+
+	/**
+	 * @param amount        The number of roboticons to buy.
+	 * @param customisation The resource to customise each of the new roboticons to produce, or Unknown to leave them
+	 *                      uncustomised.
+	 */
+	public PurchaseRoboticon(int amount, ResourceType customisation) {
+		this.amount = amount;
+		this.customisation = customisation;
+	}
+
+	@Override
+	public boolean execute(RoboticonQuest game) {
+		if (game.getPhase() != 2 || amount <= 0) {
+			return false;
+		}
+
+		Player player = game.getPlayer();
+		if (player.purchaseRoboticonsFromMarket(amount, game.market) != PurchaseStatus.Success) {
+			return false;
+		}
+
+		if (customisation != ResourceType.Unknown) {
+			Array<Roboticon> roboticons = player.getRoboticons();
+			for (int i = roboticons.size - amount; i < roboticons.size; i++) {
+				player.purchaseCustomisationFromMarket(customisation, roboticons.get(i), game.market);
+			}
+		}
+		//The roboticons are still bought if some of them can't be customised
+
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		if (customisation == ResourceType.Unknown) {
+			return "PurchaseRoboticon(" + amount + ")";
+		}
+		return "PurchaseRoboticon(" + amount + ", " + customisation + ")";
+	}
+}
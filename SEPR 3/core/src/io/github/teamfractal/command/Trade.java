@@ -0,0 +1,62 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.entity.Player;
+import io.github.teamfractal.entity.enums.PurchaseStatus;
+import io.github.teamfractal.entity.enums.ResourceType;
+
+/**
+ * Buys resources from, or sells them to, the market during phase 5
+ */
+public class Trade implements GameCommand {
+	private final ResourceType resource;
+	private final int amount;
+	private final boolean buy;
+
+	/**
+	 * @param resource The resource to trade.
+	 * @param amount   The amount to trade.
+	 * @param buy      True to buy from the market, false to sell to it.
+	 */
+	public Trade(ResourceType resource, int amount, boolean buy) {
+		this.resource = resource;
+		this.amount = amount;
+		this.buy = buy;
+	}
+
+	@Override
+	public boolean execute(RoboticonQuest game) {
+		if (game.getPhase() != 5 || amount <= 0) {
+			return false;
+		}
+
+		Player player = game.getPlayer();
+		if (buy) {
+			return player.purchaseResourceFromMarket(amount, game.market, resource) == PurchaseStatus.Success;
+		}
+
+		if (player.getResource(resource) < amount) {
+			return false;
+		}
+		player.sellResourceToMarket(amount, game.market, resource);
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "Trade(" + (buy ? "buy " : "sell ") + amount + " " + resource + ")";
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.entity;
+
+/**
+ * The numbers which tune the AI player's trading in phase 5, held as a vector so that they can be tuned
+ * The entries and their defaults match the trading parameters of Assessment 4's AI players
+ */
+public class AIParameters {
+	/**
+	 * Index of the interval: the AI sells on turns which are a multiple of it, and buys on the others
+	 */
+	public static final int SELL_INTERVAL_INDEX = 0;
+
+	/**
+	 * Index of the share of each resource that the AI sells at once
+	 */
+	public static final int SELL_SHARE_INDEX = 1;
+
+	/**
+	 * Index of the units of each resource that the AI buys at once
+	 */
+	public static final int BUY_AMOUNT_INDEX = 2;
+
+	/**
+	 * Index of the stock of a resource that the market must hold more than for the AI to buy from it
+	 */
+	public static final int MARKET_FLOOR_INDEX = 3;
+
+	public static final String[] NAMES = {"sellInterval", "sellShare", "buyAmount", "marketFloor"};
+	private static final double[] DEFAULTS = {2, 0.5, 5, 5};
+	private static final double[] MIN = {1, 0.05, 1, 0};
+	private static final double[] MAX = {6, 1, 10, 20};
+
+	private final double[] values;
+
+	/**
+	 * @param values The parameters, indexed by the constants above; out-of-range values are clamped
+	 */
+	public AIParameters(double[] values) {
+		if (values.length != NAMES.length) {
+			throw new IllegalArgumentException("Expected " + NAMES.length + " AI parameters but got " + values.length);
+		}
+
+		this.values = new double[NAMES.length];
+		for (int i = 0; i < NAMES.length; i++) {
+			this.values[i] = Math.max(MIN[i], Math.min(MAX[i], values[i]));
+		}
+	}
+
+	/**
+	 * @return The parameters that the AI player was first written with: sell half on even turns, and buy 5 of each
+	 * resource that the market has more than 5 of on odd ones
+	 */
+	public static AIParameters defaults() {
+		return new AIParameters(DEFAULTS);
+	}
+
+	public double get(int index) {
+		return values[index];
+	}
+
+	/**
+	 * @return The parameter at the given index, rounded for parameters which count something
+	 */
+	public int round(int index) {
+		return (int) Math.round(values[index]);
+	}
+
+	public double[] toArray() {
+		return values.clone();
+	}
+}
@@ -14,9 +14,16 @@
 package io.github.teamfractal.entity;
 
 import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.command.BuyPlot;
+import io.github.teamfractal.command.EndPhase;
+import io.github.teamfractal.command.GameCommand;
+import io.github.teamfractal.command.Install;
+import io.github.teamfractal.command.PurchaseRoboticon;
+import io.github.teamfractal.command.Trade;
 import io.github.teamfractal.entity.enums.ResourceType;
 
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author Duck Related Team Name
@@ -25,6 +32,11 @@ import java.util.Random;
  */
 public class AIPlayer extends Player {
 
+    /**
+     * Tunes how the AI trades with the market
+     */
+    private AIParameters parameters = AIParameters.defaults();
+
     public AIPlayer(RoboticonQuest game) {
         super(game);
         /*
@@ -36,203 +48,162 @@ public class AIPlayer extends Player {
 
     /**
      * Function calling the AIPlayer to take action.
+     * The AI's actions are worked out from the game's state alone, and then issued as a batch of commands
      *
      */
     public void takeTurn(int phase) {
+        if (game.getCommandProcessor().isReplaying()) {
+            return;
+        }
+        //While a game is being replayed, the AI's recorded commands are replayed rather than new ones being decided on
+
+        List<GameCommand> commands = plan(phase);
+        if (!commands.isEmpty()) {
+            game.getCommandProcessor().executeBatch(commands);
+        }
+    }
+
+    /**
+     * Decides on the AI's actions for a phase, without carrying them out
+     *
+     * @param phase The phase.
+     * @return The commands to issue, ending with the end of the phase, or an empty list if there's nothing to do.
+     */
+    public List<GameCommand> plan(int phase) {
+        ArrayList<GameCommand> commands = new ArrayList<GameCommand>();
+
         switch (phase) {
             case 1:
                 //"Buy Land Plot
                 System.out.println("AI: Phase 1 in progress");
-                phase1();
+                phase1(commands);
                 break;
             case 2:
                 //"Purchase Roboticons
                 System.out.println("AI: Phase 2 in progress");
-                phase2();
+                phase2(commands);
                 break;
             case 3:
                 //Install Roboticons
                 System.out.println("AI: Phase 3 in progress");
-                phase3();
+                phase3(commands);
                 break;
             //Phase 4 not included, no interaction required
             case 5:
                 //Resource Auction
                 System.out.println("AI: Phase 5 in progress");
-                phase5();
+                phase5(commands);
                 break;
             default:
                 // Unknown phase
+                return commands;
         }
-    }
 
-    /**
-     * Utility function to return a random number between 0 and max.
-     * @param max an integer value representing the largest number requested
-     * @return integer random value between 0 and max.
-     */
-    private int random(int max) {
-        Random rand = new Random();
-        return rand.nextInt(max);
+        commands.add(new EndPhase());
+        return commands;
     }
 
     /**
      * Function simulating the Player interaction during Phase 1.
      * <p>
      * Plots cost 10 money.
-     * Only one plot can be purchased.
+     * Only one plot can be purchased, and the AI buys the most valuable one that's still free.
      * </p>
      */
-    private void phase1() {
-
-        boolean selected = false;
-        int x = game.plotManager.x;
-        int y = game.plotManager.y;
-        if (this.getMoney() >= 10) while (!selected) {
-            int i = random(x);
-            int j = random(y);
-            if (!game.plotManager.getPlot(i, j).hasOwner()) {
-                selected = true;
-                game.gameScreen.setSelectedPlot(game.plotManager.getPlot(i, j));
-                game.gameScreen.getActors().tileClicked(game.plotManager.getPlot(i, j), (float) i, (float) j);
-                game.gameScreen.getActors().buyLandPlotFunction();
+    private void phase1(List<GameCommand> commands) {
+        if (this.getMoney() >= 10) {
+            LandPlot plot = game.plotManager.getBestFreePlot();
+            if (plot != null) {
+                commands.add(new BuyPlot(plot.getX(), plot.getY()));
             }
-
-            game.gameScreen.getActors().nextButtonFunction();
         }
     }
 
     /**
      * Function simulating the Player interaction during Phase 2.
+     * <p>
+     * Buys a roboticon for each plot that doesn't have one, customised for the resource that the plot yields most of.
+     * Each roboticon is customised by the command that buys it, so a purchase that fails never leaves a customisation
+     * aimed at the wrong roboticon.
+     * </p>
      */
-    private void phase2() {
-        boolean purchased = false;
-        int robotIndex = 0;
-
-        try {
-            for (LandPlot aLandList : this.landList) {
-                if (!aLandList.hasRoboticon()) {
-                    int[] resources = {aLandList.getResource(ResourceType.ORE), aLandList.getResource(ResourceType.FOOD), aLandList.getResource(ResourceType.ENERGY)};
-                    int max = 0;
-                    int max_index = -1; //Initialise to index not used to not return false positives
-                    for (int j = 0; j < resources.length; j++) {
-                        if (resources[j] > max) {
-                            max = resources[j];
-                            max_index = j;
-                        }
-                    }
-                    System.out.println(max_index);
-                    switch (max_index) {
-
-                        case 0:
-                            //ORE
-                            game.roboticonMarket.actors().purchaseRoboticonFunction();
-                            try {
-                                game.roboticonMarket.actors().purchaseCustomisationFunction(ResourceType.ORE, robotIndex);
-                            } catch (IndexOutOfBoundsException e) {
-                                break;
-                            }
-                            break;
-                        case 1:
-                            //FOOD
-                            game.roboticonMarket.actors().purchaseRoboticonFunction();
-                            try {
-                                game.roboticonMarket.actors().purchaseCustomisationFunction(ResourceType.FOOD, robotIndex);
-                            } catch (IndexOutOfBoundsException e) {
-                                break;
-                            }
-                            break;
-                        case 2:
-                            //ENERGY
-                            game.roboticonMarket.actors().purchaseRoboticonFunction();
-                            try {
-                                game.roboticonMarket.actors().purchaseCustomisationFunction(ResourceType.ENERGY, robotIndex);
-                            } catch (IndexOutOfBoundsException e) {
-                                break;
-                            }
-                            break;
-                        default:
-
+    private void phase2(List<GameCommand> commands) {
+        for (LandPlot aLandList : this.landList) {
+            if (!aLandList.hasRoboticon()) {
+                int[] resources = {aLandList.getResource(ResourceType.ORE), aLandList.getResource(ResourceType.FOOD), aLandList.getResource(ResourceType.ENERGY)};
+                ResourceType[] types = {ResourceType.ORE, ResourceType.FOOD, ResourceType.ENERGY};
+                int max = 0;
+                int max_index = -1; //Initialise to index not used to not return false positives
+                for (int j = 0; j < resources.length; j++) {
+                    if (resources[j] > max) {
+                        max = resources[j];
+                        max_index = j;
                     }
+                }
 
+                if (max_index >= 0) {
+                    commands.add(new PurchaseRoboticon(1, types[max_index]));
                 }
             }
-            game.nextPhase();
-
-        } finally {
-            game.nextPhase();
         }
-
-
     }
 
     /**
      * Function simulating the Player interaction during Phase 3.
+     * <p>
+     * Installs one uninstalled roboticon on each plot that doesn't have one.
+     * </p>
      */
-    private void phase3() {
+    private void phase3(List<GameCommand> commands) {
+        int robotIndex = 0;
+
         for (LandPlot aLandPlot : this.landList) {
             if (!aLandPlot.hasRoboticon()) {
-                for (Roboticon aRoboticon: this.roboticonList
-                     ) { if (!aRoboticon.isInstalled()){
-                        game.gameScreen.getActors().installRoboticonFunction(aLandPlot,aRoboticon);
+                while (robotIndex < this.roboticonList.size && this.roboticonList.get(robotIndex).isInstalled()) {
+                    robotIndex++;
                 }
-
+                if (robotIndex == this.roboticonList.size) {
+                    break;
                 }
-            }
 
+                commands.add(new Install(aLandPlot.getX(), aLandPlot.getY(), robotIndex));
+                robotIndex++;
             }
-        game.gameScreen.getActors().nextButtonFunction();
+        }
     }
-    
 
     /**
      * Function simulating the Player interaction during Phase 5.
+     * <p>
+     * On turns which are a multiple of the sell interval, a share of each resource is sold; on the other turns a
+     * fixed amount of each resource is bought, as long as the market has enough of it.
+     * </p>
      */
-    private void phase5() {
-        if (game.getTurnNumber() % 2 == 0) {
-            if (this.getEnergy() > 1) {
-                sellResources(ResourceType.ENERGY, this.getEnergy() / 2);
-            }
-            if (this.getFood() > 1) {
-                sellResources(ResourceType.FOOD, this.getFood() / 2);
-            }
-            if (this.getOre() > 1) {
-                sellResources(ResourceType.ORE, this.getOre() / 2);
+    private void phase5(List<GameCommand> commands) {
+        if (game.getTurnNumber() % parameters.round(AIParameters.SELL_INTERVAL_INDEX) == 0) {
+            ResourceType[] sold = {ResourceType.ENERGY, ResourceType.FOOD, ResourceType.ORE};
+            for (ResourceType type : sold) {
+                int amount = (int) (this.getResource(type) * parameters.get(AIParameters.SELL_SHARE_INDEX));
+                if (this.getResource(type) > 1 && amount > 0) {
+                    commands.add(new Trade(type, amount, false));
+                }
             }
         } else {
-            if (game.market.getEnergy() > 5) {
-                buyResources(ResourceType.ENERGY);
-            }
-            if (game.market.getOre() > 5) {
-                buyResources(ResourceType.ORE);
-            }
-            if (game.market.getFood() > 5) {
-                buyResources(ResourceType.FOOD);
+            ResourceType[] bought = {ResourceType.ENERGY, ResourceType.ORE, ResourceType.FOOD};
+            int amount = parameters.round(AIParameters.BUY_AMOUNT_INDEX);
+            for (ResourceType type : bought) {
+                if (game.market.getResource(type) > parameters.round(AIParameters.MARKET_FLOOR_INDEX)) {
+                    commands.add(new Trade(type, amount, true));
+                }
             }
         }
-
-
-        game.nextPhase();
     }
 
-    /***
-     * Utility function for AI to sell resources to market
-     * @param type The resource to sell
-     * @param amount The amount of resources to be sold
-     */
-    private void sellResources(ResourceType type, int amount) {
-        this.sellResourceToMarket(amount, game.market, type);
-        System.out.println("Selling: " + amount + " " + type);
+    public AIParameters getParameters() {
+        return parameters;
     }
 
-    /**
-     * Utility function for AI to buy resources from market
-     *
-     * @param type The resource to buy
-     */
-    private void buyResources(ResourceType type) {
-        this.purchaseResourceFromMarket(5, game.market, type);
-        System.out.println("Buying: 5 " + type);
+    public void setParameters(AIParameters parameters) {
+        this.parameters = parameters;
     }
-
 }
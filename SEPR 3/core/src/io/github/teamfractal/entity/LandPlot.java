@@ -211,6 +211,13 @@ public class LandPlot {
 	public boolean hasRoboticon(){
 		return this.hasRoboticon;
 	}
+	/**
+	 * Getter for the roboticon installed on the tile
+	 * @return The installed roboticon, or null if there isn't one
+	 */
+	public Roboticon getInstalledRoboticon() {
+		return this.installedRoboticon;
+	}
 	/**
 	 * Setter for hasRoboticon
 	 * @param roboticonInstalled The boolean that hasRoboticon is to be changed to
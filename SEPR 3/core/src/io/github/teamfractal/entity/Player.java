@@ -277,7 +277,7 @@ public class Player {
 		landList.add(plot);
 		this.setMoney(this.getMoney() - 10);
 		plot.setOwner(this);
-		game.landPurchasedThisTurn();
+		game.landPurchasedThisTurn(plot);
 		return true;
 	}
 	
@@ -0,0 +1,248 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.util;
+
+import java.util.BitSet;
+
+/**
+ * Keeps track of which plots on the map are still free, and of which free plots are worth the most
+ *
+ * Plots are numbered [x * height + y]. Free plots are recorded in a bitset, and are also held in an indexed max-heap
+ * keyed on their value, so the most valuable free plot can be found straight away and claims and changes in value
+ * only cost O(log n).
+ *
+ * A plot's value is the sum of its yields (which already reflect its terrain) plus a share of the average yields of
+ * the plots next to it, so that ties are broken in favour of the more productive parts of the map.
+ */
+public class PlotIndex {
+	/**
+	 * Share of the neighbouring plots' average yields that's added to a plot's value
+	 */
+	public static final double ADJACENCY_WEIGHT = 0.25;
+
+	private final int width;
+	private final int height;
+	private final int plotCount;
+
+	/**
+	 * The plots' yields of ore, energy and food, indexed as [plot * 3 + resource]
+	 */
+	private final int[] yields;
+	private final double[] values;
+
+	private final BitSet free;
+
+	/**
+	 * The free plots, arranged as a binary max-heap on their values
+	 */
+	private final int[] heap;
+
+	/**
+	 * The position of each plot in the heap, or -1 if it has been claimed
+	 */
+	private final int[] position;
+	private int size;
+
+	/**
+	 * Constructs an index over a map with every plot free and yielding nothing
+	 *
+	 * @param width  The width of the map
+	 * @param height The height of the map
+	 */
+	public PlotIndex(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.plotCount = width * height;
+
+		yields = new int[plotCount * 3];
+		values = new double[plotCount];
+		free = new BitSet(plotCount);
+		free.set(0, plotCount);
+
+		heap = new int[plotCount];
+		position = new int[plotCount];
+		for (int p = 0; p < plotCount; p++) {
+			heap[p] = p;
+			position[p] = p;
+		}
+		size = plotCount;
+	}
+
+	/**
+	 * @return The number that the plot at the given position is known by in this index
+	 */
+	public int plotAt(int x, int y) {
+		return x * height + y;
+	}
+
+	public int xOf(int plot) {
+		return plot / height;
+	}
+
+	public int yOf(int plot) {
+		return plot % height;
+	}
+
+	/**
+	 * Records a plot's yields, updating its value and those of its neighbours
+	 *
+	 * @param plot The plot's number
+	 */
+	public void setYields(int plot, int ore, int energy, int food) {
+		yields[plot * 3] = ore;
+		yields[plot * 3 + 1] = energy;
+		yields[plot * 3 + 2] = food;
+
+		revalue(plot);
+
+		int x = xOf(plot);
+		int y = yOf(plot);
+		if (x > 0) revalue(plot - height);
+		if (x < width - 1) revalue(plot + height);
+		if (y > 0) revalue(plot - 1);
+		if (y < height - 1) revalue(plot + 1);
+	}
+
+	/**
+	 * Marks a plot as claimed, taking it out of the running for the most valuable free plot
+	 *
+	 * @param plot The plot's number
+	 * @return True if the plot was free until now
+	 */
+	public boolean claim(int plot) {
+		if (!free.get(plot)) {
+			return false;
+		}
+
+		free.clear(plot);
+
+		int at = position[plot];
+		size--;
+		if (at != size) {
+			place(heap[size], at);
+			siftUp(at);
+			siftDown(position[heap[at]]);
+		}
+		position[plot] = -1;
+
+		return true;
+	}
+
+	public boolean isFree(int plot) {
+		return free.get(plot);
+	}
+
+	/**
+	 * @return True if every plot has been claimed
+	 */
+	public boolean isFull() {
+		return size == 0;
+	}
+
+	public int freeCount() {
+		return size;
+	}
+
+	public double value(int plot) {
+		return values[plot];
+	}
+
+	/**
+	 * @return The number of the most valuable free plot, or -1 if every plot has been claimed
+	 */
+	public int best() {
+		return (size == 0) ? -1 : heap[0];
+	}
+
+	/**
+	 * Works out a plot's value again, moving it within the heap if it's still free
+	 */
+	private void revalue(int plot) {
+		double neighbours = 0;
+		int count = 0;
+
+		int x = xOf(plot);
+		int y = yOf(plot);
+		if (x > 0) {
+			neighbours += total(plot - height);
+			count++;
+		}
+		if (x < width - 1) {
+			neighbours += total(plot + height);
+			count++;
+		}
+		if (y > 0) {
+			neighbours += total(plot - 1);
+			count++;
+		}
+		if (y < height - 1) {
+			neighbours += total(plot + 1);
+			count++;
+		}
+
+		double value = total(plot) + ((count == 0) ? 0 : ADJACENCY_WEIGHT * neighbours / count);
+		double old = values[plot];
+		values[plot] = value;
+
+		if (position[plot] >= 0) {
+			if (value > old) {
+				siftUp(position[plot]);
+			} else {
+				siftDown(position[plot]);
+			}
+		}
+	}
+
+	private int total(int plot) {
+		return yields[plot * 3] + yields[plot * 3 + 1] + yields[plot * 3 + 2];
+	}
+
+	private void siftUp(int at) {
+		int plot = heap[at];
+
+		while (at > 0) {
+			int parent = (at - 1) / 2;
+			if (values[heap[parent]] >= values[plot]) {
+				break;
+			}
+			place(heap[parent], at);
+			at = parent;
+		}
+
+		place(plot, at);
+	}
+
+	private void siftDown(int at) {
+		int plot = heap[at];
+
+		while (at * 2 + 1 < size) {
+			int child = at * 2 + 1;
+			if (child + 1 < size && values[heap[child + 1]] > values[heap[child]]) {
+				child++;
+			}
+			if (values[heap[child]] <= values[plot]) {
+				break;
+			}
+			place(heap[child], at);
+			at = child;
+		}
+
+		place(plot, at);
+	}
+
+	private void place(int plot, int at) {
+		heap[at] = plot;
+		position[plot] = at;
+	}
+}
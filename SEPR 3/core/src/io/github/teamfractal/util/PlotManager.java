@@ -25,6 +25,7 @@ public class PlotManager {
     public int x;
     public int y;
     private LandPlot[][] plots;
+	private PlotIndex index;
 	private TiledMapTileSets tiles;
 	private TiledMapTileLayer mapLayer;
 	private TiledMapTileLayer playerOverlay;
@@ -66,6 +67,18 @@ public class PlotManager {
 
         this.plots = new LandPlot[x][y];
 
+		this.index = new PlotIndex(x, y);
+		for (int i = 0; i < x; i++) {
+			for (int j = 0; j < y; j++) {
+				if (mapLayer.getCell(i, j) == null) {
+					index.claim(index.plotAt(i, j));
+					//There's no plot here to claim
+				} else {
+					createLandPlot(i, j);
+				}
+			}
+		}
+		//Create every plot up front so that they can all be valued
     }
 
 	/**
@@ -80,7 +93,7 @@ public class PlotManager {
 
 		// Lazy load
 		LandPlot p = this.plots[x][y];
-		if (p == null) {
+		if (p == null && mapLayer.getCell(x, y) != null) {
 			p = createLandPlot(x, y);
 		}
 
@@ -136,9 +149,40 @@ public class PlotManager {
 		LandPlot p = new LandPlot(ore, energy, food);
 		p.setupTile(this, x, y);
 		this.plots[x][y] = p;
+		index.setYields(index.plotAt(x, y), ore, energy, food);
 		return p;
 	}
 
+	/**
+	 * Get the most valuable {@link LandPlot} that nobody owns yet.
+	 * @return    The plot, or null if every plot is owned.
+	 */
+	public LandPlot getBestFreePlot() {
+		int best = index.best();
+		if (best < 0) {
+			return null;
+		}
+
+		return getPlot(index.xOf(best), index.yOf(best));
+	}
+
+	/**
+	 * Event callback on a {@link LandPlot} being bought, so that it's no longer counted as free.
+	 * @param plot   The plot that was bought.
+	 */
+	public void plotClaimed(LandPlot plot) {
+		if (index != null) {
+			index.claim(index.plotAt(plot.getX(), plot.getY()));
+		}
+	}
+
+	/**
+	 * @return    True if every plot on the map has been bought.
+	 */
+	public boolean allPlotsOwned() {
+		return index != null && index.isFull();
+	}
+
 	public TiledMapTileLayer getMapLayer() {
 		return mapLayer;
 	}
@@ -0,0 +1,210 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.command;
+
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import io.github.teamfractal.RoboticonQuest;
+import io.github.teamfractal.TesterFile;
+import io.github.teamfractal.entity.AIPlayer;
+import io.github.teamfractal.entity.LandPlot;
+import io.github.teamfractal.entity.Player;
+import io.github.teamfractal.entity.enums.ResourceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link CommandProcessor} and the commands, played without any of the game's screens
+ */
+public class CommandProcessorTest extends TesterFile {
+	private HeadlessGame game;
+
+	/**
+	 * A game which moves through the phases without starting any of them, as starting a phase needs the screens
+	 */
+	private static class HeadlessGame extends RoboticonQuest {
+		int phase = 1;
+
+		HeadlessGame(boolean ai) {
+			reset(ai);
+			plotManager.setup(new TiledMapTileSets(), map(3, 3));
+		}
+
+		@Override
+		public int getPhase() {
+			return phase;
+		}
+
+		@Override
+		public void nextPhase() {
+			phase++;
+		}
+	}
+
+	private static MapLayers map(int width, int height) {
+		MapLayers layers = new MapLayers();
+		TiledMapTileLayer mapData = new TiledMapTileLayer(width, height, 1, 1);
+		TiledMapTileLayer playerOverlay = new TiledMapTileLayer(width, height, 1, 1);
+		TiledMapTileLayer roboticonOverlay = new TiledMapTileLayer(width, height, 1, 1);
+		mapData.setName("MapData");
+		playerOverlay.setName("PlayerOverlay");
+		roboticonOverlay.setName("RoboticonOverlay");
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				mapData.setCell(x, y, new TiledMapTileLayer.Cell());
+			}
+		}
+
+		layers.add(mapData);
+		layers.add(playerOverlay);
+		layers.add(roboticonOverlay);
+		return layers;
+	}
+
+	@Before
+	public void setUp() {
+		game = new HeadlessGame(false);
+	}
+
+	@Test
+	public void commandsShouldActForTheCurrentPlayer() {
+		Player player = game.getPlayer();
+		CommandProcessor commands = game.getCommandProcessor();
+
+		assertTrue(commands.execute(new BuyPlot(1, 1)));
+		assertEquals(player, game.plotManager.getPlot(1, 1).getOwner());
+		assertEquals(90, player.getMoney());
+
+		//Only one plot can be bought each turn
+		assertFalse(commands.execute(new BuyPlot(2, 2)));
+		assertFalse(game.plotManager.getPlot(2, 2).hasOwner());
+	}
+
+	@Test
+	public void commandsShouldOnlyWorkInTheirPhase() {
+		Player player = game.getPlayer();
+		CommandProcessor commands = game.getCommandProcessor();
+
+		assertFalse(commands.execute(new PurchaseRoboticon(1)));
+		assertTrue(commands.execute(new BuyPlot(0, 0)));
+		assertTrue(commands.execute(new EndPhase()));
+
+		assertTrue(commands.execute(new PurchaseRoboticon(1)));
+		assertTrue(commands.execute(new Customise(ResourceType.ORE, 0)));
+		assertEquals(ResourceType.ORE, player.getRoboticons().get(0).getCustomisation());
+		//Roboticons can only be customised once
+		assertFalse(commands.execute(new Customise(ResourceType.FOOD, 0)));
+		assertFalse(commands.execute(new Install(0, 0, 0)));
+		assertTrue(commands.execute(new EndPhase()));
+
+		//Roboticons can only be installed on the player's own plots
+		assertFalse(commands.execute(new Install(1, 1, 0)));
+		assertTrue(commands.execute(new Install(0, 0, 0)));
+		assertTrue(game.plotManager.getPlot(0, 0).hasRoboticon());
+		assertFalse(commands.execute(new Trade(ResourceType.ORE, 1, true)));
+	}
+
+	@Test
+	public void historyShouldReplayOntoANewGame() {
+		CommandProcessor commands = game.getCommandProcessor();
+		commands.execute(new BuyPlot(2, 1));
+		commands.execute(new EndPhase());
+		commands.execute(new PurchaseRoboticon(2));
+		commands.execute(new Customise(ResourceType.ENERGY, 1));
+		commands.execute(new EndPhase());
+		commands.execute(new Install(2, 1, 1));
+
+		List<GameCommand> history = commands.getHistory();
+		assertEquals(6, history.size());
+
+		HeadlessGame copy = new HeadlessGame(false);
+		assertEquals(6, copy.getCommandProcessor().replay(history));
+
+		Player original = game.getPlayer();
+		Player replayed = copy.getPlayer();
+		assertEquals(original.getMoney(), replayed.getMoney());
+		assertEquals(original.getRoboticons().size, replayed.getRoboticons().size);
+		assertEquals(ResourceType.ENERGY, replayed.getRoboticons().get(1).getCustomisation());
+
+		LandPlot plot = copy.plotManager.getPlot(2, 1);
+		assertEquals(replayed, plot.getOwner());
+		assertSame(replayed.getRoboticons().get(1), plot.getInstalledRoboticon());
+	}
+
+	@Test
+	public void aiShouldPlayThroughCommands() {
+		HeadlessGame aiGame = new HeadlessGame(true);
+		AIPlayer ai = (AIPlayer) aiGame.getPlayer();
+		LandPlot best = aiGame.plotManager.getBestFreePlot();
+
+		//Planning a phase doesn't change the game
+		List<GameCommand> plan = ai.plan(1);
+		assertEquals(2, plan.size());
+		assertFalse(best.hasOwner());
+
+		ai.takeTurn(1);
+		assertEquals(ai, best.getOwner());
+		assertEquals(2, aiGame.getPhase());
+
+		ai.takeTurn(2);
+		ai.takeTurn(3);
+		assertTrue(best.hasRoboticon());
+		assertEquals(4, aiGame.getPhase());
+		assertEquals(6, aiGame.getCommandProcessor().getHistory().size());
+	}
+
+	@Test
+	public void aiShouldOnlyCustomiseRoboticonsThatItBought() {
+		HeadlessGame aiGame = new HeadlessGame(true);
+		AIPlayer ai = (AIPlayer) aiGame.getPlayer();
+		ai.takeTurn(1);
+
+		//A failed purchase mustn't leave a customisation waiting for a roboticon that was never bought
+		int money = ai.getMoney();
+		ai.setMoney(0);
+		ai.takeTurn(2);
+		assertEquals(0, ai.getRoboticons().size);
+		assertEquals(3, aiGame.getPhase());
+
+		aiGame.phase = 2;
+		ai.setMoney(money);
+		ai.takeTurn(2);
+		assertEquals(1, ai.getRoboticons().size);
+		assertNotEquals(ResourceType.Unknown, ai.getRoboticons().get(0).getCustomisation());
+	}
+
+	@Test
+	public void purchasesShouldCustomiseOnlyTheNewRoboticons() {
+		Player player = game.getPlayer();
+		CommandProcessor commands = game.getCommandProcessor();
+		game.phase = 2;
+
+		assertTrue(commands.execute(new PurchaseRoboticon(1)));
+		assertTrue(commands.execute(new PurchaseRoboticon(2, ResourceType.FOOD)));
+		assertEquals(3, player.getRoboticons().size);
+		assertEquals(ResourceType.Unknown, player.getRoboticons().get(0).getCustomisation());
+		assertEquals(ResourceType.FOOD, player.getRoboticons().get(1).getCustomisation());
+		assertEquals(ResourceType.FOOD, player.getRoboticons().get(2).getCustomisation());
+
+		player.setMoney(0);
+		assertFalse(commands.execute(new PurchaseRoboticon(1, ResourceType.ORE)));
+		assertEquals(3, player.getRoboticons().size);
+	}
+}
@@ -0,0 +1,365 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.entity;
+
+import io.github.teamfractal.entity.enums.PurchaseStatus;
+import io.github.teamfractal.entity.enums.ResourceType;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Headless benchmark for the Assessment 3 market
+ *
+ * Replays a recorded trade workload against fresh copies of the market and reports throughput, latency percentiles
+ * and the memory allocated per operation. Identical harnesses live in the Assessment 2 and Assessment 4 test trees;
+ * they generate the same workload from the same seed and read and write the same workload files, so recording a
+ * workload with one of them and replaying it through all three gives directly comparable figures.
+ *
+ * Usage: MarketBenchmark [--ops N] [--seed S] [--warmup N] [--passes N] [--record FILE] [--replay FILE]
+ */
+public class MarketBenchmark {
+
+	public static final String NAME = "SEPR 3 io.github.teamfractal.entity.Market";
+
+	/**
+	 * Resources that the workloads trade in, in the order used by workload files
+	 */
+	public static final String[] RESOURCES = {"ORE", "FOOD", "ENERGY", "ROBOTICON"};
+
+	private static final ResourceType[] TYPES = {
+			ResourceType.ORE, ResourceType.FOOD, ResourceType.ENERGY, ResourceType.ROBOTICON
+	};
+
+	public static final int PLAYERS = 4;
+	public static final int STARTING_MONEY = 1000000;
+	public static final int STARTING_RESOURCES = 100000;
+
+	/**
+	 * A recorded sequence of market operations, held in flat arrays so that replaying it doesn't allocate
+	 */
+	public static class Workload {
+		public final int[] player;
+		public final boolean[] buy;
+		public final int[] resource;
+		public final int[] quantity;
+
+		public Workload(int size) {
+			player = new int[size];
+			buy = new boolean[size];
+			resource = new int[size];
+			quantity = new int[size];
+		}
+
+		public int size() {
+			return player.length;
+		}
+
+		/**
+		 * Generates a workload in which each of the players buys or sells between one and four units of a random
+		 * resource; roboticons are only ever bought
+		 *
+		 * @param seed Seed for the generator; the same seed gives the same workload in every generation's harness
+		 * @param size Number of operations
+		 * @return Workload The generated workload
+		 */
+		public static Workload generate(long seed, int size) {
+			Random random = new Random(seed);
+			Workload workload = new Workload(size);
+
+			for (int i = 0; i < size; i++) {
+				workload.player[i] = random.nextInt(PLAYERS);
+				workload.buy[i] = random.nextBoolean();
+				workload.resource[i] = random.nextInt(workload.buy[i] ? 4 : 3);
+				workload.quantity[i] = (workload.resource[i] == 3) ? 1 : random.nextInt(4) + 1;
+			}
+
+			return workload;
+		}
+
+		/**
+		 * Reads a workload file, made up of one "player BUY|SELL resource quantity" line per operation
+		 * Blank lines and lines starting with # are ignored
+		 */
+		public static Workload read(File file) throws IOException {
+			BufferedReader reader = new BufferedReader(new FileReader(file));
+			List<String> lines = new ArrayList<String>();
+
+			try {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					line = line.trim();
+					if (line.length() > 0 && !line.startsWith("#")) {
+						lines.add(line);
+					}
+				}
+			} finally {
+				reader.close();
+			}
+
+			Workload workload = new Workload(lines.size());
+
+			for (int i = 0; i < lines.size(); i++) {
+				String[] fields = lines.get(i).split("\\s+");
+				if (fields.length != 4) {
+					throw new IOException("Error: Malformed workload line: " + lines.get(i));
+				}
+
+				workload.player[i] = Integer.parseInt(fields[0]);
+				workload.buy[i] = "BUY".equals(fields[1]);
+				workload.resource[i] = Arrays.asList(RESOURCES).indexOf(fields[2]);
+				workload.quantity[i] = Integer.parseInt(fields[3]);
+
+				if (workload.player[i] < 0 || workload.player[i] >= PLAYERS || workload.resource[i] < 0
+						|| (!workload.buy[i] && !"SELL".equals(fields[1]))) {
+					throw new IOException("Error: Malformed workload line: " + lines.get(i));
+				}
+			}
+
+			return workload;
+		}
+
+		public void write(File file) throws IOException {
+			PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+
+			try {
+				writer.println("# market workload: player BUY|SELL resource quantity");
+				for (int i = 0; i < size(); i++) {
+					writer.println(player[i] + " " + (buy[i] ? "BUY" : "SELL") + " " + RESOURCES[resource[i]] + " "
+							+ quantity[i]);
+				}
+			} finally {
+				writer.close();
+			}
+		}
+	}
+
+	/**
+	 * Figures gathered from a benchmark run
+	 */
+	public static class Result {
+		public int operations;
+		public int accepted;
+		public double opsPerSecond;
+		public long p50;
+		public long p90;
+		public long p99;
+		public long p999;
+		public long max;
+
+		/**
+		 * Bytes allocated per operation, or -1 if the JVM can't measure allocation
+		 */
+		public double bytesPerOp = -1;
+
+		public String format(String name, Workload workload, int warmup, int passes) {
+			StringBuilder report = new StringBuilder();
+			report.append(String.format(Locale.ROOT, "market:      %s%n", name));
+			report.append(String.format(Locale.ROOT, "workload:    %d operations, %d warmup and %d measured passes%n",
+					workload.size(), warmup, passes));
+			report.append(String.format(Locale.ROOT, "accepted:    %d of %d per pass%n", accepted, operations));
+			report.append(String.format(Locale.ROOT, "throughput:  %.0f ops/s%n", opsPerSecond));
+			report.append(String.format(Locale.ROOT, "latency ns:  p50 %d  p90 %d  p99 %d  p99.9 %d  max %d%n",
+					p50, p90, p99, p999, max));
+			report.append(bytesPerOp < 0 ? String.format("allocation:  unavailable%n")
+					: String.format(Locale.ROOT, "allocation:  %.1f bytes/op%n", bytesPerOp));
+			return report.toString();
+		}
+	}
+
+	private final Workload workload;
+	private Market market;
+	private Player[] players;
+
+	public MarketBenchmark(Workload workload) {
+		this.workload = workload;
+	}
+
+	/**
+	 * Sets up a fresh market and players for a pass through the workload
+	 */
+	private void reset() {
+		market = new Market();
+		players = new Player[PLAYERS];
+
+		for (int p = 0; p < PLAYERS; p++) {
+			players[p] = new Player(null);
+			players[p].setMoney(STARTING_MONEY);
+			players[p].setResource(ResourceType.ORE, STARTING_RESOURCES);
+			players[p].setResource(ResourceType.FOOD, STARTING_RESOURCES);
+			players[p].setResource(ResourceType.ENERGY, STARTING_RESOURCES);
+		}
+	}
+
+	/**
+	 * Carries out a single operation from the workload
+	 * This market leaves the player's side of each trade to the player, so operations go through the same player
+	 * methods that the game uses
+	 *
+	 * @return True if the market accepted the operation
+	 */
+	private boolean apply(int i) {
+		Player player = players[workload.player[i]];
+		ResourceType type = TYPES[workload.resource[i]];
+
+		if (workload.buy[i]) {
+			if (type == ResourceType.ROBOTICON) {
+				return player.purchaseRoboticonsFromMarket(workload.quantity[i], market) == PurchaseStatus.Success;
+			}
+			return player.purchaseResourceFromMarket(workload.quantity[i], market, type) == PurchaseStatus.Success;
+		} else {
+			int held = player.getResource(type);
+			player.sellResourceToMarket(workload.quantity[i], market, type);
+			return player.getResource(type) < held;
+		}
+	}
+
+	/**
+	 * Replays the workload once without timing individual operations
+	 *
+	 * @return int The number of operations that the market accepted
+	 */
+	private int replay() {
+		int accepted = 0;
+		for (int i = 0; i < workload.size(); i++) {
+			if (apply(i)) {
+				accepted++;
+			}
+		}
+		return accepted;
+	}
+
+	/**
+	 * Replays the workload once, recording the time taken by each operation
+	 */
+	private void replayTimed(long[] latencies, int offset) {
+		for (int i = 0; i < workload.size(); i++) {
+			long start = System.nanoTime();
+			apply(i);
+			latencies[offset + i] = System.nanoTime() - start;
+		}
+	}
+
+	/**
+	 * Runs the benchmark
+	 * Each measured pass replays the workload twice against fresh state: once untimed, to measure throughput and
+	 * allocation, and once with every operation timed, to measure latency
+	 * Latencies include the cost of reading the clock, which is typically a few tens of nanoseconds
+	 *
+	 * @param warmup Number of passes to run before measuring, to let the JIT settle
+	 * @param passes Number of measured passes
+	 * @return Result The figures from the measured passes
+	 */
+	public Result run(int warmup, int passes) {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocation = null;
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			allocation = (com.sun.management.ThreadMXBean) threads;
+			allocation.setThreadAllocatedMemoryEnabled(true);
+		}
+		long thread = Thread.currentThread().getId();
+
+		for (int w = 0; w < warmup; w++) {
+			reset();
+			replay();
+			reset();
+			replayTimed(new long[workload.size()], 0);
+		}
+
+		Result result = new Result();
+		result.operations = workload.size();
+
+		long[] latencies = new long[workload.size() * passes];
+		long elapsed = 0;
+		long allocated = 0;
+
+		for (int pass = 0; pass < passes; pass++) {
+			reset();
+			long bytesBefore = (allocation == null) ? 0 : allocation.getThreadAllocatedBytes(thread);
+			long start = System.nanoTime();
+			result.accepted = replay();
+			elapsed += System.nanoTime() - start;
+			if (allocation != null) {
+				allocated += allocation.getThreadAllocatedBytes(thread) - bytesBefore;
+			}
+
+			reset();
+			replayTimed(latencies, pass * workload.size());
+		}
+
+		long total = (long) workload.size() * passes;
+		result.opsPerSecond = (elapsed == 0) ? 0 : total * 1e9 / elapsed;
+		if (allocation != null && total > 0) {
+			result.bytesPerOp = (double) allocated / total;
+		}
+
+		Arrays.sort(latencies);
+		if (latencies.length > 0) {
+			result.p50 = percentile(latencies, 0.5);
+			result.p90 = percentile(latencies, 0.9);
+			result.p99 = percentile(latencies, 0.99);
+			result.p999 = percentile(latencies, 0.999);
+			result.max = latencies[latencies.length - 1];
+		}
+
+		return result;
+	}
+
+	private static long percentile(long[] sorted, double fraction) {
+		int index = (int) Math.ceil(fraction * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+	public static void main(String[] args) throws IOException {
+		int ops = 100000;
+		long seed = 2017;
+		int warmup = 5;
+		int passes = 20;
+		File record = null;
+		File replay = null;
+
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			if ("--ops".equals(args[i])) {
+				ops = Integer.parseInt(args[i + 1]);
+			} else if ("--seed".equals(args[i])) {
+				seed = Long.parseLong(args[i + 1]);
+			} else if ("--warmup".equals(args[i])) {
+				warmup = Integer.parseInt(args[i + 1]);
+			} else if ("--passes".equals(args[i])) {
+				passes = Integer.parseInt(args[i + 1]);
+			} else if ("--record".equals(args[i])) {
+				record = new File(args[i + 1]);
+			} else if ("--replay".equals(args[i])) {
+				replay = new File(args[i + 1]);
+			} else {
+				throw new IllegalArgumentException("Error: Unknown option " + args[i]);
+			}
+		}
+
+		Workload workload = (replay == null) ? Workload.generate(seed, ops) : Workload.read(replay);
+		if (record != null) {
+			workload.write(record);
+		}
+
+		Result result = new MarketBenchmark(workload).run(warmup, passes);
+		System.out.print(result.format(NAME, workload, warmup, passes));
+	}
+}
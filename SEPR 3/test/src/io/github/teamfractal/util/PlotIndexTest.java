@@ -0,0 +1,88 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://misterseph.github.io/DuckRelatedFractalProject/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 3
+ *
+ * If you are in any doubt a complete changelog can be found here:
+ * https://github.com/NotKieran/DRTN-Fractal/compare/Fractal_Initial...development
+ *
+ * And a more concise report can be found in our Change3 document.
+ **/
+
+package io.github.teamfractal.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test for {@link PlotIndex}
+ */
+public class PlotIndexTest {
+	@Test
+	public void claimedPlotsShouldLeaveTheIndex() {
+		PlotIndex index = new PlotIndex(2, 2);
+		index.setYields(index.plotAt(0, 0), 1, 1, 1);
+		index.setYields(index.plotAt(0, 1), 9, 9, 9);
+		index.setYields(index.plotAt(1, 0), 5, 5, 5);
+		index.setYields(index.plotAt(1, 1), 2, 2, 2);
+
+		assertEquals(index.plotAt(0, 1), index.best());
+		assertTrue(index.claim(index.plotAt(0, 1)));
+		assertFalse(index.claim(index.plotAt(0, 1)));
+		assertEquals(index.plotAt(1, 0), index.best());
+		assertEquals(3, index.freeCount());
+
+		index.claim(index.plotAt(0, 0));
+		index.claim(index.plotAt(1, 0));
+		assertFalse(index.isFull());
+		index.claim(index.plotAt(1, 1));
+
+		assertTrue(index.isFull());
+		assertEquals(-1, index.best());
+	}
+
+	@Test
+	public void valuesShouldIncludeNeighbours() {
+		PlotIndex index = new PlotIndex(3, 2);
+		index.setYields(index.plotAt(1, 0), 3, 3, 3);
+		index.setYields(index.plotAt(1, 1), 10, 0, 2);
+
+		assertEquals(9 + PlotIndex.ADJACENCY_WEIGHT * 12 / 3, index.value(index.plotAt(1, 0)), 1e-9);
+		assertEquals(PlotIndex.ADJACENCY_WEIGHT * 9 / 2, index.value(index.plotAt(0, 0)), 1e-9);
+		assertEquals(index.plotAt(1, 1), index.best());
+	}
+
+	@Test
+	public void bestPlotShouldMatchExhaustiveSearch() {
+		Random rnd = new Random(34);
+		PlotIndex index = new PlotIndex(7, 12);
+		boolean[] claimed = new boolean[84];
+
+		for (int p = 0; p < 84; p++) {
+			index.setYields(p, rnd.nextInt(9), rnd.nextInt(9), rnd.nextInt(9));
+		}
+
+		while (!index.isFull()) {
+			int plot = rnd.nextInt(84);
+			if (rnd.nextInt(3) == 0) {
+				assertEquals(!claimed[plot], index.claim(plot));
+				claimed[plot] = true;
+			} else {
+				index.setYields(plot, rnd.nextInt(9), rnd.nextInt(9), rnd.nextInt(9));
+			}
+
+			int best = index.best();
+			for (int p = 0; p < 84; p++) {
+				assertEquals(!claimed[p], index.isFree(p));
+				if (!claimed[p]) {
+					assertTrue(index.value(p) <= index.value(best));
+				}
+			}
+		}
+	}
+}
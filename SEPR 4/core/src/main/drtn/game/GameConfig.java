@@ -0,0 +1,259 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+/**
+ * The numbers which set up the game's economy: the market's opening stocks, the price of roboticons and their
+ * upgrades, the map's yields, the Chancellor's reward and the players' starting resources
+ *
+ * A configuration is held as a vector of named values, each with a range that it's clamped to, so that balancing
+ * experiments (see {@link drtn.game.tuning.EconomySweep}) can search over them freely. The standard configuration
+ * is the one stated in the brief. The configuration used by a game can be switched without touching the code by
+ * launching it with -Ddrtn.config=[properties file], in which any value left out keeps its standard setting.
+ */
+public final class GameConfig {
+
+    /**
+     * Name of the system property that points at the configuration file
+     */
+    public static final String PROPERTY = "drtn.config";
+
+    public static final int ORE_STOCK = 0;
+    public static final int ENERGY_STOCK = 1;
+    public static final int FOOD_STOCK = 2;
+    public static final int ROBOTICON_STOCK = 3;
+    public static final int ROBOTICON_PRICE = 4;
+
+    /**
+     * Amount by which the price of roboticons rises after each one is bought
+     */
+    public static final int ROBOTICON_PRICE_STEP = 5;
+
+    /**
+     * Yield of each resource on tiles without a specialisation
+     */
+    public static final int BASE_YIELD = 6;
+
+    /**
+     * Factor by which a specialised tile's yield of its own resource is multiplied
+     */
+    public static final int SPECIALISATION_MULTIPLIER = 7;
+
+    /**
+     * Cost of upgrading a roboticon, per level that it already has
+     */
+    public static final int UPGRADE_COST_PER_LEVEL = 8;
+
+    /**
+     * Money given to a player who catches the Chancellor
+     */
+    public static final int CHANCELLOR_REWARD = 9;
+
+    public static final int START_MONEY = 10;
+    public static final int START_ORE = 11;
+    public static final int START_ENERGY = 12;
+    public static final int START_FOOD = 13;
+
+    public static final String[] NAMES = {"oreStock", "energyStock", "foodStock", "roboticonStock",
+            "roboticonPrice", "roboticonPriceStep", "baseYield", "specialisationMultiplier", "upgradeCostPerLevel",
+            "chancellorReward", "startMoney", "startOre", "startEnergy", "startFood"};
+    private static final double[] STANDARD = {0, 16, 16, 12, 20, 5, 5, 1.5, 6, 50, 50, 0, 5, 5};
+    private static final double[] MIN = {0, 0, 0, 0, 1, 0, 1, 1, 1, 0, 0, 0, 0, 0};
+    private static final double[] MAX = {100, 100, 100, 50, 200, 50, 20, 4, 50, 500, 500, 50, 50, 50};
+
+    private static GameConfig configured;
+
+    private final double[] values;
+
+    /**
+     * @param values The configuration, indexed by the constants above; out-of-range values are clamped
+     */
+    public GameConfig(double[] values) {
+        if (values.length != NAMES.length) {
+            throw new IllegalArgumentException("Error: Expected " + NAMES.length + " configuration values but got "
+                    + values.length + ".");
+        }
+
+        this.values = new double[NAMES.length];
+        for (int i = 0; i < NAMES.length; i++) {
+            this.values[i] = Math.max(MIN[i], Math.min(MAX[i], values[i]));
+        }
+    }
+
+    /**
+     * @return GameConfig The configuration stated in the brief
+     */
+    public static GameConfig standard() {
+        return new GameConfig(STANDARD);
+    }
+
+    /**
+     * Returns the configuration read from the file named by the {@link #PROPERTY} system property
+     * Falls back on the standard configuration when the property is missing or the file can't be read
+     *
+     * @return GameConfig The configured configuration
+     */
+    public static synchronized GameConfig configured() {
+        if (configured == null) {
+            String path = System.getProperty(PROPERTY);
+            configured = standard();
+
+            if (path != null) {
+                try {
+                    configured = load(new File(path));
+                } catch (IOException e) {
+                    System.out.println("Error: Failed to load game configuration from " + path
+                            + ". Falling back on the standard configuration.");
+                }
+            }
+        }
+
+        return configured;
+    }
+
+    /**
+     * Loads a configuration from a properties file; any values that the file doesn't mention keep their standard
+     * settings
+     *
+     * @param file The file to read
+     * @return GameConfig The configuration
+     * @throws IOException If the file can't be read
+     */
+    public static GameConfig load(File file) throws IOException {
+        Properties properties = new Properties();
+        Reader reader = new FileReader(file);
+        try {
+            properties.load(reader);
+        } finally {
+            reader.close();
+        }
+
+        double[] loaded = STANDARD.clone();
+        for (int i = 0; i < NAMES.length; i++) {
+            String value = properties.getProperty(NAMES[i]);
+            if (value != null) {
+                try {
+                    loaded[i] = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    System.out.println("Error: Configuration value " + NAMES[i] + " isn't a number. Using the "
+                            + "standard setting.");
+                }
+            }
+        }
+
+        return new GameConfig(loaded);
+    }
+
+    /**
+     * @return int The index of the value with the given name
+     * @throws IllegalArgumentException If there's no value with that name
+     */
+    public static int indexOf(String name) {
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Error: No configuration value named \"" + name + "\" exists.");
+    }
+
+    public static int size() {
+        return NAMES.length;
+    }
+
+    public static double min(int index) {
+        return MIN[index];
+    }
+
+    public static double max(int index) {
+        return MAX[index];
+    }
+
+    /**
+     * @return GameConfig A copy of this configuration with one value changed
+     */
+    public GameConfig with(int index, double value) {
+        double[] changed = values.clone();
+        changed[index] = value;
+        return new GameConfig(changed);
+    }
+
+    /**
+     * @return double[] A copy of the configuration's values, indexed by the constants above
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return int The value at the given index, rounded for values which count something
+     */
+    public int round(int index) {
+        return (int) Math.round(values[index]);
+    }
+
+    /**
+     * Works out the resource that a tile on the map specialises in, which matches the tile's graphic
+     *
+     * @param tileID The tile's ID, from 1 to 16
+     * @return int The resource {0: ore | 1: energy | 2: food}, or -1 if the tile doesn't specialise
+     */
+    public static int specialisation(int tileID) {
+        switch (tileID) {
+            case 2:
+            case 3:
+            case 9:
+            case 14:
+                return 0;
+            case 5:
+            case 6:
+            case 7:
+            case 11:
+                return 1;
+            case 4:
+            case 10:
+            case 12:
+            case 13:
+            case 15:
+                return 2;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @param tileID The tile's ID, from 1 to 16
+     * @param resource The resource {0: ore | 1: energy | 2: food}
+     * @return int The tile's yield of the resource
+     */
+    public int tileYield(int tileID, int resource) {
+        int base = round(BASE_YIELD);
+        return (specialisation(tileID) == resource) ? (int) (base * get(SPECIALISATION_MULTIPLIER)) : base;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            text.append((i == 0) ? "" : ", ").append(NAMES[i]).append('=').append(values[i]);
+        }
+        return text.toString();
+    }
+}
@@ -9,27 +9,71 @@
 package drtn.game;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Timer;
-import drtn.game.effects.PlayerEffectSource;
-import drtn.game.effects.PlotEffect;
-import drtn.game.effects.PlotEffectSource;
+import drtn.game.ai.AiTurnService;
+import drtn.game.ai.DecisionMetrics;
+import drtn.game.ai.DecisionRunner;
+import drtn.game.ai.Difficulty;
+import drtn.game.ai.GameView;
+import drtn.game.ai.PacingPolicy;
+import drtn.game.ai.SimAction;
+import drtn.game.ai.SimState;
+import drtn.game.ai.StandardPacing;
+import drtn.game.ai.StandingsForecaster;
+import drtn.game.auction.AiBiddingService;
+import drtn.game.auction.AuctionFormat;
+import drtn.game.auction.AuctionHouse;
+import drtn.game.auction.Lot;
+import drtn.game.barter.BarterCycle;
+import drtn.game.barter.BarterExchange;
+import drtn.game.effects.EffectProgram;
+import drtn.game.effects.EffectRunner;
+import drtn.game.effects.EffectScheduler;
+import drtn.game.effects.EventDirector;
+import drtn.game.effects.ProducerIndex;
+import drtn.game.effects.YieldLayer;
 import drtn.game.entity.*;
 import drtn.game.enums.ResourceType;
 import drtn.game.exceptions.InvalidResourceTypeException;
+import drtn.game.pricing.PriceTable;
+import drtn.game.pricing.PricingModel;
+import drtn.game.pricing.PricingModels;
+import drtn.game.replay.InputEvent;
+import drtn.game.replay.InputRecorder;
+import drtn.game.replay.Recording;
+import drtn.game.rewind.GameFrame;
+import drtn.game.rewind.Timeline;
+import drtn.game.save.Autosaver;
+import drtn.game.save.GameSnapshot;
+import drtn.game.save.SaveFile;
+import drtn.game.telemetry.GameRecord;
+import drtn.game.telemetry.TelemetryStore;
 import drtn.game.screens.GameScreen;
 import drtn.game.screens.MiniGameScreen;
 import drtn.game.util.Drawer;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 
 // Changed in Assessment 3: Added so no more than one GameEngine can be instantiated at any one time.
 public class GameEngine {
     private static GameEngine _instance;
+    /**
+     * Runs tasks handed back from worker threads on the render thread, where the game can safely be changed
+     */
+    private static final Executor RENDER_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable runnable) {
+            Gdx.app.postRunnable(runnable);
+        }
+    };
     /**
      * Stores data pertaining to the game's active players
      * For more information, check the "Player" class
@@ -74,6 +118,10 @@ public class GameEngine {
      * Note that the tiles' visuals are encoded by the image declared and stored in the GameScreen class (and not here)
      */
     public Tile[] tiles;
+    /**
+     * Keeps track of which tiles are free, and which of those are worth the most
+     */
+    private TileIndex tileIndex;
     /**
      * Holds the data pertaining to the currently-selected tile
      */
@@ -94,23 +142,138 @@ public class GameEngine {
     // Added in Assessment 3: Added to keep track of trades, colleges and random events.
     // ---------------------------------------------------------------------------------
     /**
-     * An array storing the currently pending trades
+     * Holds the currently pending trades, queued by the player who has to respond to them
+     */
+    private TradeBook trades;
+    /**
+     * The number of complete rounds of phases that have been started, used to expire old trade offers
+     */
+    private int turn;
+    /**
+     * Runs the resource auctions held during phase 5
+     */
+    private AuctionHouse auctionHouse;
+    /**
+     * Decides on the AI players' auction bids away from the render thread
+     */
+    private AiBiddingService aiBidding;
+    /**
+     * Works out the AI players' moves away from the render thread
+     */
+    private AiTurnService aiTurns;
+    /**
+     * Asks the AI players' strategies for their moves on the AI turn thread, holding them to their budgets
+     */
+    private DecisionRunner aiDecisions;
+    /**
+     * How long each AI strategy has taken over its decisions this game
+     */
+    private final DecisionMetrics decisionMetrics = new DecisionMetrics();
+    /**
+     * Sets how long AI players may think about each move
+     */
+    private Difficulty difficulty = Difficulty.NORMAL;
+    /**
+     * The numbers which set up the game's economy
+     */
+    private GameConfig config = GameConfig.configured();
+    /**
+     * Forecasts the final standings in the background, for the player info table to show
+     */
+    private final StandingsForecaster forecaster = new StandingsForecaster();
+    /**
+     * Writes the game to disk in the background at the start of each phase
+     */
+    private final Autosaver autosaver = new Autosaver(SaveFile.autosaveFile());
+    /**
+     * Seeds every random number drawn in the game - random events, production, the Chancellor, the market's gambles,
+     * the mini-game and the AI's choices; set it with -Ddrtn.seed to play them all the same way again
+     */
+    private final long seed = Long.getLong("drtn.seed", System.nanoTime());
+    /**
+     * Draws every random number in the game from the seed above
      */
-    private Array<Trade> trades;
+    private final Random random = new Random(seed);
+    /**
+     * Records every input made during the game, from the end of its first phase onwards
+     */
+    private InputRecorder recorder;
+    /**
+     * Keeps a copy of the game after each of the most recent inputs, so that purchases can be undone and the game can
+     * be looked back over in debug mode
+     */
+    private final Timeline timeline = new Timeline();
+    /**
+     * The receipts of the purchases and sales made since the last input that can't be undone, newest first, so that
+     * undoing one takes back exactly what it did
+     */
+    private final Deque<Market.Receipt> receipts = new ArrayDeque<Market.Receipt>();
+    /**
+     * Notes what happens over the course of the game, to be added to the telemetry store once it's been won
+     */
+    private GameRecord telemetry;
+    /**
+     * Identifies the AI decision currently being waited on, so that decisions overtaken by events can be ignored
+     */
+    private int aiTurnToken;
+    /**
+     * Whether the game is waiting on an AI player to decide on its move
+     */
+    private boolean aiThinking;
+    /**
+     * Whether an AI player's decision was abandoned when the game was paused, and needs to be restarted on resume
+     */
+    private boolean aiTurnInterrupted;
+    /**
+     * Decides how quickly the game moves through AI players' phases
+     */
+    private PacingPolicy pacing;
+    /**
+     * Moves the game from one phase to the next without letting the stack grow with every phase
+     */
+    private PhaseLoop phaseLoop;
+    /**
+     * Whether a game without any human players has been won, after which its AI players stop playing
+     */
+    private boolean spectatedGameOver;
+    /**
+     * Clears multi-player barter exchanges at the start of each turn
+     */
+    private BarterExchange barter;
     /**
      * An array storing all the playable colleges
      */
 	private College[] colleges;
 
     /**
-     * Defines all of the random PlotEffects that can occur during the game
+     * Defines all of the random events that can occur during the game
+     */
+    private EffectProgram effects;
+
+    /**
+     * Ranks each player's tiles by their yields, for the random events to pick tiles out by
+     */
+    private ProducerIndex producerIndex;
+
+    /**
+     * Holds the tiles' base yields and the random events' changes to them
+     */
+    private YieldLayer yieldLayer;
+
+    /**
+     * Ends random events once they've lasted for their number of turns, and keeps track of their cooldowns
+     */
+    private EffectScheduler effectScheduler;
+
+    /**
+     * Picks the random event that hits each player, weighted by how the game is going for them
      */
-    private PlotEffectSource plotEffectSource;
+    private EventDirector eventDirector;
 
     /**
-     * Defines all of the random PlayerEffects that can occur during the game
+     * Ranks the players by their scores as their resources change
      */
-    private PlayerEffectSource playerEffectSource;
+    private Scoreboard scoreboard;
 
     /**
      * Constructs the game's engine. Imports the game's state (for direct renderer access) and the data held by the
@@ -144,17 +307,28 @@ public class GameEngine {
             final int fi = i;
             final GameScreen gs = gameScreen;
 
-            tiles[i] = new Tile(this.game, i + 1, 5, 5, 5, null, new Runnable() {
+            int yield = config.round(GameConfig.BASE_YIELD);
+            tiles[i] = new Tile(this.game, i + 1, yield, yield, yield, null, new Runnable() {
                 @Override
                 public void run() {
                     gs.selectTile(tiles[fi], true);
                     selectedTile = tiles[fi];
                 }
-            });
+            }, config.get(GameConfig.SPECIALISATION_MULTIPLIER));
         }
         //Configure all 16 tiles with independent yields and landmark data
         //Also assign listeners to them so that they can detect mouse clicks
 
+        yieldLayer = new YieldLayer(tiles.length);
+        for (Tile tile : tiles) {
+            tile.attachYieldLayer(yieldLayer);
+        }
+        //Let random events change the tiles' yields without touching their base yields
+
+        tileIndex = new TileIndex(tiles.length, 4);
+        refreshTileValues();
+        //Index the tiles by their value, for the AI players to claim from
+
 
         //Instantiates the game's market and hands it direct renderer access
 
@@ -175,16 +349,22 @@ public class GameEngine {
         colleges[8] = new College(8, "Wentworth");
         // ----------------------------------------------------------------
 
-        this.chancellor = new Chancellor(tiles);
+        this.chancellor = new Chancellor(tiles, config.round(GameConfig.CHANCELLOR_REWARD), random);
 
         phase = 0;
         currentPlayerID = 0;
-        trades = new Array<Trade>();
-        try {
-            setupEffects();
-        } catch (InvalidResourceTypeException e) {
-            e.printStackTrace();
-        }
+        turn = 0;
+        trades = new TradeBook();
+        barter = new BarterExchange();
+
+        pacing = StandardPacing.REAL_TIME;
+        phaseLoop = new PhaseLoop(new Runnable() {
+            @Override
+            public void run() {
+                advancePhase();
+            }
+        }, RENDER_THREAD, pacing.frameSliceMillis());
+        setupEffects();
 
     }
     // ---------------------------------------------------------------------------------
@@ -227,9 +407,26 @@ public class GameEngine {
      */
 
     // Changed in Assessment 3: Refactored nextPhase() from giant if-else statement to switch statement.
+    // Changed in Assessment 4: Phases are now started by the PhaseLoop, so ending a phase from inside another (as the
+    // AI players do) no longer calls back into this method
     public void nextPhase() {
+        phaseLoop.request();
+    }
+
+    /**
+     * Starts the next phase, as asked for through {@link #nextPhase()}
+     */
+    private void advancePhase() {
         gameScreen.phaseInfoTable.timer.stop();
 
+        cancelAiTurn();
+        //Forget about any decision the last AI player was working on if its phase was ended early
+
+        autosave();
+        //Save the game as it stands between phases, so that loading it replays the start of the next phase
+
+        recordPhaseEnd();
+
         nextPlayer();
 
         deselectTile();
@@ -284,20 +481,40 @@ public class GameEngine {
 
                 produceResource();
             
-                clearEffects();
+                effectScheduler.advanceTo(effectScheduler.tick(turn, currentPlayerID));
+                //End the events that have lasted for as many of this player's productions as they were meant to
                 setEffects();
+                refreshTileValues();
+                //Re-value the tiles now that the effects have changed their yields
 
                 gameScreen.playerInfoTable.showPlayerInventory(currentPlayer());
                 break;
 
             case 5:
+                gameScreen.phaseInfoTable.timer.setTime(0, 45);
+                gameScreen.phaseInfoTable.timer.start();
+                //Impose a time limit on bidding during phase 5
+
                 openResourceMarketInterface();
 
-                gameScreen.marketInterfaceTable.toggleAuctionAccess(false);
+                gameScreen.marketInterfaceTable.openAuctionHouseAccess(new ChangeListener() {
+                    @Override
+                    public void changed(ChangeEvent event, Actor actor) {
+                        gameScreen.openAuctionOverlay();
+                    }
+                });
+
+                requestAiBids();
             
                 if(checkGameEnd()){
                     System.out.println("Someone win");
-                    gameScreen.showPlayerWin(getWinner());
+                    int winner = getWinner();
+                    gameScreen.showPlayerWin(winner);
+                    saveRecording();
+                    saveTelemetry(winner);
+
+                    spectatedGameOver = !hasHumanPlayers();
+                    //Stop AI-only games once they've been won, as nobody is left to end them
                 }
                 break;
         }
@@ -311,9 +528,18 @@ public class GameEngine {
             gameScreen.closeUpgradeOverlay();
         }
 
+        gameScreen.closeAuctionOverlay();
+
+        refreshForecast();
+        //Production, auctions, barter and the last player's moves have all changed how the game is likely to end
+
+        timeline.capture(this, InputEvent.END_PHASE, phase);
+        receipts.clear();
+        refreshUndoButton();
+        //Mark where the new phase starts, so that nothing from before it can be undone
+
         if (isCurrentlyAiPlayer()) {
-            AiPlayer aiPlayer = (AiPlayer)currentPlayer();
-            aiPlayer.performPhase(this, gameScreen);
+            playAiPhase((AiPlayer)currentPlayer());
         } else {
             testTrade();
         }
@@ -324,7 +550,7 @@ public class GameEngine {
      */
     private void produceResource() {
         for (Tile tile : currentPlayer().getTileList()) {
-            tile.produce();
+            tile.produce(random);
         }
     }
 
@@ -341,6 +567,18 @@ public class GameEngine {
             if (phase >= 6) {
                 phase = 1;
             }
+
+            if (phase == 1) {
+                turn ++;
+                trades.advanceTo(turn);
+                //Withdraw any trade offers that have been left unanswered for too long
+
+                settleAuctions();
+                //Close the auctions opened during the last round's phase 5
+
+                clearBarter();
+                //Look for players who can swap their surpluses for each other's needs
+            }
             System.out.print("Move to phase " + phase + ", ");
         }
         System.out.println("Change to player " + currentPlayerID);
@@ -364,6 +602,13 @@ public class GameEngine {
 
         state = State.PAUSE;
         //Mark that the game has been paused
+
+        phaseLoop.suspend();
+        if (aiThinking) {
+            cancelAiTurn();
+            aiTurnInterrupted = true;
+        }
+        //Stop the current AI player from thinking, and any more phases from starting, until the game is resumed
     }
 
     /**
@@ -384,6 +629,14 @@ public class GameEngine {
         //Restart the game's timer from where it left off
         //The timer needs to be incremented by 1 second before being restarted because, for a reason that I can't
         //quite identify, restarting the timer automatically takes a second off of it straight away
+
+        if (aiTurnInterrupted) {
+            aiTurnInterrupted = false;
+            requestAiDecision();
+        }
+        //Let the current AI player start thinking again if it was interrupted by the pause
+
+        phaseLoop.resume();
     }
 
     /**
@@ -400,47 +653,15 @@ public class GameEngine {
             selectedTile.setOwner(players[currentPlayerID]);
             //Set the owner of the currently selected tile to be the current player
 
+            tileIndex.claim(selectedTile.getID() - 1);
+            producerIndex.setOwner(selectedTile.getID() - 1, currentPlayerID);
+            refreshForecast();
+            recordInput(InputEvent.CLAIM_TILE, selectedTile.getID() - 1);
+
             tileAcquired = true;
             //Mark that a tile has been acquired on this turn
 
-            switch (players[currentPlayerID].getCollege().getID()) {
-                case 0:
-                    //DERWENT
-                    selectedTile.setTileBorderColor(Color.BLUE);
-                    break;
-                case 1:
-                    //LANGWITH
-                    selectedTile.setTileBorderColor(Color.CHARTREUSE);
-                    break;
-                case 2:
-                    //VANBURGH
-                    selectedTile.setTileBorderColor(Color.TEAL);
-                    break;
-                case 3:
-                    //JAMES
-                    selectedTile.setTileBorderColor(Color.CYAN);
-                    break;
-                case 4:
-                    //WENTWORTH
-                    selectedTile.setTileBorderColor(Color.MAROON);
-                    break;
-                case 5:
-                    //HALIFAX
-                    selectedTile.setTileBorderColor(Color.YELLOW);
-                    break;
-                case 6:
-                    //ALCUIN
-                    selectedTile.setTileBorderColor(Color.RED);
-                    break;
-                case 7:
-                    //GOODRICKE
-                    selectedTile.setTileBorderColor(Color.GREEN);
-                    break;
-                case 8:
-                    //CONSTANTINE
-                    selectedTile.setTileBorderColor(Color.PINK);
-                    break;
-            }
+            colourTileBorder(selectedTile, players[currentPlayerID]);
             //Set the colour of the tile's new border based on the college of the player who claimed it
 
             nextPhase(); // at ClaimTile
@@ -448,6 +669,52 @@ public class GameEngine {
         }
     }
 
+    /**
+     * Sets the colour of a tile's border based on the college of the player who owns it
+     * @param tile The tile to re-colour
+     * @param owner The player who owns the tile
+     */
+    private void colourTileBorder(Tile tile, Player owner) {
+        switch (owner.getCollege().getID()) {
+            case 0:
+                //DERWENT
+                tile.setTileBorderColor(Color.BLUE);
+                break;
+            case 1:
+                //LANGWITH
+                tile.setTileBorderColor(Color.CHARTREUSE);
+                break;
+            case 2:
+                //VANBURGH
+                tile.setTileBorderColor(Color.TEAL);
+                break;
+            case 3:
+                //JAMES
+                tile.setTileBorderColor(Color.CYAN);
+                break;
+            case 4:
+                //WENTWORTH
+                tile.setTileBorderColor(Color.MAROON);
+                break;
+            case 5:
+                //HALIFAX
+                tile.setTileBorderColor(Color.YELLOW);
+                break;
+            case 6:
+                //ALCUIN
+                tile.setTileBorderColor(Color.RED);
+                break;
+            case 7:
+                //GOODRICKE
+                tile.setTileBorderColor(Color.GREEN);
+                break;
+            case 8:
+                //CONSTANTINE
+                tile.setTileBorderColor(Color.PINK);
+                break;
+        }
+    }
+
     /**
      * Deploys a Roboticon on the last tile to have been selected
      * Draws a Roboticon from the active player's Roboticon count and assigns it to the tile in question
@@ -457,10 +724,12 @@ public class GameEngine {
             if (!selectedTile.hasRoboticon()) {
                 if (players[currentPlayerID].getRoboticonInventory() > 0) {
                     Roboticon Roboticon = new Roboticon(roboticonIDCounter, players[currentPlayerID], selectedTile);
+                    Roboticon.setUpgradeCostPerLevel(config.round(GameConfig.UPGRADE_COST_PER_LEVEL));
                     selectedTile.assignRoboticon(Roboticon);
                     roboticonIDCounter += 1;
                     players[currentPlayerID].decreaseRoboticonInventory();
                     gameScreen.playerInfoTable.showPlayerInventory(currentPlayer());
+                    recordInput(InputEvent.PLACE_ROBOTICON, selectedTile.getID() - 1);
                 }
             }
         }
@@ -539,6 +808,15 @@ public class GameEngine {
         return tiles;
     }
 
+    /**
+     * Returns the index of free tiles, ranked by their value
+     *
+     * @return TileIndex The tile index
+     */
+    public TileIndex tileIndex() {
+        return tileIndex;
+    }
+
     /**
      * Returns the data pertaining to the last Tile that was selected by a player
      *
@@ -563,13 +841,7 @@ public class GameEngine {
      * @return Boolean Determines if the game has ended or not
      */
     private boolean checkGameEnd(){
-        for(Tile tile : tiles){
-            if (tile.getOwner() == null){
-                return false;
-            }
-        }
-
-        return true;
+        return tileIndex.isFull();
     }
 
     /**
@@ -604,6 +876,7 @@ public class GameEngine {
             }
 
             selectedTile().getRoboticonStored().upgrade(resource);
+            recordInput(InputEvent.UPGRADE, SimAction.argument(SimAction.upgrade(selectedTile.getID() - 1, resource)));
         }
 
     }
@@ -620,17 +893,21 @@ public class GameEngine {
 
     /**
      * Calculates who won the game
+     * Auctions still open when the game ends are settled first, as the scores don't count the goods held in escrow
+     * for them
      * @return The ID of the player who won the game
      */
     public int getWinner(){
-        List<Player> playersList = Arrays.asList(players);
-        Collections.sort(playersList, new Comparator<Player>() {
-            @Override
-            public int compare(Player a, Player b) {
-                return b.calculateScore() - a.calculateScore();
-            }
-        });
-        return playersList.get(0).getPlayerID();
+        settleAuctions();
+        return scoreboard.leader();
+    }
+
+    /**
+     * Returns the players' standings, which are kept up to date as their resources change
+     * @return Scoreboard The game's scoreboard
+     */
+    public Scoreboard scoreboard() {
+        return scoreboard;
     }
 
     /**
@@ -646,26 +923,86 @@ public class GameEngine {
      * Adds a trade to the system
      * @param trade The trade to be added
      */
-    public void addTrade(Trade trade){
-    	trades.add(trade);
+    public boolean addTrade(Trade trade){
+    	return trades.offer(trade);
     }
 
     /**
-     * Getter for the latest trade offer that has been sent
-     * @return The trade that has been committed
+     * Removes and returns the oldest trade offer waiting on the current player
+     * @return The trade that has been committed, or null if there is none
      */
     public Trade getCurrentPendingTrade() {
-        Iterator<Trade> it = trades.iterator();
+        return trades.poll(currentPlayer());
+    }
 
-        while (it.hasNext()) {
-            Trade trade = it.next();
-            if (trade.getTargetPlayer() == currentPlayer()) {
-                it.remove();
-                return trade;
+    /**
+     * Answers a trade offer with a counter-offer, which is sent back to whoever made the original offer
+     * @param original The trade being countered
+     * @param oreAmount Amount of ore for sale in the counter-offer
+     * @param energyAmount Amount of energy for sale in the counter-offer
+     * @param foodAmount Amount of food for sale in the counter-offer
+     * @param price Price asked in the counter-offer
+     * @return The counter-offer, or null if it could not be sent
+     */
+    public Trade counterTrade(Trade original, int oreAmount, int energyAmount, int foodAmount, int price) {
+        return trades.counter(original, oreAmount, energyAmount, foodAmount, price);
+    }
+
+    /**
+     * Tells an AI player how another player answered its trade offer, so that it can learn what they're willing to pay
+     * @param trade The offer that was answered
+     * @param accepted True if the offer was accepted and carried out
+     */
+    public void reportTradeOutcome(Trade trade, boolean accepted) {
+        recordInput(accepted ? InputEvent.TRADE_ACCEPT : InputEvent.TRADE_REJECT, trade.getProposer().getPlayerID());
+
+        if (trade.getProposer().isAi()) {
+            ((AiPlayer) trade.getProposer()).negotiator().recordOutcome(trade, accepted);
+        }
+
+        if (accepted) {
+            if (telemetry != null) {
+                telemetry.addTrade(turn, trade.getSender().getPlayerID(), trade.getTargetPlayer().getPlayerID(),
+                        trade.oreAmount, trade.energyAmount, trade.foodAmount, trade.getPrice());
             }
+
+            refreshForecast();
         }
+    }
+
+    /**
+     * @return The book of pending trade offers
+     */
+    public TradeBook tradeBook() {
+        return trades;
+    }
 
-        return null;
+    /**
+     * @return The scheduler of the random events in force on players' tiles
+     */
+    public EffectScheduler effectScheduler() {
+        return effectScheduler;
+    }
+
+    /**
+     * @return The number of complete rounds of phases that have been started
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return The ID that the next roboticon to be deployed will be given
+     */
+    public int roboticonIDCounter() {
+        return roboticonIDCounter;
+    }
+
+    /**
+     * @return True if a tile has been claimed in the current phase
+     */
+    public boolean isTileAcquired() {
+        return tileAcquired;
     }
 
     /**
@@ -674,6 +1011,16 @@ public class GameEngine {
      * @param playerAmount The amount fo human players that are playing
      */
     public void initialisePlayers(int AIAmount, int playerAmount){
+        initialisePlayers(AIAmount, playerAmount, PricingModels.configured());
+    }
+
+    /**
+     * Creates and initialises the players for the game, with a market which prices its resources using the given model
+     * @param AIAmount The amount of AI players that are playing
+     * @param playerAmount The amount fo human players that are playing
+     * @param pricingModel The model used to calculate the market's prices after each trade
+     */
+    public void initialisePlayers(int AIAmount, int playerAmount, PricingModel pricingModel){
     	int length = AIAmount + playerAmount;
     	
     	players = new Player[length];
@@ -685,24 +1032,640 @@ public class GameEngine {
     		player.assignCollege(college);
     	}
     	for(int i = playerAmount; i < length; i++){
-    		Player player = new AiPlayer(i);
+    		Player player = new AiPlayer(i, random);
     		players[i] = player;
     		College college = colleges[i];
     		college.assignPlayer(player);
     		player.assignCollege(college);
     	}
 
+    	for (Player player : players) {
+    	    player.setResource(ResourceType.MONEY, config.round(GameConfig.START_MONEY));
+    	    player.setResource(ResourceType.ORE, config.round(GameConfig.START_ORE));
+    	    player.setResource(ResourceType.ENERGY, config.round(GameConfig.START_ENERGY));
+    	    player.setResource(ResourceType.FOOD, config.round(GameConfig.START_FOOD));
+    	}
+    	//Hand out the starting resources set by the game's configuration
+
     	currentPlayerID = length - 1;
 
-        market = new Market();
+        market = new Market(pricingModel, config, random);
+
+        auctionHouse = new AuctionHouse(market);
+
+        this.chancellor = new Chancellor(tiles, config.round(GameConfig.CHANCELLOR_REWARD), random);
+
+        if (effectScheduler != null) {
+            effectScheduler.clear();
+        }
+        producerIndex = new ProducerIndex(yieldLayer, length);
+        effectScheduler = new EffectScheduler(new EffectRunner(effects, yieldLayer, producerIndex, random), length);
+        //Lift any events left over from an earlier game, such as one replaced by loading a save
+
+        eventDirector = new EventDirector(effects, length, random);
+        scoreboard = new Scoreboard(players);
+    }
+
+    /**
+     * Returns the auction house in which lots are traded during phase 5
+     * @return The game's auction house
+     */
+    public AuctionHouse auctionHouse() {
+        return auctionHouse;
+    }
+
+    /**
+     * Puts a lot up for auction on behalf of a player, and gives the AI players the chance to bid on it
+     * @param seller The player selling the lot
+     * @param format The type of auction to run
+     * @param resource The resource being sold
+     * @param quantity The amount being sold
+     * @param reserve The lowest bid that the seller will accept
+     * @return The listed lot, or null if it could not be listed
+     */
+    public Lot listLot(Player seller, AuctionFormat format, ResourceType resource, int quantity, int reserve) {
+        Lot lot = auctionHouse.list(seller, format, resource, quantity, reserve);
+
+        if (lot != null) {
+            recordInput(InputEvent.AUCTION_LIST, InputEvent.trade(resource, quantity));
+            requestAiBids();
+        }
+
+        return lot;
+    }
+
+    /**
+     * Places a bid on an open lot on behalf of the current player
+     * @param lotId The ID of the lot being bid on
+     * @param amount The amount being bid
+     * @return True if the bid was accepted
+     */
+    public boolean placeBid(int lotId, int amount) {
+        boolean placed = auctionHouse.bid(lotId, currentPlayer(), amount);
+
+        if (placed) {
+            recordInput(InputEvent.AUCTION_BID, amount);
+            requestAiBids();
+        }
 
-        this.chancellor = new Chancellor(tiles);
+        return placed;
     }
 
     /**
-     * Tests whether there is a trade currently pending
+     * Asks the AI players to consider bidding on the open lots
+     * Their decisions are made on worker threads and applied back on the render thread once they are ready, so this
+     * never holds up the game
+     */
+    private void requestAiBids() {
+        if (phase != 5 || auctionHouse.size() == 0) {
+            return;
+        }
+
+        if (aiBidding == null) {
+            aiBidding = new AiBiddingService(Runtime.getRuntime().availableProcessors(), RENDER_THREAD, new Runnable() {
+                @Override
+                public void run() {
+                    gameScreen.refreshAuctionOverlay();
+                    requestAiBids();
+                    //Let the other AI players respond to the new bids
+                }
+            });
+        }
+
+        aiBidding.requestBids(auctionHouse, players);
+    }
+
+    /**
+     * Closes every open auction, handing each lot to its highest bidder
+     */
+    private void settleAuctions() {
+        if (auctionHouse == null) {
+            return;
+        }
+
+        for (Lot lot : auctionHouse.settle()) {
+            System.out.println("Auction: " + lot.getQuantity() + " " + lot.getResource() + " sold to player "
+                    + lot.getLeader().getPlayerNumber() + " for " + lot.getLeadingBid());
+        }
+    }
+
+    /**
+     * Stops the threads on which the AI players decide on their auction bids
+     */
+    public void stopAiBidding() {
+        if (aiBidding != null) {
+            aiBidding.shutdown();
+            aiBidding = null;
+        }
+    }
+
+    /**
+     * Plays the current AI player's phase, deciding on its move either in the background or straight away depending
+     * on the pacing policy
+     *
+     * @param aiPlayer The current player
+     */
+    private void playAiPhase(AiPlayer aiPlayer) {
+        if (spectatedGameOver || !aiPlayer.beginPhase(this)) {
+            return;
+        }
+
+        if (pacing.decidesInBackground()) {
+            requestAiDecision();
+        } else {
+            GameView view = new GameView(SimState.capture(this));
+            aiPlayer.applyDecision(this, aiDecisions().decideNow(aiPlayer.strategy(), view,
+                    difficulty.budgetMillis(pacing), difficulty.rollouts(pacing)));
+            //Unlimited pacing decides on the render thread, so the decision is held to its difficulty's few games
+        }
+    }
+
+    /**
+     * Asks the current AI player to decide on its move for this phase
+     * The decision is made on a worker thread from a snapshot of the game, and is applied back on the render thread
+     * once it's ready, so the game carries on drawing frames however long the AI takes to think
+     */
+    private void requestAiDecision() {
+        final AiPlayer aiPlayer = (AiPlayer) currentPlayer();
+        final int token = ++aiTurnToken;
+
+        aiThinking = true;
+        gameScreen.setAiThinking(true);
+
+        aiDecisions().decide(aiPlayer.strategy(), new GameView(SimState.capture(this)), difficulty.budgetMillis(pacing))
+                .thenAcceptAsync(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer action) {
+                if (token != aiTurnToken) {
+                    return;
+                }
+                //Ignore decisions which have been cancelled, or overtaken by the end of the phase
+
+                aiThinking = false;
+                gameScreen.setAiThinking(false);
+
+                aiPlayer.applyDecision(GameEngine.this, action);
+            }
+        }, RENDER_THREAD);
+    }
+
+    /**
+     * @return DecisionRunner Asks the AI players' strategies for their moves, starting the AI turn thread if needed
+     */
+    private DecisionRunner aiDecisions() {
+        if (aiTurns == null) {
+            aiTurns = new AiTurnService();
+            aiDecisions = new DecisionRunner(aiTurns, decisionMetrics);
+        }
+        return aiDecisions;
+    }
+
+    /**
+     * Abandons the decision that the current AI player is working on, if there is one
+     */
+    private void cancelAiTurn() {
+        aiTurnToken++;
+        aiTurnInterrupted = false;
+
+        if (aiTurns != null) {
+            aiTurns.cancel();
+        }
+
+        if (aiThinking) {
+            aiThinking = false;
+            gameScreen.setAiThinking(false);
+        }
+    }
+
+    /**
+     * Changes how quickly the game moves through AI players' phases
+     *
+     * @param pacing The new pacing policy
+     */
+    public void setPacing(PacingPolicy pacing) {
+        this.pacing = pacing;
+        phaseLoop.setFrameSliceMillis(pacing.frameSliceMillis());
+    }
+
+    public PacingPolicy pacing() {
+        return pacing;
+    }
+
+    /**
+     * Changes how long AI players may think about each move
+     * The time allowed is also scaled by the pacing policy, see {@link Difficulty#budgetMillis(PacingPolicy)}
+     *
+     * @param difficulty The new difficulty
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public Difficulty difficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return GameConfig The numbers which set up the game's economy
+     */
+    public GameConfig config() {
+        return config;
+    }
+
+    /**
+     * @return DecisionMetrics How long each AI strategy has taken over its decisions this game
+     */
+    public DecisionMetrics decisionMetrics() {
+        return decisionMetrics;
+    }
+
+    /**
+     * @return True if at least one of the players is human
+     */
+    private boolean hasHumanPlayers() {
+        for (Player player : players) {
+            if (!player.isAi()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if the game is waiting on an AI player to decide on its move
+     */
+    public boolean isAiThinking() {
+        return aiThinking;
+    }
+
+    /**
+     * Stops the thread on which the AI players decide on their moves
+     */
+    public void stopAiTurns() {
+        aiTurnToken++;
+        aiThinking = false;
+        aiTurnInterrupted = false;
+
+        if (aiTurns != null) {
+            aiTurns.shutdown();
+            aiTurns = null;
+            aiDecisions = null;
+            System.out.print(decisionMetrics.report());
+        }
+    }
+
+    /**
+     * Starts forecasting the final standings afresh from the game as it now stands, abandoning the old forecast
+     */
+    private void refreshForecast() {
+        if (market != null) {
+            forecaster.restart(SimState.capture(this));
+        }
+    }
+
+    /**
+     * @return The background forecast of the final standings
+     */
+    public StandingsForecaster forecaster() {
+        return forecaster;
+    }
+
+    /**
+     * Stops the threads on which the final standings are forecast
+     */
+    public void stopForecasts() {
+        forecaster.shutdown();
+    }
+
+    /**
+     * Hands a copy of the game as it stands to the autosaver, to be written out in the background
+     */
+    private void autosave() {
+        if (market != null) {
+            autosaver.save(GameSnapshot.capture(this));
+        }
+    }
+
+    /**
+     * Stops the thread on which the game is autosaved, once the last save handed to it has been written
+     */
+    public void stopAutosaves() {
+        autosaver.shutdown();
+    }
+
+    /**
+     * Records the end of a phase, starting the recording from the game as it stands if this is the first
+     */
+    private void recordPhaseEnd() {
+        if (market == null) {
+            return;
+        }
+
+        if (recorder == null) {
+            recorder = new InputRecorder(seed, SimState.capture(this));
+
+            telemetry = new GameRecord(seed, false, config, players.length);
+            for (Player player : players) {
+                telemetry.setPlayer(player.getPlayerID(), player.getCollege().getID(), player.isAi());
+            }
+        }
+        recorder.record(currentPlayerID, InputEvent.END_PHASE, phase);
+
+        if (telemetry != null && phase == 5 && currentPlayerID == players.length - 1) {
+            telemetry.recordTurn(this);
+        }
+        //Note everybody's holdings and the market's prices at the end of every round
+    }
+
+    /**
+     * Records an input made by the current player
+     * @param kind The kind of input, see {@link InputEvent}
+     * @param argument The input's argument
+     */
+    public void recordInput(int kind, int argument) {
+        if (recorder != null) {
+            recorder.record(currentPlayerID, kind, argument);
+        }
+
+        if (telemetry != null && kind == InputEvent.CATCH_CHANCELLOR) {
+            telemetry.addCapture(turn, currentPlayerID, argument);
+        }
+
+        if (market != null) {
+            timeline.capture(this, kind, argument);
+            if (InputEvent.isUndoable(kind)) {
+                receipts.push(market.lastReceipt());
+            } else {
+                receipts.clear();
+            }
+            refreshUndoButton();
+        }
+    }
+
+    /**
+     * @return The copies of the game kept after each of the most recent inputs
+     */
+    public Timeline timeline() {
+        return timeline;
+    }
+
+    /**
+     * Returns true if the current player's last input was a purchase or sale that can still be taken back
+     * Only human players can undo, and only within the phase in which they bought or sold
+     * @return True if {@link #undo()} will do anything
+     */
+    public boolean canUndo() {
+        GameFrame last = timeline.head();
+        return last != null && timeline.size() > 1 && InputEvent.isUndoable(last.kind()) && !receipts.isEmpty()
+                && last.actor() == currentPlayerID && last.phase() == phase && last.turn() == turn
+                && !currentPlayer().isAi();
+    }
+
+    /**
+     * Takes back the current player's last purchase or sale at the market
+     * The player gets back what they paid or sold, and the market's stock and prices go back to how they were before it
+     * Anything else that happened since, such as an auction being settled, is left as it is
+     */
+    public void undo() {
+        if (!canUndo()) {
+            return;
+        }
+
+        GameFrame after = timeline.head();
+        timeline.undo();
+        Player player = currentPlayer();
+
+        market.takeBack(receipts.pop(), player);
+        //Take back only what the purchase or sale did, so that anything else that has happened since is kept
+
+        if (recorder != null) {
+            recorder.record(currentPlayerID, InputEvent.UNDO, after.kind());
+        }
+
+        if (phase == 2) {
+            openRoboticonMarketInterface();
+        } else {
+            openResourceMarketInterface();
+        }
+        gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ORE, market.getOreStock());
+        gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ENERGY, market.getEnergyStock());
+        gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.FOOD, market.getFoodStock());
+        gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ROBOTICON, market.getRoboticonStock());
+        gameScreen.playerInfoTable.showPlayerInventory(player);
+        resetAuctionInterface();
+        refreshForecast();
+        refreshUndoButton();
+    }
+
+    /**
+     * Lets the undo button be clicked only while there's something that the current player can undo
+     */
+    private void refreshUndoButton() {
+        if (canUndo()) {
+            gameScreen.marketInterfaceTable.toggleUndoButton(true, Color.WHITE);
+        } else {
+            gameScreen.marketInterfaceTable.toggleUndoButton(false, Color.GRAY);
+        }
+    }
+
+    /**
+     * Builds a state for the headless game from a point on the timeline, priced in the same way as this game
+     * The AI can look ahead from the state without touching the game or the timeline
+     * @param frame The point on the timeline
+     * @return The state
+     */
+    public SimState branch(GameFrame frame) {
+        return frame.toSimState(new PriceTable(market.getPricingModel()), market.getRoboticonPriceStep(),
+                config.round(GameConfig.UPGRADE_COST_PER_LEVEL));
+    }
+
+    /**
+     * @return A recording of every input made so far, or null if nothing has been recorded yet
+     */
+    public Recording recording() {
+        return (recorder == null) ? null : recorder.finish(Recording.NO_FINGERPRINT);
+    }
+
+    /**
+     * Writes the recording of the game so far to disk, so that it can be replayed with
+     * {@link drtn.game.replay.HeadlessReplayer} - which plays it through the headless game model, under that model's
+     * rules, rather than through this engine
+     */
+    public void saveRecording() {
+        Recording recording = recording();
+        if (recording == null) {
+            return;
+        }
+
+        try {
+            recording.write(Recording.lastRecordingFile());
+        } catch (IOException e) {
+            System.out.println("Error: Couldn't save the recording of the game. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the game that has just been won to the telemetry store, so that it can be studied alongside every other
+     * game played with {@link drtn.game.telemetry.TelemetryTool}
+     * @param winner The ID of the player who won
+     */
+    private void saveTelemetry(int winner) {
+        if (telemetry == null) {
+            return;
+        }
+
+        telemetry.recordTurn(this);
+        telemetry.finish(this, winner);
+        try {
+            TelemetryStore store = TelemetryStore.open(TelemetryStore.defaultFile());
+            try {
+                store.append(telemetry);
+            } finally {
+                store.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Error: Couldn't store the game's telemetry. " + e.getMessage());
+        }
+        telemetry = null;
+        //Only store each game once, however many times its end is noticed
+    }
+
+    /**
+     * Sets up the game as it was when a snapshot was taken, in place of {@link #initialisePlayers(int, int)}
+     * The snapshot is always taken between two phases, so the game carries on from the start of the next phase as
+     * soon as the game screen is shown
+     *
+     * @param snapshot The snapshot to load
+     * @throws IllegalArgumentException If the snapshot doesn't fit this game's map, or names an unknown pricing model
+     */
+    public void restore(GameSnapshot snapshot) {
+        if (snapshot.tileCount() != tiles.length) {
+            throw new IllegalArgumentException("Error: Save has " + snapshot.tileCount() + " tiles, but the map has "
+                    + tiles.length + ".");
+        }
+        if (snapshot.playerCount() < 1 || snapshot.playerCount() > colleges.length) {
+            throw new IllegalArgumentException("Error: Save has " + snapshot.playerCount() + " players.");
+        }
+        for (int p = 0; p < snapshot.playerCount(); p++) {
+            if (snapshot.isAi(p) != (p >= snapshot.humanCount())) {
+                throw new IllegalArgumentException("Error: Save lists its AI players before its human players.");
+            }
+        }
+
+        config = snapshot.config();
+        initialisePlayers(snapshot.playerCount() - snapshot.humanCount(), snapshot.humanCount(),
+                PricingModels.byName(snapshot.pricingModel()));
+
+        for (int p = 0; p < players.length; p++) {
+            players[p].setResource(ResourceType.MONEY, snapshot.getMoney(p));
+            players[p].setResource(ResourceType.ORE, snapshot.getResource(p, GameSnapshot.ORE));
+            players[p].setResource(ResourceType.ENERGY, snapshot.getResource(p, GameSnapshot.ENERGY));
+            players[p].setResource(ResourceType.FOOD, snapshot.getResource(p, GameSnapshot.FOOD));
+            for (int r = 0; r < snapshot.getRoboticons(p); r++) {
+                players[p].increaseRoboticonInventory();
+            }
+        }
+
+        for (int t = 0; t < tiles.length; t++) {
+            Tile tile = tiles[t];
+            tile.setResource(ResourceType.ORE, snapshot.getYield(t, GameSnapshot.ORE));
+            tile.setResource(ResourceType.ENERGY, snapshot.getYield(t, GameSnapshot.ENERGY));
+            tile.setResource(ResourceType.FOOD, snapshot.getYield(t, GameSnapshot.FOOD));
+
+            int owner = snapshot.getOwner(t);
+            if (owner < 0 || owner >= players.length) {
+                continue;
+            }
+
+            players[owner].assignTile(tile);
+            tile.setOwner(players[owner]);
+            tileIndex.claim(t);
+            producerIndex.setOwner(t, owner);
+            colourTileBorder(tile, players[owner]);
+
+            if (snapshot.getRoboticonID(t) != GameSnapshot.NO_ROBOTICON) {
+                Roboticon roboticon = new Roboticon(snapshot.getRoboticonID(t), players[owner], tile);
+                roboticon.setUpgradeCostPerLevel(config.round(GameConfig.UPGRADE_COST_PER_LEVEL));
+                roboticon.setLevels(snapshot.getLevel(t, GameSnapshot.ORE), snapshot.getLevel(t, GameSnapshot.ENERGY),
+                        snapshot.getLevel(t, GameSnapshot.FOOD));
+            }
+        }
+
+        snapshot.restoreEffects(effectScheduler, players.length, tiles.length);
+        refreshTileValues();
+
+        market.setOreStock(snapshot.getStock(GameSnapshot.ORE));
+        market.setOreBuyPrice(snapshot.getBuyPrice(GameSnapshot.ORE));
+        market.setOreSellPrice(snapshot.getSellPrice(GameSnapshot.ORE));
+        market.setEnergyStock(snapshot.getStock(GameSnapshot.ENERGY));
+        market.setEnergyBuyPrice(snapshot.getBuyPrice(GameSnapshot.ENERGY));
+        market.setEnergySellPrice(snapshot.getSellPrice(GameSnapshot.ENERGY));
+        market.setFoodStock(snapshot.getStock(GameSnapshot.FOOD));
+        market.setFoodBuyPrice(snapshot.getBuyPrice(GameSnapshot.FOOD));
+        market.setFoodSellPrice(snapshot.getSellPrice(GameSnapshot.FOOD));
+        market.setRoboticonStock(snapshot.getStock(GameSnapshot.ROBOTICON));
+        market.setRoboticonBuyPrice(snapshot.getBuyPrice(GameSnapshot.ROBOTICON));
+
+        phase = snapshot.phase();
+        currentPlayerID = Math.max(0, Math.min(players.length - 1, snapshot.currentPlayer()));
+        turn = snapshot.turn();
+        roboticonIDCounter = snapshot.roboticonIDCounter();
+        tileAcquired = snapshot.isTileAcquired();
+
+        trades = new TradeBook();
+        trades.advanceTo(turn);
+        for (int i = 0; i < snapshot.tradeCount(); i++) {
+            int sender = snapshot.getTrade(i, 0);
+            int target = snapshot.getTrade(i, 1);
+            if (sender < 0 || sender >= players.length || target < 0 || target >= players.length) {
+                continue;
+            }
+
+            Trade trade = new Trade(snapshot.getTrade(i, 2), snapshot.getTrade(i, 3), snapshot.getTrade(i, 4),
+                    snapshot.getTrade(i, 5), players[sender], players[target]);
+            if (snapshot.getTrade(i, 7) != 0) {
+                trade = trade.counter(trade.oreAmount, trade.energyAmount, trade.foodAmount, trade.getPrice());
+            }
+            //The offer that a counter-offer answered isn't saved, so it's stood in for by the counter-offer's own terms
+
+            trades.offer(trade, snapshot.getTrade(i, 6));
+        }
+    }
+
+    /**
+     * Runs this turn's barter clearing, carrying out exchanges between AI players straight away and leaving the rest
+     * as proposals for the human players involved
+     */
+    private void clearBarter() {
+        if (market == null) {
+            return;
+        }
+
+        for (BarterCycle cycle : barter.clear(players, market)) {
+            System.out.println("Barter: exchange between " + cycle.getTransfers().size + " players carried out.");
+        }
+    }
+
+    /**
+     * Records the current player's response to a barter proposal
+     * @param cycle The proposal
+     * @param accepted Whether the current player accepted it
+     * @return True if the exchange was carried out as a result
+     */
+    public boolean respondToBarter(BarterCycle cycle, boolean accepted) {
+        return barter.respond(cycle, currentPlayer(), accepted);
+    }
+
+    /**
+     * Tests whether there is a barter proposal or trade currently pending
      */
     public void testTrade(){
+        BarterCycle proposal = barter.proposalFor(currentPlayer());
+        if (proposal != null) {
+            gameScreen.activeBarter(proposal);
+            return;
+        }
+
         Trade trade = getCurrentPendingTrade();
         if (trade == null) return ;
         gameScreen.activeTrade(trade);
@@ -719,7 +1682,7 @@ public class GameEngine {
      * Sets the current screen to the minigame screen
      */
     public void miniGame() {
-        game.setScreen(new MiniGameScreen());
+        game.setScreen(new MiniGameScreen(random));
     }
 
     /**
@@ -740,39 +1703,52 @@ public class GameEngine {
 
     /**
      * Creates and initialises all of the effects
-     * @throws InvalidResourceTypeException
      */
-    private void setupEffects() throws InvalidResourceTypeException {
-        plotEffectSource = new PlotEffectSource(this);
-        playerEffectSource = new PlayerEffectSource(this);
-
+    private void setupEffects() {
+        effects = EffectProgram.configured();
     }
+
     /**
-     * Randomly applies the effects
+     * Randomly applies the effects, picking the event that hits the current player by how the game is going
      */
     private void setEffects() {
-        Random RNGesus = new Random();
-        int plotEffectIndex = RNGesus.nextInt(plotEffectSource.size);
-        int playerEffectIndex = RNGesus.nextInt(playerEffectSource.size);
-
-        if (RNGesus.nextInt(2) == 0) {
-            plotEffectSource.get(plotEffectIndex).executeRunnable();
-            if (!(isCurrentlyAiPlayer())) {
-                gameScreen.showEventMessage(plotEffectSource.get(plotEffectIndex).getDescription());
-            }
-        } else {
-            playerEffectSource.get(playerEffectIndex).executeRunnable();
-            if (!(isCurrentlyAiPlayer())) {
-                gameScreen.showEventMessage(playerEffectSource.get(playerEffectIndex).getDescription());
-            }
+        float progress = 1 - tileIndex.freeCount() / (float) tiles.length;
+
+        int event = eventDirector.choose(currentPlayerID,
+                EventDirector.leaderGap(scoreboard.score(currentPlayerID), scoreboard.score(scoreboard.leader())),
+                EventDirector.scarcity(market.getOreStock(), market.getEnergyStock(), market.getFoodStock(), config),
+                progress);
+        if (event == EventDirector.NONE || !effectScheduler.fire(event, currentPlayerID, currentPlayer())) {
+            return;
+        }
+        //Events that are cooling down, or are already in force and don't stack, pass the player by
+        recordEvent(effects.getName(event), eventDirector.chance(currentPlayerID, event));
+        if (!(isCurrentlyAiPlayer())) {
+            gameScreen.showEventMessage(effects.getText(event));
+        }
+    }
+    /**
+     * Notes that a random event has hit the current player
+     * @param name The event's name
+     * @param chance The chance that the event had of being picked
+     */
+    private void recordEvent(String name, float chance) {
+        if (telemetry != null) {
+            telemetry.addEvent(turn, currentPlayerID, name, chance);
         }
     }
+
     /**
-     * Clears all imposed PlotEffects
+     * Passes the tiles' current yields on to the tile index, so that their values stay up to date
      */
-    private void clearEffects() {
-        for (PlotEffect PE : plotEffectSource) {
-            PE.revertAll();
+    private void refreshTileValues() {
+        for (int t = 0; t < tiles.length; t++) {
+            try {
+                tileIndex.setYields(t, tiles[t].getResource(ResourceType.ORE), tiles[t].getResource(ResourceType.ENERGY),
+                        tiles[t].getResource(ResourceType.FOOD));
+            } catch (InvalidResourceTypeException e) {
+                //Do nothing: tiles always hold all three of these resources
+            }
         }
     }
 
@@ -784,6 +1760,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.buy(ResourceType.ORE, 1, currentPlayer())) {
+                    recordInput(InputEvent.MARKET_BUY, InputEvent.trade(ResourceType.ORE, 1));
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ORE, true, "-" + market.getOreBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ORE, false, "+" + market.getOreSellPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ORE, market.getOreStock());
@@ -792,6 +1770,7 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.ORE);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
 
                     resetAuctionInterface();
                 }
@@ -802,6 +1781,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.buy(ResourceType.ENERGY, 1, currentPlayer())) {
+                    recordInput(InputEvent.MARKET_BUY, InputEvent.trade(ResourceType.ENERGY, 1));
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ENERGY, true, "-" + market.getEnergyBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ENERGY, false, "+" + market.getEnergySellPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ENERGY, market.getEnergyStock());
@@ -810,6 +1791,7 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.ENERGY);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
 
                     resetAuctionInterface();
                 }
@@ -820,6 +1802,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.buy(ResourceType.FOOD, 1, currentPlayer())) {
+                    recordInput(InputEvent.MARKET_BUY, InputEvent.trade(ResourceType.FOOD, 1));
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.FOOD, true, "-" + market.getFoodBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.FOOD, false, "+" + market.getFoodSellPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.FOOD, market.getFoodStock());
@@ -828,6 +1812,7 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.FOOD);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
 
                     resetAuctionInterface();
                 }
@@ -838,6 +1823,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.buy(ResourceType.ROBOTICON, 1, currentPlayer())) {
+                    recordInput(InputEvent.BUY_ROBOTICONS, 1);
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ROBOTICON, true, "-" + market.getRoboticonBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ROBOTICON, market.getRoboticonStock());
 
@@ -847,6 +1834,7 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.ROBOTICON);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
                 }
             }
         });
@@ -855,6 +1843,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.sell(ResourceType.ORE, 1, currentPlayer())) {
+                    recordInput(InputEvent.MARKET_SELL, InputEvent.trade(ResourceType.ORE, 1));
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ORE, true, "-" + market.getOreBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ORE, false, "+" + market.getOreSellPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ORE, market.getOreStock());
@@ -863,6 +1853,7 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.ORE);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
 
                     resetAuctionInterface();
                 }
@@ -873,6 +1864,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.sell(ResourceType.ENERGY, 1, currentPlayer())) {
+                    recordInput(InputEvent.MARKET_SELL, InputEvent.trade(ResourceType.ENERGY, 1));
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ENERGY, true, "-" + market.getEnergyBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.ENERGY, false, "+" + market.getEnergySellPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.ENERGY, market.getEnergyStock());
@@ -881,6 +1874,7 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.ENERGY);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
 
                     resetAuctionInterface();
                 }
@@ -891,6 +1885,8 @@ public class GameEngine {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 if (market.sell(ResourceType.FOOD, 1, currentPlayer())) {
+                    recordInput(InputEvent.MARKET_SELL, InputEvent.trade(ResourceType.FOOD, 1));
+
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.FOOD, true, "-" + market.getFoodBuyPrice());
                     gameScreen.marketInterfaceTable.setMarketButtonText(ResourceType.FOOD, false, "+" + market.getFoodSellPrice());
                     gameScreen.marketInterfaceTable.setMarketStockText(ResourceType.FOOD, market.getFoodStock());
@@ -899,11 +1895,19 @@ public class GameEngine {
 
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.FOOD);
                     gameScreen.playerInfoTable.updateResource(currentPlayer(), ResourceType.MONEY);
+                    refreshForecast();
 
                     resetAuctionInterface();
                 }
             }
         });
+
+        gameScreen.marketInterfaceTable.setUndoButtonFunction(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                undo();
+            }
+        });
     }
 
     /**
@@ -1219,28 +2223,18 @@ public class GameEngine {
         gameScreen.marketInterfaceTable.setAuctionConfirmationButtonFunction(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                boolean offerSent = false;
-
-                for (Trade tradeInQueue : trades) {
-                    if (tradeInQueue.getTargetPlayer() == gameScreen.marketInterfaceTable.selectedPlayer()) {
-                        offerSent = true;
-
-                        gameScreen.marketInterfaceTable.toggleAuctionConfirmationButton(false, Color.RED);
-                        gameScreen.marketInterfaceTable.setAuctionConfirmationButtonText("Offer Already Sent");
-                    }
-                }
-
-                if (offerSent == false) {
-                    Trade trade = new Trade(gameScreen.marketInterfaceTable.tradeAmount(ResourceType.ORE),
-                            gameScreen.marketInterfaceTable.tradeAmount(ResourceType.ENERGY),
-                            gameScreen.marketInterfaceTable.tradeAmount(ResourceType.FOOD),
-                            gameScreen.marketInterfaceTable.tradePrice(), currentPlayer(),
-                            gameScreen.marketInterfaceTable.selectedPlayer());
-
-                    trades.add(trade);
+                Trade trade = new Trade(gameScreen.marketInterfaceTable.tradeAmount(ResourceType.ORE),
+                        gameScreen.marketInterfaceTable.tradeAmount(ResourceType.ENERGY),
+                        gameScreen.marketInterfaceTable.tradeAmount(ResourceType.FOOD),
+                        gameScreen.marketInterfaceTable.tradePrice(), currentPlayer(),
+                        gameScreen.marketInterfaceTable.selectedPlayer());
 
+                if (trades.offer(trade)) {
                     gameScreen.marketInterfaceTable.toggleAuctionConfirmationButton(false, Color.GREEN);
                     gameScreen.marketInterfaceTable.setAuctionConfirmationButtonText("Offer Sent Successfully!");
+                } else {
+                    gameScreen.marketInterfaceTable.toggleAuctionConfirmationButton(false, Color.RED);
+                    gameScreen.marketInterfaceTable.setAuctionConfirmationButtonText("Too Many Offers Pending");
                 }
 
                 Timer timer = new Timer();
@@ -1433,11 +2427,11 @@ public class GameEngine {
     }
 
     /**
-     * Removes a specific trade from the array  of pending trades
+     * Removes a specific trade from the book of pending trades
      * @param trade The trade to be removed
      */
     public void removeTrade(Trade trade) {
-        trades.removeValue(trade, true);
+        trades.remove(trade);
     }
 
     /**
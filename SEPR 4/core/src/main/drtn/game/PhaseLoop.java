@@ -0,0 +1,163 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves the game from one phase to the next without ever calling back into itself
+ *
+ * Phases are often ended from inside other phases (an AI player ends its phase as soon as it has moved, which may
+ * start another AI player's phase, and so on). Rather than starting each new phase inside the one that ended it,
+ * requests to move on are counted up and worked through one after another in a loop, so the stack stays the same
+ * depth however many phases are played. Once the loop has run for a frame's worth of time it hands the rest of the
+ * work back to the render thread to pick up on the next frame, and it stops altogether while the game is suspended.
+ */
+public class PhaseLoop {
+
+    /**
+     * Starts the next phase
+     */
+    private final Runnable step;
+
+    /**
+     * Runs the loop again on the next frame
+     */
+    private final Executor renderThread;
+
+    /**
+     * Picks the loop up again on the next frame, unless the game has been suspended in the meantime
+     */
+    private final Runnable continuation;
+
+    /**
+     * The longest that the loop may run for in one frame, in nanoseconds
+     */
+    private long frameSliceNanos;
+
+    /**
+     * The number of phase changes asked for which haven't been carried out yet
+     */
+    private int pending;
+
+    /**
+     * Whether the loop is running, or due to carry on running on the next frame
+     */
+    private boolean running;
+
+    /**
+     * Whether the loop has been stopped from starting any more phases until it's resumed
+     */
+    private boolean suspended;
+
+    /**
+     * @param step Starts the next phase
+     * @param renderThread Runs the loop again on the next frame (normally through Gdx.app.postRunnable)
+     * @param frameSliceMillis The longest that the loop may run for before it waits for the next frame
+     */
+    public PhaseLoop(Runnable step, Executor renderThread, long frameSliceMillis) {
+        this.step = step;
+        this.renderThread = renderThread;
+        this.frameSliceNanos = TimeUnit.MILLISECONDS.toNanos(frameSliceMillis);
+        this.continuation = new Runnable() {
+            @Override
+            public void run() {
+                running = false;
+                if (!suspended) {
+                    runPending();
+                }
+            }
+        };
+    }
+
+    /**
+     * Asks for the game to move on to the next phase
+     * If the loop is already running (because the current phase is being ended from inside the last one to start),
+     * the request is queued up and carried out once the current phase has finished starting
+     */
+    public void request() {
+        pending++;
+
+        if (!running && !suspended) {
+            runPending();
+        }
+    }
+
+    /**
+     * Stops the loop from starting any more phases until it's resumed
+     */
+    public void suspend() {
+        suspended = true;
+    }
+
+    /**
+     * Lets the loop carry on with any phase changes that were queued up while it was suspended
+     */
+    public void resume() {
+        suspended = false;
+
+        if (!running) {
+            runPending();
+        }
+    }
+
+    /**
+     * Changes how long the loop may run for before it waits for the next frame, such as when the game's pacing changes
+     *
+     * @param frameSliceMillis The longest that the loop may run for in one frame
+     */
+    public void setFrameSliceMillis(long frameSliceMillis) {
+        this.frameSliceNanos = TimeUnit.MILLISECONDS.toNanos(frameSliceMillis);
+    }
+
+    /**
+     * @return int The number of phase changes waiting to be carried out
+     */
+    public int pending() {
+        return pending;
+    }
+
+    /**
+     * @return boolean True if the loop is running, or is due to carry on running on the next frame
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Works through the queued phase changes until there are none left, the frame's time runs out or the loop is
+     * suspended
+     */
+    private void runPending() {
+        long deadline = System.nanoTime() + frameSliceNanos;
+        int steps = 0;
+        boolean handedOver = false;
+
+        running = true;
+        try {
+            while (pending > 0 && !suspended) {
+                if (steps > 0 && System.nanoTime() >= deadline) {
+                    handedOver = true;
+                    renderThread.execute(continuation);
+                    //Let a frame be drawn before carrying on
+                    return;
+                }
+
+                pending--;
+                steps++;
+                step.run();
+            }
+        } finally {
+            if (!handedOver) {
+                running = false;
+            }
+        }
+    }
+}
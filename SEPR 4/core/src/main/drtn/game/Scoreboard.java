@@ -0,0 +1,134 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.entity.Player;
+
+/**
+ * Keeps the players ranked by their scores as the game goes on, without ever reordering the players themselves
+ *
+ * The scoreboard listens to every player, who tell it whenever their ore, energy or food changes - whether by
+ * production, the market, auctions, trades or random events - so it never has to work out anyone's score again.
+ * The players' IDs are kept in order of their scores, best first, along with each player's place in that order, so
+ * a player's score and rank and the leader can all be found in O(1). A change of score moves the player past the
+ * players that it takes them past, and no further. Ties go to the player with the lower ID.
+ */
+public class Scoreboard implements Player.Listener {
+
+    private final int[] scores;
+
+    /**
+     * The players' IDs, best first
+     */
+    private final int[] order;
+
+    /**
+     * Each player's place in the order, indexed by their ID
+     */
+    private final int[] ranks;
+
+    /**
+     * The number of times that a score has changed, so that anything showing the standings knows when to redraw them
+     */
+    private int changes;
+
+    /**
+     * Constructs a scoreboard for the given players and starts listening to them
+     *
+     * @param players The players, whose IDs must run from 0 up to one less than the number of players
+     */
+    public Scoreboard(Player[] players) {
+        scores = new int[players.length];
+        order = new int[players.length];
+        ranks = new int[players.length];
+
+        for (int p = 0; p < players.length; p++) {
+            order[p] = p;
+            ranks[p] = p;
+        }
+        for (Player player : players) {
+            scoreChanged(player.getPlayerID(), player.calculateScore());
+            player.setListener(this);
+        }
+    }
+
+    @Override
+    public void scoreChanged(int playerID, int score) {
+        if (scores[playerID] == score) {
+            return;
+        }
+        scores[playerID] = score;
+        changes++;
+
+        int rank = ranks[playerID];
+        while (rank > 0 && ahead(playerID, order[rank - 1])) {
+            move(order[rank - 1], rank);
+            rank--;
+        }
+        while (rank < order.length - 1 && ahead(order[rank + 1], playerID)) {
+            move(order[rank + 1], rank);
+            rank++;
+        }
+        move(playerID, rank);
+    }
+
+    /**
+     * @return boolean True if player a ranks above player b
+     */
+    private boolean ahead(int a, int b) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private void move(int playerID, int rank) {
+        order[rank] = playerID;
+        ranks[playerID] = rank;
+    }
+
+    /**
+     * @return int The number of players on the scoreboard
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @return int The player's current score
+     */
+    public int score(int playerID) {
+        return scores[playerID];
+    }
+
+    /**
+     * @return int The player's place in the standings, from 0 for the leader
+     */
+    public int rank(int playerID) {
+        return ranks[playerID];
+    }
+
+    /**
+     * @return int The ID of the player in the given place in the standings, from 0 for the leader
+     */
+    public int player(int rank) {
+        return order[rank];
+    }
+
+    /**
+     * @return int The ID of the player with the highest score
+     */
+    public int leader() {
+        return order[0];
+    }
+
+    /**
+     * @return int The number of times that a score has changed since the scoreboard was made
+     */
+    public int changes() {
+        return changes;
+    }
+}
@@ -0,0 +1,281 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import java.util.BitSet;
+
+/**
+ * Keeps track of which tiles are still free, and of which free tiles are worth the most
+ *
+ * Free tiles are recorded in a bitset, so checking whether a tile (or any tile) is free never needs a pass over the
+ * map. Each free tile is also held in an indexed max-heap keyed on its value, so the most valuable free tile can be
+ * found straight away and claims and changes in value only cost O(log n).
+ *
+ * A tile's value is the sum of its yields (which already include its terrain's bonus, see {@link
+ * drtn.game.entity.Tile}) plus a share of the average yields of the tiles next to it, so that ties are broken in
+ * favour of the more productive parts of the map.
+ */
+public class TileIndex {
+
+    /**
+     * Share of the neighbouring tiles' average yields that's added to a tile's value
+     */
+    public static final double ADJACENCY_WEIGHT = 0.25;
+
+    private final int tileCount;
+    private final int columns;
+
+    /**
+     * The tiles' yields of ore, energy and food, indexed as [tile * 3 + resource]
+     */
+    private final int[] yields;
+    private final double[] values;
+
+    private final BitSet free;
+
+    /**
+     * The free tiles, arranged as a binary max-heap on their values
+     */
+    private final int[] heap;
+
+    /**
+     * The position of each tile in the heap, or -1 if it has been claimed
+     */
+    private final int[] position;
+    private int size;
+
+    /**
+     * Constructs an index over a rectangular map with every tile free and yielding nothing
+     *
+     * @param tiles The number of tiles
+     * @param columns The number of tiles in each row of the map
+     */
+    public TileIndex(int tiles, int columns) {
+        this.tileCount = tiles;
+        this.columns = columns;
+
+        yields = new int[tiles * 3];
+        values = new double[tiles];
+        free = new BitSet(tiles);
+        free.set(0, tiles);
+
+        heap = new int[tiles];
+        position = new int[tiles];
+        for (int t = 0; t < tiles; t++) {
+            heap[t] = t;
+            position[t] = t;
+        }
+        size = tiles;
+    }
+
+    /**
+     * Records a tile's yields, updating its value and those of its neighbours
+     *
+     * @param tile The tile's index
+     */
+    public void setYields(int tile, int ore, int energy, int food) {
+        yields[tile * 3] = ore;
+        yields[tile * 3 + 1] = energy;
+        yields[tile * 3 + 2] = food;
+
+        revalue(tile);
+
+        int row = tile / columns;
+        int column = tile % columns;
+        if (column > 0) {
+            revalue(tile - 1);
+        }
+        if (column < columns - 1 && tile + 1 < tileCount) {
+            revalue(tile + 1);
+        }
+        if (row > 0) {
+            revalue(tile - columns);
+        }
+        if (tile + columns < tileCount) {
+            revalue(tile + columns);
+        }
+    }
+
+    /**
+     * Marks a tile as claimed, taking it out of the running for the most valuable free tile
+     *
+     * @param tile The tile's index
+     * @return boolean True if the tile was free until now
+     */
+    public boolean claim(int tile) {
+        if (!free.get(tile)) {
+            return false;
+        }
+
+        free.clear(tile);
+
+        int at = position[tile];
+        size--;
+        if (at != size) {
+            place(heap[size], at);
+            siftUp(at);
+            siftDown(position[heap[at]]);
+        }
+        position[tile] = -1;
+
+        return true;
+    }
+
+    public boolean isFree(int tile) {
+        return free.get(tile);
+    }
+
+    /**
+     * @return boolean True if every tile has been claimed
+     */
+    public boolean isFull() {
+        return size == 0;
+    }
+
+    public int freeCount() {
+        return size;
+    }
+
+    /**
+     * @return int The index of the first free tile at or after the given one, or -1 if there isn't one
+     */
+    public int nextFree(int from) {
+        return free.nextSetBit(from);
+    }
+
+    public double value(int tile) {
+        return values[tile];
+    }
+
+    /**
+     * @return int The index of the most valuable free tile, or -1 if every tile has been claimed
+     */
+    public int best() {
+        return (size == 0) ? -1 : heap[0];
+    }
+
+    /**
+     * Lists the most valuable free tiles, most valuable first, without changing the index
+     *
+     * @param out Array to write the tiles' indices into; as many are listed as it has room for
+     * @return int The number of tiles listed
+     */
+    public int best(int[] out) {
+        int[] frontier = new int[out.length * 2 + 1];
+        int frontierSize = 0;
+        int n = 0;
+
+        if (size > 0) {
+            frontier[frontierSize++] = 0;
+        }
+
+        while (n < out.length && frontierSize > 0) {
+            int pick = 0;
+            for (int i = 1; i < frontierSize; i++) {
+                if (values[heap[frontier[i]]] > values[heap[frontier[pick]]]) {
+                    pick = i;
+                }
+            }
+
+            int at = frontier[pick];
+            frontier[pick] = frontier[--frontierSize];
+            out[n++] = heap[at];
+
+            if (at * 2 + 1 < size) {
+                frontier[frontierSize++] = at * 2 + 1;
+            }
+            if (at * 2 + 2 < size) {
+                frontier[frontierSize++] = at * 2 + 2;
+            }
+        }
+
+        return n;
+    }
+
+    /**
+     * Works out a tile's value again, moving it within the heap if it's still free
+     */
+    private void revalue(int tile) {
+        double own = yields[tile * 3] + yields[tile * 3 + 1] + yields[tile * 3 + 2];
+
+        double neighbours = 0;
+        int count = 0;
+        int column = tile % columns;
+        if (column > 0) {
+            neighbours += total(tile - 1);
+            count++;
+        }
+        if (column < columns - 1 && tile + 1 < tileCount) {
+            neighbours += total(tile + 1);
+            count++;
+        }
+        if (tile >= columns) {
+            neighbours += total(tile - columns);
+            count++;
+        }
+        if (tile + columns < tileCount) {
+            neighbours += total(tile + columns);
+            count++;
+        }
+
+        double value = own + ((count == 0) ? 0 : ADJACENCY_WEIGHT * neighbours / count);
+        double old = values[tile];
+        values[tile] = value;
+
+        if (position[tile] >= 0) {
+            if (value > old) {
+                siftUp(position[tile]);
+            } else {
+                siftDown(position[tile]);
+            }
+        }
+    }
+
+    private int total(int tile) {
+        return yields[tile * 3] + yields[tile * 3 + 1] + yields[tile * 3 + 2];
+    }
+
+    private void siftUp(int at) {
+        int tile = heap[at];
+
+        while (at > 0) {
+            int parent = (at - 1) / 2;
+            if (values[heap[parent]] >= values[tile]) {
+                break;
+            }
+            place(heap[parent], at);
+            at = parent;
+        }
+
+        place(tile, at);
+    }
+
+    private void siftDown(int at) {
+        int tile = heap[at];
+
+        while (at * 2 + 1 < size) {
+            int child = at * 2 + 1;
+            if (child + 1 < size && values[heap[child + 1]] > values[heap[child]]) {
+                child++;
+            }
+            if (values[heap[child]] <= values[tile]) {
+                break;
+            }
+            place(heap[child], at);
+            at = child;
+        }
+
+        place(tile, at);
+    }
+
+    private void place(int tile, int at) {
+        heap[at] = tile;
+        position[tile] = at;
+    }
+}
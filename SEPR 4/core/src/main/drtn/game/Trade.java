@@ -10,7 +10,6 @@ package drtn.game;
 
 import drtn.game.entity.Player;
 import drtn.game.enums.ResourceType;
-import drtn.game.enums.ResourceType;
 
 /**
  * Class to facilitate trades for assessment 3
@@ -25,6 +24,19 @@ public class Trade {
 	private int price;
 	private Player sender;
 	private Player targetPlayer;
+	/**
+	 * The player who has to accept or reject the offer; the target for a fresh offer, or whoever the offer was
+	 * countered back to for a counter-offer
+	 */
+	private Player respondent;
+	/**
+	 * The offer that this one counters, or null if this is an opening offer
+	 */
+	private Trade original;
+	/**
+	 * The turn at the start of which the offer is withdrawn if it is still pending
+	 */
+	private int expiryTurn;
 
 	/**
 	 * constructor for a trade
@@ -43,6 +55,23 @@ public class Trade {
 		this.price = price;
 		this.targetPlayer = targetPlayer;
 		this.sender = sender;
+		this.respondent = targetPlayer;
+	}
+
+	/**
+	 * Creates a counter-offer to this trade which has to be answered by the other party
+	 * Resources still move from the sender to the target if the counter-offer is accepted
+	 * @param oreAmount - amount of ore for sale
+	 * @param energyAmount - amount of energy for sale
+	 * @param foodAmount - amount of food for sale
+	 * @param price - price of the sale
+	 * @return the counter-offer, linked back to this trade
+	 */
+	public Trade counter(int oreAmount, int energyAmount, int foodAmount, int price){
+		Trade counter = new Trade(oreAmount, energyAmount, foodAmount, price, sender, targetPlayer);
+		counter.respondent = getProposer();
+		counter.original = this;
+		return counter;
 	}
 	
 	public int getPrice(){
@@ -60,6 +89,42 @@ public class Trade {
 	public Player getSender(){
 		return this.sender;
 	}
+
+	/**
+	 * @return the player who has to accept or reject this offer
+	 */
+	public Player getRespondent(){
+		return this.respondent;
+	}
+
+	/**
+	 * @return the player who made this offer (the opposite party to the respondent)
+	 */
+	public Player getProposer(){
+		if (respondent == targetPlayer) {
+			return sender;
+		}
+		return targetPlayer;
+	}
+
+	/**
+	 * @return the trade that this offer counters, or null if it is an opening offer
+	 */
+	public Trade getOriginal(){
+		return this.original;
+	}
+
+	public boolean isCounterOffer(){
+		return this.original != null;
+	}
+
+	public int getExpiryTurn(){
+		return this.expiryTurn;
+	}
+
+	void setExpiryTurn(int expiryTurn){
+		this.expiryTurn = expiryTurn;
+	}
 	
 	/**
 	 * execute will first test if the players have enough resources and money to execute the trade
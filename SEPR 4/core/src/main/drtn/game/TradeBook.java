@@ -0,0 +1,365 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import drtn.game.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Keeps track of every trade offer that is waiting for a response
+ *
+ * Offers are queued separately for each respondent (in the order that they were made) so that a player's next offer
+ * can be found without looking through anyone else's. Each offer expires a fixed number of turns after it is made;
+ * expiry is driven by a timing wheel with one bucket per turn, so withdrawing the offers that have run out only
+ * touches the offers that are due to expire that turn.
+ */
+public class TradeBook {
+
+    /**
+     * Number of turns that an offer stays open for by default
+     */
+    public static final int DEFAULT_LIFETIME = 2;
+
+    /**
+     * Number of offers that one player can have waiting on another at the same time by default
+     */
+    public static final int DEFAULT_MAX_OFFERS_PER_PAIR = 3;
+
+    /**
+     * Pending offers, queued by the player who has to respond to them
+     */
+    private final HashMap<Player, LinkedHashSet<Trade>> queues;
+
+    /**
+     * Number of pending offers held between each proposer and respondent
+     */
+    private final HashMap<Player, ObjectIntMap<Player>> pairCounts;
+
+    /**
+     * Timing wheel holding every pending offer in the bucket for the turn that it expires on
+     */
+    private final Array<Array<Trade>> wheel;
+
+    /**
+     * Number of turns that each new offer stays open for
+     */
+    private final int lifetime;
+
+    /**
+     * Maximum number of offers that one player can have waiting on another
+     */
+    private final int maxOffersPerPair;
+
+    /**
+     * The most recent turn that the book has been advanced to
+     */
+    private int turn;
+
+    /**
+     * Total number of offers currently pending
+     */
+    private int size;
+
+    /**
+     * Constructs an empty trade book
+     *
+     * @param lifetime Number of turns that each new offer stays open for
+     * @param maxOffersPerPair Maximum number of offers that one player can have waiting on another
+     */
+    public TradeBook(int lifetime, int maxOffersPerPair) {
+        if (lifetime < 1) {
+            throw new IllegalArgumentException("Error: Trade offers must stay open for at least one turn.");
+        }
+
+        this.lifetime = lifetime;
+        this.maxOffersPerPair = maxOffersPerPair;
+
+        queues = new HashMap<Player, LinkedHashSet<Trade>>();
+        pairCounts = new HashMap<Player, ObjectIntMap<Player>>();
+
+        int buckets = 1;
+        while (buckets <= lifetime) {
+            buckets <<= 1;
+        }
+        //One bucket for every turn that an offer can be open for, rounded up to a power of two
+
+        wheel = new Array<Array<Trade>>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            wheel.add(new Array<Trade>(false, 4));
+        }
+    }
+
+    /**
+     * Constructs an empty trade book using the default offer lifetime and per-pair limit
+     */
+    public TradeBook() {
+        this(DEFAULT_LIFETIME, DEFAULT_MAX_OFFERS_PER_PAIR);
+    }
+
+    /**
+     * Checks whether a player is allowed to send another offer to the given respondent
+     *
+     * @param proposer The player making the offer
+     * @param respondent The player who would have to respond to it
+     * @return True if the proposer has fewer than the maximum number of offers waiting on the respondent
+     */
+    public boolean canOffer(Player proposer, Player respondent) {
+        return pendingBetween(proposer, respondent) < maxOffersPerPair;
+    }
+
+    /**
+     * Returns the number of offers that one player currently has waiting on another
+     *
+     * @param proposer The player who made the offers
+     * @param respondent The player who has to respond to them
+     * @return int The number of pending offers between the two players
+     */
+    public int pendingBetween(Player proposer, Player respondent) {
+        ObjectIntMap<Player> counts = pairCounts.get(proposer);
+        if (counts == null) {
+            return 0;
+        }
+
+        return counts.get(respondent, 0);
+    }
+
+    /**
+     * Queues an offer for its respondent, to be withdrawn automatically once its lifetime runs out
+     *
+     * @param trade The offer to queue
+     * @return True if the offer was queued, or false if the proposer already has too many offers waiting
+     */
+    public boolean offer(Trade trade) {
+        return offer(trade, turn + lifetime);
+    }
+
+    /**
+     * Queues an offer which is to be withdrawn at the end of the given turn, as when an offer is loaded from a save
+     *
+     * @param trade The offer to queue
+     * @param expiryTurn The turn at which the offer is to be withdrawn, at most one lifetime from the current turn
+     * @return True if the offer was queued, or false if the proposer already has too many offers waiting
+     */
+    public boolean offer(Trade trade, int expiryTurn) {
+        Player proposer = trade.getProposer();
+        Player respondent = trade.getRespondent();
+
+        if (!canOffer(proposer, respondent)) {
+            return false;
+        }
+
+        LinkedHashSet<Trade> queue = queues.get(respondent);
+        if (queue == null) {
+            queue = new LinkedHashSet<Trade>();
+            queues.put(respondent, queue);
+        }
+
+        if (!queue.add(trade)) {
+            return false;
+        }
+
+        ObjectIntMap<Player> counts = pairCounts.get(proposer);
+        if (counts == null) {
+            counts = new ObjectIntMap<Player>();
+            pairCounts.put(proposer, counts);
+        }
+        counts.getAndIncrement(respondent, 0, 1);
+
+        trade.setExpiryTurn(Math.max(turn + 1, Math.min(turn + lifetime, expiryTurn)));
+        wheel.get(trade.getExpiryTurn() & (wheel.size - 1)).add(trade);
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Answers an offer with a counter-offer, which replaces the original in the book and has to be answered by
+     * whoever made the original offer
+     *
+     * @param original The offer being countered
+     * @param oreAmount Amount of ore for sale in the counter-offer
+     * @param energyAmount Amount of energy for sale in the counter-offer
+     * @param foodAmount Amount of food for sale in the counter-offer
+     * @param price Price asked in the counter-offer
+     * @return Trade The counter-offer, or null if it could not be queued
+     */
+    public Trade counter(Trade original, int oreAmount, int energyAmount, int foodAmount, int price) {
+        remove(original);
+
+        Trade counter = original.counter(oreAmount, energyAmount, foodAmount, price);
+        if (offer(counter)) {
+            return counter;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the oldest offer waiting on the given player without removing it
+     *
+     * @param respondent The player to look up offers for
+     * @return Trade The oldest pending offer, or null if there isn't one
+     */
+    public Trade peek(Player respondent) {
+        LinkedHashSet<Trade> queue = queues.get(respondent);
+        if (queue == null || queue.isEmpty()) {
+            return null;
+        }
+
+        return queue.iterator().next();
+    }
+
+    /**
+     * Removes and returns the oldest offer waiting on the given player
+     *
+     * @param respondent The player to look up offers for
+     * @return Trade The oldest pending offer, or null if there isn't one
+     */
+    public Trade poll(Player respondent) {
+        Trade trade = peek(respondent);
+        if (trade != null) {
+            remove(trade);
+        }
+
+        return trade;
+    }
+
+    /**
+     * Withdraws an offer from the book
+     * The offer's slot on the timing wheel is cleared lazily when its bucket next comes around
+     *
+     * @param trade The offer to withdraw
+     * @return True if the offer was still pending
+     */
+    public boolean remove(Trade trade) {
+        if (trade == null) {
+            return false;
+        }
+
+        LinkedHashSet<Trade> queue = queues.get(trade.getRespondent());
+        if (queue == null || !queue.remove(trade)) {
+            return false;
+        }
+
+        pairCounts.get(trade.getProposer()).getAndIncrement(trade.getRespondent(), 0, -1);
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Checks whether an offer is still waiting for a response
+     *
+     * @param trade The offer to check
+     * @return True if the offer is pending
+     */
+    public boolean isPending(Trade trade) {
+        LinkedHashSet<Trade> queue = queues.get(trade.getRespondent());
+        return queue != null && queue.contains(trade);
+    }
+
+    /**
+     * Returns the number of offers waiting on the given player
+     *
+     * @param respondent The player to look up offers for
+     * @return int The number of pending offers
+     */
+    public int pendingFor(Player respondent) {
+        LinkedHashSet<Trade> queue = queues.get(respondent);
+        if (queue == null) {
+            return 0;
+        }
+
+        return queue.size();
+    }
+
+    /**
+     * Lists the offers waiting on the given player, oldest first
+     *
+     * @param respondent The player to look up offers for
+     * @return List A copy of the player's pending offers
+     */
+    public List<Trade> offersFor(Player respondent) {
+        LinkedHashSet<Trade> queue = queues.get(respondent);
+        if (queue == null) {
+            return new ArrayList<Trade>(0);
+        }
+
+        return new ArrayList<Trade>(queue);
+    }
+
+    /**
+     * @return int The total number of pending offers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return int The most recent turn that the book has been advanced to
+     */
+    public int turn() {
+        return turn;
+    }
+
+    /**
+     * Moves the book forward to the given turn, withdrawing every offer whose lifetime has run out on the way
+     *
+     * @param newTurn The turn that the game has just reached
+     * @return int The number of offers that expired
+     */
+    public int advanceTo(int newTurn) {
+        int expired = 0;
+
+        int steps = Math.min(newTurn - turn, wheel.size);
+        //Every bucket is visited at most once, even when several turns are skipped at a time
+
+        for (int i = 1; i <= steps; i++) {
+            Array<Trade> bucket = wheel.get((turn + i) & (wheel.size - 1));
+
+            Iterator<Trade> it = bucket.iterator();
+            while (it.hasNext()) {
+                Trade trade = it.next();
+
+                if (!isPending(trade)) {
+                    it.remove();
+                } else if (trade.getExpiryTurn() <= newTurn) {
+                    remove(trade);
+                    it.remove();
+                    expired++;
+                }
+            }
+        }
+
+        if (newTurn > turn) {
+            turn = newTurn;
+        }
+
+        return expired;
+    }
+
+    /**
+     * Withdraws every pending offer
+     */
+    public void clear() {
+        queues.clear();
+        pairCounts.clear();
+        for (Array<Trade> bucket : wheel) {
+            bucket.clear();
+        }
+        size = 0;
+    }
+}
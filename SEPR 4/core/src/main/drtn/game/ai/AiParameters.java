@@ -0,0 +1,189 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * The numbers which tune the heuristic AI players' behaviour, held as a vector so that they can be searched over
+ *
+ * Each entry has a name, a default and a range, and every vector is clamped to those ranges when it's built, so any
+ * vector produced by mutating or crossing over others is still a valid set of parameters. The defaults reproduce the
+ * hand-picked numbers that the AI players were first written with. Parameters can be saved to and loaded from a
+ * properties file, see {@link TunedStrategy}.
+ */
+public final class AiParameters {
+
+    /**
+     * Money kept back from roboticon purchases, upgrades and market purchases
+     */
+    public static final int MONEY_BUFFER = 0;
+
+    /**
+     * Number of roboticons left in the market below which the AI stops buying them
+     */
+    public static final int ROBOTICON_STOCK_FLOOR = 1;
+
+    /**
+     * The AI sells on turns which are a multiple of this, and buys on the others
+     */
+    public static final int SELL_INTERVAL = 2;
+
+    /**
+     * Share of its most plentiful resource that the AI sells at once
+     */
+    public static final int SELL_SHARE = 3;
+
+    /**
+     * Units of its scarcest resource that the AI buys at once
+     */
+    public static final int BUY_AMOUNT = 4;
+
+    /**
+     * Stock of a resource that the market must hold more than for the AI to buy from it
+     */
+    public static final int MARKET_FLOOR = 5;
+
+    public static final String[] NAMES = {"moneyBuffer", "roboticonStockFloor", "sellInterval", "sellShare",
+            "buyAmount", "marketFloor"};
+    private static final double[] DEFAULTS = {20, 1, 2, 0.5, 5, 5};
+    private static final double[] MIN = {0, 0, 1, 0.05, 1, 0};
+    private static final double[] MAX = {100, 12, 6, 1, SimState.MAX_TRADE, 20};
+
+    private final double[] values;
+
+    /**
+     * @param values The parameters, indexed by the constants above; out-of-range values are clamped
+     */
+    public AiParameters(double[] values) {
+        if (values.length != NAMES.length) {
+            throw new IllegalArgumentException("Error: Expected " + NAMES.length + " AI parameters but got "
+                    + values.length + ".");
+        }
+
+        this.values = new double[NAMES.length];
+        for (int i = 0; i < NAMES.length; i++) {
+            this.values[i] = Math.max(MIN[i], Math.min(MAX[i], values[i]));
+        }
+    }
+
+    /**
+     * @return AiParameters The hand-picked parameters that the AI players were first written with
+     */
+    public static AiParameters defaults() {
+        return new AiParameters(DEFAULTS);
+    }
+
+    public static int size() {
+        return NAMES.length;
+    }
+
+    public static double min(int index) {
+        return MIN[index];
+    }
+
+    public static double max(int index) {
+        return MAX[index];
+    }
+
+    /**
+     * @return double The parameter at the given index, as searched over
+     */
+    public double get(int index) {
+        return values[index];
+    }
+
+    /**
+     * @return int The parameter at the given index, rounded for parameters which count something
+     */
+    public int round(int index) {
+        return (int) Math.round(values[index]);
+    }
+
+    /**
+     * @return double[] A copy of the vector
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+
+    /**
+     * Loads parameters from a properties file; any that the file doesn't mention keep their defaults
+     *
+     * @param file The file to read
+     * @return AiParameters The parameters
+     * @throws IOException If the file can't be read
+     */
+    public static AiParameters load(File file) throws IOException {
+        Properties properties = new Properties();
+        Reader reader = new FileReader(file);
+        try {
+            properties.load(reader);
+        } finally {
+            reader.close();
+        }
+
+        double[] loaded = DEFAULTS.clone();
+        for (int i = 0; i < NAMES.length; i++) {
+            String value = properties.getProperty(NAMES[i]);
+            if (value != null) {
+                try {
+                    loaded[i] = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    System.out.println("Error: AI parameter " + NAMES[i] + " isn't a number. Using the default.");
+                }
+            }
+        }
+
+        return new AiParameters(loaded);
+    }
+
+    /**
+     * Saves the parameters to a properties file which {@link #load(File)} can read back
+     *
+     * @param file The file to write
+     * @param comment A comment to head the file with
+     * @throws IOException If the file can't be written
+     */
+    public void save(File file, String comment) throws IOException {
+        Properties properties = new Properties();
+        for (int i = 0; i < NAMES.length; i++) {
+            properties.setProperty(NAMES[i], Double.toString(values[i]));
+        }
+
+        Writer writer = new FileWriter(file);
+        try {
+            properties.store(writer, comment);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AiParameters && Arrays.equals(values, ((AiParameters) other).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < NAMES.length; i++) {
+            text.append((i == 0) ? "" : ", ").append(NAMES[i]).append('=')
+                    .append(String.format("%.2f", values[i]));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Looks up the AI strategies available to the game by name
+ *
+ * Strategies are discovered with {@link ServiceLoader}, so new ones can be dropped onto the classpath without touching
+ * the engine. The strategy used by AI players can be switched by launching the game with -Ddrtn.ai.strategy=[name],
+ * which makes it possible to play strategies off against each other between sessions.
+ */
+public final class AiStrategies {
+
+    /**
+     * Name of the system property that selects the AI players' strategy
+     */
+    public static final String PROPERTY = "drtn.ai.strategy";
+
+    private static List<AiStrategy> available;
+
+    private AiStrategies() {
+    }
+
+    /**
+     * Lists every strategy on the classpath, loading them the first time that this is called
+     * The built-in strategy is always listed, even if the service registrations can't be found
+     *
+     * @return List The strategies, which are shared by every caller
+     */
+    public static synchronized List<AiStrategy> available() {
+        if (available == null) {
+            List<AiStrategy> found = new ArrayList<AiStrategy>();
+
+            try {
+                for (AiStrategy strategy : ServiceLoader.load(AiStrategy.class)) {
+                    found.add(strategy);
+                }
+            } catch (ServiceConfigurationError e) {
+                System.out.println("Error: Failed to load AI strategies. " + e.getMessage());
+            }
+
+            boolean hasDefault = false;
+            for (AiStrategy strategy : found) {
+                hasDefault |= MctsStrategy.NAME.equals(strategy.name());
+            }
+            if (!hasDefault) {
+                found.add(0, new MctsStrategy());
+            }
+
+            available = Collections.unmodifiableList(found);
+        }
+
+        return available;
+    }
+
+    /**
+     * Returns the strategy registered under the given name
+     *
+     * @param name The name of the strategy
+     * @return AiStrategy The strategy registered under that name
+     * @throws IllegalArgumentException If no strategy is registered under the given name
+     */
+    public static AiStrategy byName(String name) {
+        for (AiStrategy strategy : available()) {
+            if (strategy.name().equals(name)) {
+                return strategy;
+            }
+        }
+
+        throw new IllegalArgumentException("Error: No AI strategy named \"" + name + "\" exists.");
+    }
+
+    /**
+     * Returns the strategy selected by the {@link #PROPERTY} system property
+     * Falls back on Monte Carlo tree search when the property is missing or names an unknown strategy
+     *
+     * @return AiStrategy The configured strategy
+     */
+    public static AiStrategy configured() {
+        String name = System.getProperty(PROPERTY, MctsStrategy.NAME);
+
+        try {
+            return byName(name);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + " Falling back on " + MctsStrategy.NAME + ".");
+            return byName(MctsStrategy.NAME);
+        }
+    }
+}
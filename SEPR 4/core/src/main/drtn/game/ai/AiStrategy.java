@@ -0,0 +1,36 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * Decides on AI players' moves
+ *
+ * Strategies are found through {@link java.util.ServiceLoader}: any implementation with a public no-argument
+ * constructor that's listed in META-INF/services/drtn.game.ai.AiStrategy can be picked by name, see
+ * {@link AiStrategies}. A single instance is shared by every AI player that uses it, and decisions are made on a
+ * worker thread, so strategies must not keep state between calls unless it's safe to share.
+ */
+public interface AiStrategy {
+
+    /**
+     * @return String The name that the strategy is picked by
+     */
+    String name();
+
+    /**
+     * Chooses the current player's action
+     * The strategy should return within its budget; if it doesn't, or if its thread is interrupted, the engine
+     * carries on without it and falls back on {@link SimAction#PASS}
+     *
+     * @param view The state of the game when the decision was asked for
+     * @param budget The time allowed for the decision
+     * @return int The chosen action, as encoded by {@link SimAction}
+     */
+    int decide(GameView view, ComputeBudget budget);
+}
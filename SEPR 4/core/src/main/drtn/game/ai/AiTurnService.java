@@ -0,0 +1,161 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.concurrent.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Works out AI players' moves on a worker thread, so that the render thread keeps drawing frames while they think
+ *
+ * Decisions are handed over as Callables that work from a snapshot of the game, and come back as CompletableFutures
+ * which the caller can then apply on the render thread (normally by completing them through Gdx.app.postRunnable).
+ * Only one decision is worked on at a time: the game only ever waits on one AI player at once.
+ *
+ * Decisions can be given a timeout, after which their futures fail with a TimeoutException and the worker thread is
+ * interrupted, so that a strategy which overruns its budget can never hold the game up.
+ */
+public class AiTurnService {
+
+    private final ExecutorService worker;
+
+    /**
+     * Fails decisions which haven't been made by their deadlines
+     */
+    private final ScheduledExecutorService timer;
+
+    /**
+     * The decision currently being worked on, and the task working on it
+     */
+    private CompletableFuture<?> pending;
+    private Future<?> running;
+
+    public AiTurnService() {
+        this.worker = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AI Turn");
+                thread.setDaemon(true);
+                //Never keep the game open just because an AI is still thinking
+                return thread;
+            }
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AI Timeout");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Starts working out a decision on the worker thread, cancelling any decision that's still being worked on
+     *
+     * @param decision Works out the decision; it must not touch the live game, as it runs off the render thread
+     * @return CompletableFuture The decision, once it has been made
+     */
+    public synchronized <T> CompletableFuture<T> submit(final Callable<T> decision) {
+        cancel();
+
+        final CompletableFuture<T> result = new CompletableFuture<T>();
+        pending = result;
+
+        if (worker.isShutdown()) {
+            result.cancel(false);
+            return result;
+        }
+
+        running = worker.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    T value = decision.call();
+                    if (Thread.interrupted()) {
+                        result.cancel(false);
+                    } else {
+                        result.complete(value);
+                    }
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Starts working out a decision on the worker thread as {@link #submit(Callable)} does, giving up on it if it
+     * hasn't been made within the given time
+     *
+     * @param decision Works out the decision; it must not touch the live game, as it runs off the render thread
+     * @param timeoutMillis The longest to wait for the decision
+     * @return CompletableFuture The decision, or a TimeoutException if it wasn't made in time
+     */
+    public synchronized <T> CompletableFuture<T> submit(Callable<T> decision, long timeoutMillis) {
+        final CompletableFuture<T> result = submit(decision);
+        if (result.isDone()) {
+            return result;
+        }
+
+        final Future<?> task = running;
+        final ScheduledFuture<?> deadline = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                if (result.completeExceptionally(new TimeoutException("Error: AI decision timed out."))) {
+                    task.cancel(true);
+                }
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        result.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T value, Throwable error) {
+                deadline.cancel(false);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Cancels the decision being worked on, if there is one, and interrupts the worker thread so that it stops
+     *
+     * @return True if a decision was cancelled
+     */
+    public synchronized boolean cancel() {
+        if (pending == null || pending.isDone()) {
+            return false;
+        }
+
+        pending.cancel(false);
+        running.cancel(true);
+        pending = null;
+        running = null;
+        return true;
+    }
+
+    /**
+     * @return True if a decision is being worked on
+     */
+    public synchronized boolean isThinking() {
+        return pending != null && !pending.isDone();
+    }
+
+    /**
+     * Cancels any decision being worked on and stops the worker thread
+     */
+    public synchronized void shutdown() {
+        cancel();
+        worker.shutdownNow();
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time that an AI strategy is given to make a decision, counted from when the decision was asked for
+ *
+ * Strategies should check {@link #isSpent()} (or stop when their thread is interrupted) and return the best move
+ * found so far; the engine stops waiting once the budget and a short grace period have passed, whether or not the
+ * strategy has finished. Strategies which simulate games should also stop once they've played {@link #rollouts()}
+ * of them, which is how decisions made on the render thread are kept short without taking away every difficulty's
+ * strength.
+ */
+public final class ComputeBudget {
+
+    /**
+     * Returned by {@link #rollouts()} when only the time is limited
+     */
+    public static final long UNLIMITED_ROLLOUTS = Long.MAX_VALUE;
+
+    private final long millis;
+    private final long rollouts;
+    private final long deadline;
+
+    /**
+     * @param millis The time allowed for the decision, starting now
+     */
+    public ComputeBudget(long millis) {
+        this(millis, UNLIMITED_ROLLOUTS);
+    }
+
+    /**
+     * @param millis The time allowed for the decision, starting now
+     * @param rollouts The most games that the strategy may simulate, however much time is left
+     */
+    public ComputeBudget(long millis, long rollouts) {
+        this.millis = Math.max(0, millis);
+        this.rollouts = Math.max(1, rollouts);
+        this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.millis);
+    }
+
+    /**
+     * @return long The total time allowed for the decision
+     */
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * @return long The most games that the strategy may simulate, or {@link #UNLIMITED_ROLLOUTS}
+     */
+    public long rollouts() {
+        return rollouts;
+    }
+
+    /**
+     * @return long The time left before the budget runs out, which is never negative
+     */
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    /**
+     * @return boolean True once the budget has run out
+     */
+    public boolean isSpent() {
+        return System.nanoTime() - deadline >= 0;
+    }
+}
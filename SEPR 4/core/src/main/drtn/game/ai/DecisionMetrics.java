@@ -0,0 +1,74 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps a latency histogram and a count of timed-out decisions for each AI strategy, so that strategies can be
+ * compared on how long they take as well as on how well they play
+ */
+public class DecisionMetrics {
+
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<String, LatencyHistogram>();
+    private final Map<String, Integer> timeouts = new LinkedHashMap<String, Integer>();
+
+    /**
+     * Records how long a strategy took to reach a decision, or to be given up on
+     *
+     * @param strategy The strategy's name
+     * @param nanos The time from the decision being asked for to it being answered
+     * @param timedOut True if the strategy ran out of time and its decision was replaced by the fallback
+     */
+    public synchronized void record(String strategy, long nanos, boolean timedOut) {
+        histogram(strategy).record(nanos);
+
+        if (timedOut) {
+            timeouts.put(strategy, timeouts(strategy) + 1);
+        }
+    }
+
+    /**
+     * @return LatencyHistogram The latencies recorded for the given strategy
+     */
+    public synchronized LatencyHistogram histogram(String strategy) {
+        LatencyHistogram histogram = latencies.get(strategy);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            latencies.put(strategy, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * @return int The number of the given strategy's decisions which ran out of time
+     */
+    public synchronized int timeouts(String strategy) {
+        Integer count = timeouts.get(strategy);
+        return (count == null) ? 0 : count;
+    }
+
+    /**
+     * @return String A line for each strategy summarising its decision latencies
+     */
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder();
+
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            report.append(String.format("AI: %s made %d decisions (mean %.1fms, p50 %.1fms, p99 %.1fms, max %.1fms, "
+                            + "%d timed out)%n", entry.getKey(), histogram.count(), histogram.meanMillis(),
+                    histogram.percentileMillis(50), histogram.percentileMillis(99), histogram.maxMillis(),
+                    timeouts(entry.getKey())));
+        }
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * Asks AI strategies for decisions on the AI worker thread, holding each of them to its compute budget
+ *
+ * A strategy which hasn't decided by the end of its budget (plus {@link Difficulty#GRACE_MILLIS}) is interrupted and
+ * its decision replaced by {@link #FALLBACK}, as is one that fails outright, so the game always gets an answer in
+ * bounded time. How long each decision took is recorded against its strategy in the {@link DecisionMetrics}.
+ */
+public class DecisionRunner {
+
+    /**
+     * The action taken in place of a decision that timed out or failed, which simply ends the AI's phase
+     */
+    public static final int FALLBACK = SimAction.PASS;
+
+    private final AiTurnService worker;
+    private final DecisionMetrics metrics;
+
+    /**
+     * @param worker The thread that decisions are made on
+     * @param metrics Where the decisions' latencies are recorded
+     */
+    public DecisionRunner(AiTurnService worker, DecisionMetrics metrics) {
+        this.worker = worker;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts a strategy working on a decision, cancelling any decision that's still being worked on
+     *
+     * @param strategy The strategy to ask
+     * @param view The state of the game to decide from
+     * @param budgetMillis The time that the strategy is allowed
+     * @return CompletableFuture The chosen action, or {@link #FALLBACK} if the strategy ran out of time, failed or was
+     * cancelled; it never completes exceptionally
+     */
+    public CompletableFuture<Integer> decide(AiStrategy strategy, GameView view, long budgetMillis) {
+        return decide(strategy, view, budgetMillis, ComputeBudget.UNLIMITED_ROLLOUTS);
+    }
+
+    /**
+     * Starts a strategy working on a decision, as {@link #decide(AiStrategy, GameView, long)} does, which may play
+     * out no more than the given number of games
+     *
+     * @param rollouts The most games that the strategy may simulate
+     */
+    public CompletableFuture<Integer> decide(final AiStrategy strategy, final GameView view, final long budgetMillis,
+                                             final long rollouts) {
+        final long start = System.nanoTime();
+
+        return worker.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return strategy.decide(view, new ComputeBudget(budgetMillis, rollouts));
+            }
+        }, Difficulty.timeoutMillis(budgetMillis)).handle(new BiFunction<Integer, Throwable, Integer>() {
+            @Override
+            public Integer apply(Integer action, Throwable error) {
+                Throwable cause = (error instanceof CompletionException) ? error.getCause() : error;
+
+                if (cause instanceof CancellationException) {
+                    return FALLBACK;
+                }
+                //Decisions cancelled by the engine are no longer waited on, so there's nothing to record
+
+                metrics.record(strategy.name(), System.nanoTime() - start, cause instanceof TimeoutException);
+
+                if (cause instanceof TimeoutException) {
+                    System.out.println("Error: AI strategy " + strategy.name() + " ran out of time.");
+                    return FALLBACK;
+                } else if (cause != null) {
+                    System.out.println("Error: AI strategy " + strategy.name() + " failed to decide on a move.");
+                    cause.printStackTrace();
+                    return FALLBACK;
+                }
+
+                return action;
+            }
+        });
+    }
+
+    /**
+     * Makes a decision while the calling thread waits, still holding the strategy to its budget
+     *
+     * @return int The chosen action, or {@link #FALLBACK} if the strategy ran out of time, failed or was cancelled
+     */
+    public int decideNow(AiStrategy strategy, GameView view, long budgetMillis) {
+        return decideNow(strategy, view, budgetMillis, ComputeBudget.UNLIMITED_ROLLOUTS);
+    }
+
+    /**
+     * Makes a decision while the calling thread waits, playing out no more than the given number of games
+     *
+     * @return int The chosen action, or {@link #FALLBACK} if the strategy ran out of time, failed or was cancelled
+     */
+    public int decideNow(AiStrategy strategy, GameView view, long budgetMillis, long rollouts) {
+        return decide(strategy, view, budgetMillis, rollouts).join();
+    }
+
+    public DecisionMetrics metrics() {
+        return metrics;
+    }
+}
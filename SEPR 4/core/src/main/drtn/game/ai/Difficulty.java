@@ -0,0 +1,83 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * How hard AI players are to beat, which is set by how long they may think about each move
+ *
+ * The budgets here are for real-time games; faster pacing policies scale them down in proportion (see
+ * {@link #budgetMillis(PacingPolicy)}). Policies without a planning budget decide on the render thread, so instead
+ * of a time each difficulty has a number of games that it may simulate (see {@link #rollouts(PacingPolicy)}), in the
+ * same proportions as the budgets and small enough to fit into a frame.
+ */
+public enum Difficulty {
+    EASY("EASY", 20, 16),
+    NORMAL("NORMAL", MctsPlanner.DEFAULT_BUDGET_MILLIS, 80),
+    HARD("HARD", 400, 320);
+
+    /**
+     * Extra time that a strategy is given past its budget before the engine stops waiting for it
+     */
+    public static final long GRACE_MILLIS = 50;
+
+    private final String label;
+    private final long budgetMillis;
+    private final long rollouts;
+
+    Difficulty(String label, long budgetMillis, long rollouts) {
+        this.label = label;
+        this.budgetMillis = budgetMillis;
+        this.rollouts = rollouts;
+    }
+
+    /**
+     * @return String The difficulty's name, as shown on the player selection screen
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * @return long The time that each decision is allowed in a real-time game
+     */
+    public long budgetMillis() {
+        return budgetMillis;
+    }
+
+    /**
+     * Scales the difficulty's budget by how much faster than real time the game is being played
+     * A pacing policy with no planning budget keeps the difficulty's own budget, but only as a backstop; the
+     * decision is really limited by {@link #rollouts(PacingPolicy)}
+     *
+     * @param pacing The game's pacing policy
+     * @return long The time that each decision is allowed
+     */
+    public long budgetMillis(PacingPolicy pacing) {
+        if (pacing.planningBudgetMillis() <= 0) {
+            return budgetMillis;
+        }
+        return budgetMillis * pacing.planningBudgetMillis() / MctsPlanner.DEFAULT_BUDGET_MILLIS;
+    }
+
+    /**
+     * @return long The most games that each decision may simulate under the given pacing policy: the difficulty's
+     * own number when the policy has no planning budget, or {@link ComputeBudget#UNLIMITED_ROLLOUTS} when the time
+     * alone limits the decision
+     */
+    public long rollouts(PacingPolicy pacing) {
+        return (pacing.planningBudgetMillis() <= 0) ? rollouts : ComputeBudget.UNLIMITED_ROLLOUTS;
+    }
+
+    /**
+     * @return long The longest that the engine waits for a decision with the given budget
+     */
+    public static long timeoutMillis(long budgetMillis) {
+        return budgetMillis + GRACE_MILLIS;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * A simpler AI strategy which plays every legal move out at random in turn, on the calling thread alone, and picks
+ * the one whose games ended with the best average score
+ *
+ * Unlike {@link MctsStrategy} it never looks more than one move ahead, which makes it a useful baseline to measure
+ * other strategies against.
+ */
+public class FlatMonteCarloStrategy implements AiStrategy {
+
+    public static final String NAME = "flat";
+
+    /**
+     * Number of playouts between each check of the clock
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 8;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int decide(GameView view, ComputeBudget budget) {
+        int[] legal = new int[SimState.maxActions(view.tileCount())];
+        int n = view.isOver() ? 0 : view.legalActions(legal);
+        if (n <= 1) {
+            return (n == 0) ? SimAction.PASS : legal[0];
+        }
+
+        int player = view.getCurrentPlayer();
+        SimState root = view.copyState();
+        SimState scratch = new SimState(root);
+        SimRandom rnd = new SimRandom(System.nanoTime());
+        long[] totals = new long[n];
+        int rounds = 0;
+        long maxRounds = Math.max(1, budget.rollouts() / n);
+        //Each round plays out one game for every move
+
+        do {
+            for (int r = 0; r < CLOCK_CHECK_INTERVAL && rounds < maxRounds; r++, rounds++) {
+                for (int i = 0; i < n; i++) {
+                    scratch.copyFrom(root);
+                    scratch.apply(legal[i], rnd);
+                    scratch.rollout(rnd);
+                    totals[i] += scratch.score(player);
+                }
+            }
+        } while (rounds < maxRounds && !budget.isSpent() && !Thread.currentThread().isInterrupted());
+
+        int best = 0;
+        for (int i = 1; i < n; i++) {
+            if (totals[i] > totals[best]) {
+                best = i;
+            }
+        }
+
+        System.out.println("AI: Decided to " + SimAction.describe(legal[best]) + " (expected score "
+                + Math.round((double) totals[best] / rounds) + ", " + (long) rounds * n + " games simulated)");
+        return legal[best];
+    }
+}
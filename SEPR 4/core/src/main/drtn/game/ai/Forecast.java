@@ -0,0 +1,86 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * An estimate of how a game will end, made by playing it out many times from its current state
+ *
+ * Forecasts are immutable, so they can be handed from the threads which make them to the render thread as they are.
+ */
+public final class Forecast {
+
+    private final int games;
+    private final boolean converged;
+
+    private final double[] mean;
+    private final int[] low;
+    private final int[] high;
+    private final double[] winProbability;
+
+    /**
+     * @param games The number of games played out
+     * @param converged Whether the estimate has settled, so that no more games will be played
+     * @param mean Each player's average final score
+     * @param low The score that each player beats in 90% of games
+     * @param high The score that each player falls short of in 90% of games
+     * @param winProbability Each player's share of the games won, with drawn games shared between the winners
+     */
+    Forecast(int games, boolean converged, double[] mean, int[] low, int[] high, double[] winProbability) {
+        this.games = games;
+        this.converged = converged;
+        this.mean = mean;
+        this.low = low;
+        this.high = high;
+        this.winProbability = winProbability;
+    }
+
+    public int games() {
+        return games;
+    }
+
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public int playerCount() {
+        return mean.length;
+    }
+
+    public double mean(int player) {
+        return mean[player];
+    }
+
+    /**
+     * @return int The 10th percentile of the player's final score
+     */
+    public int low(int player) {
+        return low[player];
+    }
+
+    /**
+     * @return int The 90th percentile of the player's final score
+     */
+    public int high(int player) {
+        return high[player];
+    }
+
+    public double winProbability(int player) {
+        return winProbability[player];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int p = 0; p < mean.length; p++) {
+            text.append(String.format("Player %d: %.0f (%d-%d), %.0f%% | ", p, mean[p], low[p], high[p],
+                    winProbability[p] * 100));
+        }
+        return text.append(games).append(" games").append(converged ? "" : " so far").toString();
+    }
+}
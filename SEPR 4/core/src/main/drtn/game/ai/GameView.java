@@ -0,0 +1,105 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * A read-only view of the game, as handed to {@link AiStrategy}s
+ *
+ * The view holds its own copy of a {@link SimState} snapshot, so nothing that a strategy does can change the live
+ * game or the state of any other decision. Strategies which need to play moves out work on copies taken through
+ * {@link #copyState()}.
+ */
+public final class GameView {
+
+    private final SimState state;
+
+    /**
+     * @param snapshot The state of the game; it is copied, so the caller may go on to change it
+     */
+    public GameView(SimState snapshot) {
+        this.state = new SimState(snapshot);
+    }
+
+    /**
+     * @return SimState A new copy of the viewed state, which the caller is free to change
+     */
+    public SimState copyState() {
+        return new SimState(state);
+    }
+
+    public int playerCount() {
+        return state.playerCount();
+    }
+
+    public int tileCount() {
+        return state.tileCount();
+    }
+
+    public int getMoney(int player) {
+        return state.getMoney(player);
+    }
+
+    public int getResource(int player, int resource) {
+        return state.getResource(player, resource);
+    }
+
+    public int getRoboticons(int player) {
+        return state.getRoboticons(player);
+    }
+
+    public int getOwner(int tile) {
+        return state.getOwner(tile);
+    }
+
+    public int getLevel(int tile, int resource) {
+        return state.getLevel(tile, resource);
+    }
+
+    public int getStock(int resource) {
+        return state.getStock(resource);
+    }
+
+    public int getRoboticonStock() {
+        return state.getRoboticonStock();
+    }
+
+    public int getPhase() {
+        return state.getPhase();
+    }
+
+    public int getCurrentPlayer() {
+        return state.getCurrentPlayer();
+    }
+
+    public int getTurn() {
+        return state.getTurn();
+    }
+
+    public int getFreeTiles() {
+        return state.getFreeTiles();
+    }
+
+    public int score(int player) {
+        return state.score(player);
+    }
+
+    public boolean isOver() {
+        return state.isOver();
+    }
+
+    /**
+     * Lists the actions that the current player may take
+     *
+     * @param out Array to write the actions into, at least {@link SimState#maxActions(int)} long
+     * @return int The number of actions listed
+     */
+    public int legalActions(int[] out) {
+        return state.legalActions(out);
+    }
+}
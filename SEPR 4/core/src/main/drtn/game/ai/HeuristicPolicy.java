@@ -0,0 +1,111 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * Plays a {@link SimState} by simple rules of thumb, tuned by a set of {@link AiParameters}
+ *
+ * The rules are those that the AI players were first written with: claim the best free tile, buy a roboticon for
+ * every tile without one as long as the market has some to spare, upgrade production when there's money left over,
+ * and alternate between selling a share of the most plentiful resource and buying a fixed amount of the scarcest.
+ * Unlike {@link SimState#defaultAction(SimRandom)} it's fully deterministic, which makes it cheap to evaluate
+ * reliably in {@link drtn.game.tuning.GeneticTuner}.
+ */
+public final class HeuristicPolicy {
+
+    private HeuristicPolicy() {
+    }
+
+    /**
+     * Chooses the current player's action
+     *
+     * @param state The state to decide from; it isn't modified
+     * @param params The parameters to play by
+     * @return int The action, as encoded by {@link SimAction}
+     */
+    public static int choose(SimState state, AiParameters params) {
+        int p = state.getCurrentPlayer();
+        int buffer = params.round(AiParameters.MONEY_BUFFER);
+
+        switch (state.getPhase()) {
+            case 1:
+                int best = -1;
+                int bestYield = -1;
+                for (int t = 0; t < state.tileCount(); t++) {
+                    int total = state.getYield(t, 0) + state.getYield(t, 1) + state.getYield(t, 2);
+                    if (state.getOwner(t) == SimState.NO_OWNER && total > bestYield) {
+                        best = t;
+                        bestYield = total;
+                    }
+                }
+                return (best < 0) ? SimAction.PASS : SimAction.of(SimAction.CLAIM, best);
+
+            case 2:
+                int wanted = -state.getRoboticons(p);
+                for (int t = 0; t < state.tileCount(); t++) {
+                    if (state.getOwner(t) == p && state.getLevel(t, 0) == 0) {
+                        wanted++;
+                    }
+                }
+
+                int count = 0;
+                int money = state.getMoney(p);
+                int price = state.getRoboticonPrice();
+                int stock = state.getRoboticonStock();
+                while (count < Math.min(wanted, SimState.MAX_ROBOTICON_PURCHASE)
+                        && stock - count > params.round(AiParameters.ROBOTICON_STOCK_FLOOR)
+                        && money - price >= buffer) {
+                    money -= price;
+                    price += state.getRoboticonPriceStep();
+                    count++;
+                }
+                return SimAction.of(SimAction.BUY_ROBOTICONS, count);
+
+            case 3:
+                int upgrade = SimAction.NO_UPGRADE;
+                for (int r = 0; r < 3; r++) {
+                    int cost = state.upgradeCostFor(p, r);
+                    if (cost < 0 || state.getMoney(p) - cost < buffer) {
+                        continue;
+                    }
+                    if (upgrade == SimAction.NO_UPGRADE || state.getSellPrice(r) > state.getSellPrice(upgrade)) {
+                        upgrade = r;
+                    }
+                }
+                return SimAction.of(SimAction.DEPLOY, upgrade);
+
+            case 5:
+                if (state.getTurn() % params.round(AiParameters.SELL_INTERVAL) == 0) {
+                    int most = 0;
+                    for (int r = 1; r < 3; r++) {
+                        if (state.getResource(p, r) > state.getResource(p, most)) {
+                            most = r;
+                        }
+                    }
+
+                    int quantity = (int) (state.getResource(p, most) * params.get(AiParameters.SELL_SHARE));
+                    return (quantity > 0) ? SimAction.trade(SimAction.SELL, most, quantity) : SimAction.PASS;
+                }
+
+                int amount = params.round(AiParameters.BUY_AMOUNT);
+                int least = -1;
+                for (int r = 0; r < 3; r++) {
+                    if (state.getStock(r) > params.round(AiParameters.MARKET_FLOOR)
+                            && state.getMoney(p) - amount * state.getBuyPrice(r) >= buffer
+                            && (least < 0 || state.getResource(p, r) < state.getResource(p, least))) {
+                        least = r;
+                    }
+                }
+                return (least < 0) ? SimAction.PASS : SimAction.trade(SimAction.BUY, least, amount);
+
+            default:
+                return SimAction.PASS;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts how long decisions take, in buckets which double in width
+ *
+ * Bucket i holds the latencies from 2^(i-1) up to 2^i microseconds (bucket 0 holds anything under a microsecond), so
+ * a fixed handful of counters covers everything from a microsecond to over half an hour to within a factor of two.
+ * Latencies are recorded on the AI threads and read on the render thread, so every method is synchronized.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * @param nanos The time that a decision took
+     */
+    public synchronized void record(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+
+        counts[bucket]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized double meanMillis() {
+        return (count == 0) ? 0 : totalNanos / 1e6 / count;
+    }
+
+    public synchronized double maxMillis() {
+        return maxNanos / 1e6;
+    }
+
+    /**
+     * Estimates a percentile of the recorded latencies from the upper edge of the bucket it falls into
+     *
+     * @param percentile The percentile, from 0 to 100
+     * @return double The latency in milliseconds that the given share of decisions took no longer than, or 0 if
+     * nothing has been recorded
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min((1L << i) / 1000.0, maxMillis());
+            }
+        }
+
+        return maxMillis();
+    }
+}
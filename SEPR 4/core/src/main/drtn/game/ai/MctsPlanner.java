@@ -0,0 +1,327 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Chooses actions for an AI player by Monte Carlo tree search over {@link SimState}s
+ *
+ * Each worker thread grows its own search tree from the state being decided on until the time budget runs out.
+ * Every iteration copies the root state into the worker's scratch state, walks down the tree choosing the AI's moves
+ * by UCB1 (while everyone else's moves, and all production, are sampled by the default policy), adds one new node and
+ * plays the rest of the game out at random. The AI's final score is then credited to every node on the path. As the
+ * opponents' moves and the production yields are resampled on every iteration, each node stands for a sequence of
+ * the AI's own moves rather than a single state, so nothing but the nodes themselves is ever allocated.
+ *
+ * Once the budget is spent, or the workers have played out as many games as they were allowed, the visits and scores
+ * of the root's children are pooled across the workers and the most-visited move is chosen.
+ */
+public class MctsPlanner {
+
+    /**
+     * Time allowed for each decision by default
+     */
+    public static final long DEFAULT_BUDGET_MILLIS = 100;
+
+    /**
+     * Weight given to exploring rarely-tried moves
+     */
+    public static final double EXPLORATION = 1.4;
+
+    /**
+     * Number of iterations between each check of the clock
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 16;
+
+    /**
+     * Deepest path through the tree that an iteration will follow before rolling out
+     */
+    private static final int MAX_DEPTH = 256;
+
+    /**
+     * The outcome of a search
+     */
+    public static final class Decision {
+        /**
+         * The chosen action, as encoded by {@link SimAction}
+         */
+        public final int action;
+
+        /**
+         * The average final score reached by the rollouts that started with the chosen action
+         */
+        public final double expectedScore;
+
+        /**
+         * The number of games played out across all of the workers
+         */
+        public final long rollouts;
+
+        public final long elapsedNanos;
+
+        Decision(int action, double expectedScore, long rollouts, long elapsedNanos) {
+            this.action = action;
+            this.expectedScore = expectedScore;
+            this.rollouts = rollouts;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public double rolloutsPerSecond() {
+            return (elapsedNanos == 0) ? 0 : rollouts * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * A node in a worker's tree, reached by playing one of the AI's moves from its parent
+     */
+    private static final class Node {
+        final int action;
+        Node[] children = new Node[0];
+        int childCount;
+        long visits;
+        double total;
+
+        Node(int action) {
+            this.action = action;
+        }
+
+        Node child(int action) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].action == action) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(int action) {
+            if (childCount == children.length) {
+                Node[] grown = new Node[Math.max(4, childCount * 2)];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+
+            Node node = new Node(action);
+            children[childCount++] = node;
+            return node;
+        }
+
+        /**
+         * Picks the next move to explore from the moves that are currently legal: the first one that hasn't been
+         * tried yet, or otherwise the one with the best UCB1 score
+         */
+        Node select(int[] legal, int n, double scale) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits));
+
+            for (int i = 0; i < n; i++) {
+                Node node = child(legal[i]);
+                if (node == null) {
+                    return addChild(legal[i]);
+                }
+
+                double value = node.total / (node.visits * scale)
+                        + EXPLORATION * Math.sqrt(logVisits / node.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = node;
+                }
+            }
+
+            return best;
+        }
+    }
+
+    /**
+     * A single worker's search
+     */
+    private static final class Search implements Callable<Search> {
+        private final SimState root;
+        private final SimState scratch;
+        private final SimRandom rnd;
+        private final long deadline;
+        private final long limit;
+        private final int me;
+
+        final Node tree = new Node(SimAction.PASS);
+        long rollouts;
+
+        Search(SimState root, long seed, long deadline, long limit) {
+            this.root = root;
+            this.scratch = new SimState(root);
+            this.rnd = new SimRandom(seed);
+            this.deadline = deadline;
+            this.limit = limit;
+            this.me = root.getCurrentPlayer();
+        }
+
+        @Override
+        public Search call() {
+            int[] legal = new int[SimState.maxActions(root.tileCount())];
+            Node[] path = new Node[MAX_DEPTH];
+            double scale = 1;
+
+            do {
+                for (int i = 0; i < CLOCK_CHECK_INTERVAL && rollouts < limit; i++) {
+                    scratch.copyFrom(root);
+
+                    Node node = tree;
+                    int depth = 0;
+                    path[depth++] = node;
+
+                    while (!scratch.isOver()) {
+                        if (scratch.getCurrentPlayer() != me) {
+                            scratch.apply(scratch.defaultAction(rnd), rnd);
+                            continue;
+                        }
+
+                        if (node.visits == 0 || depth == MAX_DEPTH) {
+                            scratch.rollout(rnd);
+                            //Leave the tree once a new node has been reached
+                            break;
+                        }
+
+                        node = node.select(legal, scratch.legalActions(legal), scale);
+                        scratch.apply(node.action, rnd);
+                        path[depth++] = node;
+                    }
+
+                    int reward = scratch.score(me);
+                    if (reward > scale) {
+                        scale = reward;
+                    }
+
+                    for (int d = 0; d < depth; d++) {
+                        path[d].visits++;
+                        path[d].total += reward;
+                    }
+
+                    rollouts++;
+                }
+            } while (rollouts < limit && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted());
+
+            return this;
+        }
+    }
+
+    private final int threads;
+    private final ExecutorService workers;
+
+    /**
+     * Constructs a planner which searches on the given number of threads
+     */
+    public MctsPlanner(int threads) {
+        this.threads = Math.max(1, threads);
+        this.workers = Executors.newFixedThreadPool(this.threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AI Planner");
+                thread.setDaemon(true);
+                //Never keep the game open just because an AI is still thinking
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Constructs a planner which searches on every available core
+     */
+    public MctsPlanner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Decides on the current player's next action
+     *
+     * @param root The state to decide from; it isn't modified
+     * @param budgetMillis How long to search for
+     * @return Decision The chosen action, along with statistics from the search
+     * If the calling thread is interrupted, the search stops early and the best action found so far is returned
+     */
+    public Decision plan(SimState root, long budgetMillis) {
+        return plan(root, budgetMillis, ComputeBudget.UNLIMITED_ROLLOUTS);
+    }
+
+    /**
+     * Decides on the current player's next action, playing out no more than the given number of games
+     *
+     * @param root The state to decide from; it isn't modified
+     * @param budgetMillis The longest to search for
+     * @param maxRollouts The most games to play out, shared between the workers
+     * @return Decision The chosen action, along with statistics from the search
+     */
+    public Decision plan(SimState root, long budgetMillis, long maxRollouts) {
+        long start = System.nanoTime();
+
+        int[] legal = new int[SimState.maxActions(root.tileCount())];
+        int n = root.isOver() ? 0 : root.legalActions(legal);
+        if (n <= 1) {
+            return new Decision(n == 0 ? SimAction.PASS : legal[0], root.score(root.getCurrentPlayer()), 0, 0);
+        }
+
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        long limit = (maxRollouts == ComputeBudget.UNLIMITED_ROLLOUTS) ? maxRollouts
+                : Math.max(1, (maxRollouts + threads - 1) / threads);
+        //Each worker plays its share of the games
+        List<Future<Search>> futures = new ArrayList<Future<Search>>(threads);
+        for (int i = 0; i < threads; i++) {
+            futures.add(workers.submit(new Search(root, start * 31 + i * 0x9E3779B97F4A7C15L, deadline, limit)));
+        }
+
+        long[] visits = new long[n];
+        double[] totals = new double[n];
+        long rollouts = 0;
+
+        for (Future<Search> future : futures) {
+            Search search;
+            try {
+                search = future.get();
+            } catch (InterruptedException e) {
+                for (Future<Search> other : futures) {
+                    other.cancel(true);
+                }
+                //Stop every worker straight away if whoever asked for the decision no longer wants it
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error: AI search failed.", e.getCause());
+            }
+
+            rollouts += search.rollouts;
+            for (int i = 0; i < n; i++) {
+                Node child = search.tree.child(legal[i]);
+                if (child != null) {
+                    visits[i] += child.visits;
+                    totals[i] += child.total;
+                }
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < n; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+
+        double expected = (visits[best] == 0) ? 0 : totals[best] / visits[best];
+        return new Decision(legal[best], expected, rollouts, System.nanoTime() - start);
+    }
+
+    /**
+     * Stops the worker threads
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * The standard AI strategy, which searches for the best move by Monte Carlo tree search
+ * See {@link MctsPlanner}
+ */
+public class MctsStrategy implements AiStrategy {
+
+    public static final String NAME = "mcts";
+
+    /**
+     * Shared by every instance, so that the game never runs more than one pool of search threads
+     */
+    private static MctsPlanner planner;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int decide(GameView view, ComputeBudget budget) {
+        MctsPlanner.Decision decision = planner().plan(view.copyState(), budget.remainingMillis(),
+                budget.rollouts());
+        System.out.println("AI: Decided to " + SimAction.describe(decision.action) + " (expected score "
+                + Math.round(decision.expectedScore) + ", " + decision.rollouts + " games simulated)");
+        return decision.action;
+    }
+
+    private static synchronized MctsPlanner planner() {
+        if (planner == null) {
+            planner = new MctsPlanner();
+        }
+        return planner;
+    }
+}
@@ -0,0 +1,367 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import drtn.game.Trade;
+import drtn.game.TradeBook;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.exceptions.InvalidResourceTypeException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Works out what trade offers are worth to an AI player, and how it should answer them or make its own
+ *
+ * Each resource is valued against the market: units that the AI is short of are worth what the market would charge
+ * to replace them, while units that it can spare are only worth what the market would pay for them. Whether a unit
+ * is needed or spare depends on how much of it the AI expects to hold once its roboticons have next produced, against
+ * the stock of each resource that it aims to keep.
+ *
+ * The market's quotes and the AI's expected production are looked up once per turn and cached, so valuing an offer
+ * only ever costs a handful of sums however many offers are made.
+ *
+ * The AI sells its surplus to other players at a markup over what the goods are worth to it. A separate markup is
+ * learnt for each opponent: it rises whenever they accept, falls whenever they reject or ignore an offer, and moves
+ * towards the price that they ask for whenever they make a counter-offer.
+ */
+public class Negotiator {
+
+    /**
+     * Stock of each resource that the AI aims to hold after its roboticons next produce
+     */
+    public static final int TARGET_STOCK = 10;
+
+    /**
+     * Value placed on each unit of a resource that the market has run out of
+     */
+    public static final int SCARCE_RESOURCE_VALUE = 20;
+
+    /**
+     * Money that the AI always keeps back when buying from other players
+     */
+    public static final int MONEY_BUFFER = 20;
+
+    /**
+     * Markup asked of opponents that the AI hasn't yet traded with
+     */
+    public static final double INITIAL_MARKUP = 1.25;
+
+    public static final double MIN_MARKUP = 1.0;
+    public static final double MAX_MARKUP = 3.0;
+
+    /**
+     * Factor by which an opponent's markup is raised after they accept an offer, and lowered after they turn one down
+     */
+    public static final double MARKUP_STEP = 1.1;
+
+    /**
+     * Largest amount of a resource offered to another player in a single trade
+     */
+    public static final int MAX_OFFER = 10;
+
+    private static final ResourceType[] TRADED = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD};
+
+    /**
+     * The ways in which the AI can answer a trade offer
+     */
+    public enum Answer {
+        ACCEPT,
+        COUNTER,
+        REJECT
+    }
+
+    private final Player self;
+
+    /**
+     * The turn that the cached quotes and forecast were worked out in, or -1 if they haven't been yet
+     */
+    private int cachedTurn = -1;
+
+    /**
+     * Per-unit price of buying each resource from the market, or {@link #SCARCE_RESOURCE_VALUE} if it has none
+     */
+    private final int[] replacementValue = new int[3];
+
+    /**
+     * Per-unit price that the market would pay for each resource
+     */
+    private final int[] liquidationValue = new int[3];
+
+    /**
+     * Amount of each resource that the AI's roboticons are expected to produce in its next production phase
+     */
+    private final int[] forecast = new int[3];
+
+    private final HashMap<Player, Double> markups = new HashMap<Player, Double>();
+
+    /**
+     * The AI's offers which haven't been answered yet
+     */
+    private final ArrayList<Trade> outstanding = new ArrayList<Trade>();
+
+    /**
+     * @param self The AI player that this negotiates for
+     */
+    public Negotiator(Player self) {
+        this.self = self;
+    }
+
+    /**
+     * Looks up the market's quotes and the AI's expected production, unless they have already been looked up this turn
+     *
+     * @param market The market
+     * @param turn The current turn
+     */
+    public void refresh(Market market, int turn) {
+        if (turn == cachedTurn) {
+            return;
+        }
+        cachedTurn = turn;
+
+        int[] buyPrices = {market.getOreBuyPrice(), market.getEnergyBuyPrice(), market.getFoodBuyPrice()};
+        int[] stocks = {market.getOreStock(), market.getEnergyStock(), market.getFoodStock()};
+
+        for (int r = 0; r < 3; r++) {
+            replacementValue[r] = (stocks[r] > 0 && buyPrices[r] > 0) ? buyPrices[r] : SCARCE_RESOURCE_VALUE;
+        }
+        liquidationValue[0] = market.getOreSellPrice();
+        liquidationValue[1] = market.getEnergySellPrice();
+        liquidationValue[2] = market.getFoodSellPrice();
+
+        forecast[0] = 0;
+        forecast[1] = 0;
+        forecast[2] = 0;
+        for (Tile tile : self.getTileList()) {
+            if (!tile.hasRoboticon()) {
+                continue;
+            }
+
+            int[] levels = tile.getRoboticonStored().getLevel();
+            for (int r = 0; r < 3; r++) {
+                try {
+                    forecast[r] += levels[r] * 3 * tile.getResource(TRADED[r]);
+                    //Roboticons multiply each yield by their level and a random factor of 1 to 5, which averages 3
+                } catch (InvalidResourceTypeException e) {
+                    //Do nothing: tiles always hold all three of these resources
+                }
+            }
+        }
+    }
+
+    /**
+     * @return int The amount of a resource that the AI is short of, once its roboticons have next produced
+     */
+    public int need(int resource) {
+        return Math.max(0, TARGET_STOCK - self.getResource(TRADED[resource]) - forecast[resource]);
+    }
+
+    /**
+     * @return int The amount of a resource that the AI could give away without falling short of it
+     */
+    public int surplus(int resource) {
+        int held = self.getResource(TRADED[resource]);
+        return Math.min(held, Math.max(0, held + forecast[resource] - TARGET_STOCK));
+    }
+
+    /**
+     * Values a bundle of resources that the AI would receive
+     *
+     * @return int The most that the AI would pay for the bundle
+     */
+    public int valueOf(int ore, int energy, int food) {
+        int[] amounts = {ore, energy, food};
+        int value = 0;
+
+        for (int r = 0; r < 3; r++) {
+            int needed = Math.min(amounts[r], need(r));
+            value += needed * replacementValue[r] + (amounts[r] - needed) * liquidationValue[r];
+        }
+
+        return value;
+    }
+
+    /**
+     * Values a bundle of resources that the AI would give away
+     *
+     * @return int The least that the AI would sell the bundle for
+     */
+    public int costOf(int ore, int energy, int food) {
+        int[] amounts = {ore, energy, food};
+        int cost = 0;
+
+        for (int r = 0; r < 3; r++) {
+            int spare = Math.min(amounts[r], surplus(r));
+            cost += spare * liquidationValue[r] + (amounts[r] - spare) * replacementValue[r];
+        }
+
+        return cost;
+    }
+
+    /**
+     * Decides how to answer an offer which has been made to the AI
+     * The AI buys goods as long as they cost no more than they're worth to it and it can keep some money back, and
+     * sells goods as long as it's paid at least what they're worth to it. It only ever counters opening offers to buy,
+     * so that each negotiation ends after at most two rounds.
+     *
+     * @param trade The offer
+     * @return Answer How the AI answers
+     */
+    public Answer answer(Trade trade) {
+        if (trade.getSender() == self) {
+            return (trade.getPrice() >= costOf(trade.oreAmount, trade.energyAmount, trade.foodAmount))
+                    ? Answer.ACCEPT : Answer.REJECT;
+        }
+
+        int limit = Math.min(valueOf(trade.oreAmount, trade.energyAmount, trade.foodAmount),
+                self.getResource(ResourceType.MONEY) - MONEY_BUFFER);
+
+        if (trade.getPrice() <= limit) {
+            return Answer.ACCEPT;
+        }
+        if (limit > 0 && !trade.isCounterOffer()) {
+            return Answer.COUNTER;
+        }
+        return Answer.REJECT;
+    }
+
+    /**
+     * @return int The price that the AI asks for when it counters an offer to buy goods
+     */
+    public int counterPrice(Trade trade) {
+        return Math.min(valueOf(trade.oreAmount, trade.energyAmount, trade.foodAmount),
+                self.getResource(ResourceType.MONEY) - MONEY_BUFFER);
+    }
+
+    /**
+     * Puts together an offer to sell the AI's largest surplus to whichever opponent has been the most willing to pay
+     *
+     * @param players Every player in the game
+     * @param book The book of pending trade offers
+     * @return Trade The offer, or null if the AI has nothing to spare or nobody to sell to
+     */
+    public Trade propose(Player[] players, TradeBook book) {
+        int resource = 0;
+        for (int r = 1; r < 3; r++) {
+            if (surplus(r) > surplus(resource)) {
+                resource = r;
+            }
+        }
+
+        int quantity = Math.min(MAX_OFFER, (surplus(resource) + 1) / 2);
+        if (quantity == 0) {
+            return null;
+        }
+
+        int[] amounts = new int[3];
+        amounts[resource] = quantity;
+        int cost = Math.max(1, costOf(amounts[0], amounts[1], amounts[2]));
+
+        Player buyer = null;
+        int price = 0;
+        for (Player player : players) {
+            if (player == self || book.pendingBetween(self, player) > 0) {
+                continue;
+            }
+
+            int ask = (int) Math.ceil(cost * markupFor(player));
+            if (player.getResource(ResourceType.MONEY) >= ask && (buyer == null || ask > price)) {
+                buyer = player;
+                price = ask;
+            }
+        }
+
+        if (buyer == null) {
+            return null;
+        }
+
+        return new Trade(amounts[0], amounts[1], amounts[2], price, self, buyer);
+    }
+
+    /**
+     * Records an offer that the AI has sent, so that it can learn from the answer
+     */
+    public void offerSent(Trade trade) {
+        outstanding.add(trade);
+    }
+
+    /**
+     * Learns from an opponent's answer to one of the AI's offers
+     * Only the AI's offers to sell are learnt from; its counter-offers to buy are priced at what goods are worth to it
+     *
+     * @param trade The AI's offer
+     * @param accepted True if the offer was accepted and carried out
+     */
+    public void recordOutcome(Trade trade, boolean accepted) {
+        if (!outstanding.remove(trade)) {
+            return;
+        }
+
+        Player buyer = trade.getRespondent();
+        if (accepted) {
+            setMarkup(buyer, markupFor(buyer) * MARKUP_STEP);
+        } else {
+            setMarkup(buyer, markupFor(buyer) / MARKUP_STEP);
+        }
+    }
+
+    /**
+     * Learns from an opponent's counter-offer to one of the AI's offers, moving their markup halfway towards the one
+     * implied by the price that they asked for
+     *
+     * @param counter The opponent's counter-offer
+     */
+    public void recordCounter(Trade counter) {
+        Trade original = counter.getOriginal();
+        if (original == null || !outstanding.remove(original)) {
+            return;
+        }
+
+        Player buyer = counter.getProposer();
+        int cost = Math.max(1, costOf(original.oreAmount, original.energyAmount, original.foodAmount));
+        setMarkup(buyer, (markupFor(buyer) + (double) counter.getPrice() / cost) / 2);
+    }
+
+    /**
+     * Treats any of the AI's offers which are no longer pending, and whose answers haven't been recorded, as turned
+     * down; these are the offers which expired or were dismissed without being answered
+     *
+     * @param book The book of pending trade offers
+     */
+    public void forgetExpired(TradeBook book) {
+        for (int i = outstanding.size() - 1; i >= 0; i--) {
+            Trade trade = outstanding.get(i);
+            if (!book.isPending(trade)) {
+                recordOutcome(trade, false);
+            }
+        }
+    }
+
+    /**
+     * @return double The markup that the AI currently asks of the given opponent
+     */
+    public double markupFor(Player opponent) {
+        Double markup = markups.get(opponent);
+        return (markup == null) ? INITIAL_MARKUP : markup;
+    }
+
+    /**
+     * @return int The number of the AI's offers that are still waiting for an answer
+     */
+    public int outstandingOffers() {
+        return outstanding.size();
+    }
+
+    private void setMarkup(Player opponent, double markup) {
+        markups.put(opponent, Math.max(MIN_MARKUP, Math.min(MAX_MARKUP, markup)));
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * Decides how quickly the game moves through AI players' phases
+ * See {@link StandardPacing} for the policies that can be picked in-game
+ */
+public interface PacingPolicy {
+
+    /**
+     * @return long The time that each AI decision is allowed to search for, or 0 to limit each decision by the
+     * number of games that the AI player's difficulty may simulate instead (see
+     * {@link Difficulty#rollouts(PacingPolicy)})
+     */
+    long planningBudgetMillis();
+
+    /**
+     * @return boolean True if AI decisions are worked out on a worker thread while the game carries on drawing frames,
+     * or false if they're worked out straight away on the render thread
+     */
+    boolean decidesInBackground();
+
+    /**
+     * @return long The longest that the render thread may spend moving through phases back-to-back before it stops
+     * to draw a frame
+     */
+    long frameSliceMillis();
+}
@@ -0,0 +1,155 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * Encodes the moves that a player can make in a {@link SimState} as plain ints, so that the search never has to
+ * allocate an object to represent one
+ * The upper 16 bits of an action hold its kind, and the lower 16 bits hold its argument
+ */
+public final class SimAction {
+
+    /**
+     * Do nothing this phase
+     */
+    public static final int PASS = 0;
+
+    /**
+     * Claim a tile (phase 1); the argument is the tile's index
+     */
+    public static final int CLAIM = 1;
+
+    /**
+     * Buy roboticons from the market (phase 2); the argument is the number to buy
+     */
+    public static final int BUY_ROBOTICONS = 2;
+
+    /**
+     * Place every roboticon held on free tiles and then upgrade one (phase 3); the argument is the resource to
+     * upgrade, or {@link #NO_UPGRADE}
+     */
+    public static final int DEPLOY = 3;
+
+    /**
+     * Sell a resource to the market (phase 5); the argument is the resource, and optionally a quantity (see
+     * {@link #trade(int, int, int)}), without which half of the resource is sold
+     */
+    public static final int SELL = 4;
+
+    /**
+     * Buy a resource from the market (phase 5); the argument is the resource, and optionally a quantity, without
+     * which as much is bought as can be afforded, up to {@link SimState#MAX_TRADE} units
+     */
+    public static final int BUY = 5;
+
+    /**
+     * Place one roboticon on a tile (phase 3), as a human player does; the argument is the tile's index
+     */
+    public static final int PLACE = 6;
+
+    /**
+     * Upgrade the roboticon on one tile, as a human player does; the argument holds the tile and the resource (see
+     * {@link #upgrade(int, int)})
+     */
+    public static final int UPGRADE = 7;
+
+    public static final int NO_UPGRADE = 3;
+
+    private SimAction() {
+    }
+
+    public static int of(int kind, int argument) {
+        return (kind << 16) | argument;
+    }
+
+    public static int kind(int action) {
+        return action >>> 16;
+    }
+
+    public static int argument(int action) {
+        return action & 0xFFFF;
+    }
+
+    /**
+     * Encodes a sale or purchase of a set quantity of a resource
+     * The lowest two bits of the argument hold the resource and the rest hold the quantity, so trades without a
+     * quantity are simply {@link #of(int, int)} with the resource as their argument
+     *
+     * @param kind {@link #SELL} or {@link #BUY}
+     * @param resource The resource
+     * @param quantity The number of units, or 0 for the default amount
+     * @return int The action
+     */
+    public static int trade(int kind, int resource, int quantity) {
+        return of(kind, (Math.min(quantity, 0x3FFF) << 2) | resource);
+    }
+
+    /**
+     * Encodes an upgrade to one resource of the roboticon on a given tile
+     * The lowest two bits of the argument hold the resource and the rest hold the tile's index
+     *
+     * @param tile The tile's index
+     * @param resource The resource
+     * @return int The action
+     */
+    public static int upgrade(int tile, int resource) {
+        return of(UPGRADE, (tile << 2) | resource);
+    }
+
+    /**
+     * @return int The tile that an upgrade is for
+     */
+    public static int tile(int action) {
+        return argument(action) >>> 2;
+    }
+
+    /**
+     * @return int The resource that a sale, purchase or upgrade is for
+     */
+    public static int resource(int action) {
+        return action & 3;
+    }
+
+    /**
+     * @return int The quantity of a sale or purchase, or 0 if it's for the default amount
+     */
+    public static int quantity(int action) {
+        return argument(action) >>> 2;
+    }
+
+    /**
+     * @return String A readable description of the action, for logging
+     */
+    public static String describe(int action) {
+        int argument = argument(action);
+
+        switch (kind(action)) {
+            case CLAIM:
+                return "claim tile " + argument;
+            case BUY_ROBOTICONS:
+                return "buy " + argument + " roboticon(s)";
+            case DEPLOY:
+                return (argument == NO_UPGRADE) ? "deploy roboticons"
+                        : "deploy roboticons and upgrade " + SimState.RESOURCE_NAMES[argument];
+            case SELL:
+                return (quantity(action) == 0) ? "sell half of the " + SimState.RESOURCE_NAMES[resource(action)]
+                        : "sell " + quantity(action) + " " + SimState.RESOURCE_NAMES[resource(action)];
+            case BUY:
+                return (quantity(action) == 0) ? "buy " + SimState.RESOURCE_NAMES[resource(action)]
+                        : "buy " + quantity(action) + " " + SimState.RESOURCE_NAMES[resource(action)];
+            case PLACE:
+                return "place a roboticon on tile " + argument;
+            case UPGRADE:
+                return "upgrade the " + SimState.RESOURCE_NAMES[resource(action)] + " production of tile "
+                        + tile(action);
+            default:
+                return "pass";
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * Small xorshift random number generator used by the simulations
+ * Unlike java.util.Random it has no synchronisation, so each search thread can draw from its own generator as quickly
+ * as possible
+ */
+public final class SimRandom {
+
+    private long state;
+
+    public SimRandom(long seed) {
+        state = (seed == 0) ? 0x9E3779B97F4A7C15L : seed;
+    }
+
+    /**
+     * @return long The next 64 random bits
+     */
+    public long nextLong() {
+        state ^= state >>> 12;
+        state ^= state << 25;
+        state ^= state >>> 27;
+        return state * 0x2545F4914F6CDD1DL;
+    }
+
+    /**
+     * Returns a random number between 0 (inclusive) and the given bound (exclusive)
+     *
+     * @param bound The upper bound, which must be positive
+     * @return int The random number
+     */
+    public int nextInt(int bound) {
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+}
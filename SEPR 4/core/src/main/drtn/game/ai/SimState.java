@@ -0,0 +1,787 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import drtn.game.GameConfig;
+import drtn.game.GameEngine;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.entity.Roboticon;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.exceptions.InvalidResourceTypeException;
+import drtn.game.pricing.PriceTable;
+
+/**
+ * Lightweight copy of the game's state which the AI can play forward many times over
+ *
+ * Everything the simulation needs is held in a handful of flat int arrays, so copying one state over another is
+ * just a few calls to System.arraycopy and playing a game out to the end allocates nothing at all. The rules follow
+ * those of the real game: players take each phase in turn, claim one tile per round, buy roboticons whose price goes
+ * up by 5 with every sale, deploy and upgrade them (at 6 money per level), produce level * (1 to 5) * yield of each
+ * resource on every tile with a roboticon, and trade with a market priced by the same price table as the real one.
+ * The game ends when phase 5 is reached with every tile claimed. Random events, the Chancellor, trades between
+ * players and auctions aren't simulated.
+ */
+public final class SimState {
+
+    public static final int ORE = 0;
+    public static final int ENERGY = 1;
+    public static final int FOOD = 2;
+    public static final String[] RESOURCE_NAMES = {"ore", "energy", "food"};
+
+    public static final int NO_OWNER = -1;
+    public static final int MAX_LEVEL = 10;
+    public static final int UPGRADE_COST_PER_LEVEL = 6;
+    public static final int ROBOTICON_PRICE_STEP = 5;
+
+    /**
+     * Most roboticons that a player will consider buying in one go
+     */
+    public static final int MAX_ROBOTICON_PURCHASE = 4;
+
+    /**
+     * Most units of a resource that a player will consider buying in one go
+     */
+    public static final int MAX_TRADE = 10;
+
+    /**
+     * Money that the default policy keeps back rather than spending it on upgrades
+     */
+    public static final int MONEY_BUFFER = 20;
+
+    /**
+     * Number of rounds after which a simulated game is stopped even if tiles are still free
+     */
+    public static final int TURN_LIMIT = 64;
+
+    /**
+     * Number of the most valuable free tiles that the AI considers claiming in a captured game
+     */
+    public static final int CLAIM_CANDIDATES = 4;
+
+    /**
+     * Largest number of actions that can be legal at once in a state with the given number of tiles
+     */
+    public static int maxActions(int tiles) {
+        return Math.max(tiles, MAX_ROBOTICON_PURCHASE + 1) + 7;
+    }
+
+    private final int playerCount;
+    private final int tileCount;
+    private final PriceTable prices;
+
+    private final int[] money;
+    private final int[] resources;
+    private final int[] roboticons;
+
+    private final int[] owner;
+    private final int[] yield;
+    private final int[] level;
+
+    private final int[] stock = new int[3];
+    private final int[] buyPrice = new int[3];
+    private final int[] sellPrice = new int[3];
+
+    private int roboticonStock;
+    private int roboticonPrice;
+    private int roboticonPriceStep = ROBOTICON_PRICE_STEP;
+    private int upgradeCostPerLevel = UPGRADE_COST_PER_LEVEL;
+    private int phase = 1;
+    private int player;
+    private int turn;
+    private int freeTiles;
+
+    /**
+     * The tiles that the AI considers claiming, most valuable first; claims of any free tile are considered once
+     * these have all been taken, or if there are none
+     */
+    private int[] candidates;
+    private int candidateCount;
+
+    /**
+     * Constructs an empty state, with no tiles claimed and nothing held by anyone
+     *
+     * @param players The number of players
+     * @param tiles The number of tiles
+     * @param prices The table to price the market's resources with
+     */
+    public SimState(int players, int tiles, PriceTable prices) {
+        this.playerCount = players;
+        this.tileCount = tiles;
+        this.prices = prices;
+
+        money = new int[players];
+        resources = new int[players * 3];
+        roboticons = new int[players];
+
+        owner = new int[tiles];
+        yield = new int[tiles * 3];
+        level = new int[tiles * 3];
+
+        for (int t = 0; t < tiles; t++) {
+            owner[t] = NO_OWNER;
+        }
+        freeTiles = tiles;
+    }
+
+    /**
+     * Constructs a copy of another state
+     */
+    public SimState(SimState other) {
+        this(other.playerCount, other.tileCount, other.prices);
+        copyFrom(other);
+    }
+
+    /**
+     * Takes a snapshot of the real game
+     *
+     * @param engine The game engine
+     * @return SimState The snapshot
+     */
+    public static SimState capture(GameEngine engine) {
+        Player[] players = engine.players();
+        Tile[] tiles = engine.tiles();
+        Market market = engine.market();
+
+        SimState state = new SimState(players.length, tiles.length, new PriceTable(market.getPricingModel()));
+
+        for (int p = 0; p < players.length; p++) {
+            state.setPlayer(p, players[p].getResource(ResourceType.MONEY), players[p].getResource(ResourceType.ORE),
+                    players[p].getResource(ResourceType.ENERGY), players[p].getResource(ResourceType.FOOD),
+                    players[p].getRoboticonInventory());
+        }
+
+        for (int t = 0; t < tiles.length; t++) {
+            int tileOwner = NO_OWNER;
+            for (int p = 0; p < players.length; p++) {
+                if (tiles[t].getOwner() == players[p]) {
+                    tileOwner = p;
+                }
+            }
+
+            try {
+                state.setTile(t, tileOwner, tiles[t].getResource(ResourceType.ORE),
+                        tiles[t].getResource(ResourceType.ENERGY), tiles[t].getResource(ResourceType.FOOD));
+            } catch (InvalidResourceTypeException e) {
+                //Do nothing: tiles always hold all three of these resources
+            }
+
+            Roboticon roboticon = tiles[t].getRoboticonStored();
+            if (roboticon != null) {
+                int[] levels = roboticon.getLevel();
+                state.setRoboticon(t, levels[0], levels[1], levels[2]);
+            }
+        }
+
+        state.setMarket(ORE, market.getOreStock(), market.getOreBuyPrice(), market.getOreSellPrice());
+        state.setMarket(ENERGY, market.getEnergyStock(), market.getEnergyBuyPrice(), market.getEnergySellPrice());
+        state.setMarket(FOOD, market.getFoodStock(), market.getFoodBuyPrice(), market.getFoodSellPrice());
+        state.setRoboticonMarket(market.getRoboticonStock(), market.getRoboticonBuyPrice());
+        state.setRules(market.getRoboticonPriceStep(), engine.config().round(GameConfig.UPGRADE_COST_PER_LEVEL));
+        state.setPosition(engine.getPhase(), engine.currentPlayerID(), engine.getTurn());
+
+        int[] candidates = new int[CLAIM_CANDIDATES];
+        state.setClaimCandidates(candidates, engine.tileIndex().best(candidates));
+
+        return state;
+    }
+
+    /**
+     * Overwrites this state with another of the same size, without allocating anything
+     *
+     * @param other The state to copy
+     */
+    public void copyFrom(SimState other) {
+        if (other.playerCount != playerCount || other.tileCount != tileCount) {
+            throw new IllegalArgumentException("Error: States must have the same numbers of players and tiles.");
+        }
+
+        System.arraycopy(other.money, 0, money, 0, playerCount);
+        System.arraycopy(other.resources, 0, resources, 0, resources.length);
+        System.arraycopy(other.roboticons, 0, roboticons, 0, playerCount);
+        System.arraycopy(other.owner, 0, owner, 0, tileCount);
+        System.arraycopy(other.yield, 0, yield, 0, yield.length);
+        System.arraycopy(other.level, 0, level, 0, level.length);
+        System.arraycopy(other.stock, 0, stock, 0, 3);
+        System.arraycopy(other.buyPrice, 0, buyPrice, 0, 3);
+        System.arraycopy(other.sellPrice, 0, sellPrice, 0, 3);
+
+        roboticonStock = other.roboticonStock;
+        roboticonPrice = other.roboticonPrice;
+        roboticonPriceStep = other.roboticonPriceStep;
+        upgradeCostPerLevel = other.upgradeCostPerLevel;
+        phase = other.phase;
+        player = other.player;
+        turn = other.turn;
+        freeTiles = other.freeTiles;
+        candidates = other.candidates;
+        candidateCount = other.candidateCount;
+    }
+
+    public void setPlayer(int p, int money, int ore, int energy, int food, int roboticons) {
+        this.money[p] = money;
+        this.resources[p * 3 + ORE] = ore;
+        this.resources[p * 3 + ENERGY] = energy;
+        this.resources[p * 3 + FOOD] = food;
+        this.roboticons[p] = roboticons;
+    }
+
+    public void setTile(int t, int owner, int ore, int energy, int food) {
+        if ((this.owner[t] == NO_OWNER) != (owner == NO_OWNER)) {
+            freeTiles += (owner == NO_OWNER) ? 1 : -1;
+        }
+
+        this.owner[t] = owner;
+        yield[t * 3 + ORE] = ore;
+        yield[t * 3 + ENERGY] = energy;
+        yield[t * 3 + FOOD] = food;
+    }
+
+    /**
+     * Narrows down the tiles that can be claimed to the given ones, for as long as any of them are free
+     * The array is shared with copies of this state, so it mustn't be changed afterwards
+     *
+     * @param tiles The tiles' indices
+     * @param n The number of tiles in the array to use
+     */
+    public void setClaimCandidates(int[] tiles, int n) {
+        candidates = tiles;
+        candidateCount = n;
+    }
+
+    public void setRoboticon(int t, int oreLevel, int energyLevel, int foodLevel) {
+        level[t * 3 + ORE] = oreLevel;
+        level[t * 3 + ENERGY] = energyLevel;
+        level[t * 3 + FOOD] = foodLevel;
+    }
+
+    public void setMarket(int resource, int stock, int buyPrice, int sellPrice) {
+        this.stock[resource] = stock;
+        this.buyPrice[resource] = buyPrice;
+        this.sellPrice[resource] = sellPrice;
+    }
+
+    public void setRoboticonMarket(int stock, int price) {
+        roboticonStock = stock;
+        roboticonPrice = price;
+    }
+
+    /**
+     * Sets the prices that aren't worked out by the pricing model, which otherwise follow the standard configuration
+     *
+     * @param roboticonPriceStep The amount by which the price of roboticons rises after each one is bought
+     * @param upgradeCostPerLevel The cost of upgrading a roboticon, per level that it already has
+     */
+    public void setRules(int roboticonPriceStep, int upgradeCostPerLevel) {
+        this.roboticonPriceStep = roboticonPriceStep;
+        this.upgradeCostPerLevel = upgradeCostPerLevel;
+    }
+
+    public void setPosition(int phase, int player, int turn) {
+        this.phase = phase;
+        this.player = player;
+        this.turn = turn;
+    }
+
+    public int playerCount() {
+        return playerCount;
+    }
+
+    public int tileCount() {
+        return tileCount;
+    }
+
+    public int getMoney(int p) {
+        return money[p];
+    }
+
+    public int getResource(int p, int resource) {
+        return resources[p * 3 + resource];
+    }
+
+    public int getRoboticons(int p) {
+        return roboticons[p];
+    }
+
+    public int getOwner(int t) {
+        return owner[t];
+    }
+
+    /**
+     * @return int The level of the given tile's roboticon at gathering a resource, or 0 if it has no roboticon
+     */
+    public int getLevel(int t, int resource) {
+        return level[t * 3 + resource];
+    }
+
+    public int getStock(int resource) {
+        return stock[resource];
+    }
+
+    public int getRoboticonStock() {
+        return roboticonStock;
+    }
+
+    public int getRoboticonPrice() {
+        return roboticonPrice;
+    }
+
+    public int getRoboticonPriceStep() {
+        return roboticonPriceStep;
+    }
+
+    public int getUpgradeCostPerLevel() {
+        return upgradeCostPerLevel;
+    }
+
+    /**
+     * @return PriceTable The table that the market's resources are priced with
+     */
+    public PriceTable prices() {
+        return prices;
+    }
+
+    public int getYield(int t, int resource) {
+        return yield[t * 3 + resource];
+    }
+
+    public int getBuyPrice(int resource) {
+        return buyPrice[resource];
+    }
+
+    public int getSellPrice(int resource) {
+        return sellPrice[resource];
+    }
+
+    public int getPhase() {
+        return phase;
+    }
+
+    public int getCurrentPlayer() {
+        return player;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getFreeTiles() {
+        return freeTiles;
+    }
+
+    public int getClaimCandidateCount() {
+        return candidateCount;
+    }
+
+    /**
+     * @return int The index of one of the tiles set by {@link #setClaimCandidates(int[], int)}
+     */
+    public int getClaimCandidate(int i) {
+        return candidates[i];
+    }
+
+    /**
+     * Calculates a player's score in the same way as {@link Player#calculateScore()}
+     */
+    public int score(int p) {
+        return resources[p * 3 + ORE] + resources[p * 3 + ENERGY] + resources[p * 3 + FOOD];
+    }
+
+    /**
+     * Works out a fingerprint of everything in the state that the rules act on, so that two states can be checked to
+     * be identical without comparing them field by field
+     *
+     * @return long The state's 64-bit FNV-1a hash
+     */
+    public long fingerprint() {
+        long hash = 0xCBF29CE484222325L;
+        hash = mix(hash, money);
+        hash = mix(hash, resources);
+        hash = mix(hash, roboticons);
+        hash = mix(hash, owner);
+        hash = mix(hash, yield);
+        hash = mix(hash, level);
+        hash = mix(hash, stock);
+        hash = mix(hash, buyPrice);
+        hash = mix(hash, sellPrice);
+        return mix(hash, new int[] {roboticonStock, roboticonPrice, roboticonPriceStep, upgradeCostPerLevel, phase,
+                player, turn});
+    }
+
+    private static long mix(long hash, int[] values) {
+        for (int value : values) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                hash ^= (value >>> shift) & 0xFF;
+                hash *= 0x100000001B3L;
+            }
+        }
+        return hash;
+    }
+
+    public boolean isOver() {
+        return (phase == 5 && freeTiles == 0) || turn >= TURN_LIMIT;
+    }
+
+    /**
+     * Lists the actions open to the current player
+     *
+     * @param out Array to write the actions into, of at least {@link #maxActions(int)} elements
+     * @return int The number of actions written
+     */
+    public int legalActions(int[] out) {
+        int p = player;
+        int n = 0;
+
+        switch (phase) {
+            case 1:
+                for (int i = 0; i < candidateCount; i++) {
+                    if (owner[candidates[i]] == NO_OWNER) {
+                        out[n++] = SimAction.of(SimAction.CLAIM, candidates[i]);
+                    }
+                }
+
+                if (n == 0) {
+                    for (int t = 0; t < tileCount; t++) {
+                        if (owner[t] == NO_OWNER) {
+                            out[n++] = SimAction.of(SimAction.CLAIM, t);
+                        }
+                    }
+                }
+                break;
+
+            case 2:
+                int affordable = affordableRoboticons(p, MAX_ROBOTICON_PURCHASE);
+                for (int k = 0; k <= affordable; k++) {
+                    out[n++] = SimAction.of(SimAction.BUY_ROBOTICONS, k);
+                }
+                return n;
+
+            case 3:
+                out[n++] = SimAction.of(SimAction.DEPLOY, SimAction.NO_UPGRADE);
+                for (int r = 0; r < 3; r++) {
+                    int t = upgradeTarget(p, r);
+                    if (t >= 0 && money[p] >= upgradeCost(t, r)) {
+                        out[n++] = SimAction.of(SimAction.DEPLOY, r);
+                    }
+                }
+                return n;
+
+            case 5:
+                for (int r = 0; r < 3; r++) {
+                    if (resources[p * 3 + r] >= 2) {
+                        out[n++] = SimAction.of(SimAction.SELL, r);
+                    }
+                    if (buyable(p, r) > 0) {
+                        out[n++] = SimAction.of(SimAction.BUY, r);
+                    }
+                }
+                break;
+        }
+
+        out[n++] = SimAction.PASS;
+        return n;
+    }
+
+    /**
+     * Picks an action for the current player at random, the way the rollouts play the game out
+     * Roboticon purchases are kept small, upgrades are only made when there's money to spare, and players hold on
+     * to their resources half of the time
+     *
+     * @param rnd The random number generator to draw from
+     * @return int The action
+     */
+    public int defaultAction(SimRandom rnd) {
+        int p = player;
+
+        switch (phase) {
+            case 1:
+                if (freeTiles == 0) {
+                    return SimAction.PASS;
+                }
+
+                int k = rnd.nextInt(freeTiles);
+                for (int t = 0; t < tileCount; t++) {
+                    if (owner[t] == NO_OWNER && k-- == 0) {
+                        return SimAction.of(SimAction.CLAIM, t);
+                    }
+                }
+                return SimAction.PASS;
+
+            case 2:
+                return SimAction.of(SimAction.BUY_ROBOTICONS, rnd.nextInt(affordableRoboticons(p, 2) + 1));
+
+            case 3:
+                if (rnd.nextBoolean() && money[p] >= upgradeCostPerLevel + MONEY_BUFFER) {
+                    return SimAction.of(SimAction.DEPLOY, rnd.nextInt(3));
+                }
+                return SimAction.of(SimAction.DEPLOY, SimAction.NO_UPGRADE);
+
+            case 5:
+                int r = rnd.nextInt(3);
+                switch (rnd.nextInt(4)) {
+                    case 2:
+                        return (resources[p * 3 + r] >= 2) ? SimAction.of(SimAction.SELL, r) : SimAction.PASS;
+                    case 3:
+                        return (buyable(p, r) > 0) ? SimAction.of(SimAction.BUY, r) : SimAction.PASS;
+                    default:
+                        return SimAction.PASS;
+                }
+
+            default:
+                return SimAction.PASS;
+        }
+    }
+
+    /**
+     * Carries out an action for the current player and moves on to the next player (or phase)
+     * Actions that aren't legal in the current state are treated as passes
+     *
+     * @param action The action
+     * @param rnd The random number generator to draw production yields from
+     */
+    public void apply(int action, SimRandom rnd) {
+        perform(action);
+        endTurn(rnd);
+    }
+
+    /**
+     * Carries out an action for the current player without ending their turn, so that a player can make several moves
+     * in one phase as they can in the real game
+     * Actions that aren't legal in the current state are ignored
+     *
+     * @param action The action
+     */
+    public void perform(int action) {
+        int p = player;
+        int argument = SimAction.argument(action);
+
+        switch (SimAction.kind(action)) {
+            case SimAction.CLAIM:
+                if (phase == 1 && owner[argument] == NO_OWNER) {
+                    owner[argument] = p;
+                    freeTiles--;
+                }
+                break;
+
+            case SimAction.BUY_ROBOTICONS:
+                if (phase == 2) {
+                    for (int k = 0; k < argument && roboticonStock > 0 && money[p] >= roboticonPrice; k++) {
+                        money[p] -= roboticonPrice;
+                        roboticonPrice += roboticonPriceStep;
+                        roboticonStock--;
+                        roboticons[p]++;
+                    }
+                }
+                break;
+
+            case SimAction.DEPLOY:
+                if (phase == 3) {
+                    deploy(p);
+                    if (argument != SimAction.NO_UPGRADE) {
+                        int t = upgradeTarget(p, argument);
+                        if (t >= 0 && money[p] >= upgradeCost(t, argument)) {
+                            money[p] -= upgradeCost(t, argument);
+                            level[t * 3 + argument]++;
+                        }
+                    }
+                }
+                break;
+
+            case SimAction.SELL:
+                if (phase == 5) {
+                    int r = SimAction.resource(action);
+                    int held = resources[p * 3 + r];
+                    int quantity = (SimAction.quantity(action) == 0) ? ((held >= 2) ? held / 2 : 0)
+                            : Math.min(held, SimAction.quantity(action));
+
+                    resources[p * 3 + r] -= quantity;
+                    money[p] += quantity * sellPrice[r];
+                    stock[r] += quantity;
+                    reprice(r);
+                }
+                break;
+
+            case SimAction.BUY:
+                if (phase == 5) {
+                    int r = SimAction.resource(action);
+                    int quantity = (SimAction.quantity(action) == 0) ? buyable(p, r)
+                            : Math.min(buyable(p, r), SimAction.quantity(action));
+
+                    resources[p * 3 + r] += quantity;
+                    money[p] -= quantity * buyPrice[r];
+                    stock[r] -= quantity;
+                    reprice(r);
+                }
+                break;
+
+            case SimAction.PLACE:
+                if (phase == 3 && argument < tileCount && owner[argument] == p && level[argument * 3] == 0
+                        && roboticons[p] > 0) {
+                    level[argument * 3 + ORE] = 1;
+                    level[argument * 3 + ENERGY] = 1;
+                    level[argument * 3 + FOOD] = 1;
+                    roboticons[p]--;
+                }
+                break;
+
+            case SimAction.UPGRADE: {
+                int t = SimAction.tile(action);
+                int r = SimAction.resource(action);
+                if (phase == 3 && t < tileCount && owner[t] == p && r < 3 && level[t * 3] > 0
+                        && level[t * 3 + r] < MAX_LEVEL && money[p] >= upgradeCost(t, r)) {
+                    money[p] -= upgradeCost(t, r);
+                    level[t * 3 + r]++;
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Ends the current player's turn, producing their resources first if it's phase 4
+     *
+     * @param rnd The random number generator to draw production yields from
+     */
+    public void endTurn(SimRandom rnd) {
+        if (phase == 4) {
+            produce(player, rnd);
+        }
+
+        advance();
+    }
+
+    /**
+     * Plays the game out to the end using {@link #defaultAction(SimRandom)} for every player
+     */
+    public void rollout(SimRandom rnd) {
+        while (!isOver()) {
+            apply(defaultAction(rnd), rnd);
+        }
+    }
+
+    private void advance() {
+        player++;
+        if (player >= playerCount) {
+            player = 0;
+
+            phase++;
+            if (phase >= 6) {
+                phase = 1;
+                turn++;
+            }
+        }
+
+        if (phase == 1) {
+            //The real market turns ore into roboticons at the start of each player's first phase
+            while (stock[ORE] > 10 && roboticonStock < 10) {
+                stock[ORE] -= 3;
+                roboticonStock++;
+            }
+        }
+    }
+
+    private void produce(int p, SimRandom rnd) {
+        for (int t = 0; t < tileCount; t++) {
+            if (owner[t] != p || level[t * 3] == 0) {
+                continue;
+            }
+
+            for (int r = 0; r < 3; r++) {
+                resources[p * 3 + r] += level[t * 3 + r] * (rnd.nextInt(5) + 1) * yield[t * 3 + r];
+            }
+        }
+    }
+
+    /**
+     * Places every roboticon that the player holds on their free tiles, in tile order
+     */
+    private void deploy(int p) {
+        for (int t = 0; t < tileCount && roboticons[p] > 0; t++) {
+            if (owner[t] == p && level[t * 3] == 0) {
+                level[t * 3 + ORE] = 1;
+                level[t * 3 + ENERGY] = 1;
+                level[t * 3 + FOOD] = 1;
+                roboticons[p]--;
+            }
+        }
+    }
+
+    /**
+     * Finds the tile whose roboticon would gain the most from an upgrade to one resource, counting the tiles that the
+     * player's held roboticons will be deployed to
+     *
+     * @return int The tile's index, or -1 if there's nothing to upgrade
+     */
+    private int upgradeTarget(int p, int resource) {
+        int pending = roboticons[p];
+        int best = -1;
+
+        for (int t = 0; t < tileCount; t++) {
+            if (owner[t] != p) {
+                continue;
+            }
+
+            if (level[t * 3] == 0) {
+                if (pending == 0) {
+                    continue;
+                }
+                pending--;
+            } else if (level[t * 3 + resource] >= MAX_LEVEL) {
+                continue;
+            }
+
+            if (best < 0 || yield[t * 3 + resource] > yield[best * 3 + resource]) {
+                best = t;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * @return int The cost of the upgrade that {@link SimAction#DEPLOY} would make to the given resource, or -1 if
+     * the player has no roboticon which it could upgrade
+     */
+    public int upgradeCostFor(int p, int resource) {
+        int t = upgradeTarget(p, resource);
+        return (t < 0) ? -1 : upgradeCost(t, resource);
+    }
+
+    private int upgradeCost(int t, int resource) {
+        return Math.max(1, level[t * 3 + resource]) * upgradeCostPerLevel;
+    }
+
+    private int affordableRoboticons(int p, int limit) {
+        int available = money[p];
+        int price = roboticonPrice;
+        int k = 0;
+
+        while (k < limit && k < roboticonStock && available >= price) {
+            available -= price;
+            price += roboticonPriceStep;
+            k++;
+        }
+
+        return k;
+    }
+
+    private int buyable(int p, int resource) {
+        int quantity = Math.min(stock[resource], MAX_TRADE);
+        if (buyPrice[resource] > 0) {
+            quantity = Math.min(quantity, money[p] / buyPrice[resource]);
+        }
+        return quantity;
+    }
+
+    private void reprice(int resource) {
+        buyPrice[resource] = prices.buyPrice(stock[resource]);
+        sellPrice[resource] = prices.sellPrice(stock[resource]);
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+/**
+ * The pacing policies that can be picked before a game starts
+ */
+public enum StandardPacing implements PacingPolicy {
+    /**
+     * AI players take their full thinking time on a worker thread, so their moves can be followed as they happen
+     */
+    REAL_TIME("REAL TIME", MctsPlanner.DEFAULT_BUDGET_MILLIS, true, 8),
+
+    /**
+     * AI players think for a tenth of the usual time on a worker thread
+     */
+    ACCELERATED("FAST", MctsPlanner.DEFAULT_BUDGET_MILLIS / 10, true, 8),
+
+    /**
+     * AI players simulate a fixed number of games for their difficulty, on the render thread, and as many phases are
+     * played as fit into each frame; used to fast-forward games between AI players
+     */
+    UNLIMITED("UNLIMITED", 0, false, 12);
+
+    private final String label;
+    private final long planningBudgetMillis;
+    private final boolean decidesInBackground;
+    private final long frameSliceMillis;
+
+    StandardPacing(String label, long planningBudgetMillis, boolean decidesInBackground, long frameSliceMillis) {
+        this.label = label;
+        this.planningBudgetMillis = planningBudgetMillis;
+        this.decidesInBackground = decidesInBackground;
+        this.frameSliceMillis = frameSliceMillis;
+    }
+
+    /**
+     * @return String The policy's name, as shown on the player selection screen
+     */
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public long planningBudgetMillis() {
+        return planningBudgetMillis;
+    }
+
+    @Override
+    public boolean decidesInBackground() {
+        return decidesInBackground;
+    }
+
+    @Override
+    public long frameSliceMillis() {
+        return frameSliceMillis;
+    }
+}
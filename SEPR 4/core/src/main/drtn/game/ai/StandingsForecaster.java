@@ -0,0 +1,325 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Forecasts how the game will end by playing it out again and again in the background
+ *
+ * Each time the game changes, {@link #restart(SimState)} is handed a snapshot of it. Any forecast still being worked
+ * on for an older snapshot is cancelled, and a pool of threads starts playing the new snapshot out to the end with
+ * {@link SimState#rollout(SimRandom)}. The games are played in small batches, and the tallies are merged and
+ * published as a new {@link Forecast} after every batch, so the estimate sharpens while it's being looked at. Once
+ * every player's chance of winning is known to within {@link #TARGET_ERROR} the threads stop until the next change.
+ *
+ * Nothing here ever waits on the render thread or makes it wait: snapshots are taken on the render thread, which
+ * then picks up the latest forecast through {@link #latest()} whenever it likes.
+ */
+public class StandingsForecaster {
+
+    /**
+     * Games played by each thread between merges
+     */
+    public static final int BATCH_GAMES = 128;
+
+    /**
+     * Fewest games played before a forecast can be considered to have settled
+     */
+    public static final int MIN_GAMES = 1024;
+
+    /**
+     * Most games played for any one snapshot
+     */
+    public static final int MAX_GAMES = 32768;
+
+    /**
+     * Largest standard error in any player's chance of winning that a settled forecast may have
+     */
+    public static final double TARGET_ERROR = 0.01;
+
+    /**
+     * Scores at or above this are counted together when working out the spread of each player's score
+     */
+    public static final int SCORE_BUCKETS = 4096;
+
+    private final ExecutorService pool;
+    private final int threads;
+    private final long seed;
+
+    /**
+     * The forecast being worked on, or last worked on
+     */
+    private Run current;
+    private int runs;
+
+    private volatile Forecast latest;
+
+    /**
+     * Forecasts on every core but one, leaving a core free for the render thread
+     */
+    public StandingsForecaster() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), System.nanoTime());
+    }
+
+    /**
+     * @param threads The number of threads to play games on
+     * @param seed Seeds the games
+     */
+    public StandingsForecaster(int threads, long seed) {
+        this.threads = threads;
+        this.seed = seed;
+        this.pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Forecast");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                //Never hold up the game's own threads, or keep the game open
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Cancels the forecast being worked on and starts a new one from the given state
+     *
+     * @param snapshot The state to forecast from; it's copied, so it can be changed afterwards
+     */
+    public synchronized void restart(SimState snapshot) {
+        cancel();
+        if (pool.isShutdown()) {
+            return;
+        }
+
+        final Run run = new Run(new SimState(snapshot));
+        current = run;
+        runs++;
+
+        for (int i = 0; i < threads; i++) {
+            final SimRandom rnd = new SimRandom(seed * 0x9E3779B97F4A7C15L + runs * 31L + i);
+            run.tasks.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    play(run, rnd);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Stops working on the current forecast, and forgets it
+     */
+    public synchronized void cancel() {
+        if (current != null) {
+            current.cancelled = true;
+            for (Future<?> task : current.tasks) {
+                task.cancel(true);
+            }
+            current = null;
+        }
+        latest = null;
+    }
+
+    /**
+     * @return Forecast The most recent estimate for the last state handed to {@link #restart(SimState)}, or null if
+     * none has been made yet
+     */
+    public Forecast latest() {
+        return latest;
+    }
+
+    public void shutdown() {
+        cancel();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Plays batches of games from a run's snapshot until the run settles or is cancelled
+     */
+    private void play(Run run, SimRandom rnd) {
+        int players = run.root.playerCount();
+        SimState game = new SimState(run.root);
+        Tally batch = new Tally(players);
+
+        while (!run.cancelled && !Thread.currentThread().isInterrupted()) {
+            batch.clear();
+            for (int g = 0; g < BATCH_GAMES; g++) {
+                game.copyFrom(run.root);
+                game.rollout(rnd);
+                batch.record(game);
+            }
+
+            Forecast forecast = run.merge(batch);
+            if (forecast == null) {
+                return;
+            }
+
+            publish(run, forecast);
+            if (forecast.isConverged()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Makes a forecast the latest one, unless its run has been cancelled since it was made
+     */
+    private synchronized void publish(Run run, Forecast forecast) {
+        if (run == current && (latest == null || forecast.games() > latest.games())) {
+            latest = forecast;
+        }
+    }
+
+    /**
+     * The games played out from one snapshot
+     */
+    private static class Run {
+        private final SimState root;
+        private final Tally total;
+        private final List<Future<?>> tasks = new ArrayList<Future<?>>();
+
+        private volatile boolean cancelled;
+        private boolean converged;
+
+        private Run(SimState root) {
+            this.root = root;
+            this.total = new Tally(root.playerCount());
+        }
+
+        /**
+         * Adds a batch of games to the run's tally
+         *
+         * @return Forecast The forecast with the batch included, or null if the run has already settled
+         */
+        private synchronized Forecast merge(Tally batch) {
+            if (converged) {
+                return null;
+            }
+
+            total.add(batch);
+            converged = total.games >= MAX_GAMES || (total.games >= MIN_GAMES && total.maxError() <= TARGET_ERROR);
+            return total.forecast(converged);
+        }
+    }
+
+    /**
+     * Counts up the outcomes of a number of games
+     */
+    private static class Tally {
+        private final int players;
+        private int games;
+        private final long[] scoreTotal;
+        private final double[] wins;
+
+        /**
+         * The number of games in which each player finished with each score, indexed as [player * SCORE_BUCKETS +
+         * score]
+         */
+        private final int[] scores;
+
+        private Tally(int players) {
+            this.players = players;
+            scoreTotal = new long[players];
+            wins = new double[players];
+            scores = new int[players * SCORE_BUCKETS];
+        }
+
+        private void clear() {
+            games = 0;
+            for (int p = 0; p < players; p++) {
+                scoreTotal[p] = 0;
+                wins[p] = 0;
+            }
+            Arrays.fill(scores, 0);
+        }
+
+        private void record(SimState game) {
+            games++;
+
+            int best = Integer.MIN_VALUE;
+            int winners = 0;
+            for (int p = 0; p < players; p++) {
+                int score = game.score(p);
+                scoreTotal[p] += score;
+                scores[p * SCORE_BUCKETS + Math.max(0, Math.min(SCORE_BUCKETS - 1, score))]++;
+
+                if (score > best) {
+                    best = score;
+                    winners = 1;
+                } else if (score == best) {
+                    winners++;
+                }
+            }
+
+            for (int p = 0; p < players; p++) {
+                if (game.score(p) == best) {
+                    wins[p] += 1.0 / winners;
+                }
+            }
+        }
+
+        private void add(Tally other) {
+            games += other.games;
+            for (int p = 0; p < players; p++) {
+                scoreTotal[p] += other.scoreTotal[p];
+                wins[p] += other.wins[p];
+            }
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] += other.scores[i];
+            }
+        }
+
+        /**
+         * @return double The largest standard error in any player's chance of winning
+         */
+        private double maxError() {
+            double error = 0;
+            for (int p = 0; p < players; p++) {
+                double share = wins[p] / games;
+                error = Math.max(error, Math.sqrt(share * (1 - share) / games));
+            }
+            return error;
+        }
+
+        private Forecast forecast(boolean converged) {
+            double[] mean = new double[players];
+            int[] low = new int[players];
+            int[] high = new int[players];
+            double[] winProbability = new double[players];
+
+            for (int p = 0; p < players; p++) {
+                mean[p] = (double) scoreTotal[p] / games;
+                low[p] = percentile(p, 0.1);
+                high[p] = percentile(p, 0.9);
+                winProbability[p] = wins[p] / games;
+            }
+
+            return new Forecast(games, converged, mean, low, high, winProbability);
+        }
+
+        private int percentile(int p, double fraction) {
+            int target = Math.max(1, (int) Math.ceil(fraction * games));
+            int seen = 0;
+            for (int score = 0; score < SCORE_BUCKETS; score++) {
+                seen += scores[p * SCORE_BUCKETS + score];
+                if (seen >= target) {
+                    return score;
+                }
+            }
+            return SCORE_BUCKETS - 1;
+        }
+    }
+}
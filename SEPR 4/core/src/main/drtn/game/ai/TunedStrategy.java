@@ -0,0 +1,69 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.ai;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * An AI strategy which plays by {@link HeuristicPolicy}'s rules of thumb, using parameters evolved by
+ * {@link drtn.game.tuning.GeneticTuner}
+ *
+ * The parameters are read from the properties file named by the drtn.ai.parameters system property, or are left at
+ * their defaults if it isn't set. The strategy decides instantly, so it's also the quickest opponent to play against.
+ */
+public class TunedStrategy implements AiStrategy {
+
+    public static final String NAME = "tuned";
+
+    /**
+     * Name of the system property that points at the file of parameters to play with
+     */
+    public static final String PROPERTY = "drtn.ai.parameters";
+
+    private final AiParameters params;
+
+    public TunedStrategy() {
+        this(configuredParameters());
+    }
+
+    public TunedStrategy(AiParameters params) {
+        this.params = params;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int decide(GameView view, ComputeBudget budget) {
+        int action = HeuristicPolicy.choose(view.copyState(), params);
+        System.out.println("AI: Decided to " + SimAction.describe(action));
+        return action;
+    }
+
+    public AiParameters parameters() {
+        return params;
+    }
+
+    private static AiParameters configuredParameters() {
+        String path = System.getProperty(PROPERTY);
+        if (path == null) {
+            return AiParameters.defaults();
+        }
+
+        try {
+            return AiParameters.load(new File(path));
+        } catch (IOException e) {
+            System.out.println("Error: Failed to load AI parameters from " + path + ". Falling back on the defaults.");
+            return AiParameters.defaults();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.auction;
+
+import com.badlogic.gdx.utils.Array;
+import drtn.game.entity.Player;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Works out the AI players' bids on a pool of worker threads, so that the render thread is never held up while they
+ * think
+ *
+ * Each AI bidder is handed a snapshot of the lots on the render thread, decides on its bids on a worker thread, and
+ * has the bids it settles on passed back to the render thread to be placed in the {@link AuctionHouse}. Bids that
+ * have gone stale by the time they arrive are simply rejected by the house.
+ */
+public class AiBiddingService {
+
+    /**
+     * Threads on which the AI bidders decide on their bids
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Runs tasks on the thread which owns the auction house (normally via Gdx.app.postRunnable)
+     */
+    private final Executor mainThread;
+
+    /**
+     * Called on the main thread whenever an AI bid is accepted
+     */
+    private final Runnable onBidPlaced;
+
+    /**
+     * Constructs a bidding service
+     *
+     * @param threads The number of worker threads to evaluate bids on
+     * @param mainThread Executor that runs tasks on the thread which owns the auction house
+     * @param onBidPlaced Called on the main thread after one or more AI bids have been accepted
+     */
+    public AiBiddingService(int threads, Executor mainThread, Runnable onBidPlaced) {
+        this.mainThread = mainThread;
+        this.onBidPlaced = onBidPlaced;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "AI Bidder");
+                thread.setDaemon(true);
+                //Never keep the game open just because an AI is still deciding on a bid
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Asks every AI bidder in the game to consider the lots that are currently open
+     * Must be called from the main thread
+     *
+     * @param house The auction house holding the lots
+     * @param players Every player in the game
+     */
+    public void requestBids(final AuctionHouse house, Player[] players) {
+        if (workers.isShutdown()) {
+            return;
+        }
+
+        for (final Player player : players) {
+            if (!(player instanceof AuctionBidder)) {
+                continue;
+            }
+
+            final AuctionBidder bidder = (AuctionBidder) player;
+            final Array<LotQuote> quotes = house.quotes(player);
+            if (quotes.size == 0) {
+                continue;
+            }
+
+            workers.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final int[] bids = new int[quotes.size];
+                    boolean bidding = false;
+
+                    for (int i = 0; i < quotes.size; i++) {
+                        bids[i] = bidder.decideBid(quotes.get(i));
+                        bidding |= bids[i] > 0;
+                    }
+
+                    if (!bidding) {
+                        return;
+                    }
+
+                    mainThread.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            placeBids(house, player, quotes, bids);
+                        }
+                    });
+                }
+            });
+        }
+    }
+
+    /**
+     * Places the bids decided on by an AI bidder
+     */
+    private void placeBids(AuctionHouse house, Player player, Array<LotQuote> quotes, int[] bids) {
+        boolean placed = false;
+
+        for (int i = 0; i < bids.length; i++) {
+            if (bids[i] > 0 && house.bid(quotes.get(i).lotId, player, bids[i])) {
+                placed = true;
+            }
+        }
+
+        if (placed && onBidPlaced != null) {
+            onBidPlaced.run();
+        }
+    }
+
+    /**
+     * Stops the worker threads; any bids still being decided on are discarded
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.auction;
+
+/**
+ * Implemented by players that can decide on their own bids (the AI players)
+ *
+ * Bids are decided on a worker thread, so implementations must only work from the snapshot that they are handed and
+ * must not touch the game's live state
+ */
+public interface AuctionBidder {
+
+    /**
+     * Decides how much to bid on a lot
+     *
+     * @param quote Snapshot of the lot, as seen by this bidder
+     * @return int The amount to bid, or 0 to stay out of the auction
+     */
+    int decideBid(LotQuote quote);
+}
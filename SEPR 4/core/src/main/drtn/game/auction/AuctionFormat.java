@@ -0,0 +1,26 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.auction;
+
+/**
+ * Encodes the ways in which a lot can be auctioned off
+ */
+public enum AuctionFormat {
+    /**
+     * Open ascending auction: every bidder can see the leading bid, and each new bid must beat it by the lot's
+     * minimum increment
+     */
+    ENGLISH,
+
+    /**
+     * First-price sealed-bid auction: bidders can't see each other's bids, and the highest bid wins when the lot
+     * closes
+     */
+    SEALED_BID
+}
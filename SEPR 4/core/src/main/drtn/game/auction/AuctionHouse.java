@@ -0,0 +1,261 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.auction;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+
+/**
+ * Runs the resource auctions held during phase 5
+ *
+ * Any player can list a lot of ore, energy or food, which every other player can then bid on until the auctions are
+ * settled at the end of the phase. Sellers' goods and bidders' money are held in escrow while a lot is open, so the
+ * winner of each lot is always able to pay for it.
+ *
+ * Lots are stored by ID and keep track of their own leading bids, so placing a bid and finding the winner of a lot
+ * are both constant-time regardless of how many bids have been placed. The house is not thread-safe: it must only be
+ * used from the render thread, with AI bids being passed back to it by the {@link AiBiddingService}.
+ */
+public class AuctionHouse {
+
+    /**
+     * Default amount by which each new bid in an English auction must beat the last one
+     */
+    public static final int DEFAULT_INCREMENT = 2;
+
+    /**
+     * Lots listed since the auctions were last settled, held in the order of their IDs
+     */
+    private final Array<Lot> lots;
+
+    /**
+     * The market, which is used to quote the going rate for each lot to the bidders
+     */
+    private final Market market;
+
+    /**
+     * ID of the first lot in the lots array
+     * IDs are never re-used, so stale bids for lots from previous rounds are simply rejected
+     */
+    private int firstId;
+
+    /**
+     * Constructs an empty auction house
+     *
+     * @param market The market whose prices are quoted to bidders alongside each lot
+     */
+    public AuctionHouse(Market market) {
+        this.market = market;
+        this.lots = new Array<Lot>();
+        this.firstId = 0;
+    }
+
+    /**
+     * Puts a quantity of a resource up for auction, taking the goods from the seller until the lot is settled
+     *
+     * @param seller The player selling the resource
+     * @param format The type of auction to run
+     * @param resource The resource being sold (ore, energy or food)
+     * @param quantity The amount being sold
+     * @param reserve The lowest bid that the seller will accept
+     * @return Lot The newly-listed lot, or null if the seller can't list it
+     */
+    public Lot list(Player seller, AuctionFormat format, ResourceType resource, int quantity, int reserve) {
+        if (resource != ResourceType.ORE && resource != ResourceType.ENERGY && resource != ResourceType.FOOD) {
+            return null;
+        }
+
+        if (quantity < 1 || reserve < 1 || seller.getResource(resource) < quantity) {
+            return null;
+        }
+
+        seller.varyResource(resource, -quantity);
+
+        Lot lot = new Lot(firstId + lots.size, seller, format, resource, quantity, reserve, DEFAULT_INCREMENT);
+        lots.add(lot);
+
+        return lot;
+    }
+
+    /**
+     * Returns the lot with the given ID if it is still open
+     *
+     * @param lotId The ID of the lot
+     * @return Lot The lot, or null if it has closed or doesn't exist
+     */
+    public Lot lot(int lotId) {
+        int index = lotId - firstId;
+        if (index < 0 || index >= lots.size) {
+            return null;
+        }
+
+        Lot lot = lots.get(index);
+        return lot.isOpen() ? lot : null;
+    }
+
+    /**
+     * Places a bid on a lot, moving the bid's value into escrow
+     * In an English auction, the previous leader's money is handed back as soon as they are outbid
+     *
+     * @param lotId The ID of the lot being bid on
+     * @param bidder The player placing the bid
+     * @param amount The total amount being bid for the lot
+     * @return True if the bid was accepted
+     */
+    public boolean bid(int lotId, Player bidder, int amount) {
+        Lot lot = lot(lotId);
+        if (lot == null || bidder == lot.getSeller() || amount < lot.minimumBid(bidder)) {
+            return false;
+        }
+
+        int standing = lot.bidOf(bidder);
+        if (bidder.getResource(ResourceType.MONEY) + standing < amount) {
+            return false;
+        }
+
+        if (lot.getFormat() == AuctionFormat.ENGLISH && lot.getLeader() != null) {
+            lot.getLeader().varyResource(ResourceType.MONEY, lot.getLeadingBid());
+            //Refund the previous leader (who may also be the current bidder)
+            bidder.varyResource(ResourceType.MONEY, -amount);
+        } else {
+            bidder.varyResource(ResourceType.MONEY, -(amount - standing));
+        }
+
+        lot.recordBid(bidder, amount);
+
+        return true;
+    }
+
+    /**
+     * Builds a snapshot of every open lot that the given player could bid on
+     *
+     * @param bidder The player to quote for
+     * @return Array<LotQuote> Quotes for every open lot that the player isn't selling
+     */
+    public Array<LotQuote> quotes(Player bidder) {
+        Array<LotQuote> quotes = new Array<LotQuote>();
+
+        for (Lot lot : lots) {
+            if (!lot.isOpen() || lot.getSeller() == bidder) {
+                continue;
+            }
+
+            int ownBid = lot.bidOf(bidder);
+            quotes.add(new LotQuote(lot.getId(), lot.getFormat(), lot.getResource(), lot.getQuantity(),
+                    lot.getReserve(), lot.minimumBid(bidder), ownBid, lot.getLeader() == bidder,
+                    bidder.getResource(ResourceType.MONEY) + ownBid, marketPrice(lot.getResource())));
+        }
+
+        return quotes;
+    }
+
+    /**
+     * Returns every lot which is currently open
+     *
+     * @return Array<Lot> The open lots, in the order that they were listed
+     */
+    public Array<Lot> openLots() {
+        Array<Lot> open = new Array<Lot>();
+        for (Lot lot : lots) {
+            if (lot.isOpen()) {
+                open.add(lot);
+            }
+        }
+
+        return open;
+    }
+
+    /**
+     * Returns how much the house is holding in escrow for a player: the goods in the lots that they've listed, or
+     * the money in their standing bids
+     *
+     * @param player The player to look up
+     * @param resource Money, for the player's bids, or the resource of the lots that they've listed
+     * @return int The amount held for the player, which would be theirs again if every open lot were withdrawn
+     */
+    public int escrowed(Player player, ResourceType resource) {
+        int held = 0;
+        for (Lot lot : lots) {
+            if (!lot.isOpen()) {
+                continue;
+            }
+
+            if (resource == ResourceType.MONEY) {
+                held += lot.bidOf(player);
+            } else if (lot.getSeller() == player && lot.getResource() == resource) {
+                held += lot.getQuantity();
+            }
+        }
+
+        return held;
+    }
+
+    /**
+     * @return int The number of lots currently open
+     */
+    public int size() {
+        return lots.size;
+    }
+
+    /**
+     * Closes every open lot, giving each one to its highest bidder and paying its seller
+     * Unsold goods go back to their sellers, and losing sealed bids go back to their bidders
+     *
+     * @return Array<Lot> The lots that were sold
+     */
+    public Array<Lot> settle() {
+        Array<Lot> sold = new Array<Lot>();
+
+        for (Lot lot : lots) {
+            lot.close();
+
+            if (lot.getLeader() == null) {
+                lot.getSeller().varyResource(lot.getResource(), lot.getQuantity());
+                continue;
+            }
+
+            lot.getLeader().varyResource(lot.getResource(), lot.getQuantity());
+            lot.getSeller().varyResource(ResourceType.MONEY, lot.getLeadingBid());
+
+            if (lot.getFormat() == AuctionFormat.SEALED_BID) {
+                for (ObjectIntMap.Entry<Player> entry : lot.sealedBids()) {
+                    if (entry.key != lot.getLeader()) {
+                        entry.key.varyResource(ResourceType.MONEY, entry.value);
+                    }
+                }
+            }
+
+            sold.add(lot);
+        }
+
+        firstId += lots.size;
+        lots.clear();
+
+        return sold;
+    }
+
+    /**
+     * Returns the price that the market charges for one unit of the given resource
+     */
+    private int marketPrice(ResourceType resource) {
+        switch (resource) {
+            case ORE:
+                return market.getOreBuyPrice();
+            case ENERGY:
+                return market.getEnergyBuyPrice();
+            case FOOD:
+                return market.getFoodBuyPrice();
+            default:
+                return 0;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.auction;
+
+import com.badlogic.gdx.utils.ObjectIntMap;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+
+/**
+ * A quantity of a single resource put up for auction by one of the players
+ *
+ * The leading bid is tracked as bids arrive, so working out the winner never requires looking back through the
+ * bids that have been placed. Bids can only ever go up, which keeps this valid for both auction formats.
+ */
+public class Lot {
+
+    private final int id;
+    private final Player seller;
+    private final AuctionFormat format;
+    private final ResourceType resource;
+    private final int quantity;
+    private final int reserve;
+    private final int increment;
+
+    /**
+     * The player currently holding the winning bid, or null if no valid bids have been placed
+     */
+    private Player leader;
+
+    /**
+     * The winning bid so far
+     */
+    private int leadingBid;
+
+    /**
+     * Each bidder's standing bid in a sealed-bid auction
+     * Unused for English auctions, where only the leader's bid matters
+     */
+    private final ObjectIntMap<Player> sealedBids;
+
+    private boolean open;
+
+    Lot(int id, Player seller, AuctionFormat format, ResourceType resource, int quantity, int reserve, int increment) {
+        this.id = id;
+        this.seller = seller;
+        this.format = format;
+        this.resource = resource;
+        this.quantity = quantity;
+        this.reserve = reserve;
+        this.increment = increment;
+        this.sealedBids = new ObjectIntMap<Player>();
+        this.open = true;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public Player getSeller() {
+        return seller;
+    }
+
+    public AuctionFormat getFormat() {
+        return format;
+    }
+
+    public ResourceType getResource() {
+        return resource;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getReserve() {
+        return reserve;
+    }
+
+    public int getIncrement() {
+        return increment;
+    }
+
+    public Player getLeader() {
+        return leader;
+    }
+
+    public int getLeadingBid() {
+        return leadingBid;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Returns the standing bid that a player has placed on the lot
+     *
+     * @param bidder The player to look up
+     * @return int The player's bid, or 0 if they haven't bid
+     */
+    public int bidOf(Player bidder) {
+        if (format == AuctionFormat.ENGLISH) {
+            return bidder == leader ? leadingBid : 0;
+        }
+
+        return sealedBids.get(bidder, 0);
+    }
+
+    /**
+     * Returns the smallest bid that the given player could currently place on the lot
+     *
+     * @param bidder The player who would be bidding
+     * @return int The minimum acceptable bid
+     */
+    public int minimumBid(Player bidder) {
+        if (format == AuctionFormat.ENGLISH) {
+            if (leader == null) {
+                return reserve;
+            }
+
+            return leadingBid + increment;
+        }
+
+        return Math.max(reserve, sealedBids.get(bidder, 0) + 1);
+    }
+
+    void recordBid(Player bidder, int amount) {
+        if (format == AuctionFormat.SEALED_BID) {
+            sealedBids.put(bidder, amount);
+        }
+
+        if (leader == null || amount > leadingBid) {
+            leader = bidder;
+            leadingBid = amount;
+        }
+    }
+
+    void close() {
+        open = false;
+    }
+
+    ObjectIntMap<Player> sealedBids() {
+        return sealedBids;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.auction;
+
+import drtn.game.enums.ResourceType;
+
+/**
+ * Immutable snapshot of a lot as seen by one bidder, safe to hand to a worker thread
+ * The leading bid of a sealed-bid lot is hidden from everyone but the player holding it
+ */
+public final class LotQuote {
+
+    public final int lotId;
+    public final AuctionFormat format;
+    public final ResourceType resource;
+    public final int quantity;
+    public final int reserve;
+
+    /**
+     * The smallest bid that the bidder could place on the lot
+     */
+    public final int minimumBid;
+
+    /**
+     * The bidder's own standing bid on the lot (0 if they haven't bid)
+     */
+    public final int ownBid;
+
+    /**
+     * Whether the bidder currently holds the winning bid
+     */
+    public final boolean leading;
+
+    /**
+     * The money that the bidder could put towards a new bid, including what is already tied up in their own bid
+     */
+    public final int budget;
+
+    /**
+     * The price that the market is charging for a single unit of the lot's resource
+     */
+    public final int marketPrice;
+
+    public LotQuote(int lotId, AuctionFormat format, ResourceType resource, int quantity, int reserve, int minimumBid,
+                    int ownBid, boolean leading, int budget, int marketPrice) {
+        this.lotId = lotId;
+        this.format = format;
+        this.resource = resource;
+        this.quantity = quantity;
+        this.reserve = reserve;
+        this.minimumBid = minimumBid;
+        this.ownBid = ownBid;
+        this.leading = leading;
+        this.budget = budget;
+        this.marketPrice = marketPrice;
+    }
+}
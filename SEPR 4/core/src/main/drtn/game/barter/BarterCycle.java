@@ -0,0 +1,142 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.barter;
+
+import com.badlogic.gdx.utils.Array;
+import drtn.game.entity.Player;
+
+/**
+ * A ring of players, each of whom hands some of their surplus to the next player in the ring
+ * Every participant gives away only goods that they can spare and receives only goods that they need, and the
+ * quantities are chosen so that everyone gives and receives roughly the same value at market prices
+ *
+ * The exchange only goes ahead once every participant has accepted it
+ */
+public class BarterCycle {
+
+    /**
+     * The cycle's hand-overs; looked up by index rather than iterated, as lookups can happen while callers are
+     * iterating over the same array
+     */
+    private final Array<BarterTransfer> transfers;
+    private final Array<Player> accepted;
+    private boolean rejected;
+    private boolean executed;
+
+    BarterCycle(Array<BarterTransfer> transfers) {
+        this.transfers = transfers;
+        this.accepted = new Array<Player>(false, transfers.size);
+    }
+
+    /**
+     * @return Array<BarterTransfer> The hand-overs making up the cycle, in ring order
+     */
+    public Array<BarterTransfer> getTransfers() {
+        return transfers;
+    }
+
+    public boolean involves(Player player) {
+        return given(player) != null;
+    }
+
+    /**
+     * Returns the transfer in which the given player hands over goods
+     *
+     * @param player A participant
+     * @return BarterTransfer The player's outgoing transfer, or null if they aren't part of the cycle
+     */
+    public BarterTransfer given(Player player) {
+        for (int i = 0; i < transfers.size; i++) {
+            if (transfers.get(i).from == player) {
+                return transfers.get(i);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the transfer in which the given player receives goods
+     *
+     * @param player A participant
+     * @return BarterTransfer The player's incoming transfer, or null if they aren't part of the cycle
+     */
+    public BarterTransfer received(Player player) {
+        for (int i = 0; i < transfers.size; i++) {
+            if (transfers.get(i).to == player) {
+                return transfers.get(i);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Records a participant's acceptance of the exchange
+     *
+     * @param player The accepting participant
+     * @return True if every participant has now accepted
+     */
+    public boolean accept(Player player) {
+        if (involves(player) && !accepted.contains(player, true)) {
+            accepted.add(player);
+        }
+
+        return isAccepted();
+    }
+
+    /**
+     * Cancels the exchange for everyone involved
+     */
+    public void reject() {
+        rejected = true;
+    }
+
+    public boolean hasAccepted(Player player) {
+        return accepted.contains(player, true);
+    }
+
+    public boolean isAccepted() {
+        return !rejected && accepted.size == transfers.size;
+    }
+
+    public boolean isRejected() {
+        return rejected;
+    }
+
+    public boolean isExecuted() {
+        return executed;
+    }
+
+    /**
+     * Carries out the exchange, as long as everyone has accepted and every participant still holds the goods that they
+     * agreed to hand over
+     *
+     * @return True if the exchange took place
+     */
+    public boolean execute() {
+        if (executed || !isAccepted()) {
+            return false;
+        }
+
+        for (BarterTransfer transfer : transfers) {
+            if (transfer.from.getResource(transfer.resource) < transfer.quantity) {
+                return false;
+            }
+        }
+
+        for (BarterTransfer transfer : transfers) {
+            transfer.from.varyResource(transfer.resource, -transfer.quantity);
+            transfer.to.varyResource(transfer.resource, transfer.quantity);
+        }
+
+        executed = true;
+        return true;
+    }
+}
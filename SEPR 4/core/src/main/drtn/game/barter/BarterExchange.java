@@ -0,0 +1,172 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.barter;
+
+import com.badlogic.gdx.utils.Array;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+
+/**
+ * Clears barter exchanges between all of the players once per turn
+ *
+ * Each player's surpluses and needs are worked out from their inventory, the {@link BarterSolver} finds exchange
+ * cycles between them, and AI players accept their part in every cycle straight away. Cycles made up entirely of AI
+ * players are carried out immediately; the rest are held as proposals until every human involved has accepted them
+ * (or until the next turn's clearing replaces them).
+ */
+public class BarterExchange {
+
+    /**
+     * Amount of each resource that a player keeps back before offering the rest for barter
+     */
+    public static final int RESOURCE_RESERVE = 8;
+
+    /**
+     * Amount of each resource that a player tries to hold at all times
+     */
+    public static final int RESOURCE_TARGET = 4;
+
+    /**
+     * Money that a player keeps back on top of the price of the next roboticon before offering the rest for barter
+     */
+    public static final int MONEY_BUFFER = 20;
+
+    private final BarterSolver solver;
+
+    /**
+     * Cycles still waiting for one or more human players to accept them
+     */
+    private final Array<BarterCycle> proposals;
+
+    public BarterExchange(BarterSolver solver) {
+        this.solver = solver;
+        this.proposals = new Array<BarterCycle>();
+    }
+
+    public BarterExchange() {
+        this(new BarterSolver());
+    }
+
+    /**
+     * Works out what a player can spare and what they are short of, based on the resources that they hold
+     *
+     * @param player The player
+     * @param market The market, whose roboticon price dictates how much money the player needs to keep back
+     * @return BarterOrder The player's surpluses and needs
+     */
+    public static BarterOrder orderFor(Player player, Market market) {
+        BarterOrder order = new BarterOrder(player);
+
+        for (ResourceType resource : BarterOrder.GOODS) {
+            int held = player.getResource(resource);
+
+            if (resource == ResourceType.MONEY) {
+                int keep = market.getRoboticonBuyPrice() + MONEY_BUFFER;
+                order.setSurplus(resource, held - keep);
+                order.setNeed(resource, keep - held);
+            } else {
+                order.setSurplus(resource, held - RESOURCE_RESERVE);
+                order.setNeed(resource, RESOURCE_TARGET - held);
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Runs one round of barter clearing between the given players, replacing any proposals left over from the last
+     * round
+     *
+     * @param players Every player in the game
+     * @param market The market, whose prices are used to value the goods being exchanged
+     * @return Array<BarterCycle> The cycles that were carried out straight away
+     */
+    public Array<BarterCycle> clear(Player[] players, Market market) {
+        proposals.clear();
+
+        Array<BarterOrder> orders = new Array<BarterOrder>(players.length);
+        for (Player player : players) {
+            orders.add(orderFor(player, market));
+        }
+
+        int[] unitValues = {
+                Math.max(1, market.getOreBuyPrice()),
+                Math.max(1, market.getEnergyBuyPrice()),
+                Math.max(1, market.getFoodBuyPrice()),
+                1
+        };
+
+        Array<BarterCycle> executed = new Array<BarterCycle>();
+
+        for (BarterCycle cycle : solver.solve(orders, unitValues)) {
+            for (BarterTransfer transfer : cycle.getTransfers()) {
+                if (transfer.from.isAi()) {
+                    cycle.accept(transfer.from);
+                }
+            }
+
+            if (cycle.isAccepted()) {
+                if (cycle.execute()) {
+                    executed.add(cycle);
+                }
+            } else {
+                proposals.add(cycle);
+            }
+        }
+
+        return executed;
+    }
+
+    /**
+     * Returns the proposal that is waiting for the given player to accept it
+     *
+     * @param player The player
+     * @return BarterCycle The proposal, or null if nothing is waiting on the player
+     */
+    public BarterCycle proposalFor(Player player) {
+        for (BarterCycle cycle : proposals) {
+            if (cycle.involves(player) && !cycle.hasAccepted(player)) {
+                return cycle;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Records a player's response to a proposal, carrying out the exchange once everyone has accepted it
+     *
+     * @param cycle The proposal
+     * @param player The responding player
+     * @param accepted Whether the player accepted the proposal
+     * @return True if the exchange was carried out as a result
+     */
+    public boolean respond(BarterCycle cycle, Player player, boolean accepted) {
+        if (!accepted) {
+            cycle.reject();
+            proposals.removeValue(cycle, true);
+            return false;
+        }
+
+        if (cycle.accept(player)) {
+            proposals.removeValue(cycle, true);
+            return cycle.execute();
+        }
+
+        return false;
+    }
+
+    /**
+     * @return int The number of proposals waiting on human players
+     */
+    public int pendingProposals() {
+        return proposals.size;
+    }
+}
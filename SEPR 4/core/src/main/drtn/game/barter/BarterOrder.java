@@ -0,0 +1,70 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.barter;
+
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+
+/**
+ * Records the goods that a player is willing to give away and the goods that they would like to receive in return
+ */
+public class BarterOrder {
+
+    /**
+     * The goods which can be bartered, in the order used to index every per-good array in this package
+     */
+    public static final ResourceType[] GOODS = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD, ResourceType.MONEY};
+
+    private final Player player;
+    final int[] surplus;
+    final int[] needs;
+
+    public BarterOrder(Player player) {
+        this.player = player;
+        this.surplus = new int[GOODS.length];
+        this.needs = new int[GOODS.length];
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public void setSurplus(ResourceType resource, int amount) {
+        surplus[index(resource)] = Math.max(0, amount);
+    }
+
+    public void setNeed(ResourceType resource, int amount) {
+        needs[index(resource)] = Math.max(0, amount);
+    }
+
+    public int getSurplus(ResourceType resource) {
+        return surplus[index(resource)];
+    }
+
+    public int getNeed(ResourceType resource) {
+        return needs[index(resource)];
+    }
+
+    /**
+     * Returns the position of a good in the {@link #GOODS} array
+     *
+     * @param resource The good to look up
+     * @return int The good's index
+     * @throws IllegalArgumentException If the resource can't be bartered
+     */
+    static int index(ResourceType resource) {
+        for (int i = 0; i < GOODS.length; i++) {
+            if (GOODS[i] == resource) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Error: " + resource + " can't be bartered.");
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.barter;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * Finds rings of players who can satisfy each other's needs out of their surpluses
+ *
+ * The players form a directed graph in which an edge runs from one player to another whenever the first has a
+ * surplus of something the second needs. Every cycle in this graph is an exchange that leaves all of its participants
+ * better off, so the solver searches for short cycles and turns each one into a {@link BarterCycle}.
+ *
+ * Before searching, players who can't be part of any cycle (because nobody can give them anything, or they can't give
+ * anything to anyone) are trimmed away. The search itself is a depth-limited DFS from each remaining player which only
+ * visits players later in the ordering than the one it started from, so no cycle is found twice, and which remembers
+ * how much depth it had left when it last failed to get home through each player so that dead ends aren't explored
+ * again. Each player takes part in at most one cycle per pass.
+ */
+public class BarterSolver {
+
+    /**
+     * Default limit on the number of players in a single cycle
+     */
+    public static final int DEFAULT_MAX_CYCLE_LENGTH = 4;
+
+    private final int maxCycleLength;
+
+    public BarterSolver(int maxCycleLength) {
+        if (maxCycleLength < 2) {
+            throw new IllegalArgumentException("Error: Barter cycles need at least two players.");
+        }
+
+        this.maxCycleLength = maxCycleLength;
+    }
+
+    public BarterSolver() {
+        this(DEFAULT_MAX_CYCLE_LENGTH);
+    }
+
+    /**
+     * Finds a set of non-overlapping barter cycles between the given players
+     * The surpluses and needs held in the orders are used up by the cycles that are found
+     *
+     * @param orders Every player's surpluses and needs
+     * @param unitValues The value of a single unit of each good, indexed as in {@link BarterOrder#GOODS}
+     * @return Array<BarterCycle> The cycles that were found
+     */
+    public Array<BarterCycle> solve(Array<BarterOrder> orders, int[] unitValues) {
+        int n = orders.size;
+        Array<BarterCycle> cycles = new Array<BarterCycle>();
+
+        int[][] good = new int[n][n];
+        //The most valuable good that each player could give each other player, or -1 if there isn't one
+        int[] outDegree = new int[n];
+        int[] inDegree = new int[n];
+
+        for (int u = 0; u < n; u++) {
+            BarterOrder giver = orders.get(u);
+            for (int v = 0; v < n; v++) {
+                good[u][v] = -1;
+                if (u == v) {
+                    continue;
+                }
+
+                int bestValue = 0;
+                for (int g = 0; g < BarterOrder.GOODS.length; g++) {
+                    int value = Math.min(giver.surplus[g], orders.get(v).needs[g]) * unitValues[g];
+                    if (value > bestValue) {
+                        bestValue = value;
+                        good[u][v] = g;
+                    }
+                }
+
+                if (good[u][v] >= 0) {
+                    outDegree[u]++;
+                    inDegree[v]++;
+                }
+            }
+        }
+
+        boolean[] removed = new boolean[n];
+        trim(good, inDegree, outDegree, removed);
+
+        int[][] adjacency = new int[n][];
+        for (int u = 0; u < n; u++) {
+            adjacency[u] = new int[removed[u] ? 0 : outDegree[u]];
+            int k = 0;
+            for (int v = 0; v < n && !removed[u]; v++) {
+                if (!removed[v] && good[u][v] >= 0) {
+                    adjacency[u][k++] = v;
+                }
+            }
+            if (k < adjacency[u].length) {
+                int[] trimmed = new int[k];
+                System.arraycopy(adjacency[u], 0, trimmed, 0, k);
+                adjacency[u] = trimmed;
+            }
+        }
+
+        int[] path = new int[maxCycleLength];
+        boolean[] onPath = new boolean[n];
+        int[] failedDepth = new int[n];
+
+        for (int start = 0; start < n; start++) {
+            if (removed[start]) {
+                continue;
+            }
+
+            Arrays.fill(failedDepth, -1);
+            path[0] = start;
+            onPath[start] = true;
+
+            int length = search(start, start, 1, adjacency, removed, onPath, failedDepth, path);
+
+            onPath[start] = false;
+
+            if (length > 0) {
+                cycles.add(buildCycle(orders, good, unitValues, path, length));
+
+                for (int i = 0; i < length; i++) {
+                    removed[path[i]] = true;
+                    onPath[path[i]] = false;
+                }
+            }
+        }
+
+        return cycles;
+    }
+
+    /**
+     * Repeatedly removes players that have no incoming or no outgoing edges, as they can't be part of any cycle
+     */
+    private void trim(int[][] good, int[] inDegree, int[] outDegree, boolean[] removed) {
+        int n = good.length;
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        for (int u = 0; u < n; u++) {
+            if (inDegree[u] == 0 || outDegree[u] == 0) {
+                removed[u] = true;
+                queue[tail++] = u;
+            }
+        }
+
+        while (head < tail) {
+            int u = queue[head++];
+
+            for (int v = 0; v < n; v++) {
+                if (good[u][v] >= 0 && !removed[v] && --inDegree[v] == 0) {
+                    removed[v] = true;
+                    queue[tail++] = v;
+                }
+                if (good[v][u] >= 0 && !removed[v] && --outDegree[v] == 0) {
+                    removed[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+    }
+
+    /**
+     * Searches for a path leading back to the start player
+     *
+     * @return int The length of the cycle found (stored in the path array), or 0 if there isn't one
+     */
+    private int search(int start, int node, int depth, int[][] adjacency, boolean[] removed, boolean[] onPath,
+                       int[] failedDepth, int[] path) {
+        int remaining = maxCycleLength - depth;
+
+        for (int next : adjacency[node]) {
+            if (next == start && depth >= 2) {
+                return depth;
+            }
+
+            if (next <= start || removed[next] || onPath[next] || remaining == 0) {
+                continue;
+            }
+
+            if (remaining <= failedDepth[next]) {
+                continue;
+                //Already failed to get home through this player with at least as much depth to spare
+            }
+
+            path[depth] = next;
+            onPath[next] = true;
+
+            int length = search(start, next, depth + 1, adjacency, removed, onPath, failedDepth, path);
+            if (length > 0) {
+                return length;
+            }
+
+            onPath[next] = false;
+            failedDepth[next] = Math.max(failedDepth[next], remaining);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Works out the goods and quantities exchanged around a cycle, using up the participants' surpluses and needs
+     * Every hand-over is scaled to the value of the least valuable one, so no participant gives away much more than
+     * they receive
+     */
+    private BarterCycle buildCycle(Array<BarterOrder> orders, int[][] good, int[] unitValues, int[] path, int length) {
+        int value = Integer.MAX_VALUE;
+
+        for (int i = 0; i < length; i++) {
+            int u = path[i];
+            int v = path[(i + 1) % length];
+            int g = good[u][v];
+            value = Math.min(value, Math.min(orders.get(u).surplus[g], orders.get(v).needs[g]) * unitValues[g]);
+        }
+
+        Array<BarterTransfer> transfers = new Array<BarterTransfer>(length);
+
+        for (int i = 0; i < length; i++) {
+            BarterOrder giver = orders.get(path[i]);
+            BarterOrder receiver = orders.get(path[(i + 1) % length]);
+            int g = good[path[i]][path[(i + 1) % length]];
+
+            int available = Math.min(giver.surplus[g], receiver.needs[g]);
+            int quantity = Math.min(available, Math.max(1, value / unitValues[g]));
+
+            giver.surplus[g] -= quantity;
+            receiver.needs[g] -= quantity;
+
+            transfers.add(new BarterTransfer(giver.getPlayer(), receiver.getPlayer(), BarterOrder.GOODS[g], quantity));
+        }
+
+        return new BarterCycle(transfers);
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.barter;
+
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+
+/**
+ * A single hand-over of goods from one player to the next within a barter cycle
+ */
+public final class BarterTransfer {
+
+    public final Player from;
+    public final Player to;
+    public final ResourceType resource;
+    public final int quantity;
+
+    public BarterTransfer(Player from, Player to, ResourceType resource, int quantity) {
+        this.from = from;
+        this.to = to;
+        this.resource = resource;
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,473 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.effects;
+
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.*;
+
+/**
+ * The game's random events, compiled from their JSON definitions into flat arrays that {@link EffectRunner} can
+ * apply without looking anything up or allocating anything
+ *
+ * The standard events are defined in events.json, among the game's assets; a different set can be used without
+ * touching the code by launching the game with -Ddrtn.events=[JSON file]. The file holds an "events" array, each
+ * entry of which gives:
+ *
+ * name, text - The event's name and the message shown to the player that it hits
+ * target - What the event changes: "tiles" (the yields of every tile that the player owns), "mostOre", "mostEnergy"
+ *          or "mostFood" (the yields of the player's tiles with the most of that resource), "leastOre",
+ *          "leastEnergy" or "leastFood" (those with the least), "random" (those of tiles picked from the player's
+ *          at random) or "player" (the player's inventory)
+ * count - The number of tiles that "most", "least" and "random" events change (1 if left out)
+ * op - How the event changes it: "add", "multiply" or "set"
+ * ore, energy, food, money - The amount to add, multiply by or set for each resource; resources that are left out
+ *          are unchanged, and money can only be changed by events that target the player
+ * turns - The number of the player's productions that the event lasts for (1 if left out); events that target the
+ *          player change their inventory once, so can only last for one
+ * stacking - What happens when the event hits a player that it's still in force on: "refresh" (the event lasts
+ *          for its full number of turns again, from then on), "stack" (the event is applied again, on top of
+ *          itself) or "ignore" (nothing happens); "refresh" if left out
+ * cooldown - The number of turns after the event hits a player before it can hit them again (0 if left out)
+ * weight - How likely the event is to be picked, relative to the others (1 if left out)
+ * leaderGap, scarcity, progress - How the event's weight leans with the state of the game (0 if left out): its
+ *          weight is multiplied by e to the power of each of these times the matching signal, which runs from 0 to
+ *          1 as the player falls behind the leader, as the market runs short of resources and as the map fills up;
+ *          see {@link EventDirector}
+ *
+ * Each operation is compiled into the same form, new = old * scale + offset, which is applied to players' inventories
+ * directly and laid over tiles' yields as a {@link YieldLayer} modifier.
+ */
+public final class EffectProgram {
+
+    /**
+     * Name of the system property that points at the file of events to play with
+     */
+    public static final String PROPERTY = "drtn.events";
+
+    /**
+     * Name of the standard events' file, among the game's assets
+     */
+    public static final String RESOURCE = "events.json";
+
+    public static final int TILES = 0;
+    public static final int MOST_ORE = 1;
+    public static final int MOST_ENERGY = 2;
+    public static final int MOST_FOOD = 3;
+    public static final int PLAYER = 4;
+    public static final int LEAST_ORE = 5;
+    public static final int LEAST_ENERGY = 6;
+    public static final int LEAST_FOOD = 7;
+    public static final int RANDOM = 8;
+
+    public static final String[] TARGETS = {"tiles", "mostOre", "mostEnergy", "mostFood", "player", "leastOre",
+            "leastEnergy", "leastFood", "random"};
+    public static final String[] OPS = {"add", "multiply", "set"};
+
+    public static final int REFRESH = 0;
+    public static final int STACK = 1;
+    public static final int IGNORE = 2;
+
+    public static final String[] STACKING = {"refresh", "stack", "ignore"};
+
+    public static final int LEADER_GAP = 0;
+    public static final int SCARCITY = 1;
+    public static final int PROGRESS = 2;
+
+    /**
+     * The signals that events' weights can lean with, in the order in which their biases are stored
+     */
+    public static final String[] SIGNALS = {"leaderGap", "scarcity", "progress"};
+
+    /**
+     * The resources that events can change, in the order in which their scales and offsets are stored
+     */
+    public static final String[] RESOURCES = {"ore", "energy", "food", "money"};
+
+    /**
+     * Number of values stored for each event in {@link #scales()} and {@link #offsets()}
+     */
+    public static final int STRIDE = 4;
+
+    private static final int MONEY = 3;
+
+    private static EffectProgram configured;
+
+    private final String[] names;
+    private final String[] texts;
+    private final int[] targets;
+    private final int[] counts;
+    private final int[] turns;
+    private final int[] stacking;
+    private final int[] cooldowns;
+    private final float[] weights;
+
+    /**
+     * Each event's bias towards each signal, indexed as [event * SIGNALS.length + signal]
+     */
+    private final float[] biases;
+
+    /**
+     * Each event's scale and offset for each resource, indexed as [event * STRIDE + resource]
+     */
+    private final float[] scales;
+    private final float[] offsets;
+
+    /**
+     * The events that change tiles and those that change players, in the order in which they were defined
+     */
+    private final int[] tileEvents;
+    private final int[] playerEvents;
+    private int tileEventCount;
+    private int playerEventCount;
+
+    private EffectProgram(int size) {
+        names = new String[size];
+        texts = new String[size];
+        targets = new int[size];
+        counts = new int[size];
+        turns = new int[size];
+        stacking = new int[size];
+        cooldowns = new int[size];
+        weights = new float[size];
+        biases = new float[size * SIGNALS.length];
+        scales = new float[size * STRIDE];
+        offsets = new float[size * STRIDE];
+        tileEvents = new int[size];
+        playerEvents = new int[size];
+    }
+
+    /**
+     * Compiles a set of events from their JSON definitions
+     *
+     * @param json The definitions, laid out as described above
+     * @return EffectProgram The compiled events
+     * @throws IllegalArgumentException If the JSON can't be parsed or defines an event that can't exist
+     */
+    public static EffectProgram compile(String json) {
+        JsonValue root;
+        try {
+            root = new JsonReader().parse(json);
+        } catch (SerializationException e) {
+            throw new IllegalArgumentException("Error: Events aren't valid JSON: " + e.getMessage(), e);
+        }
+
+        JsonValue events = (root == null) ? null : root.get("events");
+        if (events == null || !events.isArray()) {
+            throw new IllegalArgumentException("Error: Events must be listed in an array named \"events\".");
+        }
+
+        EffectProgram program = new EffectProgram(events.size);
+        int e = 0;
+        for (JsonValue event : events) {
+            program.compileEvent(e, event);
+            if (program.targets[e] == PLAYER) {
+                program.playerEvents[program.playerEventCount++] = e;
+            } else {
+                program.tileEvents[program.tileEventCount++] = e;
+            }
+            e++;
+        }
+
+        return program;
+    }
+
+    private void compileEvent(int e, JsonValue event) {
+        String name = event.getString("name", null);
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Error: Event " + (e + 1) + " has no name.");
+        }
+        names[e] = name;
+        texts[e] = event.getString("text", "");
+
+        targets[e] = find(TARGETS, event.getString("target", null), name, "target");
+        int op = find(OPS, event.getString("op", null), name, "op");
+
+        counts[e] = event.getInt("count", 1);
+        if (counts[e] < 1) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" must change at least one tile.");
+        }
+        if (counts[e] > 1 && (targets[e] == TILES || targets[e] == PLAYER)) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" can't pick a number of tiles, as it "
+                    + "targets " + TARGETS[targets[e]] + ".");
+        }
+
+        turns[e] = event.getInt("turns", 1);
+        if (turns[e] < 1) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" must last for at least one turn.");
+        }
+        if (turns[e] > 1 && targets[e] == PLAYER) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" changes the player's inventory once, so "
+                    + "can't last for more than one turn.");
+        }
+
+        stacking[e] = find(STACKING, event.getString("stacking", STACKING[REFRESH]), name, "stacking");
+        cooldowns[e] = event.getInt("cooldown", 0);
+        if (cooldowns[e] < 0) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" can't have a negative cooldown.");
+        }
+
+        weights[e] = number(event, "weight", 1, name);
+        if (weights[e] < 0) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" can't have a negative weight.");
+        }
+        for (int s = 0; s < SIGNALS.length; s++) {
+            biases[e * SIGNALS.length + s] = number(event, SIGNALS[s], 0, name);
+        }
+
+        for (int r = 0; r < STRIDE; r++) {
+            JsonValue magnitude = event.get(RESOURCES[r]);
+            float scale = 1;
+            float offset = 0;
+
+            if (magnitude != null) {
+                if (!magnitude.isNumber()) {
+                    throw new IllegalArgumentException("Error: Event \"" + name + "\" must give " + RESOURCES[r]
+                            + " as a number.");
+                }
+                if (r == MONEY && targets[e] != PLAYER) {
+                    throw new IllegalArgumentException("Error: Event \"" + name + "\" can't change money, as it "
+                            + "targets tiles.");
+                }
+
+                switch (op) {
+                    case 0:
+                        offset = magnitude.asFloat();
+                        break;
+                    case 1:
+                        scale = magnitude.asFloat();
+                        break;
+                    default:
+                        scale = 0;
+                        offset = magnitude.asFloat();
+                }
+            }
+            //Resources that the event leaves out keep their values
+
+            scales[e * STRIDE + r] = scale;
+            offsets[e * STRIDE + r] = offset;
+        }
+    }
+
+    private static float number(JsonValue event, String field, float fallback, String name) {
+        JsonValue value = event.get(field);
+        if (value == null) {
+            return fallback;
+        }
+        if (!value.isNumber()) {
+            throw new IllegalArgumentException("Error: Event \"" + name + "\" must give " + field + " as a number.");
+        }
+        return value.asFloat();
+    }
+
+    private static int find(String[] options, String value, String event, String field) {
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(value)) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Error: Event \"" + event + "\" has an unknown " + field + " (\"" + value
+                + "\").");
+    }
+
+    /**
+     * Compiles the events defined in a file
+     *
+     * @param file The file to read
+     * @return EffectProgram The compiled events
+     * @throws IOException If the file can't be read or its events can't be compiled
+     */
+    public static EffectProgram load(File file) throws IOException {
+        return load(new FileInputStream(file), file.getPath());
+    }
+
+    /**
+     * @return EffectProgram The standard events, from the game's assets
+     * @throws IOException If the standard events can't be found or compiled
+     */
+    public static EffectProgram standard() throws IOException {
+        InputStream in = EffectProgram.class.getResourceAsStream("/" + RESOURCE);
+        if (in == null) {
+            File file = new File(RESOURCE);
+            if (!file.isFile()) {
+                throw new IOException("Error: Can't find the standard events (" + RESOURCE + ").");
+            }
+            in = new FileInputStream(file);
+        }
+        //Fall back on the working directory, which holds the assets when the game is run from them
+
+        return load(in, RESOURCE);
+    }
+
+    private static EffectProgram load(InputStream in, String source) throws IOException {
+        StringBuilder json = new StringBuilder();
+        Reader reader = new InputStreamReader(in, "UTF-8");
+        try {
+            char[] buffer = new char[4096];
+            int read;
+            while ((read = reader.read(buffer)) > 0) {
+                json.append(buffer, 0, read);
+            }
+        } finally {
+            reader.close();
+        }
+
+        try {
+            return compile(json.toString());
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage() + " (in " + source + ")", e);
+        }
+    }
+
+    /**
+     * Returns the events read from the file named by the {@link #PROPERTY} system property
+     * Falls back on the standard events when the property is missing or the file can't be used, and on having no
+     * events at all if even those can't be found
+     *
+     * @return EffectProgram The configured events
+     */
+    public static synchronized EffectProgram configured() {
+        if (configured == null) {
+            String path = System.getProperty(PROPERTY);
+
+            if (path != null) {
+                try {
+                    configured = load(new File(path));
+                } catch (IOException e) {
+                    System.out.println(e.getMessage() + " Falling back on the standard events.");
+                }
+            }
+
+            if (configured == null) {
+                try {
+                    configured = standard();
+                } catch (IOException e) {
+                    System.out.println(e.getMessage() + " The game will be played without random events.");
+                    configured = compile("{events: []}");
+                }
+            }
+        }
+
+        return configured;
+    }
+
+    /**
+     * @return int The number of events
+     */
+    public int size() {
+        return names.length;
+    }
+
+    public int tileEventCount() {
+        return tileEventCount;
+    }
+
+    public int playerEventCount() {
+        return playerEventCount;
+    }
+
+    /**
+     * @param i The event's place among the events that change tiles
+     * @return int The event's number
+     */
+    public int tileEvent(int i) {
+        return tileEvents[i];
+    }
+
+    /**
+     * @param i The event's place among the events that change players
+     * @return int The event's number
+     */
+    public int playerEvent(int i) {
+        return playerEvents[i];
+    }
+
+    public String getName(int event) {
+        return names[event];
+    }
+
+    public String getText(int event) {
+        return texts[event];
+    }
+
+    /**
+     * @return int What the event changes, as one of the constants matching {@link #TARGETS}
+     */
+    public int getTarget(int event) {
+        return targets[event];
+    }
+
+    /**
+     * @return int The number of tiles that the event changes, if it picks them by their yields or at random
+     */
+    public int getCount(int event) {
+        return counts[event];
+    }
+
+    public int getTurns(int event) {
+        return turns[event];
+    }
+
+    /**
+     * @return int What happens when the event hits a player it's still in force on, as one of {@link #REFRESH},
+     * {@link #STACK} or {@link #IGNORE}
+     */
+    public int getStacking(int event) {
+        return stacking[event];
+    }
+
+    public int getCooldown(int event) {
+        return cooldowns[event];
+    }
+
+    /**
+     * @return float How likely the event is to be picked, relative to the others, before it leans with the game
+     */
+    public float getWeight(int event) {
+        return weights[event];
+    }
+
+    /**
+     * @param signal One of {@link #LEADER_GAP}, {@link #SCARCITY} or {@link #PROGRESS}
+     * @return float How far the event's weight leans with the signal
+     */
+    public float getBias(int event, int signal) {
+        return biases[event * SIGNALS.length + signal];
+    }
+
+    /**
+     * @return int The number of the event with the given name, or -1 if there isn't one
+     */
+    public int indexOf(String name) {
+        for (int e = 0; e < names.length; e++) {
+            if (names[e].equals(name)) {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return float[] Every event's scale for each resource, indexed as [event * STRIDE + resource]; not to be changed
+     */
+    float[] scales() {
+        return scales;
+    }
+
+    /**
+     * @return float[] Every event's offset for each resource, indexed as [event * STRIDE + resource]; not to be
+     * changed
+     */
+    float[] offsets() {
+        return offsets;
+    }
+}
@@ -0,0 +1,187 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.effects;
+
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Applies the events of an {@link EffectProgram} to players and their tiles, and reverts the changes made to tiles
+ *
+ * The tiles that an event changes are picked out through a {@link ProducerIndex}, so events aimed at a player's
+ * best, worst or random tiles cost the same however large the map is. Changes to tiles are laid on a
+ * {@link YieldLayer} as modifiers, leaving the tiles' base yields as they were, and reverting them is a matter of
+ * removing those modifiers again. The modifiers laid by each application of an event are chained together through a
+ * flat array indexed by their handles, which only grows when the layer does, so applying and reverting events
+ * doesn't allocate anything once the game is under way.
+ */
+public final class EffectRunner {
+
+    /**
+     * Returned by {@link #run(int, Player)} when nothing was laid on the tiles
+     */
+    public static final int NONE = -1;
+
+    private static final ResourceType[] INVENTORY = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD,
+            ResourceType.MONEY};
+
+    private final EffectProgram program;
+    private final YieldLayer layer;
+    private final ProducerIndex index;
+    private final Random random;
+
+    /**
+     * The modifier laid before each modifier by the same application of an event, indexed by their handles
+     */
+    private int[] chain = new int[16];
+
+    /**
+     * Space for the tiles picked out by an event
+     */
+    private int[] picked = new int[16];
+
+    /**
+     * @param program The events to apply
+     * @param layer The layer holding the yields of the tiles that the events can hit, indexed by their IDs minus one
+     * @param index The index of the players' tiles, kept over the same layer
+     * @param random Picks out tiles for events that target them at random
+     */
+    public EffectRunner(EffectProgram program, YieldLayer layer, ProducerIndex index, Random random) {
+        this.program = program;
+        this.layer = layer;
+        this.index = index;
+        this.random = random;
+    }
+
+    public EffectProgram getProgram() {
+        return program;
+    }
+
+    /**
+     * Applies an event to a player, or to the tiles that they own
+     * Changes to players' inventories are permanent, whereas changes to tiles last until they're reverted
+     *
+     * @param event The event's number in the program
+     * @param player The player that the event hits
+     * @return int The changes made to tiles, to be passed to {@link #revert(int)}, or {@link #NONE} if there were none
+     */
+    public int run(int event, Player player) {
+        int target = program.getTarget(event);
+        if (target == EffectProgram.PLAYER) {
+            runOnPlayer(event, player);
+            return NONE;
+        }
+
+        int p = player.getPlayerID();
+        int count = program.getCount(event);
+        if (picked.length < count) {
+            picked = new int[count];
+        }
+
+        int found;
+        switch (target) {
+            case EffectProgram.TILES:
+                found = index.count(p);
+                if (picked.length < found) {
+                    picked = new int[found * 2];
+                }
+                for (int i = 0; i < found; i++) {
+                    picked[i] = index.tile(p, i);
+                }
+                break;
+            case EffectProgram.MOST_ORE:
+            case EffectProgram.MOST_ENERGY:
+            case EffectProgram.MOST_FOOD:
+                found = index.top(p, target - EffectProgram.MOST_ORE, count, picked);
+                break;
+            case EffectProgram.LEAST_ORE:
+            case EffectProgram.LEAST_ENERGY:
+            case EffectProgram.LEAST_FOOD:
+                found = index.bottom(p, target - EffectProgram.LEAST_ORE, count, picked);
+                break;
+            default:
+                found = index.random(p, count, random, picked);
+        }
+        //Pick out the tiles before changing any of them, as the changes move tiles around the index
+
+        int last = NONE;
+        for (int i = 0; i < found; i++) {
+            last = lay(event, picked[i], last);
+        }
+        return last;
+    }
+
+    /**
+     * Lays an event's changes on the given tiles, as when a saved game that it was in force in is loaded
+     *
+     * @param event The event's number in the program
+     * @param tiles The tiles to change, in the order that they were changed in
+     * @return int The changes made to tiles, to be passed to {@link #revert(int)}, or {@link #NONE} if there were none
+     */
+    public int lay(int event, int[] tiles) {
+        int last = NONE;
+        for (int t : tiles) {
+            last = lay(event, t, last);
+        }
+        return last;
+    }
+
+    /**
+     * @param changes The value returned by {@link #run(int, Player)} when the event was applied
+     * @return int[] The tiles that the changes were made to, in the order that they were made in
+     */
+    public int[] tiles(int changes) {
+        int count = 0;
+        for (int m = changes; m != NONE; m = chain[m]) {
+            count++;
+        }
+
+        int[] tiles = new int[count];
+        for (int m = changes; m != NONE; m = chain[m]) {
+            tiles[--count] = layer.tileOf(m);
+        }
+        //The chain runs from the last change back to the first
+        return tiles;
+    }
+
+    private int lay(int event, int t, int last) {
+        int m = layer.add(t, program.scales(), program.offsets(), event * EffectProgram.STRIDE);
+        if (m >= chain.length) {
+            chain = Arrays.copyOf(chain, Math.max(m + 1, chain.length * 2));
+        }
+        chain[m] = last;
+        return m;
+    }
+
+    private void runOnPlayer(int event, Player player) {
+        float[] scales = program.scales();
+        float[] offsets = program.offsets();
+        int base = event * EffectProgram.STRIDE;
+
+        for (int r = 0; r < INVENTORY.length; r++) {
+            int count = player.getResource(INVENTORY[r]);
+            player.setResource(INVENTORY[r], Math.max(0, (int) (count * scales[base + r] + offsets[base + r])));
+        }
+        //Players can't be left with less than nothing, so losses are capped at whatever they have
+    }
+
+    /**
+     * Removes the changes made to tiles by one application of an event
+     *
+     * @param changes The value returned by {@link #run(int, Player)} when the event was applied
+     */
+    public void revert(int changes) {
+        for (int m = changes; m != NONE; m = chain[m]) {
+            layer.remove(m);
+        }
+    }
+}
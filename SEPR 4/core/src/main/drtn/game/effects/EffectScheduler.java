@@ -0,0 +1,352 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.effects;
+
+import drtn.game.entity.Player;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of which random events are in force on which players, and ends each of them once it has lasted for
+ * its number of turns
+ *
+ * Time is counted in ticks, one for each player's production in each turn. Events in force on tiles are held in a
+ * hashed timing wheel: a ring of {@link #SLOTS} lists, each holding the events that end on the ticks that map to it.
+ * Moving on a tick only walks the list for that tick, so the cost of ending events grows with the number that end
+ * (and the few sharing their slot) rather than with the number in force. Events, their places in the wheel and the
+ * cooldowns and stacks of every event on every player are all held in flat arrays, and the slots of ended events are
+ * reused.
+ */
+public final class EffectScheduler {
+
+    /**
+     * Number of slots in the wheel, which must be a power of two
+     */
+    public static final int SLOTS = 64;
+
+    private static final int NONE = -1;
+
+    /**
+     * Is shown every event in force and every cooldown by {@link #visit(Visitor)}, so that they can be saved
+     */
+    public interface Visitor {
+
+        /**
+         * @param event The event's number in the program
+         * @param player The ID of the player that it hit
+         * @param ticksLeft The number of ticks until it ends
+         * @param tiles The tiles that it changed, in the order that they were changed in
+         */
+        void effect(int event, int player, long ticksLeft, int[] tiles);
+
+        /**
+         * @param event The event's number in the program
+         * @param player The ID of the player that it can't hit yet
+         * @param ticksLeft The number of ticks until it can hit them again
+         */
+        void cooldown(int event, int player, long ticksLeft);
+    }
+
+    private final EffectRunner runner;
+    private final EffectProgram program;
+    private final int players;
+
+    /**
+     * The tick that the scheduler has reached
+     */
+    private long now;
+
+    /**
+     * The first event in each slot
+     */
+    private final int[] slots = new int[SLOTS];
+
+    /**
+     * Each event in force: which event it is, who it hit, the tick that it ends on, the changes that it made and its
+     * neighbours in its slot; the next of an event that has ended is the next free entry
+     */
+    private int[] event = new int[16];
+    private int[] player = new int[16];
+    private long[] ends = new long[16];
+    private int[] changes = new int[16];
+    private int[] previous = new int[16];
+    private int[] next = new int[16];
+    private int free = NONE;
+    private int used;
+    private int active;
+
+    /**
+     * For each event and player, indexed as [event * players + player]: the tick from which the event can hit the
+     * player again, the number of times that it's in force on them, and the last time that it was applied to them
+     * which is still in force
+     */
+    private final long[] readyAt;
+    private final int[] stacks;
+    private final int[] latest;
+
+    /**
+     * @param runner Applies and reverts the events
+     * @param players The number of players in the game
+     */
+    public EffectScheduler(EffectRunner runner, int players) {
+        this.runner = runner;
+        this.program = runner.getProgram();
+        this.players = players;
+
+        Arrays.fill(slots, NONE);
+        readyAt = new long[program.size() * players];
+        stacks = new int[program.size() * players];
+        latest = new int[program.size() * players];
+        Arrays.fill(latest, NONE);
+    }
+
+    public EffectProgram getProgram() {
+        return program;
+    }
+
+    /**
+     * @param turn The game's turn
+     * @param p The player producing their resources
+     * @return long The tick on which the player produces their resources in the given turn
+     */
+    public long tick(int turn, int p) {
+        return (long) turn * players + p;
+    }
+
+    /**
+     * Moves on to a later tick, ending every event that ends on or before it
+     *
+     * @param tick The tick to move on to
+     */
+    public void advanceTo(long tick) {
+        if (tick <= now) {
+            return;
+        }
+
+        long from = Math.max(now + 1, tick - SLOTS + 1);
+        //Ticks more than a full turn of the wheel apart share slots, so each slot needs visiting at most once
+        now = tick;
+        for (long t = from; t <= tick; t++) {
+            int e = slots[(int) (t & (SLOTS - 1))];
+            while (e != NONE) {
+                int following = next[e];
+                if (ends[e] <= tick) {
+                    end(e);
+                }
+                e = following;
+            }
+        }
+    }
+
+    /**
+     * Has an event hit a player, unless it's cooling down or (as its stacking rule says) already in force on them
+     * Events on tiles stay in force until the player has produced their resources for the event's number of turns
+     *
+     * @param e The event's number in the program
+     * @param p The player's ID
+     * @param target The player
+     * @return boolean True if the event hit the player
+     */
+    public boolean fire(int e, int p, Player target) {
+        int key = e * players + p;
+        if (now < readyAt[key]) {
+            return false;
+        }
+
+        if (stacks[key] > 0) {
+            if (program.getStacking(e) == EffectProgram.IGNORE) {
+                return false;
+            }
+            if (program.getStacking(e) == EffectProgram.REFRESH) {
+                int refreshed = latest[key];
+                unlink(refreshed);
+                ends[refreshed] = now + (long) program.getTurns(e) * players;
+                link(refreshed);
+                readyAt[key] = cooldownEnd(e);
+                return true;
+            }
+        }
+
+        int applied = runner.run(e, target);
+        readyAt[key] = cooldownEnd(e);
+        if (program.getTarget(e) == EffectProgram.PLAYER) {
+            return true;
+        }
+        //Changes to players' inventories are made there and then, so there's nothing to end
+
+        int entry = allocate();
+        event[entry] = e;
+        player[entry] = p;
+        ends[entry] = now + (long) program.getTurns(e) * players;
+        changes[entry] = applied;
+        link(entry);
+
+        stacks[key]++;
+        latest[key] = entry;
+        active++;
+        return true;
+    }
+
+    private long cooldownEnd(int e) {
+        return now + (long) (program.getCooldown(e) + 1) * players;
+    }
+
+    /**
+     * @return boolean True if the event is in force on the player
+     */
+    public boolean isActive(int e, int p) {
+        return stacks[e * players + p] > 0;
+    }
+
+    /**
+     * @return int The number of times that the event is in force on the player
+     */
+    public int stacks(int e, int p) {
+        return stacks[e * players + p];
+    }
+
+    /**
+     * @return int The number of events in force on tiles
+     */
+    public int activeCount() {
+        return active;
+    }
+
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Ends every event in force, leaving every tile with its base yields, and forgets every cooldown
+     */
+    public void clear() {
+        for (int s = 0; s < SLOTS; s++) {
+            while (slots[s] != NONE) {
+                end(slots[s]);
+            }
+        }
+        Arrays.fill(readyAt, 0);
+    }
+
+    /**
+     * Shows a visitor every event in force on tiles, and every event that's cooling down on a player
+     */
+    public void visit(Visitor visitor) {
+        for (int s = 0; s < SLOTS; s++) {
+            for (int e = slots[s]; e != NONE; e = next[e]) {
+                visitor.effect(event[e], player[e], ends[e] - now, runner.tiles(changes[e]));
+            }
+        }
+
+        for (int key = 0; key < readyAt.length; key++) {
+            if (readyAt[key] > now) {
+                visitor.cooldown(key / players, key % players, readyAt[key] - now);
+            }
+        }
+    }
+
+    /**
+     * Ends every event in force and forgets every cooldown, and moves to the given tick, ready for the events and
+     * cooldowns of a saved game to be put back
+     *
+     * @param tick The tick that the saved game had reached
+     */
+    public void resume(long tick) {
+        clear();
+        now = tick;
+    }
+
+    /**
+     * Puts back an event that was in force when a game was saved, on the same tiles as before
+     *
+     * @param e The event's number in the program
+     * @param p The ID of the player that it hit
+     * @param ticksLeft The number of ticks until it ends
+     * @param tiles The tiles that it changed, in the order that they were changed in
+     */
+    public void restore(int e, int p, long ticksLeft, int[] tiles) {
+        int entry = allocate();
+        event[entry] = e;
+        player[entry] = p;
+        ends[entry] = now + Math.max(1, ticksLeft);
+        changes[entry] = runner.lay(e, tiles);
+        link(entry);
+
+        int key = e * players + p;
+        stacks[key]++;
+        latest[key] = entry;
+        active++;
+    }
+
+    /**
+     * Puts back the cooldown of an event on a player from when a game was saved
+     *
+     * @param e The event's number in the program
+     * @param p The player's ID
+     * @param ticksLeft The number of ticks until the event can hit them again
+     */
+    public void restoreCooldown(int e, int p, long ticksLeft) {
+        readyAt[e * players + p] = now + ticksLeft;
+    }
+
+    private void end(int entry) {
+        unlink(entry);
+        runner.revert(changes[entry]);
+
+        int key = event[entry] * players + player[entry];
+        stacks[key]--;
+        if (latest[key] == entry) {
+            latest[key] = NONE;
+        }
+
+        next[entry] = free;
+        free = entry;
+        active--;
+    }
+
+    private void link(int entry) {
+        int s = (int) (ends[entry] & (SLOTS - 1));
+        previous[entry] = NONE;
+        next[entry] = slots[s];
+        if (slots[s] != NONE) {
+            previous[slots[s]] = entry;
+        }
+        slots[s] = entry;
+    }
+
+    private void unlink(int entry) {
+        if (previous[entry] == NONE) {
+            slots[(int) (ends[entry] & (SLOTS - 1))] = next[entry];
+        } else {
+            next[previous[entry]] = next[entry];
+        }
+        if (next[entry] != NONE) {
+            previous[next[entry]] = previous[entry];
+        }
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int entry = free;
+            free = next[entry];
+            return entry;
+        }
+
+        if (used == event.length) {
+            int size = used * 2;
+            event = Arrays.copyOf(event, size);
+            player = Arrays.copyOf(player, size);
+            ends = Arrays.copyOf(ends, size);
+            changes = Arrays.copyOf(changes, size);
+            previous = Arrays.copyOf(previous, size);
+            next = Arrays.copyOf(next, size);
+        }
+        return used++;
+    }
+}
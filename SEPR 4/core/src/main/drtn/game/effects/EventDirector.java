@@ -0,0 +1,230 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.effects;
+
+import drtn.game.GameConfig;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks the random event that hits each player, weighting every event in an {@link EffectProgram} by the state of
+ * the game
+ *
+ * Each event's weight is its base weight, multiplied by e to the power of its bias towards each of three signals:
+ * how far the player has fallen behind the leader, how short of resources the market has run and how much of the
+ * map has been claimed. Each signal runs from 0 to 1 and is rounded to one of {@link #LEVELS} levels, so the weights
+ * only change when the game has moved on noticeably.
+ *
+ * Events are drawn by Walker's alias method: each player has a table with one column per event, holding a cutoff and
+ * an alias, so drawing an event takes one random column and one random number whatever the number of events. A
+ * player's table is only rebuilt, in O(n), when the levels of their signals have changed and given them different
+ * weights; events whose weights don't lean with the game never cause a rebuild.
+ */
+public final class EventDirector {
+
+    /**
+     * Number of levels that each signal is rounded to
+     */
+    public static final int LEVELS = 8;
+
+    /**
+     * Returned by {@link #choose(int, float, float, float)} when no event can be picked
+     */
+    public static final int NONE = -1;
+
+    private final EffectProgram program;
+    private final Random random;
+
+    /**
+     * For each player: the levels that their table was built for, the weights of the events and their total, and
+     * the table's cutoffs and aliases
+     */
+    private final int[] levels;
+    private final float[][] weights;
+    private final double[] totals;
+    private final float[][] cutoffs;
+    private final int[][] aliases;
+
+    /**
+     * Space for working out weights and sorting the table's columns while it's built
+     */
+    private final float[] scratch;
+    private final double[] scaled;
+    private final int[] small;
+    private final int[] large;
+
+    private int rebuilds;
+
+    /**
+     * @param program The events to pick from
+     * @param players The number of players
+     * @param random The source of randomness
+     */
+    public EventDirector(EffectProgram program, int players, Random random) {
+        this.program = program;
+        this.random = random;
+
+        int n = program.size();
+        levels = new int[players];
+        Arrays.fill(levels, -1);
+        weights = new float[players][n];
+        totals = new double[players];
+        cutoffs = new float[players][n];
+        aliases = new int[players][n];
+
+        scratch = new float[n];
+        scaled = new double[n];
+        small = new int[n];
+        large = new int[n];
+    }
+
+    /**
+     * Picks the event that hits a player
+     *
+     * @param p The player's ID
+     * @param leaderGap How far the player has fallen behind the leader, from {@link #leaderGap(int, int)}
+     * @param scarcity How short of resources the market is, from {@link #scarcity(int, int, int, GameConfig)}
+     * @param progress The share of the map that has been claimed
+     * @return int The event's number in the program, or {@link #NONE} if every event's weight is zero
+     */
+    public int choose(int p, float leaderGap, float scarcity, float progress) {
+        int key = level(leaderGap) + LEVELS * (level(scarcity) + LEVELS * level(progress));
+        if (key != levels[p]) {
+            levels[p] = key;
+            build(p, key);
+        }
+
+        if (totals[p] <= 0) {
+            return NONE;
+        }
+        int column = random.nextInt(cutoffs[p].length);
+        return (random.nextFloat() < cutoffs[p][column]) ? column : aliases[p][column];
+    }
+
+    /**
+     * @return float The chance that the event was picked the last time that an event was picked for the player
+     */
+    public float chance(int p, int event) {
+        return (totals[p] <= 0) ? 0 : (float) (weights[p][event] / totals[p]);
+    }
+
+    /**
+     * @return int The number of times that a player's table has been rebuilt
+     */
+    public int rebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * @return int The level that a signal is rounded to
+     */
+    static int level(float signal) {
+        return Math.round(Math.max(0, Math.min(1, signal)) * (LEVELS - 1));
+    }
+
+    private void build(int p, int key) {
+        float gap = (key % LEVELS) / (float) (LEVELS - 1);
+        float scarcity = (key / LEVELS % LEVELS) / (float) (LEVELS - 1);
+        float progress = (key / (LEVELS * LEVELS)) / (float) (LEVELS - 1);
+
+        int n = scratch.length;
+        double total = 0;
+        for (int e = 0; e < n; e++) {
+            double lean = program.getBias(e, EffectProgram.LEADER_GAP) * gap
+                    + program.getBias(e, EffectProgram.SCARCITY) * scarcity
+                    + program.getBias(e, EffectProgram.PROGRESS) * progress;
+            scratch[e] = (float) (program.getWeight(e) * Math.exp(lean));
+            total += scratch[e];
+        }
+
+        if (totals[p] != 0 && Arrays.equals(scratch, weights[p])) {
+            return;
+        }
+        //Moving to a new level only matters if some event leans with it
+
+        System.arraycopy(scratch, 0, weights[p], 0, n);
+        totals[p] = total;
+        rebuilds++;
+        if (total <= 0) {
+            return;
+        }
+
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int e = 0; e < n; e++) {
+            scaled[e] = weights[p][e] * n / total;
+            if (scaled[e] < 1) {
+                small[smallCount++] = e;
+            } else {
+                large[largeCount++] = e;
+            }
+        }
+        //Scale the weights so that they average 1, which is the share of each column
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            cutoffs[p][less] = (float) scaled[less];
+            aliases[p][less] = more;
+
+            scaled[more] -= 1 - scaled[less];
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        //Fill each column that its own event doesn't fill with part of an event that has more than its share
+
+        while (largeCount > 0) {
+            int e = large[--largeCount];
+            cutoffs[p][e] = 1;
+            aliases[p][e] = e;
+        }
+        while (smallCount > 0) {
+            int e = small[--smallCount];
+            cutoffs[p][e] = 1;
+            aliases[p][e] = e;
+        }
+        //Whatever is left over fills its own column, give or take rounding errors
+    }
+
+    /**
+     * @param score The player's score
+     * @param leaderScore The leading player's score
+     * @return float How far the player has fallen behind the leader, from 0 (leading) to 1 (scoring nothing)
+     */
+    public static float leaderGap(int score, int leaderScore) {
+        return (leaderScore <= 0) ? 0 : Math.max(0, leaderScore - score) / (float) leaderScore;
+    }
+
+    /**
+     * Measures how short of ore, energy and food the market is against the stocks that it opened the game with
+     * A resource that the market opened without, such as ore in the standard game, never counts as short of it
+     *
+     * @param config The game's configuration, which holds the market's opening stocks
+     * @return float How short the market is, from 0 (at least its opening stock of each) to 1 (none of any)
+     */
+    public static float scarcity(int ore, int energy, int food, GameConfig config) {
+        int[] stocks = {ore, energy, food};
+        int[] openings = {config.round(GameConfig.ORE_STOCK), config.round(GameConfig.ENERGY_STOCK),
+                config.round(GameConfig.FOOD_STOCK)};
+
+        float total = 0;
+        int counted = 0;
+        for (int r = 0; r < stocks.length; r++) {
+            if (openings[r] > 0) {
+                total += Math.max(0, 1 - stocks[r] / (float) openings[r]);
+                counted++;
+            }
+        }
+        return (counted == 0) ? 0 : total / counted;
+    }
+}
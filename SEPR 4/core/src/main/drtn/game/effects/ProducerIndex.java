@@ -0,0 +1,328 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.effects;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Keeps every player's tiles ranked by their effective yield of each resource, so that random events can pick out a
+ * player's best, worst or random tiles without looking through the rest of the map
+ *
+ * For each player and resource, the player's tiles are held in an indexed max-heap and an indexed min-heap keyed on
+ * their yields in a {@link YieldLayer}, which tells the index whenever a tile's yields change. Each player's tiles
+ * are also listed in a flat array for picking them at random. Claiming a tile or changing its yields costs
+ * O(log n), finding a player's best or worst tile O(1), their best or worst k tiles O(k log k) and k random tiles
+ * O(k), however many tiles there are. Ties go to the lower-numbered tile.
+ */
+public final class ProducerIndex implements YieldLayer.Listener {
+
+    /**
+     * Owner of tiles that nobody has claimed
+     */
+    public static final int UNOWNED = -1;
+
+    private static final int RESOURCES = 3;
+
+    private final YieldLayer layer;
+    private final int[] owner;
+
+    /**
+     * Each player's tiles, in no particular order, along with each tile's position in its owner's list
+     */
+    private final int[][] members;
+    private final int[] memberCount;
+    private final int[] memberPosition;
+
+    /**
+     * For each player, and each resource's max-heap and min-heap (indexed as [resource * 2 + (0: max | 1: min)]),
+     * the heap itself; the positions of tiles in their owners' heaps are indexed in the same way
+     */
+    private final int[][][] heaps;
+    private final int[][] heapPosition;
+
+    /**
+     * Space for searching the heaps when asked for more than one tile
+     */
+    private int[] frontier = new int[16];
+
+    /**
+     * @param layer The tiles' yields, which the index listens to from then on
+     * @param players The number of players
+     */
+    public ProducerIndex(YieldLayer layer, int players) {
+        this.layer = layer;
+        int tiles = layer.size();
+
+        owner = new int[tiles];
+        Arrays.fill(owner, UNOWNED);
+        memberPosition = new int[tiles];
+        members = new int[players][4];
+        memberCount = new int[players];
+
+        heaps = new int[players][RESOURCES * 2][4];
+        heapPosition = new int[RESOURCES * 2][tiles];
+
+        layer.setListener(this);
+    }
+
+    /**
+     * Hands a tile over to a player, or leaves it unowned
+     *
+     * @param t The tile's index
+     * @param p The player's ID, or {@link #UNOWNED}
+     */
+    public void setOwner(int t, int p) {
+        if (owner[t] == p) {
+            return;
+        }
+        if (owner[t] != UNOWNED) {
+            release(t);
+        }
+
+        owner[t] = p;
+        if (p == UNOWNED) {
+            return;
+        }
+
+        if (memberCount[p] == members[p].length) {
+            members[p] = Arrays.copyOf(members[p], memberCount[p] * 2);
+            for (int h = 0; h < RESOURCES * 2; h++) {
+                heaps[p][h] = Arrays.copyOf(heaps[p][h], memberCount[p] * 2);
+            }
+        }
+
+        int size = memberCount[p]++;
+        members[p][size] = t;
+        memberPosition[t] = size;
+        for (int h = 0; h < RESOURCES * 2; h++) {
+            heaps[p][h][size] = t;
+            heapPosition[h][t] = size;
+            siftUp(p, h, size);
+        }
+    }
+
+    private void release(int t) {
+        int p = owner[t];
+        int last = --memberCount[p];
+
+        int moved = members[p][last];
+        members[p][memberPosition[t]] = moved;
+        memberPosition[moved] = memberPosition[t];
+
+        for (int h = 0; h < RESOURCES * 2; h++) {
+            int i = heapPosition[h][t];
+            int replacement = heaps[p][h][last];
+            heaps[p][h][i] = replacement;
+            heapPosition[h][replacement] = i;
+            if (i < last) {
+                siftDown(p, h, siftUp(p, h, i));
+            }
+        }
+        owner[t] = UNOWNED;
+    }
+
+    public int getOwner(int t) {
+        return owner[t];
+    }
+
+    /**
+     * @return int The number of tiles that the player owns
+     */
+    public int count(int p) {
+        return memberCount[p];
+    }
+
+    /**
+     * @return int The index of the player's i-th tile, in no particular order
+     */
+    public int tile(int p, int i) {
+        return members[p][i];
+    }
+
+    @Override
+    public void yieldsChanged(int t) {
+        int p = owner[t];
+        if (p == UNOWNED) {
+            return;
+        }
+
+        for (int h = 0; h < RESOURCES * 2; h++) {
+            siftDown(p, h, siftUp(p, h, heapPosition[h][t]));
+        }
+    }
+
+    /**
+     * @param p The player's ID
+     * @param resource {@link YieldLayer#ORE}, {@link YieldLayer#ENERGY} or {@link YieldLayer#FOOD}
+     * @return int The index of the player's tile with the largest yield of the resource, or -1 if they have none
+     */
+    public int top(int p, int resource) {
+        return (memberCount[p] == 0) ? -1 : heaps[p][resource * 2][0];
+    }
+
+    /**
+     * @return int The index of the player's tile with the smallest yield of the resource, or -1 if they have none
+     */
+    public int bottom(int p, int resource) {
+        return (memberCount[p] == 0) ? -1 : heaps[p][resource * 2 + 1][0];
+    }
+
+    /**
+     * Finds the player's tiles with the largest yields of a resource
+     *
+     * @param p The player's ID
+     * @param resource {@link YieldLayer#ORE}, {@link YieldLayer#ENERGY} or {@link YieldLayer#FOOD}
+     * @param k The number of tiles to find
+     * @param into An array of at least k entries to put the tiles' indices in, best first
+     * @return int The number of tiles found, which is less than k if the player owns fewer
+     */
+    public int top(int p, int resource, int k, int[] into) {
+        return best(p, resource * 2, k, into);
+    }
+
+    /**
+     * Finds the player's tiles with the smallest yields of a resource, as {@link #top(int, int, int, int[])} does
+     */
+    public int bottom(int p, int resource, int k, int[] into) {
+        return best(p, resource * 2 + 1, k, into);
+    }
+
+    /**
+     * Takes the best k entries of a heap by searching down from its root, keeping the entries that could come next in
+     * a small heap of their own
+     */
+    private int best(int p, int h, int k, int[] into) {
+        int[] heap = heaps[p][h];
+        int size = memberCount[p];
+        if (frontier.length < 2 * k + 1) {
+            frontier = new int[2 * k + 1];
+        }
+
+        int found = 0;
+        int waiting = 0;
+        if (size > 0) {
+            frontier[waiting++] = 0;
+        }
+
+        while (found < k && waiting > 0) {
+            int i = frontier[0];
+            into[found++] = heap[i];
+
+            frontier[0] = frontier[--waiting];
+            siftFrontier(p, h, 0, waiting);
+            //Take the best of the waiting entries...
+
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                frontier[waiting] = child;
+                int c = waiting++;
+                while (c > 0 && before(h, heap[frontier[c]], heap[frontier[(c - 1) / 2]])) {
+                    swap(frontier, c, (c - 1) / 2);
+                    c = (c - 1) / 2;
+                }
+            }
+            //...and let its children wait in its place
+        }
+        return found;
+    }
+
+    private void siftFrontier(int p, int h, int i, int waiting) {
+        int[] heap = heaps[p][h];
+        while (true) {
+            int first = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < waiting; child++) {
+                if (before(h, heap[frontier[child]], heap[frontier[first]])) {
+                    first = child;
+                }
+            }
+            if (first == i) {
+                return;
+            }
+            swap(frontier, i, first);
+            i = first;
+        }
+    }
+
+    /**
+     * Picks distinct tiles owned by the player at random
+     *
+     * @param p The player's ID
+     * @param k The number of tiles to pick
+     * @param random The source of randomness
+     * @param into An array of at least k entries to put the tiles' indices in
+     * @return int The number of tiles picked, which is less than k if the player owns fewer
+     */
+    public int random(int p, int k, Random random, int[] into) {
+        int picked = Math.min(k, memberCount[p]);
+        for (int i = 0; i < picked; i++) {
+            int j = i + random.nextInt(memberCount[p] - i);
+            int t = members[p][j];
+            members[p][j] = members[p][i];
+            memberPosition[members[p][j]] = j;
+            members[p][i] = t;
+            memberPosition[t] = i;
+            into[i] = t;
+        }
+        //Shuffle the picked tiles to the front of the player's list, which is kept in no particular order anyway
+        return picked;
+    }
+
+    /**
+     * @return boolean True if tile a should be nearer the top of heap h than tile b
+     */
+    private boolean before(int h, int a, int b) {
+        int resource = h / 2;
+        int ya = layer.get(a, resource);
+        int yb = layer.get(b, resource);
+        if (ya != yb) {
+            return ((h & 1) == 0) ? ya > yb : ya < yb;
+        }
+        return a < b;
+    }
+
+    private int siftUp(int p, int h, int i) {
+        int[] heap = heaps[p][h];
+        while (i > 0 && before(h, heap[i], heap[(i - 1) / 2])) {
+            swapHeap(p, h, i, (i - 1) / 2);
+            i = (i - 1) / 2;
+        }
+        return i;
+    }
+
+    private void siftDown(int p, int h, int i) {
+        int[] heap = heaps[p][h];
+        int size = memberCount[p];
+        while (true) {
+            int first = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                if (before(h, heap[child], heap[first])) {
+                    first = child;
+                }
+            }
+            if (first == i) {
+                return;
+            }
+            swapHeap(p, h, i, first);
+            i = first;
+        }
+    }
+
+    private void swapHeap(int p, int h, int i, int j) {
+        int[] heap = heaps[p][h];
+        swap(heap, i, j);
+        heapPosition[h][heap[i]] = i;
+        heapPosition[h][heap[j]] = j;
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int swapped = array[i];
+        array[i] = array[j];
+        array[j] = swapped;
+    }
+}
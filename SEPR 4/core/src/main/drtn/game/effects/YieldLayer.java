@@ -0,0 +1,252 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.effects;
+
+import java.util.Arrays;
+
+/**
+ * Holds the tiles' base yields of ore, energy and food, along with the modifiers that random events lay on top of
+ * them, and works out the tiles' effective yields from the two
+ *
+ * Base yields are never changed by modifiers. A modifier changes one tile's yields by new = old * scale + offset for
+ * each resource, which covers adding (a scale of 1), multiplying (an offset of 0) and overriding (a scale of 0);
+ * a tile's modifiers are applied in the order that they were added, and no yield can fall below zero. Modifiers are
+ * kept in a linked list for each tile, held in flat arrays, so adding and removing them both take O(1) and neither
+ * allocates anything once the arrays have grown large enough.
+ *
+ * A tile's effective yields are only worked out when they're asked for, and are then cached until the tile's base
+ * yields or modifiers change.
+ */
+public final class YieldLayer {
+
+    /**
+     * Told whenever a tile's effective yields may have changed
+     */
+    public interface Listener {
+
+        /**
+         * @param t The index of the tile whose base yields or modifiers have changed
+         */
+        void yieldsChanged(int t);
+    }
+
+    public static final int ORE = 0;
+    public static final int ENERGY = 1;
+    public static final int FOOD = 2;
+
+    /**
+     * Marks the end of a list of modifiers, and modifiers that have been removed
+     */
+    private static final int NONE = -1;
+
+    private final int[] base;
+    private final int[] effective;
+    private final boolean[] dirty;
+
+    /**
+     * The first and last of each tile's modifiers
+     */
+    private final int[] head;
+    private final int[] tail;
+
+    /**
+     * Each modifier's tile, its neighbours in the tile's list and its scales and offsets, indexed as
+     * [modifier * 3 + resource]; the next of a removed modifier is the next free slot
+     */
+    private int[] tile = new int[16];
+    private int[] previous = new int[16];
+    private int[] next = new int[16];
+    private float[] scales = new float[16 * 3];
+    private float[] offsets = new float[16 * 3];
+    private int free = NONE;
+    private int used;
+    private int active;
+
+    private Listener listener;
+
+    /**
+     * @param tiles The number of tiles, all of which start out yielding nothing
+     */
+    public YieldLayer(int tiles) {
+        base = new int[tiles * 3];
+        effective = new int[tiles * 3];
+        dirty = new boolean[tiles];
+        head = new int[tiles];
+        tail = new int[tiles];
+        Arrays.fill(head, NONE);
+        Arrays.fill(tail, NONE);
+    }
+
+    /**
+     * @return int The number of tiles
+     */
+    public int size() {
+        return dirty.length;
+    }
+
+    /**
+     * @param listener The listener to tell about changes to tiles' yields, replacing any earlier one, or null
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    private void changed(int t) {
+        dirty[t] = true;
+        if (listener != null) {
+            listener.yieldsChanged(t);
+        }
+    }
+
+    /**
+     * Sets a tile's base yield of one resource
+     *
+     * @param t The tile's index
+     * @param resource {@link #ORE}, {@link #ENERGY} or {@link #FOOD}
+     * @param value The yield
+     */
+    public void setBase(int t, int resource, int value) {
+        base[t * 3 + resource] = value;
+        changed(t);
+    }
+
+    public int getBase(int t, int resource) {
+        return base[t * 3 + resource];
+    }
+
+    /**
+     * @param t The tile's index
+     * @param resource {@link #ORE}, {@link #ENERGY} or {@link #FOOD}
+     * @return int The tile's yield of the resource once its modifiers have been applied
+     */
+    public int get(int t, int resource) {
+        if (dirty[t]) {
+            evaluate(t);
+        }
+        return effective[t * 3 + resource];
+    }
+
+    private void evaluate(int t) {
+        int ore = base[t * 3];
+        int energy = base[t * 3 + 1];
+        int food = base[t * 3 + 2];
+
+        for (int m = head[t]; m != NONE; m = next[m]) {
+            ore = Math.max(0, (int) (ore * scales[m * 3] + offsets[m * 3]));
+            energy = Math.max(0, (int) (energy * scales[m * 3 + 1] + offsets[m * 3 + 1]));
+            food = Math.max(0, (int) (food * scales[m * 3 + 2] + offsets[m * 3 + 2]));
+        }
+
+        effective[t * 3] = ore;
+        effective[t * 3 + 1] = energy;
+        effective[t * 3 + 2] = food;
+        dirty[t] = false;
+    }
+
+    /**
+     * Lays a modifier on top of a tile's yields
+     *
+     * @param t The tile's index
+     * @param scales The modifier's scales for ore, energy and food, starting at [from]
+     * @param offsets The modifier's offsets, laid out in the same way
+     * @param from Where the modifier's values start in the arrays above
+     * @return int A handle with which to remove the modifier
+     */
+    public int add(int t, float[] scales, float[] offsets, int from) {
+        int m = free;
+        if (m != NONE) {
+            free = next[m];
+        } else {
+            if (used == tile.length) {
+                grow();
+            }
+            m = used++;
+        }
+
+        tile[m] = t;
+        for (int r = 0; r < 3; r++) {
+            this.scales[m * 3 + r] = scales[from + r];
+            this.offsets[m * 3 + r] = offsets[from + r];
+        }
+
+        previous[m] = tail[t];
+        next[m] = NONE;
+        if (tail[t] == NONE) {
+            head[t] = m;
+        } else {
+            next[tail[t]] = m;
+        }
+        tail[t] = m;
+        //Add the modifier to the end of the tile's list, so that it's applied after those already there
+
+        active++;
+        changed(t);
+        return m;
+    }
+
+    /**
+     * Removes a modifier, restoring the tile's yields to what they would have been without it
+     *
+     * @param m The handle returned by {@link #add(int, float[], float[], int)}
+     */
+    public void remove(int m) {
+        if (m < 0 || m >= used || tile[m] == NONE) {
+            throw new IllegalArgumentException("Error: Yield modifier " + m + " isn't in place.");
+        }
+
+        int t = tile[m];
+        if (previous[m] == NONE) {
+            head[t] = next[m];
+        } else {
+            next[previous[m]] = next[m];
+        }
+        if (next[m] == NONE) {
+            tail[t] = previous[m];
+        } else {
+            previous[next[m]] = previous[m];
+        }
+
+        tile[m] = NONE;
+        next[m] = free;
+        free = m;
+        active--;
+        changed(t);
+    }
+
+    /**
+     * @param m The handle returned by {@link #add(int, float[], float[], int)}
+     * @return int The index of the tile that the modifier is laid on
+     */
+    public int tileOf(int m) {
+        return tile[m];
+    }
+
+    /**
+     * @return int The number of modifiers in place over every tile
+     */
+    public int modifierCount() {
+        return active;
+    }
+
+    /**
+     * @return boolean True if the tile's yields are changed by any modifiers
+     */
+    public boolean isModified(int t) {
+        return head[t] != NONE;
+    }
+
+    private void grow() {
+        int size = tile.length * 2;
+        tile = Arrays.copyOf(tile, size);
+        previous = Arrays.copyOf(previous, size);
+        next = Arrays.copyOf(next, size);
+        scales = Arrays.copyOf(scales, size * 3);
+        offsets = Arrays.copyOf(offsets, size * 3);
+    }
+}
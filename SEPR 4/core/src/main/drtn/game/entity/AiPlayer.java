@@ -10,8 +10,17 @@ package drtn.game.entity;
 
 import drtn.game.GameEngine;
 import drtn.game.Trade;
+import drtn.game.ai.AiStrategies;
+import drtn.game.ai.AiStrategy;
+import drtn.game.ai.Negotiator;
+import drtn.game.ai.SimAction;
+import drtn.game.ai.SimState;
+import drtn.game.auction.AuctionBidder;
+import drtn.game.auction.AuctionFormat;
+import drtn.game.auction.LotQuote;
 import drtn.game.enums.ResourceType;
-import drtn.game.screens.GameScreen;
+import drtn.game.exceptions.InvalidResourceTypeException;
+import drtn.game.replay.InputEvent;
 
 import java.util.Random;
 
@@ -20,11 +29,42 @@ import java.util.Random;
  *
  * New for Assessment 3
  */
-public class AiPlayer extends Player {
-    static private Random rnd = new Random();
+public class AiPlayer extends Player implements AuctionBidder {
+    private final Random rnd;
+
+    /**
+     * Money that the AI always tries to keep back for buying roboticons, rather than spending it at auction
+     */
+    private static final int AUCTION_MONEY_BUFFER = 20;
+
+    /**
+     * Smallest stock of a resource which the AI will split in half to sell at auction
+     */
+    private static final int AUCTION_LISTING_THRESHOLD = 6;
+
+    /**
+     * Resources traded by the AI, indexed as in {@link SimState}
+     */
+    private static final ResourceType[] TRADED = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD};
+
+    private final Negotiator negotiator = new Negotiator(this);
+
+    /**
+     * Decides on the AI's moves; picked with the {@link AiStrategies#PROPERTY} system property unless set otherwise
+     */
+    private AiStrategy strategy = AiStrategies.configured();
 
     public AiPlayer(int i) {
+        this(i, new Random());
+    }
+
+    /**
+     * @param i The player's ID
+     * @param rnd Makes the AI's random choices, such as the format of its auctions
+     */
+    public AiPlayer(int i, Random rnd) {
         super(i);
+        this.rnd = rnd;
     }
 
     @Override
@@ -33,118 +73,321 @@ public class AiPlayer extends Player {
     }
 
     /**
-     * Called by GameEngine to get the AI player's action, according to the current phase in the game engine
+     * Called by GameEngine at the start of each of the AI player's phases, to carry out the parts of its turn which
+     * need the live game: answering and making trade offers, putting goods up for auction and passing through phase 4
+     * Everything else is decided off the render thread by its {@link #strategy()} and then carried out by
+     * {@link #applyDecision(GameEngine, int)}
      *
      * @param engine The game engine
-     * @param screen The game screen
+     * @return True if the AI needs to decide on an action for this phase
      */
-    public void performPhase(GameEngine engine, GameScreen screen) {
+    public boolean beginPhase(GameEngine engine) {
         Market market = engine.market();
 
+        negotiator.refresh(market, engine.getTurn());
+
         Trade trade = engine.getCurrentPendingTrade();
         if (trade != null) {
-            // trade.oreAmount * trade.energyAmount * trade.foodAmount;
-            // Likelihood:
-            int total = market.getOreBuyPrice() * trade.oreAmount
-                    + market.getEnergyBuyPrice() * trade.energyAmount
-                    + market.getFoodBuyPrice() * trade.foodAmount;
-
-            double likelihood = calculateLikelihood(total, (double)trade.getPrice());
-
-            if (rnd.nextDouble() < likelihood) {
-                trade.execute();
-                System.out.println("Accept offer.");
-            } else {
-                System.out.println("Reject offer.");
-            }
+            do {
+                answerTrade(engine, trade);
+                trade = engine.getCurrentPendingTrade();
+            } while (trade != null);
 
             engine.closeTrade();
         }
+        negotiator.forgetExpired(engine.tradeBook());
+
+        switch(engine.getPhase()) {
+            // produce resources.
+            case 4:
+                engine.nextPhase();
+                return false;
+
+            // Market
+            case 5:
+                offerSurplus(engine);
+                listSurplusAtAuction(engine, market);
+                break;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Negotiator Values the AI's trades with other players and learns how much each of them will pay
+     */
+    public Negotiator negotiator() {
+        return negotiator;
+    }
 
+    /**
+     * @return AiStrategy The strategy that decides on the AI's moves
+     */
+    public AiStrategy strategy() {
+        return strategy;
+    }
+
+    public void setStrategy(AiStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Carries out an action chosen by the AI's {@link #strategy()}, and then ends the AI's phase
+     * Must be called on the render thread, during the same phase that the action was decided in
+     *
+     * @param engine The game engine
+     * @param action The chosen action, as encoded by {@link SimAction}
+     */
+    public void applyDecision(GameEngine engine, int action) {
+        Market market = engine.market();
 
         switch(engine.getPhase()) {
             // Claim land
             case 1:
-                int size = engine.tiles.length;
-                while (true){
-                    int index = rnd.nextInt(size);
-                    if (!engine.tiles[index].isOwned()){
-                        engine.updateSelectedTileObject(engine.tiles[index]);
-                        engine.claimTile();
-                        break;
-                }}
+                if (SimAction.kind(action) == SimAction.CLAIM) {
+                    engine.updateSelectedTileObject(engine.tiles[SimAction.argument(action)]);
+                    engine.claimTile();
+                } else {
+                    engine.nextPhase();
+                }
                 break;
 
             // Buy roboticon
             case 2:
-                while (market.getRoboticonStock() > 1 && market.getRoboticonBuyPrice() < getResource(ResourceType.MONEY)) {
-                    try {
-                        System.out.println("AI: Bought a roboticon at price $" + market.getRoboticonBuyPrice());
-                        market.buy(ResourceType.ROBOTICON, 1, this);
-                    } catch (Exception e) {
+                for (int i = 0; SimAction.kind(action) == SimAction.BUY_ROBOTICONS && i < SimAction.argument(action); i++) {
+                    int price = market.getRoboticonBuyPrice();
+                    if (!market.buy(ResourceType.ROBOTICON, 1, this)) {
                         System.out.println("Can't buy stuff.");
                         break;
                     }
+                    engine.recordInput(InputEvent.BUY_ROBOTICONS, 1);
+                    System.out.println("AI: Bought a roboticon at price $" + price);
                 }
                 engine.nextPhase();
                 break;
 
             // Place roboticon
             case 3:
-                for (Tile tile : getTileList()) {
+                for (Tile tile : engine.tiles) {
                     if (getRoboticonInventory() == 0) {
                         break;
                     }
 
-                    if (!tile.hasRoboticon()) {
+                    if (tile.getOwner() == this && !tile.hasRoboticon()) {
                         engine.updateSelectedTileObject(tile);
                         engine.deployRoboticon();
                     }
                 }
-                engine.nextPhase();
-                break;
 
-            // produce resources.
-            case 4:
+                if (SimAction.kind(action) == SimAction.DEPLOY && SimAction.argument(action) != SimAction.NO_UPGRADE) {
+                    upgradeBestRoboticon(engine, SimAction.argument(action));
+                }
                 engine.nextPhase();
                 break;
 
             // Market
             case 5:
-                while (getResource(ResourceType.MONEY) < market.getRoboticonBuyPrice() + 20) {
-                    try {
-                        if (getResource(ResourceType.ORE) > 0) {
-                            market.sell(ResourceType.ORE, 1, this);
-                        }
-                        if (getResource(ResourceType.ENERGY) > 0) {
-                            market.sell(ResourceType.ENERGY, 1, this);
-                        }
-                        if (getResource(ResourceType.FOOD) > 0) {
-                            market.sell(ResourceType.FOOD, 1, this);
-                        }
-
-                        if (getResource(ResourceType.ENERGY) + getResource(ResourceType.ORE) + getResource(ResourceType.FOOD) == 0)
-                            break;
-                    } catch (Exception e) {
-                        e.printStackTrace();
-                    }
+                if (SimAction.kind(action) == SimAction.SELL || SimAction.kind(action) == SimAction.BUY) {
+                    tradeWithMarket(engine, market, SimAction.kind(action) == SimAction.BUY,
+                            SimAction.resource(action), SimAction.quantity(action));
                 }
                 engine.nextPhase();
                 break;
+
+            default:
+                engine.nextPhase();
+                break;
+        }
+    }
+
+    /**
+     * Upgrades the roboticon which will gain the most from an upgrade to the given resource, if it can be afforded
+     *
+     * @param engine The game engine
+     * @param resource The resource to upgrade {0: ore | 1: energy | 2: food}
+     */
+    private void upgradeBestRoboticon(GameEngine engine, int resource) {
+        Tile best = null;
+
+        for (Tile tile : engine.tiles) {
+            if (tile.getOwner() != this || !tile.hasRoboticon()
+                    || tile.getRoboticonStored().getLevel()[resource] >= tile.getRoboticonStored().getMaxLevel()) {
+                continue;
+            }
+
+            try {
+                if (best == null || tile.getResource(TRADED[resource]) > best.getResource(TRADED[resource])) {
+                    best = tile;
+                }
+            } catch (InvalidResourceTypeException e) {
+                e.printStackTrace();
+            }
+        }
+
+        if (best != null && getResource(ResourceType.MONEY) >= upgradeCost(best.getRoboticonStored(), resource)) {
+            engine.updateSelectedTileObject(best);
+            engine.upgradeRoboticon(resource);
+            System.out.println("AI: Upgraded a roboticon's " + SimState.RESOURCE_NAMES[resource] + " production.");
+        }
+    }
+
+    private static int upgradeCost(Roboticon roboticon, int resource) {
+        switch (resource) {
+            case SimState.ORE:
+                return roboticon.getOreUpgradeCost();
+            case SimState.ENERGY:
+                return roboticon.getEnergyUpgradeCost();
+            default:
+                return roboticon.getFoodUpgradeCost();
+        }
+    }
+
+    /**
+     * Sells some of a resource to the market, or buys some of it
+     * Without a set quantity, half of the resource is sold, or as much of it bought as can be afforded
+     *
+     * @param engine The game engine, which records the trade
+     * @param market The market
+     * @param buy True to buy from the market, false to sell to it
+     * @param resource The resource {0: ore | 1: energy | 2: food}
+     * @param amount The number of units to trade, or 0 for the default amount
+     */
+    private void tradeWithMarket(GameEngine engine, Market market, boolean buy, int resource, int amount) {
+        ResourceType type = TRADED[resource];
+
+        if (buy) {
+            int[] prices = {market.getOreBuyPrice(), market.getEnergyBuyPrice(), market.getFoodBuyPrice()};
+            int[] stocks = {market.getOreStock(), market.getEnergyStock(), market.getFoodStock()};
+
+            int quantity = Math.min(stocks[resource], SimState.MAX_TRADE);
+            if (prices[resource] > 0) {
+                quantity = Math.min(quantity, getResource(ResourceType.MONEY) / prices[resource]);
+            }
+            if (amount > 0) {
+                quantity = Math.min(quantity, amount);
+            }
+
+            if (quantity > 0 && market.buy(type, quantity, this)) {
+                engine.recordInput(InputEvent.MARKET_BUY, InputEvent.trade(type, quantity));
+                System.out.println("AI: Bought " + quantity + " " + type + " from the market.");
+            }
+        } else {
+            int quantity = (amount > 0) ? Math.min(amount, getResource(type)) : getResource(type) / 2;
+
+            if (quantity > 0 && market.sell(type, quantity, this)) {
+                engine.recordInput(InputEvent.MARKET_SELL, InputEvent.trade(type, quantity));
+                System.out.println("AI: Sold " + quantity + " " + type + " to the market.");
+            }
+        }
+    }
+
+    /**
+     * Puts half of the AI's most plentiful resource up for auction, as long as it holds enough of it
+     * The reserve is set to what the market would pay for the same goods, so the AI never sells for less
+     *
+     * @param engine The game engine
+     * @param market The market
+     */
+    private void listSurplusAtAuction(GameEngine engine, Market market) {
+        ResourceType surplus = ResourceType.ORE;
+        int sellPrice = market.getOreSellPrice();
+
+        if (getResource(ResourceType.ENERGY) > getResource(surplus)) {
+            surplus = ResourceType.ENERGY;
+            sellPrice = market.getEnergySellPrice();
+        }
+        if (getResource(ResourceType.FOOD) > getResource(surplus)) {
+            surplus = ResourceType.FOOD;
+            sellPrice = market.getFoodSellPrice();
+        }
+
+        if (getResource(surplus) < AUCTION_LISTING_THRESHOLD) {
+            return;
+        }
+
+        int quantity = getResource(surplus) / 2;
+        AuctionFormat format = rnd.nextBoolean() ? AuctionFormat.ENGLISH : AuctionFormat.SEALED_BID;
+
+        if (engine.listLot(this, format, surplus, quantity, Math.max(1, quantity * sellPrice)) != null) {
+            System.out.println("AI: Listed " + quantity + " " + surplus + " at auction.");
+        }
+    }
+
+    /**
+     * Decides on a bid for an auctioned lot, valuing it at what the same goods would cost from the market
+     * In English auctions the AI bids the minimum needed to take the lead, while in sealed-bid auctions it shades its
+     * bid to three quarters of the lot's value
+     *
+     * @param quote Snapshot of the lot
+     * @return int The amount to bid, or 0 to stay out of the auction
+     */
+    @Override
+    public int decideBid(LotQuote quote) {
+        if (quote.leading) {
+            return 0;
+        }
+
+        int unitValue = quote.marketPrice > 0 ? quote.marketPrice : Negotiator.SCARCE_RESOURCE_VALUE;
+        int value = unitValue * quote.quantity;
+        int limit = Math.min(value, quote.budget - AUCTION_MONEY_BUFFER);
+
+        int bid;
+        if (quote.format == AuctionFormat.ENGLISH) {
+            bid = quote.minimumBid;
+        } else {
+            bid = value * 3 / 4;
+        }
+
+        if (bid < quote.minimumBid || bid > limit) {
+            return 0;
+        }
+
+        return bid;
+    }
+
+    /**
+     * Accepts, counters or rejects a trade offer made to the AI, depending on what the goods are worth to it
+     *
+     * @param engine The game engine
+     * @param trade The offer, already taken out of the book of pending trades
+     */
+    private void answerTrade(GameEngine engine, Trade trade) {
+        if (trade.getSender() == this) {
+            negotiator.recordCounter(trade);
+        }
+
+        switch (negotiator.answer(trade)) {
+            case ACCEPT:
+                boolean executed = trade.execute();
+                engine.reportTradeOutcome(trade, executed);
+                System.out.println("AI: Accepted an offer of " + trade.getPrice() + ".");
+                break;
+
+            case COUNTER:
+                int price = negotiator.counterPrice(trade);
+                engine.counterTrade(trade, trade.oreAmount, trade.energyAmount, trade.foodAmount, price);
+                System.out.println("AI: Countered an offer of " + trade.getPrice() + " at " + price + ".");
+                break;
+
+            default:
+                engine.reportTradeOutcome(trade, false);
+                System.out.println("AI: Rejected an offer of " + trade.getPrice() + ".");
+                break;
         }
     }
 
     /**
-     * Calculates a value for the likelihood of the AI accepting a trade. Used in performPhase.
+     * Offers part of the AI's largest surplus to whichever other player it expects to pay the most for it
      *
-     * @param marketPrice The current price of a certain resource at the market
-     * @param offerPrice The proce another player has offered for the resource
-     * @return the likelyhood
+     * @param engine The game engine
      */
-    public double calculateLikelihood(double marketPrice, double offerPrice){
-        if (offerPrice > marketPrice * 1.5) return 0;
-        if (marketPrice > offerPrice * 1.5) return 1;
+    private void offerSurplus(GameEngine engine) {
+        Trade offer = negotiator.propose(engine.players(), engine.tradeBook());
 
-        return marketPrice / (offerPrice * 1.5);
+        if (offer != null && engine.addTrade(offer)) {
+            negotiator.offerSent(offer);
+            System.out.println("AI: Offered " + (offer.oreAmount + offer.energyAmount + offer.foodAmount)
+                    + " resources to player " + offer.getRespondent().getPlayerID() + " for " + offer.getPrice() + ".");
+        }
     }
 }
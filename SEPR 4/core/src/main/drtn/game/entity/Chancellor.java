@@ -10,6 +10,7 @@ package drtn.game.entity;
 
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import drtn.game.GameConfig;
 import drtn.game.enums.ResourceType;
 
 import java.util.Random;
@@ -41,6 +42,10 @@ public class Chancellor {
      * The increase in money once the chancellor has been captured
      */
     private Integer reward;
+    /**
+     * Picks the tiles that the Chancellor moves to
+     */
+    private final Random random;
     /**
      * The period in which the chancellor will move to another location (in milliseconds)
      */
@@ -73,8 +78,30 @@ public class Chancellor {
      * @param tiles The array of tiles from the game
      */
     public Chancellor(Tile[] tiles) {
+        this(tiles, GameConfig.standard().round(GameConfig.CHANCELLOR_REWARD));
+    }
+
+    /**
+     * Initialises chancellor for later use in the game, paying out the given reward when caught
+     *
+     * @param tiles The array of tiles from the game
+     * @param reward The money given to the player who catches the Chancellor
+     */
+    public Chancellor(Tile[] tiles, int reward) {
+        this(tiles, reward, new Random());
+    }
+
+    /**
+     * Initialises chancellor for later use in the game, moving from tile to tile at random with the given generator
+     *
+     * @param tiles The array of tiles from the game
+     * @param reward The money given to the player who catches the Chancellor
+     * @param random Picks the tiles that the Chancellor moves to
+     */
+    public Chancellor(Tile[] tiles, int reward, Random random) {
+        this.random = random;
         this.tiles = tiles;
-        this.reward = 50;
+        this.reward = reward;
         this.movePeriod = 1200;
         this.moveDelay = new Timer();
         this.location = new Integer[2];
@@ -86,10 +113,9 @@ public class Chancellor {
     }
 
     public void move() {
-        Random rand = new Random();
         int newTileNum = tileNum;
         while (newTileNum == tileNum){
-            newTileNum = rand.nextInt(15)+1; //Chooses random tile value (1-15)
+            newTileNum = random.nextInt(15)+1; //Chooses random tile value (1-15)
         }
         currentTile = tiles[newTileNum];
         tileNum = newTileNum;
@@ -167,10 +193,10 @@ public class Chancellor {
 
        //The following gives a random offset to the chancellor, so that it may appear at a random point on the tile
         int offset;
-        offset = rand.nextInt(tileWidth - 32); //32 is width of chancellor image. Prevents it from displaying across the tile borders.
+        offset = random.nextInt(tileWidth - 32); //32 is width of chancellor image. Prevents it from displaying across the tile borders.
         setCoordX(getCoordX() + offset);
 
-        offset = rand.nextInt(tileWidth - 44); //44 is height of chancellor image
+        offset = random.nextInt(tileWidth - 44); //44 is height of chancellor image
         setCoordY(getCoordY() + offset);
 
     }
@@ -14,6 +14,12 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
 
 public class College {
 
+  /**
+   * The names of the colleges, in order of their IDs
+   */
+  public static final String[] NAMES = {"Derwent", "Langwith", "Vanburgh", "James", "Wentworth", "Halifax", "Alcuin",
+          "Goodricke", "Constantine"};
+
   /**
    * The numeric representation of the college
    *
@@ -71,42 +77,35 @@ public class College {
 
     this.ID = ID;
 
+    this.Name = NAMES[this.ID];
+
     // Changed in Assessment 3: Switch value ranges from 0-8, rather than 1-9.
     switch (this.ID) {
       case 0:
-        this.Name = "Derwent";
         this.logoTexture = new Texture("image/Derwent.png");
         break;
       case 1:
-        this.Name = "Langwith";
         this.logoTexture = new Texture("image/Langwith.png");
         break;
       case 2:
-        this.Name = "Vanburgh";
         this.logoTexture = new Texture("image/Vanbrugh.png");
         break;
       case 3:
-        this.Name = "James";
         this.logoTexture = new Texture("image/James.png");
         break;
       case 4:
-        this.Name = "Wentworth";
         this.logoTexture = new Texture("image/Wentworth.png");
         break;
       case 5:
-        this.Name = "Halifax";
         this.logoTexture = new Texture("image/Halifax.png");
         break;
       case 6:
-        this.Name = "Alcuin";
         this.logoTexture = new Texture("image/Alcuin.png");
         break;
       case 7:
-        this.Name = "Goodricke";
         this.logoTexture = new Texture("image/Goodricke.png");
         break;
       case 8:
-        this.Name = "Constantine";
         this.logoTexture = new Texture("image/Constantine.png");
         break;
     }
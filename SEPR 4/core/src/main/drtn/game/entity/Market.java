@@ -8,7 +8,11 @@
 
 package drtn.game.entity;
 
+import drtn.game.GameConfig;
 import drtn.game.enums.ResourceType;
+import drtn.game.pricing.PriceTable;
+import drtn.game.pricing.PricingModel;
+import drtn.game.pricing.PricingModels;
 
 import java.util.Random;
 
@@ -69,12 +73,91 @@ public class Market {
      */
     private int RoboticonBuyPrice = 20;
 
+    /**
+     * Amount by which the price of roboticons rises after each one is bought
+     */
+    private int roboticonPriceStep = 5;
+
+    /**
+     * Table of resource prices by stock level, compiled from the market's pricing model when the market is created
+     */
+    private final PriceTable priceTable;
+
+    /**
+     * Decides the outcome of each gamble
+     */
+    private Random random = new Random();
+
+    /**
+     * The last purchase or sale that the market made, so that it can be taken back
+     */
+    private Receipt lastReceipt;
+
 
     /**
-     * Constructs the market
+     * Constructs the market using the pricing model selected by the drtn.pricing system property
+     * (or the original inverse-stock curve when no model has been selected)
      */
     public Market() {
+        this(PricingModels.configured());
+    }
 
+    /**
+     * Constructs a market which prices its resources using the given model
+     * The opening prices stated in the brief are kept until the first trade of each resource takes place
+     *
+     * @param pricingModel The model used to calculate the market's prices after each trade
+     */
+    public Market(PricingModel pricingModel) {
+        this.priceTable = new PriceTable(pricingModel);
+    }
+
+    /**
+     * Constructs a market which prices its resources using the given model, and takes its opening stocks and
+     * roboticon prices from the given configuration
+     *
+     * @param pricingModel The model used to calculate the market's prices after each trade
+     * @param config The game's configuration
+     */
+    public Market(PricingModel pricingModel, GameConfig config) {
+        this(pricingModel, config, new Random());
+    }
+
+    /**
+     * Constructs a market as {@link #Market(PricingModel, GameConfig)} does, which gambles with the given generator
+     *
+     * @param pricingModel The model used to calculate the market's prices after each trade
+     * @param config The game's configuration
+     * @param random Decides the outcome of each gamble
+     */
+    public Market(PricingModel pricingModel, GameConfig config, Random random) {
+        this(pricingModel);
+        this.random = random;
+
+        this.OreStock = config.round(GameConfig.ORE_STOCK);
+        this.EnergyStock = config.round(GameConfig.ENERGY_STOCK);
+        this.FoodStock = config.round(GameConfig.FOOD_STOCK);
+        this.RoboticonStock = config.round(GameConfig.ROBOTICON_STOCK);
+        this.RoboticonBuyPrice = config.round(GameConfig.ROBOTICON_PRICE);
+        this.roboticonPriceStep = config.round(GameConfig.ROBOTICON_PRICE_STEP);
+    }
+
+    /**
+     * Returns the pricing model used by the market
+     *
+     * @return PricingModel The market's pricing model
+     */
+    public PricingModel getPricingModel() {
+        return priceTable.model();
+    }
+
+    /**
+     * Returns the amount by which the price of roboticons rises after each one is bought
+     *
+     * @return int The roboticon price step
+     */
+    public int getRoboticonPriceStep() {
+        return roboticonPriceStep;
     }
 
     /**
@@ -283,7 +366,7 @@ public class Market {
      * amount of that resource in market stock. Then it is checked whether does Player has enough money to buy required
      * amount. Market stock value (e.g. OreStock) is reduced by the quantity that has been bought(Quantity). Players money
      * (playersMoney) are reduced by the amount that was spent on the purchase. The value of Players resource stock is
-     * updated. New selling and buying prices, for that chosen resource, are calculated (calculateNewCost()).
+     * updated. New selling and buying prices, for that chosen resource, are looked up in the market's price table.
      * </p>
      *
      * @param Stock_Type Type of resources (ore, energy or food) that is stored in the market.
@@ -295,11 +378,13 @@ public class Market {
             case ORE:
                 if (Quantity <= OreStock) {
                     if (Player.getResource(ResourceType.MONEY) >= OreBuyPrice * Quantity) {
+                        lastReceipt = new Receipt(ResourceType.ORE, Quantity, -(OreBuyPrice * Quantity), OreBuyPrice,
+                                OreSellPrice);
                         OreStock -= Quantity;
                         Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) - (OreBuyPrice * Quantity));
                         Player.setResource(ResourceType.ORE, Player.getResource(ResourceType.ORE) + Quantity);
-                        OreBuyPrice = calculateNewCost(OreStock, "buy");
-                        OreSellPrice = calculateNewCost(OreStock, "sell");
+                        OreBuyPrice = priceTable.buyPrice(OreStock);
+                        OreSellPrice = priceTable.sellPrice(OreStock);
 
                         return true;
                     }
@@ -310,11 +395,13 @@ public class Market {
             case FOOD:
                 if (Quantity <= FoodStock) {
                     if (Player.getResource(ResourceType.MONEY) >= FoodBuyPrice * Quantity) {
+                        lastReceipt = new Receipt(ResourceType.FOOD, Quantity, -(FoodBuyPrice * Quantity), FoodBuyPrice,
+                                FoodSellPrice);
                         FoodStock -= Quantity;
                         Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) - (FoodBuyPrice * Quantity));
                         Player.setResource(ResourceType.FOOD, Player.getResource(ResourceType.FOOD) + Quantity);
-                        FoodBuyPrice = calculateNewCost(FoodStock, "buy");
-                        FoodSellPrice = calculateNewCost(FoodStock, "sell");
+                        FoodBuyPrice = priceTable.buyPrice(FoodStock);
+                        FoodSellPrice = priceTable.sellPrice(FoodStock);
 
                         return true;
                     }
@@ -325,11 +412,13 @@ public class Market {
             case ENERGY:
                 if (Quantity <= EnergyStock) {
                     if (Player.getResource(ResourceType.MONEY) >= EnergyBuyPrice * Quantity) {
+                        lastReceipt = new Receipt(ResourceType.ENERGY, Quantity, -(EnergyBuyPrice * Quantity), EnergyBuyPrice,
+                                EnergySellPrice);
                         EnergyStock -= Quantity;
                         Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) - (EnergyBuyPrice * Quantity));
                         Player.setResource(ResourceType.ENERGY, Player.getResource(ResourceType.ENERGY) + Quantity);
-                        EnergyBuyPrice = calculateNewCost(EnergyStock, "buy");
-                        EnergySellPrice = calculateNewCost(EnergyStock, "sell");
+                        EnergyBuyPrice = priceTable.buyPrice(EnergyStock);
+                        EnergySellPrice = priceTable.sellPrice(EnergyStock);
 
                         return true;
                     }
@@ -340,9 +429,10 @@ public class Market {
             case ROBOTICON:
                 if (RoboticonStock > 0) {
                     if (Player.getResource(ResourceType.MONEY) >= RoboticonBuyPrice) {
+                        lastReceipt = new Receipt(ResourceType.ROBOTICON, 1, -RoboticonBuyPrice, RoboticonBuyPrice, 0);
                         RoboticonStock -= 1;
                         Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) - RoboticonBuyPrice);
-                        RoboticonBuyPrice += 5;
+                        RoboticonBuyPrice += roboticonPriceStep;
                         Player.increaseRoboticonInventory();
 
                         return true;
@@ -363,7 +453,7 @@ public class Market {
      * sufficient amount (Quantity) of resource that he is willing to sell. Market stock value (e.g. OreStock) is
      * increased by the quantity that has been sold by Player. Players money(playersMoney) are increased by the amount
      * that was gotten by selling resources. The value of Player's resource is decreased by the amount that has been sold.
-     * New selling and buying prices, for that chosen resource, are calculated (calculateNewCost()).
+     * New selling and buying prices, for that chosen resource, are looked up in the market's price table.
      * </p>
      *
      * @param Stock_Type Type of resources (ore, energy or food) that is stored in the market.
@@ -374,12 +464,14 @@ public class Market {
         switch (Stock_Type) {
             case ORE:
                 if (Player.getResource(ResourceType.ORE) >= Quantity) {
+                    lastReceipt = new Receipt(ResourceType.ORE, -Quantity, Quantity * OreSellPrice, OreBuyPrice,
+                            OreSellPrice);
                     OreStock += Quantity;
                     Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) + (Quantity * OreSellPrice));
                     Player.setResource(ResourceType.ORE, Player.getResource(ResourceType.ORE) - Quantity);
 
-                    OreBuyPrice = calculateNewCost(OreStock, "buy");
-                    OreSellPrice = calculateNewCost(OreStock, "sell");
+                    OreBuyPrice = priceTable.buyPrice(OreStock);
+                    OreSellPrice = priceTable.sellPrice(OreStock);
 
                     return true;
                 }
@@ -387,12 +479,14 @@ public class Market {
                 return false;
             case FOOD:
                 if (Player.getResource(ResourceType.FOOD) >= Quantity) {
+                    lastReceipt = new Receipt(ResourceType.FOOD, -Quantity, Quantity * FoodSellPrice, FoodBuyPrice,
+                            FoodSellPrice);
                     FoodStock += Quantity;
                     Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) + (Quantity * FoodSellPrice));
                     Player.setResource(ResourceType.FOOD, Player.getResource(ResourceType.FOOD) - Quantity);
 
-                    FoodBuyPrice = calculateNewCost(FoodStock, "buy");
-                    FoodSellPrice = calculateNewCost(FoodStock, "sell");
+                    FoodBuyPrice = priceTable.buyPrice(FoodStock);
+                    FoodSellPrice = priceTable.sellPrice(FoodStock);
 
                     return true;
                 }
@@ -400,12 +494,14 @@ public class Market {
                 return false;
             case ENERGY:
                 if (Player.getResource(ResourceType.ENERGY) >= Quantity) {
+                    lastReceipt = new Receipt(ResourceType.ENERGY, -Quantity, Quantity * EnergySellPrice, EnergyBuyPrice,
+                            EnergySellPrice);
                     EnergyStock += Quantity;
                     Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) + (Quantity * EnergySellPrice));
                     Player.setResource(ResourceType.ENERGY, Player.getResource(ResourceType.ENERGY) - Quantity);
 
-                    EnergyBuyPrice = calculateNewCost(EnergyStock, "buy");
-                    EnergySellPrice = calculateNewCost(EnergyStock, "sell");
+                    EnergyBuyPrice = priceTable.buyPrice(EnergyStock);
+                    EnergySellPrice = priceTable.sellPrice(EnergyStock);
 
                     return true;
                 }
@@ -417,6 +513,55 @@ public class Market {
     }
 
 
+    /**
+     * @return Receipt The last purchase or sale that the market made, or null if it hasn't made any
+     */
+    public Receipt lastReceipt() {
+        return lastReceipt;
+    }
+
+    /**
+     * Takes back a purchase or sale that the market made, undoing exactly what it did
+     * <p>
+     * The player gets back what they paid or sold, and the market's stock and prices go back to how they were before
+     * it. Anything else that has changed the player's holdings or the market's stock since is left as it is.
+     * </p>
+     *
+     * @param receipt The purchase or sale, as returned by {@link #lastReceipt()} straight after it was made
+     * @param Player  The Player who made it.
+     */
+    public void takeBack(Receipt receipt, Player Player) {
+        Player.setResource(ResourceType.MONEY, Player.getResource(ResourceType.MONEY) - receipt.getMoney());
+
+        switch (receipt.getResource()) {
+            case ORE:
+                OreStock += receipt.getQuantity();
+                OreBuyPrice = receipt.getBuyPrice();
+                OreSellPrice = receipt.getSellPrice();
+                break;
+            case FOOD:
+                FoodStock += receipt.getQuantity();
+                FoodBuyPrice = receipt.getBuyPrice();
+                FoodSellPrice = receipt.getSellPrice();
+                break;
+            case ENERGY:
+                EnergyStock += receipt.getQuantity();
+                EnergyBuyPrice = receipt.getBuyPrice();
+                EnergySellPrice = receipt.getSellPrice();
+                break;
+            case ROBOTICON:
+                RoboticonStock += receipt.getQuantity();
+                RoboticonBuyPrice = receipt.getBuyPrice();
+                for (int r = 0; r < receipt.getQuantity(); r++) {
+                    Player.decreaseRoboticonInventory();
+                }
+                return;
+        }
+
+        Player.setResource(receipt.getResource(), Player.getResource(receipt.getResource()) - receipt.getQuantity());
+    }
+
+
     /**
      * A method that allows gambling as specified in the brief.
      * <p>
@@ -433,8 +578,7 @@ public class Market {
     public Boolean gamble(int amountToGamble, Player Player) {
         int playersMoney = Player.getResource(ResourceType.MONEY);
         if (amountToGamble <= playersMoney) {
-            Random rand = new Random();
-            int result = rand.nextInt(2);
+            int result = random.nextInt(2);
             if (result == 0) {
                 playersMoney -= amountToGamble;
                 Player.setResource(ResourceType.MONEY, playersMoney);
@@ -452,44 +596,6 @@ public class Market {
     }
 
 
-    /**
-     * A method that calculates cost of market selling and buying prices.
-     * <p>
-     * When Stock value equals 0 and wanted operation is "buy", costOfResource value is set to 0. When Stock value is
-     * equal to 0 and wanted operation is "sell", costOfResource value is set to 200.
-     * If wanted operation is "buy", new buying price is calculated. If wanted operation is "sell", then new selling
-     * price is calculated.
-     * </p>
-     *
-     * @param Stock int values of market resources.
-     * @param oper  String value representing operations "buy" and "sell".
-     * @return costofresources int value of the resource's new cost
-     * @throws Exception Thrown if there's a wrong operator used with the function
-     */
-    private int calculateNewCost(int Stock, String oper) {
-        double cost;
-        int costOfResources = 0;
-        if (Stock == 0 && oper.equals("buy")) {
-            costOfResources = 0;
-        } else if (Stock == 0 && oper.equals("sell")) {
-            costOfResources = 200;
-
-        } else if (oper.equals("buy")) {
-            cost = 160 / Stock + 2;
-            costOfResources = (int) Math.round(cost);
-
-        } else if (oper.equals("sell")) {
-            cost = 160 / Stock;
-            int costInt = (int) Math.round(cost);
-            if (costInt < 1) {
-                costOfResources = 1;
-            } else {
-                costOfResources = costInt;
-            }
-        }
-        return costOfResources;
-    }
-
     /**
      * allows the market to get it's inventory of roboticons up to 10 so long as it has
      * at least 10 ore, each roboticon costs 3 ore
@@ -500,6 +606,52 @@ public class Market {
             RoboticonStock += 1;
         }
     }
+
+    /**
+     * Notes what a single purchase or sale at the market did, so that exactly that can be taken back later on
+     */
+    public static final class Receipt {
+        private final ResourceType resource;
+        private final int quantity;
+        private final int money;
+        private final int buyPrice;
+        private final int sellPrice;
+
+        /**
+         * @param resource  The resource that was traded.
+         * @param quantity  The amount that the player received, which is negative for a sale.
+         * @param money     The money that the player received, which is negative for a purchase.
+         * @param buyPrice  The market's buying price for the resource before the trade.
+         * @param sellPrice The market's selling price for the resource before the trade.
+         */
+        Receipt(ResourceType resource, int quantity, int money, int buyPrice, int sellPrice) {
+            this.resource = resource;
+            this.quantity = quantity;
+            this.money = money;
+            this.buyPrice = buyPrice;
+            this.sellPrice = sellPrice;
+        }
+
+        public ResourceType getResource() {
+            return resource;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public int getMoney() {
+            return money;
+        }
+
+        public int getBuyPrice() {
+            return buyPrice;
+        }
+
+        public int getSellPrice() {
+            return sellPrice;
+        }
+    }
 }
 
 
@@ -16,6 +16,19 @@ import java.util.List;
 
 
 public class Player {
+
+    /**
+     * Told whenever a player's score may have changed
+     */
+    public interface Listener {
+
+        /**
+         * @param playerID The ID of the player whose ore, energy or food has changed
+         * @param score The player's new score, as given by {@link Player#calculateScore()}
+         */
+        void scoreChanged(int playerID, int score);
+    }
+
     /**
      * Unique numerical identifier of the player.
      */
@@ -53,6 +66,7 @@ public class Player {
      */
     private int inventoryRoboticons = 0;
     private Trade currentTrade;
+    private Listener listener;
 
     /**
      * The constructor of the class
@@ -63,6 +77,20 @@ public class Player {
         this.playerID = playerID;
     }
 
+    /**
+     * @param listener The listener to tell about changes to the player's score, replacing any earlier one, or null
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    private void scoreChanged(ResourceType type) {
+        if (listener != null && (type == ResourceType.ORE || type == ResourceType.ENERGY
+                || type == ResourceType.FOOD)) {
+            listener.scoreChanged(playerID, calculateScore());
+        }
+    }
+
     public boolean isAi() {
         return false;
     }
@@ -132,6 +160,7 @@ public class Player {
                     break;
                 default:
             }
+            scoreChanged(type);
         }
     }
 
@@ -158,6 +187,7 @@ public class Player {
             default:
 
         }
+        scoreChanged(type);
     }
 
     /**
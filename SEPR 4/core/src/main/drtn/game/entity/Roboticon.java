@@ -9,6 +9,7 @@
 package drtn.game.entity;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import drtn.game.GameConfig;
 
 import java.util.Random;
 
@@ -63,6 +64,11 @@ public class Roboticon {
      */
     private int Upgrades[] = {0, 0, 0};
 
+    /**
+     * Cost of each upgrade, per level that the roboticon already has in the upgraded resource
+     */
+    private int upgradeCostPerLevel = GameConfig.standard().round(GameConfig.UPGRADE_COST_PER_LEVEL);
+
     /**
      * Constructor of the class
      *
@@ -93,6 +99,26 @@ public class Roboticon {
         return levels;
     }
 
+    /**
+     * Sets the roboticon's levels outright, as when a saved game is loaded
+     * @param oreLevel The roboticon's ore level
+     * @param energyLevel The roboticon's energy level
+     * @param foodLevel The roboticon's food level
+     */
+    public void setLevels(int oreLevel, int energyLevel, int foodLevel) {
+        this.oreLevel = Math.max(1, Math.min(MaxLevel, oreLevel));
+        this.energyLevel = Math.max(1, Math.min(MaxLevel, energyLevel));
+        this.foodLevel = Math.max(1, Math.min(MaxLevel, foodLevel));
+    }
+
+    /**
+     * Sets the cost of each upgrade, per level that the roboticon already has
+     * @param upgradeCostPerLevel The cost per level, as set by the game's configuration
+     */
+    public void setUpgradeCostPerLevel(int upgradeCostPerLevel) {
+        this.upgradeCostPerLevel = upgradeCostPerLevel;
+    }
+
     public int getRoboticonID(){
         return RoboticonID;
     }
@@ -135,10 +161,19 @@ public class Roboticon {
      * @return Modifiers Array to return the modifier for resource production, stored [Ore, Energy, Food]
      */
     public int[] productionModifier() {
+        return productionModifier(new Random());
+    }
+
+    /**
+     * Returns the production modifier offered by the roboticon, drawing its randomness from the given generator
+     *
+     * @param rand The generator to draw from, such as the game's seeded one
+     * @return Modifiers Array to return the modifier for resource production, stored [Ore, Energy, Food]
+     */
+    public int[] productionModifier(Random rand) {
         int[] Modifiers = {1, 1, 1};
         int Max = 5;
         int Min = 1;
-        Random rand = new Random();
 
         int n = rand.nextInt(Max) + Min;
         Modifiers[0] = oreLevel * n;
@@ -177,7 +212,7 @@ public class Roboticon {
      * @return int The roboticon's ore-mining upgrade cost
      */
     public int getOreUpgradeCost() {
-        return (oreLevel * 6);
+        return (oreLevel * upgradeCostPerLevel);
     }
 
     /**
@@ -185,7 +220,7 @@ public class Roboticon {
      * @return int The roboticon's food-growing upgrade cost
      */
     public int getFoodUpgradeCost() {
-        return (foodLevel * 6);
+        return (foodLevel * upgradeCostPerLevel);
     }
 
     /**
@@ -193,7 +228,7 @@ public class Roboticon {
      * @return int The roboticon's energy-generating upgrade cost
      */
     public int getEnergyUpgradeCost() {
-        return (energyLevel * 6);
+        return (energyLevel * upgradeCostPerLevel);
     }
 
     /**
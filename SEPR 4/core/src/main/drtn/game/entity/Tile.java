@@ -17,11 +17,15 @@ import com.badlogic.gdx.scenes.scene2d.ui.Button;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.Timer;
+import drtn.game.GameConfig;
+import drtn.game.effects.YieldLayer;
 import drtn.game.enums.ResourceType;
 import drtn.game.exceptions.InvalidResourceTypeException;
 import drtn.game.util.Drawer;
 import drtn.game.util.TTFont;
 
+import java.util.Random;
+
 
 public class Tile extends Button {
 
@@ -79,6 +83,11 @@ public class Tile extends Button {
      * A modifier influencing how much ore is produced.
      */
     private int OreCount;
+    /**
+     * Layer holding the random events' changes to the tile's yields, which the counts above are the base of; null
+     * until the tile is attached to one
+     */
+    private YieldLayer yieldLayer;
     /**
      * A modifier influencing how much ore is produced.
      */
@@ -128,6 +137,18 @@ public class Tile extends Button {
      * @param runnable       An object encapsulating a method that can be executed when the tile is clicked on
      */
     public Tile(Game game, int ID, int EnergyCount, int OreCount, int FoodCount, String surfaceGraphic, final Runnable runnable) {
+        this(game, ID, EnergyCount, OreCount, FoodCount, surfaceGraphic, runnable,
+                GameConfig.standard().get(GameConfig.SPECIALISATION_MULTIPLIER));
+    }
+
+    /**
+     * Constructs the tile as above, multiplying its yield of the resource that it specialises in (see
+     * {@link GameConfig#specialisation(int)}) by the given factor
+     *
+     * @param multiplier     The factor applied to the yield of the tile's specialist resource
+     */
+    public Tile(Game game, int ID, int EnergyCount, int OreCount, int FoodCount, String surfaceGraphic, final Runnable runnable,
+                double multiplier) {
         super(new ButtonStyle());
         //Execute the constructor for the class' parent Button class using default visual parameters
 
@@ -164,34 +185,19 @@ public class Tile extends Button {
         this.OreCount = OreCount;
         //Import and save the tile's determined resource yields
 
-        //Switch case determines tile graphic types, if not their graphic type is null
-        double newCount;
-        double multiplier = 1.5;
-        switch (ID) {
-            case 2:
-            case 3:
-            case 9:
-            case 14:
+        //Tiles' graphic types match the resources that they specialise in, if not their graphic type is null
+        switch (GameConfig.specialisation(ID)) {
+            case 0:
                 surfaceGraphic = "Ore";
-                newCount = OreCount * multiplier;
-                this.OreCount = (int) newCount;
+                this.OreCount = (int) (OreCount * multiplier);
                 break;
-            case 5:
-            case 6:
-            case 7:
-            case 11:
+            case 1:
                 surfaceGraphic = "Energy";
-                newCount = EnergyCount * multiplier;
-                this.EnergyCount = (int) newCount;
+                this.EnergyCount = (int) (EnergyCount * multiplier);
                 break;
-            case 4:
-            case 10:
-            case 12:
-            case 13:
-            case 15:
+            case 2:
                 surfaceGraphic = "Food";
-                newCount = FoodCount * multiplier;
-                this.FoodCount = (int) newCount;
+                this.FoodCount = (int) (FoodCount * multiplier);
                 break;
         }
         this.surfaceGraphic = surfaceGraphic;
@@ -259,20 +265,30 @@ public class Tile extends Button {
      * Calculates how many resources are produced based on the amount of roboticons present and adds them to the player.
      */
     public void produce() {
+        produce(new Random());
+    }
+
+    /**
+     * Produces the tile's resources for its owner, drawing the roboticon's production modifiers from the given
+     * generator so that seeded games produce the same amounts every time
+     *
+     * @param random The generator to draw from
+     */
+    public void produce(Random random) {
         if (roboticonStored != null && owner != null) {
-            int[] modifiers = this.roboticonStored.productionModifier();
+            int[] modifiers = this.roboticonStored.productionModifier(random);
 
-            int OreProduce = modifiers[0] * this.OreCount;
+            int OreProduce = modifiers[0] * getYield(YieldLayer.ORE);
             owner.varyResource(ResourceType.ORE, OreProduce);
             //Add the tile's ore yields to the owner's resource-counters
             System.out.println("Ore produced: " + OreProduce);
 
-            int EnergyProduce = modifiers[1] * this.EnergyCount;
+            int EnergyProduce = modifiers[1] * getYield(YieldLayer.ENERGY);
             owner.varyResource(ResourceType.ENERGY, EnergyProduce);
             //Add the tile's energy yields to the owner's resource-counters
             System.out.println("Energy produced: " + EnergyProduce);
 
-            int FoodProduce = modifiers[2] * this.FoodCount;
+            int FoodProduce = modifiers[2] * getYield(YieldLayer.FOOD);
             owner.varyResource(ResourceType.FOOD, FoodProduce);
             //Add the tile's food yields to the owner's resource-counters
             System.out.println("Food produced: " + FoodProduce);
@@ -286,6 +302,16 @@ public class Tile extends Button {
      * @return int value representing the amount of type the player currently have
      */
     public int getResource(ResourceType type) throws InvalidResourceTypeException {
+        return getYield(layerIndex(type));
+    }
+
+    /**
+     * Getter for resource amounts before any random events' changes
+     *
+     * @param type resource requested
+     * @return int The tile's base yield of the resource
+     */
+    public int getBaseResource(ResourceType type) throws InvalidResourceTypeException {
         switch (type) {
             case ENERGY:
                 return this.EnergyCount;
@@ -298,8 +324,54 @@ public class Tile extends Button {
         throw new InvalidResourceTypeException();
     }
 
+    /**
+     * @param resource {@link YieldLayer#ORE}, {@link YieldLayer#ENERGY} or {@link YieldLayer#FOOD}
+     * @return int The tile's yield of the resource, including any changes made by random events
+     */
+    private int getYield(int resource) {
+        if (yieldLayer != null) {
+            return yieldLayer.get(ID - 1, resource);
+        }
+
+        switch (resource) {
+            case YieldLayer.ORE:
+                return this.OreCount;
+            case YieldLayer.ENERGY:
+                return this.EnergyCount;
+            default:
+                return this.FoodCount;
+        }
+    }
+
+    private static int layerIndex(ResourceType type) throws InvalidResourceTypeException {
+        switch (type) {
+            case ORE:
+                return YieldLayer.ORE;
+            case ENERGY:
+                return YieldLayer.ENERGY;
+            case FOOD:
+                return YieldLayer.FOOD;
+        }
+
+        throw new InvalidResourceTypeException();
+    }
+
+    /**
+     * Hands the tile's yields over to a yield layer, through which random events can change them without touching
+     * the base yields; the layer's entry for the tile is the one at the tile's ID minus one
+     *
+     * @param layer The layer
+     */
+    public void attachYieldLayer(YieldLayer layer) {
+        this.yieldLayer = layer;
+        layer.setBase(ID - 1, YieldLayer.ORE, OreCount);
+        layer.setBase(ID - 1, YieldLayer.ENERGY, EnergyCount);
+        layer.setBase(ID - 1, YieldLayer.FOOD, FoodCount);
+    }
+
     /**
      * Unified Setter for resource amounts
+     * Sets the tile's base yields, on top of which any random events' changes are still applied
      *
      * @param type     resource being set
      * @param newCount int value the count should be updated to
@@ -317,6 +389,15 @@ public class Tile extends Button {
                     this.OreCount = newCount;
                     break;
                 default:
+                    return;
+            }
+
+            if (yieldLayer != null) {
+                try {
+                    yieldLayer.setBase(ID - 1, layerIndex(type), newCount);
+                } catch (InvalidResourceTypeException e) {
+                    //Do nothing: only the three yields reach this point
+                }
             }
         }
     }
@@ -400,9 +481,9 @@ public class Tile extends Button {
         //Draw an identification label in that space
 
         if (isOwned()) {
-            drawer.text("Ore: " + OreCount, tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 40);
-            drawer.text("Energy: " + EnergyCount, tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 60);
-            drawer.text("Food: " + FoodCount, tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 80);
+            drawer.text("Ore: " + getYield(YieldLayer.ORE), tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 40);
+            drawer.text("Energy: " + getYield(YieldLayer.ENERGY), tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 60);
+            drawer.text("Food: " + getYield(YieldLayer.FOOD), tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 80);
         } else {
             drawer.text("Ore: ???", tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 40);
             drawer.text("Energy: ???", tooltipFontSmall, Gdx.input.getX() - tooltipWidth - tooltipCursorSpace + tooltipTextSpace, y + tooltipTextSpace + 60);
@@ -0,0 +1,92 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * Pricing curve with a constant price elasticity of supply
+ * Doubling the market's stock always scales the price by the same factor, 2 ^ (-1 / elasticity), regardless of the
+ * stock level that the market started at
+ */
+public class ConstantElasticityPricing implements PricingModel {
+
+    public static final String NAME = "constant-elasticity";
+
+    /**
+     * Sell price paid when the market holds exactly the reference stock
+     */
+    private final double referencePrice;
+
+    /**
+     * Stock level at which the reference price applies
+     */
+    private final double referenceStock;
+
+    /**
+     * Elasticity of the curve; larger values give flatter prices
+     */
+    private final double elasticity;
+
+    /**
+     * Highest sell price that the curve can produce (reached as the market runs dry)
+     */
+    private final int ceiling;
+
+    /**
+     * Difference between the buy price and the sell price at every stock level
+     */
+    private final int spread;
+
+    /**
+     * Constructs a constant-elasticity curve with the given shape
+     *
+     * @param referencePrice The sell price at the reference stock level
+     * @param referenceStock The reference stock level
+     * @param elasticity The elasticity of the curve (must be positive)
+     * @param ceiling The highest sell price
+     * @param spread The margin added on top of the sell price when buying
+     */
+    public ConstantElasticityPricing(double referencePrice, double referenceStock, double elasticity, int ceiling, int spread) {
+        if (elasticity <= 0) {
+            throw new IllegalArgumentException("Error: Elasticity must be positive.");
+        }
+
+        this.referencePrice = referencePrice;
+        this.referenceStock = referenceStock;
+        this.elasticity = elasticity;
+        this.ceiling = ceiling;
+        this.spread = spread;
+    }
+
+    /**
+     * Constructs a curve that matches the brief's opening sell price of 14 at a stock of 16
+     */
+    public ConstantElasticityPricing() {
+        this(14, 16, 1.5, 200, 1);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int calculateBuyPrice(int stock) {
+        return calculateSellPrice(stock) + spread;
+    }
+
+    @Override
+    public int calculateSellPrice(int stock) {
+        if (stock <= 0) {
+            return ceiling;
+        }
+
+        double price = referencePrice * Math.pow(stock / referenceStock, -1 / elasticity);
+        return (int) Math.max(1, Math.min(ceiling, Math.round(price)));
+    }
+}
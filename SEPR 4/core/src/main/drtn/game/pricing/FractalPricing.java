@@ -0,0 +1,39 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * Port of the pricing curve used by the Assessment 3 market (io.github.teamfractal.entity.Market)
+ *
+ * The market charges 50 / (stock + 1) per unit with a floor of 10 (or 50 when empty), and pays out 60% of that
+ * with a floor of 5.
+ */
+public class FractalPricing implements PricingModel {
+
+    public static final String NAME = "fractal";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int calculateBuyPrice(int stock) {
+        if (stock <= 0) {
+            return 50;
+        }
+
+        return Math.max(10, 50 / (stock + 1));
+    }
+
+    @Override
+    public int calculateSellPrice(int stock) {
+        return Math.max(5, (int) (calculateBuyPrice(stock) * 0.6f));
+    }
+}
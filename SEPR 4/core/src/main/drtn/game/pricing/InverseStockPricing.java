@@ -0,0 +1,43 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * The market's original pricing curve, where both prices are inversely proportional to the market's stock
+ *
+ * When the market is empty, the buy price drops to 0 (nothing can be bought anyway) and the sell price rises to 200.
+ * Otherwise the sell price is 160 / stock (with a floor of 1) and the buy price sits 2 above it.
+ */
+public class InverseStockPricing implements PricingModel {
+
+    public static final String NAME = "inverse-stock";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int calculateBuyPrice(int stock) {
+        if (stock <= 0) {
+            return 0;
+        }
+
+        return 160 / stock + 2;
+    }
+
+    @Override
+    public int calculateSellPrice(int stock) {
+        if (stock <= 0) {
+            return 200;
+        }
+
+        return Math.max(1, 160 / stock);
+    }
+}
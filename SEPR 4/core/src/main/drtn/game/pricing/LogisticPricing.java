@@ -0,0 +1,83 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * S-shaped pricing curve which stays close to a ceiling while stocks are scarce, falls steeply around a midpoint and
+ * then levels out at a floor once the market is saturated
+ */
+public class LogisticPricing implements PricingModel {
+
+    public static final String NAME = "logistic";
+
+    /**
+     * Sell price approached as the market's stock tends towards infinity
+     */
+    private final double floor;
+
+    /**
+     * Sell price approached as the market's stock tends towards zero
+     */
+    private final double ceiling;
+
+    /**
+     * Stock level at which the sell price sits halfway between the floor and the ceiling
+     */
+    private final double midpoint;
+
+    /**
+     * Controls how sharply the price falls around the midpoint
+     */
+    private final double steepness;
+
+    /**
+     * Difference between the buy price and the sell price at every stock level
+     */
+    private final int spread;
+
+    /**
+     * Constructs a logistic curve with the given shape
+     *
+     * @param floor The lowest sell price
+     * @param ceiling The highest sell price
+     * @param midpoint The stock level at which the price is halfway between the floor and the ceiling
+     * @param steepness How sharply the price falls around the midpoint
+     * @param spread The margin added on top of the sell price when buying
+     */
+    public LogisticPricing(double floor, double ceiling, double midpoint, double steepness, int spread) {
+        this.floor = floor;
+        this.ceiling = ceiling;
+        this.midpoint = midpoint;
+        this.steepness = steepness;
+        this.spread = spread;
+    }
+
+    /**
+     * Constructs a logistic curve tuned to the opening prices stated in the brief
+     */
+    public LogisticPricing() {
+        this(2, 40, 12, 0.25, 2);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int calculateBuyPrice(int stock) {
+        return calculateSellPrice(stock) + spread;
+    }
+
+    @Override
+    public int calculateSellPrice(int stock) {
+        double price = floor + (ceiling - floor) / (1 + Math.exp(steepness * (Math.max(stock, 0) - midpoint)));
+        return Math.max(1, (int) Math.round(price));
+    }
+}
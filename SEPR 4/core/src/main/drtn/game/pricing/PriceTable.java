@@ -0,0 +1,114 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * Dense lookup table of buy and sell prices compiled from a {@link PricingModel}
+ * Every stock level from 0 up to the table's size is evaluated once when the table is built, so looking up a price
+ * during a trade is a single array access. Stock levels beyond the end of the table fall back on the model itself.
+ */
+public final class PriceTable {
+
+    /**
+     * Number of stock levels precomputed by default
+     * Market stocks rarely climb above a couple of hundred units during a normal game
+     */
+    public static final int DEFAULT_SIZE = 512;
+
+    /**
+     * The model that the table was compiled from
+     */
+    private final PricingModel model;
+
+    /**
+     * Buy prices indexed by stock level
+     */
+    private final int[] buyPrices;
+
+    /**
+     * Sell prices indexed by stock level
+     */
+    private final int[] sellPrices;
+
+    /**
+     * Compiles a table covering the given number of stock levels
+     *
+     * @param model The model to evaluate
+     * @param size The number of stock levels (starting from 0) to precompute
+     */
+    public PriceTable(PricingModel model, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Error: Price tables must cover at least one stock level.");
+        }
+
+        this.model = model;
+        this.buyPrices = new int[size];
+        this.sellPrices = new int[size];
+
+        for (int stock = 0; stock < size; stock++) {
+            buyPrices[stock] = model.calculateBuyPrice(stock);
+            sellPrices[stock] = model.calculateSellPrice(stock);
+        }
+    }
+
+    /**
+     * Compiles a table covering {@link #DEFAULT_SIZE} stock levels
+     *
+     * @param model The model to evaluate
+     */
+    public PriceTable(PricingModel model) {
+        this(model, DEFAULT_SIZE);
+    }
+
+    /**
+     * Returns the price that a player pays for one unit when the market holds the given stock
+     *
+     * @param stock The market's current stock of the resource
+     * @return int The buy price
+     */
+    public int buyPrice(int stock) {
+        if (stock >= 0 && stock < buyPrices.length) {
+            return buyPrices[stock];
+        }
+
+        return model.calculateBuyPrice(stock);
+    }
+
+    /**
+     * Returns the price that a player receives for one unit when the market holds the given stock
+     *
+     * @param stock The market's current stock of the resource
+     * @return int The sell price
+     */
+    public int sellPrice(int stock) {
+        if (stock >= 0 && stock < sellPrices.length) {
+            return sellPrices[stock];
+        }
+
+        return model.calculateSellPrice(stock);
+    }
+
+    /**
+     * Returns the number of stock levels held in the table
+     *
+     * @return int The size of the table
+     */
+    public int size() {
+        return buyPrices.length;
+    }
+
+    /**
+     * Returns the model that the table was compiled from
+     *
+     * @return PricingModel The table's model
+     */
+    public PricingModel model() {
+        return model;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * Describes how the market prices a resource based on how much of that resource it currently holds
+ *
+ * Models are only ever evaluated when a {@link PriceTable} is compiled from them, so they are free to use
+ * floating-point maths without slowing down individual trades
+ */
+public interface PricingModel {
+
+    /**
+     * Returns the name under which the model is registered in {@link PricingModels}
+     *
+     * @return String The model's name
+     */
+    String getName();
+
+    /**
+     * Calculates the price that a player pays to buy a single unit from the market
+     *
+     * @param stock The number of units currently held by the market
+     * @return int The price of one unit
+     */
+    int calculateBuyPrice(int stock);
+
+    /**
+     * Calculates the price that a player receives for selling a single unit to the market
+     *
+     * @param stock The number of units currently held by the market
+     * @return int The price of one unit
+     */
+    int calculateSellPrice(int stock);
+}
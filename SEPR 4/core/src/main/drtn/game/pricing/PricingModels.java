@@ -0,0 +1,67 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.pricing;
+
+/**
+ * Looks up the pricing models available to the market by name
+ *
+ * The model used by newly created markets can be switched without touching the code by launching the game with
+ * -Ddrtn.pricing=[name], which makes it possible to A/B test different economies between play sessions
+ */
+public final class PricingModels {
+
+    /**
+     * Name of the system property that selects the default pricing model
+     */
+    public static final String PROPERTY = "drtn.pricing";
+
+    private PricingModels() {
+    }
+
+    /**
+     * Returns a new instance of the pricing model registered under the given name
+     *
+     * @param name The name of the model
+     * @return PricingModel The model registered under that name
+     * @throws IllegalArgumentException If no model is registered under the given name
+     */
+    public static PricingModel byName(String name) {
+        if (InverseStockPricing.NAME.equals(name)) {
+            return new InverseStockPricing();
+        } else if (FractalPricing.NAME.equals(name)) {
+            return new FractalPricing();
+        } else if (LogisticPricing.NAME.equals(name)) {
+            return new LogisticPricing();
+        } else if (ConstantElasticityPricing.NAME.equals(name)) {
+            return new ConstantElasticityPricing();
+        }
+
+        throw new IllegalArgumentException("Error: No pricing model named \"" + name + "\" exists.");
+    }
+
+    /**
+     * Returns the pricing model selected by the {@link #PROPERTY} system property
+     * Falls back on the original inverse-stock curve when the property is missing or names an unknown model
+     *
+     * @return PricingModel The configured model
+     */
+    public static PricingModel configured() {
+        String name = System.getProperty(PROPERTY);
+        if (name == null) {
+            return new InverseStockPricing();
+        }
+
+        try {
+            return byName(name);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage() + " Falling back on " + InverseStockPricing.NAME + " pricing.");
+            return new InverseStockPricing();
+        }
+    }
+}
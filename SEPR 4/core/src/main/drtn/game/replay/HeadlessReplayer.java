@@ -0,0 +1,183 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.replay;
+
+import drtn.game.GameConfig;
+import drtn.game.ai.AiParameters;
+import drtn.game.ai.HeuristicPolicy;
+import drtn.game.ai.SimAction;
+import drtn.game.ai.SimRandom;
+import drtn.game.ai.SimState;
+import drtn.game.tuning.EconomySweep;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Replays {@link Recording}s in the headless game ({@link SimState}), as fast as the rules can be run
+ *
+ * A replay starts from a copy of the recording's starting state and draws production yields from a
+ * {@link SimRandom} seeded with the recording's seed. Each input is then turned into a move in the headless game by
+ * {@link InputEvent#toAction(int, int)} and carried out, and each {@link InputEvent#END_PHASE} ends the current
+ * player's turn. Inputs without a headless equivalent are skipped, as are inputs that were undone. Nothing is drawn
+ * or waited on, so a whole game replays in well under a millisecond.
+ *
+ * Games played in the headless game, as by {@link #record(SimState, long, AiParameters)}, replay bit for bit: the
+ * recording keeps the {@link SimState#fingerprint()} that the game finished on, and {@link #verify(Recording)} checks
+ * a replay against it. Recordings of the real game replay its inputs under the headless game's rules, which don't
+ * include random events, the real game's production formula, trades between players or auctions, so they serve as
+ * realistic workloads rather than exact copies of the real game. They carry no fingerprint, and can't be verified.
+ *
+ * Run from the command line with: HeadlessReplayer [recording] [repeats]
+ * Without a recording, a headless game is recorded on the real map and replayed.
+ */
+public final class HeadlessReplayer {
+
+    public static final int DEFAULT_REPEATS = 1000;
+
+    private HeadlessReplayer() {
+    }
+
+    /**
+     * Replays a recording from its start
+     *
+     * @param recording The recording
+     * @return SimState The state that the replay ended in
+     */
+    public static SimState replay(Recording recording) {
+        SimState state = recording.start();
+        replay(recording, state);
+        return state;
+    }
+
+    /**
+     * Replays a recording over a state, which is first overwritten with the recording's start
+     * Replaying into the same state over and over allocates nothing but the random number generator
+     *
+     * @param recording The recording
+     * @param state The state to replay into, of the same size as the recording's start
+     * @return int The number of inputs that were replayed, leaving out phase ends and those without a headless
+     * equivalent
+     */
+    public static int replay(Recording recording, SimState state) {
+        state.copyFrom(recording.startState());
+        SimRandom rnd = new SimRandom(recording.seed());
+        int replayed = 0;
+
+        for (int i = 0; i < recording.size(); i++) {
+            int kind = recording.getKind(i);
+
+            if (recording.isUndone(i)) {
+                continue;
+            }
+            if (kind == InputEvent.END_PHASE) {
+                state.endTurn(rnd);
+                continue;
+            }
+
+            int action = InputEvent.toAction(kind, recording.getArgument(i));
+            if (action != InputEvent.NO_ACTION && recording.getPlayer(i) == state.getCurrentPlayer()) {
+                state.perform(action);
+                replayed++;
+            }
+        }
+
+        return replayed;
+    }
+
+    /**
+     * @return boolean True if the recording says where the game finished, so that {@link #verify(Recording)} can
+     * check a replay of it; recordings of the real game don't
+     */
+    public static boolean isVerifiable(Recording recording) {
+        return recording.fingerprint() != Recording.NO_FINGERPRINT;
+    }
+
+    /**
+     * Replays a recording and checks that it finishes exactly where the recorded game did
+     *
+     * @return boolean True if the replay matches, or false if it doesn't or the recording can't be verified (see
+     * {@link #isVerifiable(Recording)})
+     */
+    public static boolean verify(Recording recording) {
+        return isVerifiable(recording) && replay(recording).fingerprint() == recording.fingerprint();
+    }
+
+    /**
+     * Plays a headless game to the end with every player following {@link HeuristicPolicy}, recording each move
+     * The game's only random numbers are its production yields, drawn from a generator with the given seed, so
+     * replaying the recording reproduces it exactly
+     *
+     * @param start The state to start from; it isn't changed
+     * @param seed Seeds the production yields
+     * @param parameters The policy's parameters
+     * @return Recording The recording, with the fingerprint of the state that the game ended in
+     */
+    public static Recording record(SimState start, long seed, AiParameters parameters) {
+        SimState state = new SimState(start);
+        SimRandom rnd = new SimRandom(seed);
+        InputRecorder recorder = new InputRecorder(seed, start);
+        int moves = 0;
+
+        while (!state.isOver()) {
+            int player = state.getCurrentPlayer();
+            int action = HeuristicPolicy.choose(state, parameters);
+
+            if (action != SimAction.PASS) {
+                recorder.record(moves, player, InputEvent.SIM_ACTION, action);
+            }
+            recorder.record(moves, player, InputEvent.END_PHASE, state.getPhase());
+            moves++;
+            //Headless moves take no time, so they're timed by their position in the game instead
+
+            state.apply(action, rnd);
+        }
+
+        return recorder.finish(state.fingerprint());
+    }
+
+    public static void main(String[] args) throws IOException {
+        Recording recording;
+        if (args.length > 0) {
+            recording = Recording.read(new File(args[0]));
+        } else {
+            recording = record(EconomySweep.newGame(GameConfig.configured()), 1, AiParameters.defaults());
+        }
+        int repeats = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_REPEATS;
+
+        SimState state = recording.start();
+        int replayed = replay(recording, state);
+        for (int i = 0; i < repeats; i++) {
+            replay(recording, state);
+        }
+        //Warm up before timing
+
+        long start = System.nanoTime();
+        for (int i = 0; i < repeats; i++) {
+            replay(recording, state);
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / repeats;
+
+        System.out.println(String.format("%d inputs (%d replayed) over %.1fs of play, seed %d",
+                recording.size(), replayed, recording.duration() / 1e3, recording.seed()));
+        for (int p = 0; p < state.playerCount(); p++) {
+            System.out.println("Player " + p + ": " + state.score(p));
+        }
+        String check;
+        if (!isVerifiable(recording)) {
+            check = "not checked, as the recording was made in the real game and was replayed under the headless "
+                    + "game's rules";
+        } else if (verify(recording)) {
+            check = "matches the recorded game";
+        } else {
+            check = "Error: does not match the recorded game";
+        }
+        System.out.println(String.format("Replayed in %.1f us on average over %d repeats; %s", micros, repeats, check));
+    }
+}
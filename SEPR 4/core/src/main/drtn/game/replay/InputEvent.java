@@ -0,0 +1,183 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.replay;
+
+import drtn.game.ai.SimAction;
+import drtn.game.ai.SimState;
+import drtn.game.enums.ResourceType;
+
+/**
+ * The kinds of player input that a {@link Recording} holds, each with a single int argument
+ *
+ * Inputs that have an equivalent in the headless game ({@link drtn.game.ai.SimState}) are turned into
+ * {@link SimAction}s by {@link #toAction(int, int)} when they're replayed. The rest are kept in the recording for
+ * reference, but aren't replayed.
+ */
+public final class InputEvent {
+
+    /**
+     * No action in the headless game; returned by {@link #toAction(int, int)} for inputs that aren't replayed
+     */
+    public static final int NO_ACTION = -1;
+
+    /**
+     * A phase ended; the argument is the phase that ended
+     */
+    public static final int END_PHASE = 0;
+
+    /**
+     * A tile was claimed; the argument is the tile's index
+     */
+    public static final int CLAIM_TILE = 1;
+
+    /**
+     * Roboticons were bought from the market; the argument is the number bought
+     */
+    public static final int BUY_ROBOTICONS = 2;
+
+    /**
+     * A roboticon was placed on a tile; the argument is the tile's index
+     */
+    public static final int PLACE_ROBOTICON = 3;
+
+    /**
+     * A roboticon was upgraded; the argument holds the tile's index and the resource, as in
+     * {@link SimAction#upgrade(int, int)}
+     */
+    public static final int UPGRADE = 4;
+
+    /**
+     * A resource was bought from the market; the argument holds the resource and quantity, as in
+     * {@link SimAction#trade(int, int, int)}
+     */
+    public static final int MARKET_BUY = 5;
+
+    /**
+     * A resource was sold to the market; the argument holds the resource and quantity, as for {@link #MARKET_BUY}
+     */
+    public static final int MARKET_SELL = 6;
+
+    /**
+     * A lot was put up for auction; the argument holds the resource and quantity, as for {@link #MARKET_BUY}
+     */
+    public static final int AUCTION_LIST = 7;
+
+    /**
+     * A bid was placed at auction; the argument is the amount bid
+     */
+    public static final int AUCTION_BID = 8;
+
+    /**
+     * A trade offer was accepted; the argument is the ID of the player who made it
+     */
+    public static final int TRADE_ACCEPT = 9;
+
+    /**
+     * A trade offer was rejected; the argument is the ID of the player who made it
+     */
+    public static final int TRADE_REJECT = 10;
+
+    /**
+     * A card was picked in the mini-game; the argument is the prize that it held
+     */
+    public static final int MINI_GAME_PICK = 11;
+
+    /**
+     * The Chancellor was caught; the argument is the reward paid
+     */
+    public static final int CATCH_CHANCELLOR = 12;
+
+    /**
+     * A move decided on by the headless game's default policy, as recorded by
+     * {@link HeadlessReplayer#record(drtn.game.ai.SimState, long, drtn.game.ai.AiParameters)}; the argument is the
+     * {@link SimAction}
+     */
+    public static final int SIM_ACTION = 13;
+
+    /**
+     * The last market purchase or sale was taken back; the argument is the kind of input that was undone
+     * Undone inputs are skipped when a recording is replayed, see {@link Recording#isUndone(int)}
+     */
+    public static final int UNDO = 14;
+
+    private static final String[] NAMES = {"end phase", "claim tile", "buy roboticons", "place roboticon", "upgrade",
+            "market buy", "market sell", "auction list", "auction bid", "trade accept", "trade reject",
+            "mini-game pick", "catch chancellor", "sim action", "undo"};
+
+    private InputEvent() {
+    }
+
+    /**
+     * Finds the move in the headless game that an input stands for
+     *
+     * @param kind The kind of input
+     * @param argument The input's argument
+     * @return int The {@link SimAction}, or {@link #NO_ACTION} if the input has no equivalent in the headless game
+     */
+    public static int toAction(int kind, int argument) {
+        switch (kind) {
+            case CLAIM_TILE:
+                return SimAction.of(SimAction.CLAIM, argument);
+            case BUY_ROBOTICONS:
+                return SimAction.of(SimAction.BUY_ROBOTICONS, argument);
+            case PLACE_ROBOTICON:
+                return SimAction.of(SimAction.PLACE, argument);
+            case UPGRADE:
+                return SimAction.of(SimAction.UPGRADE, argument);
+            case MARKET_BUY:
+                return SimAction.of(SimAction.BUY, argument);
+            case MARKET_SELL:
+                return SimAction.of(SimAction.SELL, argument);
+            case SIM_ACTION:
+                return argument;
+            default:
+                return NO_ACTION;
+        }
+    }
+
+    /**
+     * @return boolean True for the kinds of input that can be taken back with {@link #UNDO}: buying and selling at
+     * the market
+     */
+    public static boolean isUndoable(int kind) {
+        return kind == MARKET_BUY || kind == MARKET_SELL || kind == BUY_ROBOTICONS;
+    }
+
+    /**
+     * Encodes the argument of a purchase, sale or auction listing
+     *
+     * @param resource The resource, which must be ore, energy or food
+     * @param quantity The amount bought, sold or listed
+     * @return int The argument
+     */
+    public static int trade(ResourceType resource, int quantity) {
+        int index;
+        switch (resource) {
+            case ORE:
+                index = SimState.ORE;
+                break;
+            case ENERGY:
+                index = SimState.ENERGY;
+                break;
+            case FOOD:
+                index = SimState.FOOD;
+                break;
+            default:
+                throw new IllegalArgumentException("Error: Only ore, energy and food can be traded, not " + resource);
+        }
+        return SimAction.argument(SimAction.trade(SimAction.BUY, index, quantity));
+    }
+
+    /**
+     * @return String A readable name for the kind of input, for logging
+     */
+    public static String name(int kind) {
+        return (kind >= 0 && kind < NAMES.length) ? NAMES[kind] : "unknown (" + kind + ")";
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.replay;
+
+import drtn.game.ai.SimState;
+
+import java.util.Arrays;
+
+/**
+ * Builds up a {@link Recording} one input at a time as a game is played
+ *
+ * Recording an input just writes four ints into arrays which double in size when they fill up, so it's cheap enough
+ * to do on the render thread for every click. Recorders aren't thread-safe; the game only records on the render
+ * thread.
+ */
+public class InputRecorder {
+
+    private final long seed;
+    private final SimState start;
+    private final long startMillis;
+
+    private int[] time = new int[256];
+    private int[] player = new int[256];
+    private int[] kind = new int[256];
+    private int[] argument = new int[256];
+    private int size;
+
+    /**
+     * Starts a recording, with its clock starting now
+     *
+     * @param seed The seed that the game's random numbers are drawn from
+     * @param start The state that the game is being recorded from; it's copied
+     */
+    public InputRecorder(long seed, SimState start) {
+        this.seed = seed;
+        this.start = new SimState(start);
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Records an input made now
+     *
+     * @param player The ID of the player who made the input
+     * @param kind The kind of input, see {@link InputEvent}
+     * @param argument The input's argument
+     */
+    public void record(int player, int kind, int argument) {
+        int now = (int) Math.min(Integer.MAX_VALUE, System.currentTimeMillis() - startMillis);
+        record((size == 0) ? Math.max(0, now) : Math.max(time[size - 1], now), player, kind, argument);
+        //Never let time run backwards in a recording, even if the system clock does
+    }
+
+    /**
+     * Records an input made at the given time
+     *
+     * @param time The time at which the input was made, in milliseconds from the start of the recording
+     */
+    public void record(int time, int player, int kind, int argument) {
+        if (size == this.time.length) {
+            this.time = Arrays.copyOf(this.time, size * 2);
+            this.player = Arrays.copyOf(this.player, size * 2);
+            this.kind = Arrays.copyOf(this.kind, size * 2);
+            this.argument = Arrays.copyOf(this.argument, size * 2);
+        }
+
+        this.time[size] = time;
+        this.player[size] = player;
+        this.kind[size] = kind;
+        this.argument[size] = argument;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param fingerprint The fingerprint that replaying the recording should end with, or
+     * {@link Recording#NO_FINGERPRINT}
+     * @return Recording A copy of everything recorded so far; the recorder can carry on recording afterwards
+     */
+    public Recording finish(long fingerprint) {
+        return new Recording(seed, start, Arrays.copyOf(time, size), Arrays.copyOf(player, size),
+                Arrays.copyOf(kind, size), Arrays.copyOf(argument, size), fingerprint);
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.replay;
+
+import drtn.game.ai.SimState;
+import drtn.game.pricing.PriceTable;
+import drtn.game.pricing.PricingModels;
+import drtn.game.save.SaveFile;
+
+import java.io.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A game's seed and starting state, followed by every input made during it in order
+ *
+ * Each input is held as four ints, in parallel arrays: the time at which it was made, in milliseconds from the start
+ * of the recording; the ID of the player who made it; its kind (see {@link InputEvent}); and its argument. Recordings
+ * are immutable once made.
+ *
+ * On disk a recording starts with the bytes "DRPL" and a format version, and ends with a CRC-32 checksum, in the same
+ * way as a save file (see {@link SaveFile}). Times are written as the gap since the input before.
+ */
+public final class Recording {
+
+    /**
+     * The bytes "DRPL", which start every recording
+     */
+    public static final int MAGIC = 0x4452504C;
+
+    public static final int VERSION = 1;
+
+    public static final String LAST_RECORDING_NAME = "last.replay";
+
+    /**
+     * Stands in for the fingerprint of a recording whose final state isn't known, such as one made in the real game;
+     * such recordings can't be verified
+     */
+    public static final long NO_FINGERPRINT = 0;
+
+    private final long seed;
+    private final SimState start;
+
+    private final int[] time;
+    private final int[] player;
+    private final int[] kind;
+    private final int[] argument;
+
+    private final long fingerprint;
+
+    /**
+     * Marks the inputs that were taken back, along with the {@link InputEvent#UNDO}s that took them back
+     */
+    private final boolean[] undone;
+
+    /**
+     * @param seed The seed that the game's random numbers were drawn from
+     * @param start The state that the game was recorded from; it's copied
+     * @param time, player, kind, argument The inputs, which must all be the same length; they're kept, not copied
+     * @param fingerprint The {@link SimState#fingerprint()} that replaying the recording should end with, or
+     * {@link #NO_FINGERPRINT}
+     */
+    Recording(long seed, SimState start, int[] time, int[] player, int[] kind, int[] argument, long fingerprint) {
+        this.seed = seed;
+        this.start = new SimState(start);
+        this.time = time;
+        this.player = player;
+        this.kind = kind;
+        this.argument = argument;
+        this.fingerprint = fingerprint;
+        this.undone = findUndone(kind);
+    }
+
+    /**
+     * Pairs each {@link InputEvent#UNDO} with the input that it took back
+     * Only an unbroken run of purchases and sales in one phase can be undone, newest first, in the same way as in the
+     * game itself
+     */
+    private static boolean[] findUndone(int[] kind) {
+        boolean[] undone = new boolean[kind.length];
+        int[] undoable = new int[kind.length];
+        int depth = 0;
+
+        for (int i = 0; i < kind.length; i++) {
+            if (InputEvent.isUndoable(kind[i])) {
+                undoable[depth++] = i;
+            } else if (kind[i] == InputEvent.UNDO) {
+                if (depth > 0) {
+                    undone[undoable[--depth]] = true;
+                }
+                undone[i] = true;
+            } else {
+                depth = 0;
+            }
+        }
+
+        return undone;
+    }
+
+    /**
+     * @return File The file that the last game played is recorded to, alongside its autosave
+     */
+    public static File lastRecordingFile() {
+        return new File(SaveFile.autosaveFile().getParentFile(), LAST_RECORDING_NAME);
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * @return SimState A copy of the state that the game was recorded from
+     */
+    public SimState start() {
+        return new SimState(start);
+    }
+
+    /**
+     * @return SimState The state that the game was recorded from, which mustn't be changed
+     */
+    SimState startState() {
+        return start;
+    }
+
+    public int size() {
+        return time.length;
+    }
+
+    public int getTime(int i) {
+        return time[i];
+    }
+
+    public int getPlayer(int i) {
+        return player[i];
+    }
+
+    public int getKind(int i) {
+        return kind[i];
+    }
+
+    public int getArgument(int i) {
+        return argument[i];
+    }
+
+    /**
+     * @return boolean True if the input was taken back, or took another back, and so isn't replayed
+     */
+    public boolean isUndone(int i) {
+        return undone[i];
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return int The time of the last input, in milliseconds from the start of the recording
+     */
+    public int duration() {
+        return (time.length == 0) ? 0 : time[time.length - 1];
+    }
+
+    /**
+     * Writes the recording to a file, replacing anything already there
+     *
+     * @param file The file to write
+     * @throws IOException If the file can't be written
+     */
+    public void write(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Error: Can't create recording directory " + directory + ".");
+        }
+
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16);
+        try {
+            write(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Writes the recording to a stream, without closing it
+     */
+    public void write(OutputStream stream) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(stream, crc));
+
+        out.writeInt(MAGIC);
+        SaveFile.writeVarInt(out, VERSION);
+        out.writeLong(seed);
+        out.writeUTF(start.prices().model().getName());
+        writeState(out, start);
+
+        SaveFile.writeVarInt(out, time.length);
+        int last = 0;
+        for (int i = 0; i < time.length; i++) {
+            SaveFile.writeVarInt(out, time[i] - last);
+            SaveFile.writeVarInt(out, player[i]);
+            SaveFile.writeVarInt(out, kind[i]);
+            SaveFile.writeVarInt(out, argument[i]);
+            last = time[i];
+        }
+
+        out.writeLong(fingerprint);
+
+        out.flush();
+        new DataOutputStream(stream).writeInt((int) crc.getValue());
+        stream.flush();
+    }
+
+    /**
+     * Reads a recording from a file
+     *
+     * @throws IOException If the file can't be read, is corrupt or was written by a newer version of the game
+     */
+    public static Recording read(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16);
+        try {
+            return read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads a recording from a stream, without closing it
+     */
+    public static Recording read(InputStream stream) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream in = new DataInputStream(new CheckedInputStream(stream, crc));
+
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Error: Not a recording.");
+            }
+
+            int version = SaveFile.readVarInt(in);
+            if (version > VERSION) {
+                throw new IOException("Error: Recording was made by a newer version of the game (version " + version
+                        + ").");
+            }
+
+            long seed = in.readLong();
+            PriceTable prices = new PriceTable(PricingModels.byName(in.readUTF()));
+            SimState start = readState(in, prices);
+
+            int count = readCount(in);
+            int[] time = new int[count];
+            int[] player = new int[count];
+            int[] kind = new int[count];
+            int[] argument = new int[count];
+
+            int last = 0;
+            for (int i = 0; i < count; i++) {
+                last += SaveFile.readVarInt(in);
+                time[i] = last;
+                player[i] = SaveFile.readVarInt(in);
+                kind[i] = SaveFile.readVarInt(in);
+                argument[i] = SaveFile.readVarInt(in);
+            }
+
+            long fingerprint = in.readLong();
+
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(stream).readInt() != expected) {
+                throw new IOException("Error: Recording is corrupt.");
+            }
+
+            return new Recording(seed, start, time, player, kind, argument, fingerprint);
+        } catch (EOFException e) {
+            throw new IOException("Error: Recording is incomplete.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Error: Recording is corrupt.", e);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Error: Recording is corrupt.", e);
+        }
+    }
+
+    private static void writeState(DataOutput out, SimState state) throws IOException {
+        SaveFile.writeVarInt(out, state.playerCount());
+        SaveFile.writeVarInt(out, state.tileCount());
+
+        for (int p = 0; p < state.playerCount(); p++) {
+            SaveFile.writeVarInt(out, state.getMoney(p));
+            for (int r = SimState.ORE; r <= SimState.FOOD; r++) {
+                SaveFile.writeVarInt(out, state.getResource(p, r));
+            }
+            SaveFile.writeVarInt(out, state.getRoboticons(p));
+        }
+
+        for (int t = 0; t < state.tileCount(); t++) {
+            SaveFile.writeVarInt(out, state.getOwner(t));
+            for (int r = SimState.ORE; r <= SimState.FOOD; r++) {
+                SaveFile.writeVarInt(out, state.getYield(t, r));
+                SaveFile.writeVarInt(out, state.getLevel(t, r));
+            }
+        }
+
+        for (int r = SimState.ORE; r <= SimState.FOOD; r++) {
+            SaveFile.writeVarInt(out, state.getStock(r));
+            SaveFile.writeVarInt(out, state.getBuyPrice(r));
+            SaveFile.writeVarInt(out, state.getSellPrice(r));
+        }
+
+        SaveFile.writeVarInt(out, state.getRoboticonStock());
+        SaveFile.writeVarInt(out, state.getRoboticonPrice());
+        SaveFile.writeVarInt(out, state.getRoboticonPriceStep());
+        SaveFile.writeVarInt(out, state.getUpgradeCostPerLevel());
+        SaveFile.writeVarInt(out, state.getPhase());
+        SaveFile.writeVarInt(out, state.getCurrentPlayer());
+        SaveFile.writeVarInt(out, state.getTurn());
+
+        SaveFile.writeVarInt(out, state.getClaimCandidateCount());
+        for (int i = 0; i < state.getClaimCandidateCount(); i++) {
+            SaveFile.writeVarInt(out, state.getClaimCandidate(i));
+        }
+    }
+
+    private static SimState readState(DataInput in, PriceTable prices) throws IOException {
+        SimState state = new SimState(readCount(in), readCount(in), prices);
+
+        for (int p = 0; p < state.playerCount(); p++) {
+            state.setPlayer(p, SaveFile.readVarInt(in), SaveFile.readVarInt(in), SaveFile.readVarInt(in),
+                    SaveFile.readVarInt(in), SaveFile.readVarInt(in));
+        }
+
+        int[] levels = new int[3];
+        for (int t = 0; t < state.tileCount(); t++) {
+            int owner = SaveFile.readVarInt(in);
+            int[] yields = new int[3];
+            for (int r = SimState.ORE; r <= SimState.FOOD; r++) {
+                yields[r] = SaveFile.readVarInt(in);
+                levels[r] = SaveFile.readVarInt(in);
+            }
+
+            state.setTile(t, owner, yields[SimState.ORE], yields[SimState.ENERGY], yields[SimState.FOOD]);
+            state.setRoboticon(t, levels[SimState.ORE], levels[SimState.ENERGY], levels[SimState.FOOD]);
+        }
+
+        for (int r = SimState.ORE; r <= SimState.FOOD; r++) {
+            state.setMarket(r, SaveFile.readVarInt(in), SaveFile.readVarInt(in), SaveFile.readVarInt(in));
+        }
+
+        state.setRoboticonMarket(SaveFile.readVarInt(in), SaveFile.readVarInt(in));
+        state.setRules(SaveFile.readVarInt(in), SaveFile.readVarInt(in));
+        state.setPosition(SaveFile.readVarInt(in), SaveFile.readVarInt(in), SaveFile.readVarInt(in));
+
+        int[] candidates = new int[readCount(in)];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = SaveFile.readVarInt(in);
+            if (candidates[i] < 0 || candidates[i] >= state.tileCount()) {
+                throw new IOException("Error: Recording is corrupt.");
+            }
+        }
+        state.setClaimCandidates(candidates, candidates.length);
+
+        return state;
+    }
+
+    /**
+     * Reads the size of a list, refusing sizes which no real game could have
+     */
+    private static int readCount(DataInput in) throws IOException {
+        int count = SaveFile.readVarInt(in);
+        if (count < 0 || count > (1 << 24)) {
+            throw new IOException("Error: Recording is corrupt.");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,354 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.rewind;
+
+import drtn.game.ai.SimState;
+import drtn.game.pricing.PriceTable;
+import drtn.game.replay.InputEvent;
+import drtn.game.save.GameSnapshot;
+
+/**
+ * The state of the game just after one input was made, as kept on a {@link Timeline}
+ *
+ * Frames are never changed once made. Players and tiles are held in {@link PersistentIntArray}s, and a frame made
+ * from another with an {@link Editor} shares every part of them that the edit didn't change, along with the market's
+ * prices if none of them changed. A frame therefore only costs as much memory as the input that led to it changed.
+ *
+ * Values are laid out and looked up in the same way as in a {@link GameSnapshot}.
+ */
+public final class GameFrame {
+
+    public static final int NO_OWNER = GameSnapshot.NO_OWNER;
+    public static final int NO_ROBOTICON = GameSnapshot.NO_ROBOTICON;
+
+    public static final int ORE = GameSnapshot.ORE;
+    public static final int ENERGY = GameSnapshot.ENERGY;
+    public static final int FOOD = GameSnapshot.FOOD;
+    public static final int ROBOTICON = GameSnapshot.ROBOTICON;
+
+    /**
+     * Numbers held for each player: money, ore, energy, food and roboticons
+     */
+    static final int PLAYER_FIELDS = 5;
+
+    /**
+     * Numbers held for each tile: owner, yields of ore, energy and food, roboticon ID and roboticon levels of ore,
+     * energy and food
+     */
+    static final int TILE_FIELDS = 8;
+
+    /**
+     * Numbers held for the market: stocks and buy prices of ore, energy, food and roboticons, then sell prices of the
+     * first three
+     */
+    static final int MARKET_FIELDS = 11;
+
+    private final int kind;
+    private final int actor;
+    private final int argument;
+
+    private final int phase;
+    private final int currentPlayer;
+    private final int turn;
+    private final int roboticonIDCounter;
+    private final boolean tileAcquired;
+
+    private final PersistentIntArray players;
+    private final PersistentIntArray tiles;
+    private final int[] market;
+
+    private GameFrame(int kind, int actor, int argument, int phase, int currentPlayer, int turn,
+                      int roboticonIDCounter, boolean tileAcquired, PersistentIntArray players,
+                      PersistentIntArray tiles, int[] market) {
+        this.kind = kind;
+        this.actor = actor;
+        this.argument = argument;
+        this.phase = phase;
+        this.currentPlayer = currentPlayer;
+        this.turn = turn;
+        this.roboticonIDCounter = roboticonIDCounter;
+        this.tileAcquired = tileAcquired;
+        this.players = players;
+        this.tiles = tiles;
+        this.market = market;
+    }
+
+    /**
+     * Makes a frame with nobody holding anything, no tiles claimed and nothing in the market, to edit into the first
+     * frame of a game
+     *
+     * @param players The number of players
+     * @param tiles The number of tiles
+     * @return GameFrame The frame
+     */
+    public static GameFrame empty(int players, int tiles) {
+        PersistentIntArray.Editor tileEditor = PersistentIntArray.filled(tiles * TILE_FIELDS, 0).edit();
+        for (int t = 0; t < tiles; t++) {
+            tileEditor.set(t * TILE_FIELDS, NO_OWNER);
+            tileEditor.set(t * TILE_FIELDS + 4, NO_ROBOTICON);
+        }
+
+        return new GameFrame(InputEvent.NO_ACTION, NO_OWNER, 0, 1, 0, 0, 0, false,
+                PersistentIntArray.filled(players * PLAYER_FIELDS, 0), tileEditor.done(), new int[MARKET_FIELDS]);
+    }
+
+    /**
+     * @return Editor An editor starting from this frame, which is left as it is
+     */
+    public Editor edit() {
+        return new Editor(this);
+    }
+
+    /**
+     * Builds a state for the headless game from the frame, so that the AI can look ahead from any point in the game
+     *
+     * @param prices The table to price the market's resources with
+     * @param roboticonPriceStep The amount by which the price of roboticons rises after each one is bought
+     * @param upgradeCostPerLevel The cost of upgrading a roboticon, per level that it already has
+     * @return SimState The state
+     */
+    public SimState toSimState(PriceTable prices, int roboticonPriceStep, int upgradeCostPerLevel) {
+        SimState state = new SimState(playerCount(), tileCount(), prices);
+
+        for (int p = 0; p < playerCount(); p++) {
+            state.setPlayer(p, getMoney(p), getResource(p, ORE), getResource(p, ENERGY), getResource(p, FOOD),
+                    getRoboticons(p));
+        }
+
+        for (int t = 0; t < tileCount(); t++) {
+            state.setTile(t, getOwner(t), getYield(t, ORE), getYield(t, ENERGY), getYield(t, FOOD));
+            if (getRoboticonID(t) != NO_ROBOTICON) {
+                state.setRoboticon(t, getLevel(t, ORE), getLevel(t, ENERGY), getLevel(t, FOOD));
+            }
+        }
+
+        for (int r = ORE; r <= FOOD; r++) {
+            state.setMarket(r, getStock(r), getBuyPrice(r), getSellPrice(r));
+        }
+        state.setRoboticonMarket(getStock(ROBOTICON), getBuyPrice(ROBOTICON));
+        state.setRules(roboticonPriceStep, upgradeCostPerLevel);
+        state.setPosition(phase, currentPlayer, turn);
+
+        return state;
+    }
+
+    /**
+     * @return int The kind of input that led to this frame, see {@link InputEvent}
+     */
+    public int kind() {
+        return kind;
+    }
+
+    /**
+     * @return int The ID of the player who made the input that led to this frame
+     */
+    public int actor() {
+        return actor;
+    }
+
+    public int argument() {
+        return argument;
+    }
+
+    public int phase() {
+        return phase;
+    }
+
+    public int currentPlayer() {
+        return currentPlayer;
+    }
+
+    public int turn() {
+        return turn;
+    }
+
+    public int roboticonIDCounter() {
+        return roboticonIDCounter;
+    }
+
+    public boolean isTileAcquired() {
+        return tileAcquired;
+    }
+
+    public int playerCount() {
+        return players.length() / PLAYER_FIELDS;
+    }
+
+    public int getMoney(int p) {
+        return players.get(p * PLAYER_FIELDS);
+    }
+
+    /**
+     * @param resource {@link #ORE}, {@link #ENERGY} or {@link #FOOD}
+     */
+    public int getResource(int p, int resource) {
+        return players.get(p * PLAYER_FIELDS + 1 + resource);
+    }
+
+    public int getRoboticons(int p) {
+        return players.get(p * PLAYER_FIELDS + 4);
+    }
+
+    public int tileCount() {
+        return tiles.length() / TILE_FIELDS;
+    }
+
+    public int getOwner(int t) {
+        return tiles.get(t * TILE_FIELDS);
+    }
+
+    public int getYield(int t, int resource) {
+        return tiles.get(t * TILE_FIELDS + 1 + resource);
+    }
+
+    /**
+     * @return int The ID of the roboticon on the tile, or {@link #NO_ROBOTICON} if there isn't one
+     */
+    public int getRoboticonID(int t) {
+        return tiles.get(t * TILE_FIELDS + 4);
+    }
+
+    public int getLevel(int t, int resource) {
+        return tiles.get(t * TILE_FIELDS + 5 + resource);
+    }
+
+    /**
+     * @param resource {@link #ORE}, {@link #ENERGY}, {@link #FOOD} or {@link #ROBOTICON}
+     */
+    public int getStock(int resource) {
+        return market[resource];
+    }
+
+    /**
+     * @param resource {@link #ORE}, {@link #ENERGY}, {@link #FOOD} or {@link #ROBOTICON}
+     */
+    public int getBuyPrice(int resource) {
+        return market[4 + resource];
+    }
+
+    /**
+     * @param resource {@link #ORE}, {@link #ENERGY} or {@link #FOOD}
+     */
+    public int getSellPrice(int resource) {
+        return market[8 + resource];
+    }
+
+    PersistentIntArray players() {
+        return players;
+    }
+
+    PersistentIntArray tiles() {
+        return tiles;
+    }
+
+    int[] market() {
+        return market;
+    }
+
+    /**
+     * Makes a new frame from an old one, copying only the parts of it that change
+     * Setting anything to the value it already has costs nothing
+     */
+    public static final class Editor {
+        private int phase;
+        private int currentPlayer;
+        private int turn;
+        private int roboticonIDCounter;
+        private boolean tileAcquired;
+
+        private final PersistentIntArray.Editor players;
+        private final PersistentIntArray.Editor tiles;
+        private int[] market;
+        private boolean marketCopied;
+        private boolean finished;
+
+        private Editor(GameFrame frame) {
+            phase = frame.phase;
+            currentPlayer = frame.currentPlayer;
+            turn = frame.turn;
+            roboticonIDCounter = frame.roboticonIDCounter;
+            tileAcquired = frame.tileAcquired;
+
+            players = frame.players.edit();
+            tiles = frame.tiles.edit();
+            market = frame.market;
+        }
+
+        public void setPosition(int phase, int currentPlayer, int turn, int roboticonIDCounter, boolean tileAcquired) {
+            this.phase = phase;
+            this.currentPlayer = currentPlayer;
+            this.turn = turn;
+            this.roboticonIDCounter = roboticonIDCounter;
+            this.tileAcquired = tileAcquired;
+        }
+
+        public void setPlayer(int p, int money, int ore, int energy, int food, int roboticons) {
+            players.set(p * PLAYER_FIELDS, money);
+            players.set(p * PLAYER_FIELDS + 1, ore);
+            players.set(p * PLAYER_FIELDS + 2, energy);
+            players.set(p * PLAYER_FIELDS + 3, food);
+            players.set(p * PLAYER_FIELDS + 4, roboticons);
+        }
+
+        public void setTile(int t, int owner, int ore, int energy, int food) {
+            tiles.set(t * TILE_FIELDS, owner);
+            tiles.set(t * TILE_FIELDS + 1, ore);
+            tiles.set(t * TILE_FIELDS + 2, energy);
+            tiles.set(t * TILE_FIELDS + 3, food);
+        }
+
+        /**
+         * @param id The roboticon's ID, or {@link #NO_ROBOTICON} to clear the tile along with its levels
+         */
+        public void setRoboticon(int t, int id, int oreLevel, int energyLevel, int foodLevel) {
+            tiles.set(t * TILE_FIELDS + 4, id);
+            tiles.set(t * TILE_FIELDS + 5, oreLevel);
+            tiles.set(t * TILE_FIELDS + 6, energyLevel);
+            tiles.set(t * TILE_FIELDS + 7, foodLevel);
+        }
+
+        /**
+         * @param resource {@link #ORE}, {@link #ENERGY}, {@link #FOOD} or {@link #ROBOTICON}
+         * @param sellPrice The price that the market pays; ignored for roboticons, which it doesn't buy
+         */
+        public void setMarket(int resource, int stock, int buyPrice, int sellPrice) {
+            setMarketField(resource, stock);
+            setMarketField(4 + resource, buyPrice);
+            if (resource != ROBOTICON) {
+                setMarketField(8 + resource, sellPrice);
+            }
+        }
+
+        private void setMarketField(int i, int value) {
+            if (finished) {
+                throw new IllegalStateException("Error: This editor has already finished.");
+            }
+            if (market[i] == value) {
+                return;
+            }
+            if (!marketCopied) {
+                market = market.clone();
+                marketCopied = true;
+            }
+            market[i] = value;
+        }
+
+        /**
+         * @param kind The kind of input that led to the new frame, see {@link InputEvent}
+         * @param actor The ID of the player who made it
+         * @param argument The input's argument
+         * @return GameFrame The new frame; the editor can't be used afterwards
+         */
+        public GameFrame done(int kind, int actor, int argument) {
+            finished = true;
+            return new GameFrame(kind, actor, argument, phase, currentPlayer, turn, roboticonIDCounter, tileAcquired,
+                    players.done(), tiles.done(), market);
+        }
+    }
+}
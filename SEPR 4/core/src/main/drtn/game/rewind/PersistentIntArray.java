@@ -0,0 +1,235 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.rewind;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A fixed-length array of ints which is never changed once built
+ *
+ * The values are kept in a tree of nodes with {@link #WIDTH} children each, with the values themselves in the leaves.
+ * Changing a value makes a new array which shares every node with the old one apart from those on the path down to
+ * the changed value, so keeping hundreds of slightly different versions of a large array costs little more than
+ * keeping one. Several values can be changed at once through an {@link Editor}, which copies each node at most once.
+ */
+public final class PersistentIntArray {
+
+    /**
+     * Number of children of each node, and number of values in each leaf
+     */
+    public static final int WIDTH = 32;
+
+    private static final int BITS = 5;
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * Rough size in bytes of one node, counting its array and object headers and assuming compressed references
+     */
+    public static final int NODE_BYTES = 16 + 16 + WIDTH * 4;
+
+    private final int length;
+
+    /**
+     * Number of bits by which an index is shifted to find the root's child holding it; 0 if the root is a leaf
+     */
+    private final int shift;
+
+    private final Node root;
+
+    private PersistentIntArray(int length, int shift, Node root) {
+        this.length = length;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    /**
+     * Makes an array of the given length with every value set to the same thing
+     * Every leaf is the same node, so this costs one node per level of the tree however long the array is
+     *
+     * @param length The length of the array
+     * @param value The value to fill it with
+     * @return PersistentIntArray The array
+     */
+    public static PersistentIntArray filled(int length, int value) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Error: Arrays can't have a negative length.");
+        }
+
+        Node node = new Node(null, null, new int[WIDTH]);
+        for (int i = 0; i < WIDTH; i++) {
+            node.values[i] = value;
+        }
+
+        int shift = 0;
+        while ((long) WIDTH << shift < length) {
+            Node parent = new Node(null, new Node[WIDTH], null);
+            for (int i = 0; i < WIDTH; i++) {
+                parent.children[i] = node;
+            }
+            node = parent;
+            shift += BITS;
+        }
+
+        return new PersistentIntArray(length, shift, node);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int get(int i) {
+        checkIndex(i);
+
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = node.children[(i >>> level) & MASK];
+        }
+        return node.values[i & MASK];
+    }
+
+    /**
+     * @return PersistentIntArray An array like this one but with one value changed, or this array if the value
+     * was already the same
+     */
+    public PersistentIntArray set(int i, int value) {
+        if (get(i) == value) {
+            return this;
+        }
+
+        Editor editor = edit();
+        editor.set(i, value);
+        return editor.done();
+    }
+
+    /**
+     * @return Editor An editor starting from this array, which is left as it is
+     */
+    public Editor edit() {
+        return new Editor(this);
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException("Error: Index " + i + " is outside an array of length " + length + ".");
+        }
+    }
+
+    /**
+     * Counts the distinct nodes held by a set of arrays, for working out how much memory they take up between them
+     *
+     * @param arrays The arrays
+     * @return int The number of distinct nodes
+     */
+    public static int countNodes(Iterable<PersistentIntArray> arrays) {
+        Map<Node, Boolean> seen = new IdentityHashMap<Node, Boolean>();
+        for (PersistentIntArray array : arrays) {
+            count(array.root, seen);
+        }
+        return seen.size();
+    }
+
+    private static void count(Node node, Map<Node, Boolean> seen) {
+        if (seen.put(node, Boolean.TRUE) != null || node.children == null) {
+            return;
+        }
+        //Children of a node that has already been counted have been counted too
+
+        for (Node child : node.children) {
+            count(child, seen);
+        }
+    }
+
+    /**
+     * A node of the tree; exactly one of its children and values is set
+     * Nodes belonging to a live {@link Editor} are marked with it, so that it can change them in place instead of
+     * copying them again
+     */
+    private static final class Node {
+        private final Object owner;
+        private final Node[] children;
+        private final int[] values;
+
+        private Node(Object owner, Node[] children, int[] values) {
+            this.owner = owner;
+            this.children = children;
+            this.values = values;
+        }
+
+        private Node copyFor(Object owner) {
+            return new Node(owner, (children == null) ? null : children.clone(),
+                    (values == null) ? null : values.clone());
+        }
+    }
+
+    /**
+     * Changes several values of an array at once, copying each node on the way to a changed value only the first
+     * time it's reached
+     * An editor is used by one thread and thrown away once {@link #done()} has been called
+     */
+    public static final class Editor {
+        private final int length;
+        private final int shift;
+        private Node root;
+        private Object owner = new Object();
+
+        private Editor(PersistentIntArray array) {
+            this.length = array.length;
+            this.shift = array.shift;
+            this.root = array.root;
+        }
+
+        public int get(int i) {
+            if (i < 0 || i >= length) {
+                throw new IndexOutOfBoundsException("Error: Index " + i + " is outside an array of length " + length
+                        + ".");
+            }
+
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = node.children[(i >>> level) & MASK];
+            }
+            return node.values[i & MASK];
+        }
+
+        /**
+         * Sets a value, leaving the array untouched if it's already the same
+         */
+        public void set(int i, int value) {
+            if (owner == null) {
+                throw new IllegalStateException("Error: This editor has already finished.");
+            }
+            if (get(i) == value) {
+                return;
+            }
+
+            root = owned(root);
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                int slot = (i >>> level) & MASK;
+                Node child = owned(node.children[slot]);
+                node.children[slot] = child;
+                node = child;
+            }
+            node.values[i & MASK] = value;
+        }
+
+        private Node owned(Node node) {
+            return (node.owner == owner) ? node : node.copyFor(owner);
+        }
+
+        /**
+         * @return PersistentIntArray The edited array; the editor can't be used afterwards
+         */
+        public PersistentIntArray done() {
+            owner = null;
+            return new PersistentIntArray(length, shift, root);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.rewind;
+
+import drtn.game.GameEngine;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.entity.Roboticon;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.exceptions.InvalidResourceTypeException;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps a {@link GameFrame} for each of the most recent inputs made during a game, oldest first
+ *
+ * Each frame is made by editing the one before it, so frames share everything that didn't change between them and
+ * the timeline as a whole costs little more than one full copy of the game. Undoing an input drops its frame, and the
+ * frame before it becomes the newest again. Once the timeline is full, the oldest frames are forgotten.
+ *
+ * Timelines aren't thread-safe, but the frames that they hand out can be read from any thread.
+ */
+public class Timeline {
+
+    /**
+     * Number of frames kept unless another capacity is given
+     */
+    public static final int DEFAULT_CAPACITY = 512;
+
+    /**
+     * Rough size in bytes of a frame's own fields and the two arrays that it points to
+     */
+    private static final int FRAME_BYTES = 96;
+
+    private final GameFrame[] frames;
+
+    /**
+     * Position in {@link #frames} of the oldest frame
+     */
+    private int first;
+    private int size;
+
+    public Timeline() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The most frames to keep
+     */
+    public Timeline(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Error: A timeline must be able to hold at least one frame.");
+        }
+        frames = new GameFrame[capacity];
+    }
+
+    /**
+     * Starts the next frame from the newest one, or from nothing if there isn't one of the right size
+     * The frame is added to the timeline by passing the editor's result to {@link #add(GameFrame)}
+     *
+     * @param players The number of players in the game
+     * @param tiles The number of tiles in the game
+     * @return GameFrame.Editor An editor for the next frame
+     */
+    public GameFrame.Editor next(int players, int tiles) {
+        GameFrame head = head();
+        if (head == null || head.playerCount() != players || head.tileCount() != tiles) {
+            head = GameFrame.empty(players, tiles);
+        }
+        return head.edit();
+    }
+
+    /**
+     * Adds a frame to the end of the timeline, forgetting the oldest one if the timeline is full
+     */
+    public void add(GameFrame frame) {
+        if (size == frames.length) {
+            frames[first] = null;
+            first = (first + 1) % frames.length;
+            size--;
+        }
+
+        frames[(first + size) % frames.length] = frame;
+        size++;
+    }
+
+    /**
+     * Adds a frame holding the game as it stands, just after an input was made
+     * This reads every player and tile, but only the parts of them that have changed since the last frame are copied
+     *
+     * @param engine The game engine
+     * @param kind The kind of input that was made, see {@link drtn.game.replay.InputEvent}
+     * @param argument The input's argument
+     * @return GameFrame The new frame
+     */
+    public GameFrame capture(GameEngine engine, int kind, int argument) {
+        Player[] players = engine.players();
+        Tile[] tiles = engine.tiles();
+        Market market = engine.market();
+
+        GameFrame.Editor editor = next(players.length, tiles.length);
+        editor.setPosition(engine.getPhase(), engine.currentPlayerID(), engine.getTurn(),
+                engine.roboticonIDCounter(), engine.isTileAcquired());
+
+        for (int p = 0; p < players.length; p++) {
+            editor.setPlayer(p, players[p].getResource(ResourceType.MONEY), players[p].getResource(ResourceType.ORE),
+                    players[p].getResource(ResourceType.ENERGY), players[p].getResource(ResourceType.FOOD),
+                    players[p].getRoboticonInventory());
+        }
+
+        for (int t = 0; t < tiles.length; t++) {
+            try {
+                editor.setTile(t, indexOf(players, tiles[t].getOwner()), tiles[t].getResource(ResourceType.ORE),
+                        tiles[t].getResource(ResourceType.ENERGY), tiles[t].getResource(ResourceType.FOOD));
+            } catch (InvalidResourceTypeException e) {
+                //Do nothing: tiles always hold all three of these resources
+            }
+
+            Roboticon roboticon = tiles[t].getRoboticonStored();
+            if (roboticon != null) {
+                int[] levels = roboticon.getLevel();
+                editor.setRoboticon(t, roboticon.getRoboticonID(), levels[0], levels[1], levels[2]);
+            } else {
+                editor.setRoboticon(t, GameFrame.NO_ROBOTICON, 0, 0, 0);
+            }
+        }
+
+        editor.setMarket(GameFrame.ORE, market.getOreStock(), market.getOreBuyPrice(), market.getOreSellPrice());
+        editor.setMarket(GameFrame.ENERGY, market.getEnergyStock(), market.getEnergyBuyPrice(),
+                market.getEnergySellPrice());
+        editor.setMarket(GameFrame.FOOD, market.getFoodStock(), market.getFoodBuyPrice(), market.getFoodSellPrice());
+        editor.setMarket(GameFrame.ROBOTICON, market.getRoboticonStock(), market.getRoboticonBuyPrice(), 0);
+
+        GameFrame frame = editor.done(kind, engine.currentPlayerID(), argument);
+        add(frame);
+        return frame;
+    }
+
+    private static int indexOf(Player[] players, Player player) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == player) {
+                return p;
+            }
+        }
+        return GameFrame.NO_OWNER;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i The frame's position, with 0 being the oldest frame kept
+     */
+    public GameFrame get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Error: Frame " + i + " is outside a timeline of " + size + ".");
+        }
+        return frames[(first + i) % frames.length];
+    }
+
+    /**
+     * @return GameFrame The newest frame, or null if there are none
+     */
+    public GameFrame head() {
+        return (size == 0) ? null : get(size - 1);
+    }
+
+    /**
+     * Drops the newest frame, so that the one before it becomes the newest
+     *
+     * @return GameFrame The frame that the game should go back to, or null if there's nothing to go back to, in which
+     * case nothing is dropped
+     */
+    public GameFrame undo() {
+        if (size < 2) {
+            return null;
+        }
+
+        frames[(first + size - 1) % frames.length] = null;
+        size--;
+        return head();
+    }
+
+    public void clear() {
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = null;
+        }
+        first = 0;
+        size = 0;
+    }
+
+    /**
+     * Works out roughly how much memory the frames take up between them, counting everything that they share once
+     *
+     * @return long The size in bytes
+     */
+    public long retainedBytes() {
+        List<PersistentIntArray> arrays = new ArrayList<PersistentIntArray>(size * 2);
+        Map<int[], Boolean> markets = new IdentityHashMap<int[], Boolean>();
+
+        for (int i = 0; i < size; i++) {
+            GameFrame frame = get(i);
+            arrays.add(frame.players());
+            arrays.add(frame.tiles());
+            markets.put(frame.market(), Boolean.TRUE);
+        }
+
+        return (long) PersistentIntArray.countNodes(arrays) * PersistentIntArray.NODE_BYTES
+                + (long) markets.size() * (16 + GameFrame.MARKET_FIELDS * 4) + (long) size * FRAME_BYTES;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.save;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes snapshots of the game to disk on a thread of its own, so that the render thread never waits on the disk
+ *
+ * The render thread takes a {@link GameSnapshot} and hands it to {@link #save(GameSnapshot)}, which returns at once.
+ * If the game moves on again before the last snapshot has been written, the older snapshot is dropped and only the
+ * newest is written, so a slow disk can never leave a queue of stale saves building up behind it.
+ */
+public class Autosaver {
+
+    private final File file;
+    private final ExecutorService writer;
+
+    /**
+     * The snapshot waiting to be written, if any
+     */
+    private final AtomicReference<GameSnapshot> pending = new AtomicReference<GameSnapshot>();
+
+    /**
+     * @param file The file to save to
+     */
+    public Autosaver(File file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Autosave");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public File file() {
+        return file;
+    }
+
+    /**
+     * Queues a snapshot to be written, replacing any snapshot that's still waiting
+     *
+     * @param snapshot The snapshot to write; it mustn't be changed afterwards
+     */
+    public void save(GameSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) != null || writer.isShutdown()) {
+            return;
+            //A write is already queued, and will pick up this snapshot in place of the old one
+        }
+
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                GameSnapshot next = pending.getAndSet(null);
+                if (next == null) {
+                    return;
+                }
+
+                try {
+                    SaveFile.write(next, file);
+                } catch (IOException e) {
+                    System.out.println("Error: Autosave failed. " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for every snapshot handed over so far to be written
+     *
+     * @param timeoutMillis The longest time to wait for
+     * @return boolean Whether everything was written in time
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        if (writer.isShutdown()) {
+            return writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        try {
+            writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    //Runs once everything queued before it has been written
+                }
+            }).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return false;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stops taking new snapshots; the last one handed over is still written
+     */
+    public void shutdown() {
+        writer.shutdown();
+    }
+}
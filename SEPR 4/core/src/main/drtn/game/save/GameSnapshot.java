@@ -0,0 +1,514 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.save;
+
+import drtn.game.GameConfig;
+import drtn.game.GameEngine;
+import drtn.game.Trade;
+import drtn.game.effects.EffectScheduler;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.entity.Roboticon;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.exceptions.InvalidResourceTypeException;
+
+import java.util.Arrays;
+
+/**
+ * A copy of everything needed to carry on a game from the boundary between two phases
+ *
+ * Snapshots hold nothing but numbers, so one can be taken on the render thread in a single pass over the game and
+ * then handed to another thread to be written out (see {@link Autosaver}) while the game carries on. A snapshot is
+ * filled in once, by {@link #capture(GameEngine)} or by {@link SaveFile#read(java.io.File)}, and is never changed
+ * after it has been handed on.
+ *
+ * Players are saved in seat order, and tiles in the order of their IDs. Pending trade offers are saved as rows of
+ * {@link #TRADE_FIELDS} numbers. Open auction lots aren't saved: the goods and money held in escrow for them are
+ * saved as their sellers' and bidders' own, as if every lot had been withdrawn. Random events in force on tiles are
+ * saved as rows of {@link #EFFECT_FIELDS} numbers along with the tiles that they changed, and events that are cooling
+ * down as rows of {@link #COOLDOWN_FIELDS}, both counting the ticks that they have left from the scheduler's tick.
+ */
+public final class GameSnapshot {
+
+    public static final int NO_OWNER = -1;
+    public static final int NO_ROBOTICON = -1;
+
+    public static final int ORE = 0;
+    public static final int ENERGY = 1;
+    public static final int FOOD = 2;
+    public static final int ROBOTICON = 3;
+
+    /**
+     * Numbers saved for each pending trade: sender, target, ore, energy, food, price, expiry turn and whether it's a
+     * counter-offer (1) or not (0)
+     */
+    public static final int TRADE_FIELDS = 8;
+
+    /**
+     * Numbers saved for each event in force on tiles: the event, the player that it hit, the ticks until it ends and
+     * the number of tiles that it changed
+     */
+    public static final int EFFECT_FIELDS = 4;
+
+    /**
+     * Numbers saved for each event that's cooling down: the event, the player and the ticks until it can hit them
+     */
+    public static final int COOLDOWN_FIELDS = 3;
+
+    private final double[] config;
+    private final String pricingModel;
+
+    private int phase;
+    private int currentPlayer;
+    private int turn;
+    private int roboticonIDCounter;
+    private boolean tileAcquired;
+
+    private final boolean[] ai;
+
+    /**
+     * Each player's money, ore, energy, food and roboticons, indexed as [player * 5 + field]
+     */
+    private final int[] holdings;
+
+    private final int[] owner;
+
+    /**
+     * Each tile's base yields of ore, energy and food (leaving out random events' changes), indexed as
+     * [tile * 3 + resource]
+     */
+    private final int[] yield;
+    private final int[] roboticonID;
+
+    /**
+     * Each tile's roboticon's levels of ore, energy and food, indexed as [tile * 3 + resource]
+     */
+    private final int[] level;
+
+    /**
+     * The market's stock and buy price of ore, energy, food and roboticons, and sell price of the first three
+     */
+    private final int[] stock = new int[4];
+    private final int[] buyPrice = new int[4];
+    private final int[] sellPrice = new int[3];
+
+    private int[] trades = new int[0];
+
+    private int effectTick;
+    private int[] effects = new int[0];
+
+    /**
+     * The tiles changed by each event in force, one event after another in the order of {@link #effects}
+     */
+    private int[] effectTiles = new int[0];
+    private int[] cooldowns = new int[0];
+
+    /**
+     * Constructs an empty snapshot, with nobody holding anything and no tiles claimed
+     *
+     * @param config The game's configuration, see {@link GameConfig}
+     * @param pricingModel The name of the market's pricing model
+     * @param players The number of players
+     * @param tiles The number of tiles
+     */
+    public GameSnapshot(double[] config, String pricingModel, int players, int tiles) {
+        this.config = config.clone();
+        this.pricingModel = pricingModel;
+
+        ai = new boolean[players];
+        holdings = new int[players * 5];
+
+        owner = new int[tiles];
+        yield = new int[tiles * 3];
+        roboticonID = new int[tiles];
+        level = new int[tiles * 3];
+        Arrays.fill(owner, NO_OWNER);
+        Arrays.fill(roboticonID, NO_ROBOTICON);
+    }
+
+    /**
+     * Copies the game as it stands
+     * This only reads the game, and is quick enough to be run on the render thread between frames
+     *
+     * @param engine The game engine
+     * @return GameSnapshot The copy
+     */
+    public static GameSnapshot capture(GameEngine engine) {
+        Player[] players = engine.players();
+        Tile[] tiles = engine.tiles();
+        Market market = engine.market();
+
+        GameSnapshot snapshot = new GameSnapshot(engine.config().toArray(), market.getPricingModel().getName(),
+                players.length, tiles.length);
+        snapshot.setPosition(engine.getPhase(), engine.currentPlayerID(), engine.getTurn(),
+                engine.roboticonIDCounter(), engine.isTileAcquired());
+
+        for (int p = 0; p < players.length; p++) {
+            snapshot.setPlayer(p, players[p].isAi(), holding(engine, players[p], ResourceType.MONEY),
+                    holding(engine, players[p], ResourceType.ORE), holding(engine, players[p], ResourceType.ENERGY),
+                    holding(engine, players[p], ResourceType.FOOD), players[p].getRoboticonInventory());
+        }
+        //Autosaves can be taken while auctions are open, and the lots themselves aren't saved, so give back whatever
+        //is held in escrow for them rather than losing it
+
+        for (int t = 0; t < tiles.length; t++) {
+            try {
+                snapshot.setTile(t, indexOf(players, tiles[t].getOwner()), tiles[t].getBaseResource(ResourceType.ORE),
+                        tiles[t].getBaseResource(ResourceType.ENERGY), tiles[t].getBaseResource(ResourceType.FOOD));
+            } catch (InvalidResourceTypeException e) {
+                //Do nothing: tiles always hold all three of these resources
+            }
+
+            Roboticon roboticon = tiles[t].getRoboticonStored();
+            if (roboticon != null) {
+                int[] levels = roboticon.getLevel();
+                snapshot.setRoboticon(t, roboticon.getRoboticonID(), levels[0], levels[1], levels[2]);
+            }
+        }
+
+        snapshot.setMarket(ORE, market.getOreStock(), market.getOreBuyPrice(), market.getOreSellPrice());
+        snapshot.setMarket(ENERGY, market.getEnergyStock(), market.getEnergyBuyPrice(), market.getEnergySellPrice());
+        snapshot.setMarket(FOOD, market.getFoodStock(), market.getFoodBuyPrice(), market.getFoodSellPrice());
+        snapshot.setMarket(ROBOTICON, market.getRoboticonStock(), market.getRoboticonBuyPrice(), 0);
+
+        for (Player respondent : players) {
+            for (Trade trade : engine.tradeBook().offersFor(respondent)) {
+                Player target = trade.isCounterOffer() ? trade.getProposer() : trade.getRespondent();
+                //Counter-offers are answered by their sender, but resources still move from the sender to the target
+
+                snapshot.addTrade(indexOf(players, trade.getSender()), indexOf(players, target), trade.oreAmount,
+                        trade.energyAmount, trade.foodAmount, trade.getPrice(), trade.getExpiryTurn(),
+                        trade.isCounterOffer());
+            }
+        }
+
+        if (engine.effectScheduler() != null) {
+            snapshot.captureEffects(engine.effectScheduler());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Copies the random events in force and cooling down
+     *
+     * @param scheduler The scheduler keeping track of them
+     */
+    public void captureEffects(EffectScheduler scheduler) {
+        setEffectTick((int) scheduler.now());
+        scheduler.visit(new EffectScheduler.Visitor() {
+            @Override
+            public void effect(int event, int player, long ticksLeft, int[] tiles) {
+                addEffect(event, player, (int) ticksLeft, tiles);
+            }
+
+            @Override
+            public void cooldown(int event, int player, long ticksLeft) {
+                addCooldown(event, player, (int) ticksLeft);
+            }
+        });
+    }
+
+    /**
+     * Puts the saved random events and cooldowns back into a scheduler, in place of any that it holds
+     * Each event is laid back on the tiles that it changed, as firing it again could pick out other tiles. Events
+     * and players that the game doesn't have, and tiles that aren't on its map, are passed over.
+     *
+     * @param scheduler The scheduler to restore
+     * @param players The number of players in the game
+     * @param tiles The number of tiles on the map
+     */
+    public void restoreEffects(EffectScheduler scheduler, int players, int tiles) {
+        int events = scheduler.getProgram().size();
+        scheduler.resume(effectTick);
+
+        for (int i = 0; i < effectCount(); i++) {
+            int event = getEffect(i, 0);
+            int p = getEffect(i, 1);
+            int[] changed = getEffectTiles(i);
+            if (event < 0 || event >= events || p < 0 || p >= players || !within(changed, tiles)) {
+                continue;
+            }
+
+            scheduler.restore(event, p, getEffect(i, 2), changed);
+        }
+
+        for (int i = 0; i < cooldownCount(); i++) {
+            int event = getCooldown(i, 0);
+            int p = getCooldown(i, 1);
+            if (event >= 0 && event < events && p >= 0 && p < players) {
+                scheduler.restoreCooldown(event, p, getCooldown(i, 2));
+            }
+        }
+    }
+
+    private static boolean within(int[] indices, int size) {
+        for (int i : indices) {
+            if (i < 0 || i >= size) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int holding(GameEngine engine, Player player, ResourceType resource) {
+        int held = player.getResource(resource);
+        if (engine.auctionHouse() != null) {
+            held += engine.auctionHouse().escrowed(player, resource);
+        }
+        return held;
+    }
+
+    private static int indexOf(Player[] players, Player player) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == player) {
+                return p;
+            }
+        }
+        return NO_OWNER;
+    }
+
+    public void setPosition(int phase, int currentPlayer, int turn, int roboticonIDCounter, boolean tileAcquired) {
+        this.phase = phase;
+        this.currentPlayer = currentPlayer;
+        this.turn = turn;
+        this.roboticonIDCounter = roboticonIDCounter;
+        this.tileAcquired = tileAcquired;
+    }
+
+    public void setPlayer(int p, boolean ai, int money, int ore, int energy, int food, int roboticons) {
+        this.ai[p] = ai;
+        holdings[p * 5] = money;
+        holdings[p * 5 + 1] = ore;
+        holdings[p * 5 + 2] = energy;
+        holdings[p * 5 + 3] = food;
+        holdings[p * 5 + 4] = roboticons;
+    }
+
+    public void setTile(int t, int owner, int ore, int energy, int food) {
+        this.owner[t] = owner;
+        yield[t * 3 + ORE] = ore;
+        yield[t * 3 + ENERGY] = energy;
+        yield[t * 3 + FOOD] = food;
+    }
+
+    public void setRoboticon(int t, int id, int oreLevel, int energyLevel, int foodLevel) {
+        roboticonID[t] = id;
+        level[t * 3 + ORE] = oreLevel;
+        level[t * 3 + ENERGY] = energyLevel;
+        level[t * 3 + FOOD] = foodLevel;
+    }
+
+    /**
+     * @param resource {@link #ORE}, {@link #ENERGY}, {@link #FOOD} or {@link #ROBOTICON}
+     * @param sellPrice The price that the market pays; ignored for roboticons, which it doesn't buy
+     */
+    public void setMarket(int resource, int stock, int buyPrice, int sellPrice) {
+        this.stock[resource] = stock;
+        this.buyPrice[resource] = buyPrice;
+        if (resource != ROBOTICON) {
+            this.sellPrice[resource] = sellPrice;
+        }
+    }
+
+    public void addTrade(int sender, int target, int ore, int energy, int food, int price, int expiryTurn,
+                         boolean counter) {
+        int n = trades.length;
+        trades = Arrays.copyOf(trades, n + TRADE_FIELDS);
+        trades[n] = sender;
+        trades[n + 1] = target;
+        trades[n + 2] = ore;
+        trades[n + 3] = energy;
+        trades[n + 4] = food;
+        trades[n + 5] = price;
+        trades[n + 6] = expiryTurn;
+        trades[n + 7] = counter ? 1 : 0;
+    }
+
+    public void setEffectTick(int effectTick) {
+        this.effectTick = effectTick;
+    }
+
+    public void addEffect(int event, int player, int ticksLeft, int[] tiles) {
+        int n = effects.length;
+        effects = Arrays.copyOf(effects, n + EFFECT_FIELDS);
+        effects[n] = event;
+        effects[n + 1] = player;
+        effects[n + 2] = ticksLeft;
+        effects[n + 3] = tiles.length;
+
+        int from = effectTiles.length;
+        effectTiles = Arrays.copyOf(effectTiles, from + tiles.length);
+        System.arraycopy(tiles, 0, effectTiles, from, tiles.length);
+    }
+
+    public void addCooldown(int event, int player, int ticksLeft) {
+        int n = cooldowns.length;
+        cooldowns = Arrays.copyOf(cooldowns, n + COOLDOWN_FIELDS);
+        cooldowns[n] = event;
+        cooldowns[n + 1] = player;
+        cooldowns[n + 2] = ticksLeft;
+    }
+
+    public GameConfig config() {
+        return new GameConfig(config);
+    }
+
+    public String pricingModel() {
+        return pricingModel;
+    }
+
+    public int phase() {
+        return phase;
+    }
+
+    public int currentPlayer() {
+        return currentPlayer;
+    }
+
+    public int turn() {
+        return turn;
+    }
+
+    public int roboticonIDCounter() {
+        return roboticonIDCounter;
+    }
+
+    public boolean isTileAcquired() {
+        return tileAcquired;
+    }
+
+    public int playerCount() {
+        return ai.length;
+    }
+
+    public boolean isAi(int p) {
+        return ai[p];
+    }
+
+    /**
+     * @return int The number of players who aren't played by the computer
+     */
+    public int humanCount() {
+        int humans = 0;
+        for (boolean isAi : ai) {
+            if (!isAi) {
+                humans++;
+            }
+        }
+        return humans;
+    }
+
+    public int getMoney(int p) {
+        return holdings[p * 5];
+    }
+
+    /**
+     * @param resource {@link #ORE}, {@link #ENERGY} or {@link #FOOD}
+     */
+    public int getResource(int p, int resource) {
+        return holdings[p * 5 + 1 + resource];
+    }
+
+    public int getRoboticons(int p) {
+        return holdings[p * 5 + 4];
+    }
+
+    public int tileCount() {
+        return owner.length;
+    }
+
+    public int getOwner(int t) {
+        return owner[t];
+    }
+
+    public int getYield(int t, int resource) {
+        return yield[t * 3 + resource];
+    }
+
+    /**
+     * @return int The ID of the roboticon on the tile, or {@link #NO_ROBOTICON} if there isn't one
+     */
+    public int getRoboticonID(int t) {
+        return roboticonID[t];
+    }
+
+    public int getLevel(int t, int resource) {
+        return level[t * 3 + resource];
+    }
+
+    public int getStock(int resource) {
+        return stock[resource];
+    }
+
+    public int getBuyPrice(int resource) {
+        return buyPrice[resource];
+    }
+
+    public int getSellPrice(int resource) {
+        return sellPrice[resource];
+    }
+
+    public int tradeCount() {
+        return trades.length / TRADE_FIELDS;
+    }
+
+    /**
+     * @param i The trade's index
+     * @param field The field's position in the trade's row, see {@link #TRADE_FIELDS}
+     */
+    public int getTrade(int i, int field) {
+        return trades[i * TRADE_FIELDS + field];
+    }
+
+    /**
+     * @return int The tick that the game's random events had reached, which the ticks left of each event and
+     * cooldown count on from
+     */
+    public int effectTick() {
+        return effectTick;
+    }
+
+    public int effectCount() {
+        return effects.length / EFFECT_FIELDS;
+    }
+
+    /**
+     * @param i The event's position in the list of events in force
+     * @param field The field's position in the event's row, see {@link #EFFECT_FIELDS}
+     */
+    public int getEffect(int i, int field) {
+        return effects[i * EFFECT_FIELDS + field];
+    }
+
+    /**
+     * @param i The event's position in the list of events in force
+     * @return int[] The tiles that the event changed, in the order that they were changed in
+     */
+    public int[] getEffectTiles(int i) {
+        int from = 0;
+        for (int j = 0; j < i; j++) {
+            from += getEffect(j, 3);
+        }
+        return Arrays.copyOfRange(effectTiles, from, from + getEffect(i, 3));
+    }
+
+    public int cooldownCount() {
+        return cooldowns.length / COOLDOWN_FIELDS;
+    }
+
+    /**
+     * @param i The cooldown's position in the list of events cooling down
+     * @param field The field's position in the cooldown's row, see {@link #COOLDOWN_FIELDS}
+     */
+    public int getCooldown(int i, int field) {
+        return cooldowns[i * COOLDOWN_FIELDS + field];
+    }
+}
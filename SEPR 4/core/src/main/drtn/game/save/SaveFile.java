@@ -0,0 +1,330 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.save;
+
+import java.io.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Reads and writes {@link GameSnapshot}s in a compact binary format
+ *
+ * A save file starts with the bytes "DRTN" and the version of the format that it was written in, followed by the
+ * snapshot and a CRC-32 checksum of everything before it. Whole numbers are written as zig-zag variable-length
+ * integers, so the small numbers that make up nearly all of a game take a single byte each, and a tile without an
+ * owner or a roboticon costs four bytes. Files are written under a temporary name and then renamed over the old
+ * save, so a game that's closed part-way through saving never leaves a broken save behind.
+ *
+ * Version 1 holds, in order: the game's configuration and pricing model; its phase, current player, turn, roboticon
+ * ID counter and whether a tile has been claimed this phase; each player's type and holdings; each tile's owner,
+ * yields and roboticon; the market's stocks and prices; and the pending trade offers. Version 2 adds, after those,
+ * the tick that the random events had reached, each event in force on tiles with the tiles that it changed, and each
+ * event that's cooling down; games loaded from version 1 files start with no events in force or cooling down. Files
+ * written in a newer version than this build knows about are refused rather than misread.
+ */
+public final class SaveFile {
+
+    /**
+     * Name of the system property that points at the directory to keep saves in
+     */
+    public static final String PROPERTY = "drtn.saves";
+
+    public static final String DEFAULT_DIRECTORY = "saves";
+    public static final String AUTOSAVE_NAME = "autosave.sav";
+
+    /**
+     * The bytes "DRTN", which start every save file
+     */
+    public static final int MAGIC = 0x4452544E;
+
+    public static final int VERSION = 2;
+
+    private SaveFile() {
+    }
+
+    /**
+     * @return File The file that the game is autosaved to, in the directory named by the {@link #PROPERTY} system
+     * property or {@link #DEFAULT_DIRECTORY} if it isn't set
+     */
+    public static File autosaveFile() {
+        return new File(System.getProperty(PROPERTY, DEFAULT_DIRECTORY), AUTOSAVE_NAME);
+    }
+
+    /**
+     * Writes a snapshot to a file, replacing any save already there
+     *
+     * @param snapshot The snapshot to save
+     * @param file The file to write
+     * @throws IOException If the file can't be written
+     */
+    public static void write(GameSnapshot snapshot, File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Error: Can't create save directory " + directory + ".");
+        }
+
+        File temp = new File(file.getPath() + ".tmp");
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(temp), 1 << 16);
+        try {
+            write(snapshot, out);
+        } finally {
+            out.close();
+        }
+
+        if (!temp.renameTo(file)) {
+            if (!file.delete() || !temp.renameTo(file)) {
+                throw new IOException("Error: Can't replace save " + file + ".");
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot to a stream, without closing it
+     */
+    public static void write(GameSnapshot snapshot, OutputStream stream) throws IOException {
+        CRC32 crc = new CRC32();
+        DataOutputStream out = new DataOutputStream(new CheckedOutputStream(stream, crc));
+
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+
+        double[] config = snapshot.config().toArray();
+        writeVarInt(out, config.length);
+        for (double value : config) {
+            out.writeDouble(value);
+        }
+        out.writeUTF(snapshot.pricingModel());
+
+        writeVarInt(out, snapshot.phase());
+        writeVarInt(out, snapshot.currentPlayer());
+        writeVarInt(out, snapshot.turn());
+        writeVarInt(out, snapshot.roboticonIDCounter());
+        out.writeBoolean(snapshot.isTileAcquired());
+
+        writeVarInt(out, snapshot.playerCount());
+        for (int p = 0; p < snapshot.playerCount(); p++) {
+            out.writeBoolean(snapshot.isAi(p));
+            writeVarInt(out, snapshot.getMoney(p));
+            writeVarInt(out, snapshot.getResource(p, GameSnapshot.ORE));
+            writeVarInt(out, snapshot.getResource(p, GameSnapshot.ENERGY));
+            writeVarInt(out, snapshot.getResource(p, GameSnapshot.FOOD));
+            writeVarInt(out, snapshot.getRoboticons(p));
+        }
+
+        writeVarInt(out, snapshot.tileCount());
+        for (int t = 0; t < snapshot.tileCount(); t++) {
+            writeVarInt(out, snapshot.getOwner(t));
+            for (int r = 0; r < 3; r++) {
+                writeVarInt(out, snapshot.getYield(t, r));
+            }
+
+            writeVarInt(out, snapshot.getRoboticonID(t));
+            if (snapshot.getRoboticonID(t) != GameSnapshot.NO_ROBOTICON) {
+                for (int r = 0; r < 3; r++) {
+                    writeVarInt(out, snapshot.getLevel(t, r));
+                }
+            }
+        }
+
+        for (int r = GameSnapshot.ORE; r <= GameSnapshot.ROBOTICON; r++) {
+            writeVarInt(out, snapshot.getStock(r));
+            writeVarInt(out, snapshot.getBuyPrice(r));
+            if (r != GameSnapshot.ROBOTICON) {
+                writeVarInt(out, snapshot.getSellPrice(r));
+            }
+        }
+
+        writeVarInt(out, snapshot.tradeCount());
+        for (int i = 0; i < snapshot.tradeCount(); i++) {
+            for (int f = 0; f < GameSnapshot.TRADE_FIELDS; f++) {
+                writeVarInt(out, snapshot.getTrade(i, f));
+            }
+        }
+
+        writeVarInt(out, snapshot.effectTick());
+        writeVarInt(out, snapshot.effectCount());
+        for (int i = 0; i < snapshot.effectCount(); i++) {
+            for (int f = 0; f < GameSnapshot.EFFECT_FIELDS; f++) {
+                writeVarInt(out, snapshot.getEffect(i, f));
+            }
+            for (int t : snapshot.getEffectTiles(i)) {
+                writeVarInt(out, t);
+            }
+        }
+
+        writeVarInt(out, snapshot.cooldownCount());
+        for (int i = 0; i < snapshot.cooldownCount(); i++) {
+            for (int f = 0; f < GameSnapshot.COOLDOWN_FIELDS; f++) {
+                writeVarInt(out, snapshot.getCooldown(i, f));
+            }
+        }
+
+        out.flush();
+        new DataOutputStream(stream).writeInt((int) crc.getValue());
+        stream.flush();
+    }
+
+    /**
+     * Reads a snapshot from a file
+     *
+     * @param file The file to read
+     * @return GameSnapshot The snapshot
+     * @throws IOException If the file can't be read, is corrupt or was written by a newer version of the game
+     */
+    public static GameSnapshot read(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), 1 << 16);
+        try {
+            return read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Reads a snapshot from a stream, without closing it
+     */
+    public static GameSnapshot read(InputStream stream) throws IOException {
+        CRC32 crc = new CRC32();
+        DataInputStream in = new DataInputStream(new CheckedInputStream(stream, crc));
+
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Error: Not a save file.");
+            }
+
+            int version = readVarInt(in);
+            if (version > VERSION) {
+                throw new IOException("Error: Save file was written by a newer version of the game (version "
+                        + version + ").");
+            }
+
+            double[] config = new double[readCount(in)];
+            for (int i = 0; i < config.length; i++) {
+                config[i] = in.readDouble();
+            }
+            String pricingModel = in.readUTF();
+
+            int phase = readVarInt(in);
+            int currentPlayer = readVarInt(in);
+            int turn = readVarInt(in);
+            int roboticonIDCounter = readVarInt(in);
+            boolean tileAcquired = in.readBoolean();
+
+            int players = readCount(in);
+            boolean[] ai = new boolean[players];
+            int[] holdings = new int[players * 5];
+            for (int p = 0; p < players; p++) {
+                ai[p] = in.readBoolean();
+                for (int f = 0; f < 5; f++) {
+                    holdings[p * 5 + f] = readVarInt(in);
+                }
+            }
+
+            GameSnapshot snapshot = new GameSnapshot(config, pricingModel, players, readCount(in));
+            snapshot.setPosition(phase, currentPlayer, turn, roboticonIDCounter, tileAcquired);
+            for (int p = 0; p < players; p++) {
+                snapshot.setPlayer(p, ai[p], holdings[p * 5], holdings[p * 5 + 1], holdings[p * 5 + 2],
+                        holdings[p * 5 + 3], holdings[p * 5 + 4]);
+            }
+
+            for (int t = 0; t < snapshot.tileCount(); t++) {
+                snapshot.setTile(t, readVarInt(in), readVarInt(in), readVarInt(in), readVarInt(in));
+
+                int roboticon = readVarInt(in);
+                if (roboticon != GameSnapshot.NO_ROBOTICON) {
+                    snapshot.setRoboticon(t, roboticon, readVarInt(in), readVarInt(in), readVarInt(in));
+                }
+            }
+
+            for (int r = GameSnapshot.ORE; r <= GameSnapshot.ROBOTICON; r++) {
+                int stock = readVarInt(in);
+                int buyPrice = readVarInt(in);
+                int sellPrice = (r != GameSnapshot.ROBOTICON) ? readVarInt(in) : 0;
+                snapshot.setMarket(r, stock, buyPrice, sellPrice);
+            }
+
+            int trades = readCount(in);
+            int[] row = new int[GameSnapshot.TRADE_FIELDS];
+            for (int i = 0; i < trades; i++) {
+                for (int f = 0; f < row.length; f++) {
+                    row[f] = readVarInt(in);
+                }
+                snapshot.addTrade(row[0], row[1], row[2], row[3], row[4], row[5], row[6], row[7] != 0);
+            }
+
+            if (version >= 2) {
+                snapshot.setEffectTick(readVarInt(in));
+                int effects = readCount(in);
+                for (int i = 0; i < effects; i++) {
+                    int event = readVarInt(in);
+                    int player = readVarInt(in);
+                    int ticksLeft = readVarInt(in);
+                    int[] tiles = new int[readCount(in)];
+                    for (int t = 0; t < tiles.length; t++) {
+                        tiles[t] = readVarInt(in);
+                    }
+                    snapshot.addEffect(event, player, ticksLeft, tiles);
+                }
+
+                int cooldowns = readCount(in);
+                for (int i = 0; i < cooldowns; i++) {
+                    snapshot.addCooldown(readVarInt(in), readVarInt(in), readVarInt(in));
+                }
+            }
+
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(stream).readInt() != expected) {
+                throw new IOException("Error: Save file is corrupt.");
+            }
+
+            return snapshot;
+        } catch (EOFException e) {
+            throw new IOException("Error: Save file is incomplete.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Error: Save file is corrupt.", e);
+        }
+    }
+
+    /**
+     * Writes a whole number in as few bytes as its size allows, seven bits to a byte, with small negative numbers
+     * kept small by zig-zag encoding
+     */
+    public static void writeVarInt(DataOutput out, int value) throws IOException {
+        int bits = (value << 1) ^ (value >> 31);
+        while ((bits & ~0x7F) != 0) {
+            out.writeByte((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        out.writeByte(bits);
+    }
+
+    public static int readVarInt(DataInput in) throws IOException {
+        int bits = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            bits |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (bits >>> 1) ^ -(bits & 1);
+            }
+        }
+        throw new IOException("Error: Save file is corrupt.");
+    }
+
+    /**
+     * Reads the size of a list, refusing sizes which no real game could have
+     */
+    private static int readCount(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > (1 << 24)) {
+            throw new IOException("Error: Save file is corrupt.");
+        }
+        return count;
+    }
+}
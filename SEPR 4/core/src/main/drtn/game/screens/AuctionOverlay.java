@@ -0,0 +1,279 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
+import drtn.game.auction.AuctionFormat;
+import drtn.game.auction.Lot;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import drtn.game.util.Overlay;
+import drtn.game.util.TTFont;
+
+/**
+ * Overlay through which human players can bid on the lots open during phase 5 and list lots of their own
+ */
+public class AuctionOverlay extends Overlay {
+
+    /**
+     * Number of lots that can be shown on the overlay at once
+     */
+    private static final int VISIBLE_LOTS = 6;
+
+    /**
+     * Extra amount offered by the larger of each lot's two bid buttons
+     */
+    private static final int RAISED_BID = 10;
+
+    private static TTFont headerFontRegular;
+    private static TTFont smallFontRegular;
+    private static TTFont smallFontLight;
+
+    static {
+        headerFontRegular = new TTFont(Gdx.files.internal("font/MontserratRegular.ttf"), 24);
+        smallFontRegular = new TTFont(Gdx.files.internal("font/MontserratRegular.ttf"), 16);
+        smallFontLight = new TTFont(Gdx.files.internal("font/MontserratLight.ttf"), 16);
+    }
+
+    /**
+     * Function through which the overlay places bids on behalf of the current player
+     */
+    public interface BidFunction {
+        void bid(Lot lot, int amount);
+    }
+
+    /**
+     * Function through which the overlay lists lots on behalf of the current player
+     */
+    public interface ListFunction {
+        void list(AuctionFormat format, ResourceType resource, int quantity, int reserve);
+    }
+
+    private static final ResourceType[] LISTABLE = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD};
+
+    private TextButton.TextButtonStyle buttonStyle;
+
+    private Table lotTable;
+    private Label statusLabel;
+
+    private TextButton resourceButton;
+    private TextButton formatButton;
+    private Label quantityLabel;
+    private Label reserveLabel;
+    private TextButton listButton;
+    private TextButton closeButton;
+
+    private BidFunction bidFunction;
+    private ListFunction listFunction;
+
+    private int resourceIndex;
+    private AuctionFormat format;
+    private int quantity;
+    private int reserve;
+
+    public AuctionOverlay() {
+        super(Color.GRAY, Color.WHITE, 700, 420, 3);
+
+        buttonStyle = new TextButton.TextButtonStyle();
+        buttonStyle.font = smallFontRegular.font();
+        buttonStyle.fontColor = Color.WHITE;
+        buttonStyle.pressedOffsetX = 1;
+        buttonStyle.pressedOffsetY = -1;
+
+        format = AuctionFormat.ENGLISH;
+        quantity = 1;
+        reserve = 10;
+
+        lotTable = new Table();
+        statusLabel = new Label("", new Label.LabelStyle(smallFontLight.font(), Color.WHITE));
+
+        resourceButton = new TextButton("", buttonStyle);
+        resourceButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                resourceIndex = (resourceIndex + 1) % LISTABLE.length;
+                refreshListingLabels();
+            }
+        });
+
+        formatButton = new TextButton("", buttonStyle);
+        formatButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                format = format == AuctionFormat.ENGLISH ? AuctionFormat.SEALED_BID : AuctionFormat.ENGLISH;
+                refreshListingLabels();
+            }
+        });
+
+        quantityLabel = new Label("", new Label.LabelStyle(smallFontLight.font(), Color.WHITE));
+        reserveLabel = new Label("", new Label.LabelStyle(smallFontLight.font(), Color.WHITE));
+
+        listButton = new TextButton("LIST LOT", buttonStyle);
+        listButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (listFunction != null) {
+                    listFunction.list(format, LISTABLE[resourceIndex], quantity, reserve);
+                }
+            }
+        });
+
+        closeButton = new TextButton("CLOSE", buttonStyle);
+
+        Table listingTable = new Table();
+        listingTable.add(resourceButton).width(80);
+        listingTable.add(stepButton("-", true, -1)).padLeft(10);
+        listingTable.add(quantityLabel).width(50);
+        listingTable.add(stepButton("+", true, 1));
+        listingTable.add(stepButton("-10", false, -10)).padLeft(10);
+        listingTable.add(reserveLabel).width(90);
+        listingTable.add(stepButton("+10", false, 10));
+        listingTable.add(formatButton).width(110).padLeft(10);
+        listingTable.add(listButton).padLeft(10);
+
+        table().add(new Label("RESOURCE AUCTION", new Label.LabelStyle(headerFontRegular.font(), Color.WHITE))).padBottom(15);
+        table().row();
+        table().add(lotTable).height(200).top();
+        table().row();
+        table().add(statusLabel).padTop(10);
+        table().row();
+        table().add(listingTable).padTop(10);
+        table().row();
+        table().add(closeButton).padTop(15);
+
+        refreshListingLabels();
+    }
+
+    /**
+     * Creates a button that alters the quantity or reserve of the lot being prepared for listing
+     */
+    private TextButton stepButton(String text, final boolean quantityStep, final int step) {
+        TextButton button = new TextButton(text, buttonStyle);
+        button.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (quantityStep) {
+                    quantity = Math.max(1, quantity + step);
+                } else {
+                    reserve = Math.max(1, reserve + step);
+                }
+                refreshListingLabels();
+            }
+        });
+
+        return button;
+    }
+
+    private void refreshListingLabels() {
+        resourceButton.setText(name(LISTABLE[resourceIndex]));
+        formatButton.setText(format == AuctionFormat.ENGLISH ? "ENGLISH" : "SEALED BID");
+        quantityLabel.setText(String.valueOf(quantity));
+        quantityLabel.setAlignment(Align.center);
+        reserveLabel.setText("Reserve " + reserve);
+        reserveLabel.setAlignment(Align.center);
+    }
+
+    /**
+     * Rebuilds the list of open lots as seen by the given player
+     *
+     * @param lots The lots that are currently open
+     * @param viewer The player looking at the overlay
+     */
+    public void showLots(Array<Lot> lots, Player viewer) {
+        lotTable.clearChildren();
+
+        if (lots.size == 0) {
+            lotTable.add(new Label("No lots have been listed yet.", new Label.LabelStyle(smallFontLight.font(), Color.WHITE)));
+            return;
+        }
+
+        for (int i = 0; i < lots.size && i < VISIBLE_LOTS; i++) {
+            final Lot lot = lots.get(i);
+
+            lotTable.add(new Label(lot.getSeller().getCollege().getName() + ": " + lot.getQuantity() + " "
+                    + name(lot.getResource()), new Label.LabelStyle(smallFontRegular.font(), Color.WHITE))).left().width(230);
+            lotTable.add(new Label(describeBids(lot, viewer), new Label.LabelStyle(smallFontLight.font(), Color.WHITE))).left().width(250);
+
+            if (lot.getSeller() == viewer) {
+                lotTable.add(new Label("Your lot", new Label.LabelStyle(smallFontLight.font(), Color.WHITE))).colspan(2);
+            } else {
+                final int minimum = lot.minimumBid(viewer);
+                lotTable.add(bidButton(lot, minimum)).padRight(10);
+                lotTable.add(bidButton(lot, minimum + RAISED_BID));
+            }
+            lotTable.row();
+        }
+
+        if (lots.size > VISIBLE_LOTS) {
+            lotTable.add(new Label("...and " + (lots.size - VISIBLE_LOTS) + " more", new Label.LabelStyle(smallFontLight.font(), Color.WHITE))).colspan(4);
+        }
+    }
+
+    private TextButton bidButton(final Lot lot, final int amount) {
+        TextButton button = new TextButton("BID " + amount, buttonStyle);
+        button.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                if (bidFunction != null) {
+                    bidFunction.bid(lot, amount);
+                }
+            }
+        });
+
+        return button;
+    }
+
+    private String describeBids(Lot lot, Player viewer) {
+        if (lot.getFormat() == AuctionFormat.SEALED_BID) {
+            int own = lot.bidOf(viewer);
+            return "Sealed, reserve " + lot.getReserve() + (own > 0 ? " (you bid " + own + ")" : "");
+        }
+
+        if (lot.getLeader() == null) {
+            return "English, reserve " + lot.getReserve();
+        }
+
+        return "English, leading " + lot.getLeadingBid() + (lot.getLeader() == viewer ? " (you)" : "");
+    }
+
+    private String name(ResourceType resource) {
+        switch (resource) {
+            case ORE:
+                return "Ore";
+            case ENERGY:
+                return "Energy";
+            default:
+                return "Food";
+        }
+    }
+
+    public void setStatus(String text) {
+        statusLabel.setText(text);
+    }
+
+    public void setBidFunction(BidFunction bidFunction) {
+        this.bidFunction = bidFunction;
+    }
+
+    public void setListFunction(ListFunction listFunction) {
+        this.listFunction = listFunction;
+    }
+
+    public void setCloseButtonFunction(ChangeListener event) {
+        closeButton.addListener(event);
+    }
+}
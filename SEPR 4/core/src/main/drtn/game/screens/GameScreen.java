@@ -19,6 +19,7 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
@@ -28,12 +29,19 @@ import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import drtn.game.GameEngine;
 import drtn.game.Trade;
+import drtn.game.auction.AuctionFormat;
+import drtn.game.auction.Lot;
+import drtn.game.barter.BarterCycle;
+import drtn.game.barter.BarterTransfer;
 import drtn.game.entity.Tile;
 import drtn.game.enums.ResourceType;
+import drtn.game.replay.InputEvent;
 import drtn.game.screens.tables.MarketInterfaceTable;
 import drtn.game.screens.tables.PhaseInfoTable;
 import drtn.game.screens.tables.PlayerInfoTable;
 import drtn.game.screens.tables.SelectedTileInfoTable;
+import drtn.game.screens.tables.StandingsTable;
+import drtn.game.screens.tables.TimelineTable;
 import drtn.game.util.Drawer;
 import drtn.game.util.Overlay;
 import drtn.game.util.TTFont;
@@ -80,10 +88,17 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
     public SelectedTileInfoTable selectedTileInfoTable;
     public MarketInterfaceTable marketInterfaceTable;
 
+    /**
+     * System property which, when set to true, shows debugging aids such as the {@link TimelineTable}
+     */
+    public static final String DEBUG_PROPERTY = "drtn.debug";
+
     public UpgradeOverlay upgradeOverlay;
 
     private TradeOverlay tradeOverlay;
 
+    private AuctionOverlay auctionOverlay;
+
     private boolean shown = false;
     private IAnimation lastTileClickedFlash;
     private IAnimation playerWin;
@@ -138,6 +153,7 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
 
     private boolean upgradeOverlayVisible;
     private boolean tradeOverlayVisible;
+    private boolean auctionOverlayVisible;
     private Batch batch;
     private int height;
     private int width;
@@ -206,11 +222,18 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
 
         constructEventMessageOverlay();
 
+        constructAuctionOverlay();
+
         //drawer.debug(gameStage);
         //Call this to draw temporary debug lines around all of the actors on the stage
 
         constructMarketInterface();
 
+        if (Boolean.getBoolean(DEBUG_PROPERTY)) {
+            constructTimeline();
+        }
+        //Lay the timeline scrubber over the bottom of the map when debugging
+
         System.out.println("GameScreen.show");
         engine.nextPhase();
     }
@@ -252,7 +275,7 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
             renderAnimation(delta, IAnimation.AnimationType.Tile);
 
             // Draw
-            if (!upgradeOverlayVisible && !eventMessageOverlayVisible && !tradeOverlayVisible) {
+            if (!upgradeOverlayVisible && !eventMessageOverlayVisible && !tradeOverlayVisible && !auctionOverlayVisible) {
                 for (Tile tile : engine.tiles()) {
                     tile.drawTooltip();
                     //If any of the tiles' tooltips are deemed "active", render them to the screen too
@@ -272,6 +295,12 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
                     inputProcessor = eventMessageOverlay;
                 }
 
+                if (auctionOverlayVisible) {
+                    auctionOverlay.act(delta);
+                    auctionOverlay.draw();
+                    inputProcessor = auctionOverlay;
+                }
+
                 if (tradeOverlayVisible) {
                     tradeOverlay.act(delta);
                     tradeOverlay.draw();
@@ -319,6 +348,12 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
      */
     @Override
     public void dispose() {
+        engine.stopAiBidding();
+        engine.stopAiTurns();
+        engine.stopForecasts();
+        engine.stopAutosaves();
+        engine.saveRecording();
+
         gameStage.dispose();
         //Dispose of the stage
     }
@@ -367,7 +402,9 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
         endTurnButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                engine.nextPhase();
+                if (!engine.isAiThinking()) {
+                    engine.nextPhase();
+                }
             }
         });
         drawer.toggleButton(endTurnButton, false, Color.GRAY);
@@ -444,12 +481,20 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
         //Window-dressing: adds "CURRENT PLAYER" label
 
         playerInfoTable = new PlayerInfoTable();
+        playerInfoTable.followForecasts(engine.forecaster());
         playerInfoTable.showPlayerInfo(engine.currentPlayer());
         tableLeft.row();
         tableLeft.add(playerInfoTable).padTop(5);
 
         tableLeft.row();
-        tableLeft.add(pauseButton).padTop(98).colspan(2);
+        tableLeft.add(new Label("STANDINGS", new Label.LabelStyle(headerFontRegular.font(), Color.WHITE))).padTop(15)
+                .colspan(2);
+        tableLeft.row();
+        tableLeft.add(new StandingsTable(engine)).padTop(5).colspan(2);
+        //Show every player's place in the game, which follows their scores as they change
+
+        tableLeft.row();
+        tableLeft.add(pauseButton).padTop(20).colspan(2);
         //Prepare and add the pause button to the bottom of the table
 
         gameStage.addActor(tableLeft);
@@ -540,6 +585,15 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
         gameStage.addActor(tileGrid);
     }
 
+    /**
+     * Set up the debugging timeline, which steps through the game's earlier states without changing the game
+     */
+    private void constructTimeline() {
+        TimelineTable timelineTable = new TimelineTable(engine);
+        timelineTable.setBounds((Gdx.graphics.getWidth() / 2) - (map.getWidth() / 2), 0, map.getWidth(), 90);
+        gameStage.addActor(timelineTable);
+    }
+
     /**
      * Set up the pause menu to allow for the game to be successfully paused
      */
@@ -645,13 +699,19 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
         offeredResources += trade.energyAmount + " Energy\n";
         offeredResources += trade.foodAmount + " Food";
 
-        tradeOverlay.setOffer(trade.getSender().getCollege().getName() + " College", offeredResources, trade.getPrice() + " Money");
+        if (trade.isCounterOffer() && trade.getRespondent() == trade.getSender()) {
+            tradeOverlay.setCounterOffer(trade.getProposer().getCollege().getName() + " College", offeredResources, trade.getPrice() + " Money");
+        } else {
+            tradeOverlay.setOffer(trade.getProposer().getCollege().getName() + " College", offeredResources, trade.getPrice() + " Money");
+        }
 
         tradeOverlay.setAcceptButtonFunction(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 closeTradeOverlay();
-                if (currentTrade.execute()){
+                boolean executed = currentTrade.execute();
+                engine.reportTradeOutcome(currentTrade, executed);
+                if (executed){
                     playerInfoTable.showPlayerInventory(engine.currentPlayer());
                     engine.testTrade();
 
@@ -674,6 +734,7 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 closeTradeOverlay();
+                engine.reportTradeOutcome(currentTrade, false);
                 engine.testTrade();
             }
         });
@@ -681,6 +742,84 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
     	tradeOverlayVisible = false;
     }
 
+    /**
+     * Set up the overlay through which lots can be listed and bid on during phase 5
+     */
+    private void constructAuctionOverlay() {
+        auctionOverlay = new AuctionOverlay();
+
+        auctionOverlay.setBidFunction(new AuctionOverlay.BidFunction() {
+            @Override
+            public void bid(Lot lot, int amount) {
+                if (engine.placeBid(lot.getId(), amount)) {
+                    auctionOverlay.setStatus("Bid of " + amount + " placed.");
+                } else {
+                    auctionOverlay.setStatus("That bid could not be placed.");
+                }
+                refreshAuctionOverlay();
+            }
+        });
+
+        auctionOverlay.setListFunction(new AuctionOverlay.ListFunction() {
+            @Override
+            public void list(AuctionFormat format, ResourceType resource, int quantity, int reserve) {
+                if (engine.listLot(engine.currentPlayer(), format, resource, quantity, reserve) != null) {
+                    auctionOverlay.setStatus("Lot listed.");
+                } else {
+                    auctionOverlay.setStatus("You don't have enough to list that lot.");
+                }
+                refreshAuctionOverlay();
+            }
+        });
+
+        auctionOverlay.setCloseButtonFunction(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                closeAuctionOverlay();
+            }
+        });
+
+        auctionOverlayVisible = false;
+    }
+
+    /**
+     * Opens the auction overlay, showing the lots that are currently open
+     */
+    public void openAuctionOverlay() {
+        auctionOverlay.setStatus("");
+        refreshAuctionOverlay();
+        auctionOverlayVisible = true;
+    }
+
+    public void closeAuctionOverlay() {
+        auctionOverlayVisible = false;
+    }
+
+    /**
+     * Shows whether an AI player is working out its move, shutting the map and the market off from clicks while it
+     * does so that nobody can act on the AI's behalf (the pause button carries on working)
+     *
+     * @param thinking True if an AI player is working out its move
+     */
+    public void setAiThinking(boolean thinking) {
+        phaseInfoTable.setAiThinking(thinking);
+
+        tileGrid.setTouchable(thinking ? Touchable.disabled : Touchable.childrenOnly);
+        tableRight.setTouchable(thinking ? Touchable.disabled : Touchable.childrenOnly);
+    }
+
+    /**
+     * Brings the auction overlay (and the current player's inventory) up to date with the state of the auctions
+     */
+    public void refreshAuctionOverlay() {
+        if (auctionOverlay == null) {
+            return;
+        }
+
+        auctionOverlay.showLots(engine.auctionHouse().openLots(), engine.currentPlayer());
+        playerInfoTable.showPlayerInventory(engine.currentPlayer());
+    }
+
     private void constructMarketInterface() {
         engine.setMarketButtonFunctions();
         engine.setAuctionButtonFunctions();
@@ -782,6 +921,7 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
             //Has chancellor been captured?
             if (engine.selectedTile() == engine.chancellor().getTile()) {
                 engine.chancellor().captured();
+                engine.recordInput(InputEvent.CATCH_CHANCELLOR, engine.chancellor().getReward());
                 playerInfoTable.updateResource(engine.currentPlayer(), ResourceType.MONEY);
             }
             //Deselect latest tile
@@ -827,6 +967,42 @@ public class GameScreen extends AbstractAnimationScreen implements Screen {
 		
 	}
 
+    /**
+     * Shows a barter proposal to the current player, who can accept or reject their part in it
+     *
+     * @param cycle The proposal
+     */
+    public void activeBarter(final BarterCycle cycle) {
+        tradeOverlay = new TradeOverlay();
+
+        BarterTransfer given = cycle.given(engine.currentPlayer());
+        BarterTransfer received = cycle.received(engine.currentPlayer());
+        tradeOverlay.setBarter(cycle.getTransfers().size,
+                received.quantity + " " + received.resource.toString().toLowerCase(),
+                given.quantity + " " + given.resource.toString().toLowerCase());
+
+        tradeOverlay.setAcceptButtonFunction(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                tradeOverlayVisible = false;
+                engine.respondToBarter(cycle, true);
+                playerInfoTable.showPlayerInventory(engine.currentPlayer());
+                engine.testTrade();
+            }
+        });
+
+        tradeOverlay.setRejectButtonFunction(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                tradeOverlayVisible = false;
+                engine.respondToBarter(cycle, false);
+                engine.testTrade();
+            }
+        });
+
+        openTradeOverlay();
+    }
+
 	public void activeTrade(Trade trade) {
 		constructTradeOverlay(trade);
 		currentTrade = trade;
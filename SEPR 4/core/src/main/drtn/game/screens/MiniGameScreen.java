@@ -24,6 +24,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import drtn.game.GameEngine;
 import drtn.game.entity.Player;
 import drtn.game.enums.ResourceType;
+import drtn.game.replay.InputEvent;
 import drtn.game.util.TTFont;
 import teamfractal.util.screens.AbstractAnimationScreen;
 import drtn.game.GameEngine;
@@ -69,7 +70,7 @@ public class MiniGameScreen extends AbstractAnimationScreen implements Screen {
         smallFontRegular = new TTFont(Gdx.files.internal("font/MontserratRegular.ttf"), 16);
     }
 
-    private Random rnd = new Random();
+    private final Random rnd;
     private boolean clicked = false;
     private ImageButton button1;
     private ImageButton button2;
@@ -81,6 +82,17 @@ public class MiniGameScreen extends AbstractAnimationScreen implements Screen {
 
     private static TTFont smallFontRegular;
 
+    public MiniGameScreen() {
+        this(new Random());
+    }
+
+    /**
+     * @param rnd Deals the cards, such as the game's seeded generator
+     */
+    public MiniGameScreen(Random rnd) {
+        this.rnd = rnd;
+    }
+
     /**
      * Method show() implements interface's method. Creates GUI for minigame and adds functions to it.
      */
@@ -140,6 +152,7 @@ public class MiniGameScreen extends AbstractAnimationScreen implements Screen {
                 GameActions[] allActions = GameActions.values();
                 int index = rnd.nextInt(allActions.length);
                 GameActions choose_gift = allActions[index];
+                GameEngine.getInstance().recordInput(InputEvent.MINI_GAME_PICK, index);
                 /**
                  * Implements update of Player's Money and quantity of Roboticons.
                  */
@@ -24,6 +24,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import drtn.game.GameEngine;
+import drtn.game.ai.Difficulty;
+import drtn.game.ai.StandardPacing;
+import drtn.game.save.SaveFile;
 import drtn.game.util.Drawer;
 import drtn.game.util.TTFont;
 import drtn.game.GameEngine;
@@ -31,6 +34,8 @@ import drtn.game.GameEngine;
 import drtn.game.util.Drawer;
 import drtn.game.util.TTFont;
 
+import java.io.IOException;
+
 /**
  * New Class for Assessment 3, allows user to slect the number of players
  * @author jc1850
@@ -126,11 +131,28 @@ public class PlayerSelectScreen implements Screen {
 	 */
 	private Label AIPlayerAmountLabel;
 	
+	/**
+	 * button to cycle through the speeds at which AI players can play
+	 */
+	private TextButton pacingButton;
+	private TextButton difficultyButton;
+
+	/**
+	 * the speed at which AI players will play
+	 */
+	private StandardPacing pacing;
+	private Difficulty difficulty;
+
 	/**
 	 * button to confirm number of players
 	 */
 	private TextButton confirmButton;
 
+	/**
+	 * button to carry on from the last autosave, shown only if there is one
+	 */
+	private TextButton loadButton;
+
 	/**
 	 * variable to store number of human players
 	 */
@@ -196,6 +218,8 @@ public class PlayerSelectScreen implements Screen {
 
         playerAmount = 0;
         AIPlayerAmount = 0;
+        pacing = StandardPacing.REAL_TIME;
+        difficulty = Difficulty.NORMAL;
         
         playerLabel = new Label("HUMAN", new Label.LabelStyle(menuFont.font(), Color.WHITE));
         playerLabel.setAlignment(Align.left);
@@ -241,15 +265,54 @@ public class PlayerSelectScreen implements Screen {
             }
         });
         //decrease number of AI players
+
+        pacingButton = new TextButton("", menuButtonStyle);
+        pacingButton.addListener(new ChangeListener() {
+            public void changed(ChangeEvent event, Actor actor) {
+                pacing = StandardPacing.values()[(pacing.ordinal() + 1) % StandardPacing.values().length];
+                refreshLabels();
+            }
+        });
+        //cycle through the speeds at which AI players can play
+
+        difficultyButton = new TextButton("", menuButtonStyle);
+        difficultyButton.addListener(new ChangeListener() {
+            public void changed(ChangeEvent event, Actor actor) {
+                difficulty = Difficulty.values()[(difficulty.ordinal() + 1) % Difficulty.values().length];
+                refreshLabels();
+            }
+        });
+        //cycle through how long AI players may think about each move
         
         confirmButton = new TextButton("Confirm", menuButtonStyle);
         confirmButton.addListener(new ChangeListener() {
             public void changed(ChangeEvent event, Actor actor) {
                engine.initialisePlayers(AIPlayerAmount, playerAmount);
+               engine.setPacing(pacing);
+               engine.setDifficulty(difficulty);
                game.setScreen(gameScreen);
             }
         });
         //confirm number of players
+
+        loadButton = new TextButton("Load", menuButtonStyle);
+        loadButton.addListener(new ChangeListener() {
+            public void changed(ChangeEvent event, Actor actor) {
+                try {
+                    engine.restore(SaveFile.read(SaveFile.autosaveFile()));
+                } catch (IOException e) {
+                    System.out.println(e.getMessage());
+                    return;
+                } catch (IllegalArgumentException e) {
+                    System.out.println(e.getMessage());
+                    return;
+                }
+                engine.setPacing(pacing);
+                engine.setDifficulty(difficulty);
+                game.setScreen(gameScreen);
+            }
+        });
+        //carry on from the last autosave, with the speed and difficulty chosen here
         
         
         //add all buttons to the table
@@ -265,7 +328,17 @@ public class PlayerSelectScreen implements Screen {
         table.add(AIPlayerAmountLabel).width(50);
         table.add(addAIPlayerButton).width(100).padRight(150);
         table.row();
+        table.add(new Label("SPEED", new Label.LabelStyle(menuFont.font(), Color.WHITE))).width(200).padLeft(150);
+        table.add(pacingButton).colspan(3).padRight(150);
+        table.row();
+        table.add(new Label("DIFFICULTY", new Label.LabelStyle(menuFont.font(), Color.WHITE))).width(200).padLeft(150);
+        table.add(difficultyButton).colspan(3).padRight(150);
+        table.row();
         table.add(confirmButton).colspan(4).padTop(20);
+        if (SaveFile.autosaveFile().isFile()) {
+            table.row();
+            table.add(loadButton).colspan(4);
+        }
         stage.addActor(table);
         refreshLabels();
 	}
@@ -345,9 +418,13 @@ public class PlayerSelectScreen implements Screen {
 			drawer.toggleButton(addAIPlayerButton, true, Color.WHITE);
 		}
 		
-		if (AIPlayerAmount + playerAmount > 1 && playerAmount > 0){
+		if (AIPlayerAmount + playerAmount > 1){
 			drawer.toggleButton(confirmButton, true, Color.WHITE);
 		}
+		//games between AI players alone can be watched, so no human players are needed
+
+		pacingButton.setText(pacing.label());
+		difficultyButton.setText(difficulty.label());
 		playerAmountLabel.setText("" + playerAmount);
 		AIPlayerAmountLabel.setText("" + AIPlayerAmount);
 	}
@@ -90,4 +90,16 @@ public class TradeOverlay extends Overlay {
         offeredResourcesLabel.setText(offeredResources);
         priceLabel.setText(price);
     }
+
+    public void setBarter(int participants, String received, String given) {
+        senderLabel.setText("A " + participants + "-way barter offers...");
+        offeredResourcesLabel.setText(received);
+        priceLabel.setText(given);
+    }
+
+    public void setCounterOffer(String name, String requestedResources, String price) {
+        senderLabel.setText(name + " countered, asking for...");
+        offeredResourcesLabel.setText(requestedResources);
+        priceLabel.setText(price);
+    }
 }
\ No newline at end of file
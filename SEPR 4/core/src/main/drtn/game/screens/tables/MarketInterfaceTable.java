@@ -86,6 +86,11 @@ public class MarketInterfaceTable extends Table {
      */
     private TextButton sellFoodButton;
 
+    /**
+     * Takes back the active player's last purchase or sale at the market when clicked on
+     */
+    private TextButton undoButton;
+
     /**
      * Increases the amount of ore to be offered in the pending trade request
      */
@@ -239,6 +244,16 @@ public class MarketInterfaceTable extends Table {
      */
     private ArrayList<Player> otherPlayer;
 
+    /**
+     * Determines whether the auction button currently opens the phase 5 auction house instead of the trade interface
+     */
+    private boolean auctionHouseMode;
+
+    /**
+     * Function executed by the auction button while it opens the phase 5 auction house
+     */
+    private ChangeListener auctionHouseFunction;
+
     /**
      * Constructs the tabular interfaces of the game's market and auction house
      * Displays the market's interface first by default
@@ -277,7 +292,11 @@ public class MarketInterfaceTable extends Table {
         auctionButton.addListener(new ChangeListener() {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
-                switchInterface();
+                if (auctionHouseMode && auctionHouseFunction != null) {
+                    auctionHouseFunction.changed(event, actor);
+                } else {
+                    switchInterface();
+                }
             }
         });
         //Set up the buttons allowing players to switch between viewing the market's interface and the auction house's
@@ -347,6 +366,10 @@ public class MarketInterfaceTable extends Table {
         sellEnergyButton = new TextButton("", lightButtonStyle);
         sellFoodButton = new TextButton("", lightButtonStyle);
 
+        undoButton = new TextButton("UNDO", regularButtonStyle);
+        undoButton.getLabel().setColor(Color.GRAY);
+        undoButton.setTouchable(Touchable.disabled);
+
         oreStockLabel = new Label("", new Label.LabelStyle(lightFont.font(), Color.WHITE));
         energyStockLabel = new Label("", new Label.LabelStyle(lightFont.font(), Color.WHITE));
         foodStockLabel = new Label("", new Label.LabelStyle(lightFont.font(), Color.WHITE));
@@ -466,6 +489,8 @@ public class MarketInterfaceTable extends Table {
         row();
         add(new Label("Roboticons", new Label.LabelStyle(lightFont.font(), Color.WHITE))).left();
         add(roboticonStockLabel).left();
+        row();
+        add(undoButton).left().padTop(10);
     }
 
     /**
@@ -570,6 +595,26 @@ public class MarketInterfaceTable extends Table {
         }
     }
 
+    /**
+     * Method allowing other classes to set the function of the market interface's undo button
+     *
+     * @param event Object containing the method to be executed when clicking on the undo button
+     */
+    public void setUndoButtonFunction(ChangeListener event) {
+        undoButton.addListener(event);
+    }
+
+    /**
+     * Enables or disables the market interface's undo button
+     *
+     * @param enabled Determines whether the button can be clicked on
+     * @param color The colour to give the button's text
+     */
+    public void toggleUndoButton(boolean enabled, Color color) {
+        undoButton.getLabel().setColor(color);
+        undoButton.setTouchable(enabled ? Touchable.enabled : Touchable.disabled);
+    }
+
     /**
      * Method allowing other classes to set the functions of the auction-house interface's various quantity-adjustment
      * buttons
@@ -943,6 +988,8 @@ public class MarketInterfaceTable extends Table {
      * @param enabled Determines whether or not access to the auction-house's interface is to be permitted
      */
     public void toggleAuctionAccess(boolean enabled) {
+        auctionHouseMode = false;
+
         if (enabled) {
             auctionButton.setTouchable(Touchable.enabled);
             auctionButton.getLabel().setColor(Color.BLACK);
@@ -956,6 +1003,22 @@ public class MarketInterfaceTable extends Table {
         }
     }
 
+    /**
+     * Turns the auction button into a link to the phase 5 auction house, replacing the trade interface which is not
+     * available during that phase
+     *
+     * @param event Object containing the method that opens the auction house
+     */
+    public void openAuctionHouseAccess(ChangeListener event) {
+        toggleAuctionAccess(false);
+
+        auctionHouseMode = true;
+        auctionHouseFunction = event;
+
+        auctionButton.setTouchable(Touchable.enabled);
+        auctionButton.getLabel().setColor(Color.BLACK);
+    }
+
     /**
      * Method allowing other classes to set the function of the button made to confirm and send pending trade requests
      *
@@ -26,6 +26,7 @@ public class PhaseInfoTable extends Table {
 
     private Label phaseNumberLabel;
     private Label phaseDescriptionLabel;
+    private Label aiThinkingLabel;
 
     public PhaseInfoTable() {
         final int width = 240;
@@ -43,11 +44,25 @@ public class PhaseInfoTable extends Table {
         phaseDescriptionLabel = new Label("", new Label.LabelStyle(labelFontLight.font(), Color.WHITE));
         phaseDescriptionLabel.setAlignment(Align.center);
 
+        aiThinkingLabel = new Label("", new Label.LabelStyle(labelFontLight.font(), Color.YELLOW));
+        aiThinkingLabel.setAlignment(Align.center);
+
         add(timer).height(100);
         row();
         add(phaseNumberLabel).width(width).center();
         row();
         add(phaseDescriptionLabel).width(width).center();
+        row();
+        add(aiThinkingLabel).width(width).center();
+    }
+
+    /**
+     * Shows or hides the message telling the players that an AI player is working out its move
+     *
+     * @param thinking True to show the message, false to hide it
+     */
+    public void setAiThinking(boolean thinking) {
+        aiThinkingLabel.setText(thinking ? "AI THINKING..." : "");
     }
 
     public void updateLabels(int phase) {
@@ -15,6 +15,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Align;
+import drtn.game.ai.Forecast;
+import drtn.game.ai.StandingsForecaster;
 import drtn.game.entity.Player;
 import drtn.game.enums.ResourceType;
 import drtn.game.util.TTFont;
@@ -35,6 +37,26 @@ public class PlayerInfoTable extends Table {
     private Label moneyCounterLabel;
     private Label roboticonCounterLabel;
 
+    /**
+     * Every player's forecast final score and chance of winning, one row per player in order of their IDs
+     */
+    private Table forecastTable;
+    private Label[] forecastPlayerLabels = new Label[0];
+    private Label[] finalScoreLabels = new Label[0];
+    private Label[] winChanceLabels = new Label[0];
+    private BitmapFont forecastFont;
+
+    /**
+     * Source of the forecasts of how the game will end, or null if none are shown
+     */
+    private StandingsForecaster forecaster;
+    private Forecast shownForecast;
+
+    /**
+     * The ID of the player whose details are shown
+     */
+    private int shownPlayer = -1;
+
     public PlayerInfoTable() {
         final int textSize = 16;
         final int labelWidth = 80;
@@ -61,6 +83,8 @@ public class PlayerInfoTable extends Table {
         energyCounterLabel = prepareLabel(lightFont.font());
         moneyCounterLabel = prepareLabel(lightFont.font());
         roboticonCounterLabel = prepareLabel(lightFont.font());
+        forecastFont = lightFont.font();
+        forecastTable = new Table();
 
         Table inventoryTable = new Table();
         inventoryTable.add(prepareLabel("ORE", regularFont.font())).width(labelWidth).left();
@@ -80,6 +104,9 @@ public class PlayerInfoTable extends Table {
 
         add(collegeTable).padLeft(10).padRight(20).center();
         add(inventoryTable).center();
+        row();
+        add(forecastTable).colspan(2).padTop(5);
+        //Forecasts are shown for every player, with the shown player picked out
     }
 
     private Label prepareLabel(BitmapFont font) {
@@ -103,6 +130,76 @@ public class PlayerInfoTable extends Table {
         collegeLabel.setText(player.getCollege().getName().toUpperCase());
 
         showPlayerInventory(player);
+
+        shownPlayer = player.getPlayerID();
+        showForecast();
+    }
+
+    /**
+     * Shows every player's forecast final score and chance of winning, as worked out by the given forecaster
+     * The table picks up each new forecast as it's drawn, so the forecaster never has to wait for the render thread
+     *
+     * @param forecaster The forecaster to follow
+     */
+    public void followForecasts(StandingsForecaster forecaster) {
+        this.forecaster = forecaster;
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (forecaster != null) {
+            Forecast forecast = forecaster.latest();
+            if (forecast != null && forecast != shownForecast) {
+                shownForecast = forecast;
+                showForecast();
+            }
+        }
+        //Keep showing the last forecast while a new one is started, rather than blanking the labels every move
+    }
+
+    /**
+     * Shows the range that each player's final score should fall within 80% of the time, and their chance of
+     * winning, picking out the shown player
+     */
+    private void showForecast() {
+        if (shownForecast == null) {
+            return;
+        }
+        if (shownForecast.playerCount() != finalScoreLabels.length) {
+            layOutForecasts(shownForecast.playerCount());
+        }
+
+        for (int p = 0; p < finalScoreLabels.length; p++) {
+            Color color = (p == shownPlayer) ? Color.YELLOW : Color.WHITE;
+            finalScoreLabels[p].setText(shownForecast.low(p) + "-" + shownForecast.high(p));
+            winChanceLabels[p].setText(Math.round(shownForecast.winProbability(p) * 100) + "%");
+            forecastPlayerLabels[p].setColor(color);
+            finalScoreLabels[p].setColor(color);
+            winChanceLabels[p].setColor(color);
+        }
+    }
+
+    private void layOutForecasts(int players) {
+        forecastTable.clearChildren();
+        forecastPlayerLabels = new Label[players];
+        finalScoreLabels = new Label[players];
+        winChanceLabels = new Label[players];
+
+        forecastTable.add(prepareLabel("", forecastFont)).width(40).left();
+        forecastTable.add(prepareLabel("FINAL", forecastFont)).width(80).left();
+        forecastTable.add(prepareLabel("WIN", forecastFont)).width(50).left();
+        for (int p = 0; p < players; p++) {
+            forecastPlayerLabels[p] = prepareLabel("P" + (p + 1), forecastFont);
+            finalScoreLabels[p] = prepareLabel("-", forecastFont);
+            winChanceLabels[p] = prepareLabel("-", forecastFont);
+
+            forecastTable.row();
+            forecastTable.add(forecastPlayerLabels[p]).width(40).left();
+            forecastTable.add(finalScoreLabels[p]).width(80).left();
+            forecastTable.add(winChanceLabels[p]).width(50).left();
+        }
     }
 
     public void showPlayerInventory(Player player) {
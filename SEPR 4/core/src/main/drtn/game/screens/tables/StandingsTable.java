@@ -0,0 +1,114 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.screens.tables;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Align;
+import drtn.game.GameEngine;
+import drtn.game.Scoreboard;
+import drtn.game.util.TTFont;
+
+/**
+ * Shows every player's place in the game and their score, as kept by the engine's {@link Scoreboard}
+ *
+ * The standings are only redrawn when a score has changed or another player has taken their turn, and the current
+ * player is picked out in yellow.
+ */
+public class StandingsTable extends Table {
+
+    private final GameEngine engine;
+
+    private final BitmapFont regularFont;
+    private final BitmapFont lightFont;
+
+    private Label[] rankLabels = new Label[0];
+    private Label[] playerLabels = new Label[0];
+    private Label[] scoreLabels = new Label[0];
+
+    /**
+     * The scoreboard, number of changes to it and current player when the standings were last shown, so that
+     * they're only redrawn when something has changed
+     */
+    private Scoreboard shownScoreboard;
+    private int shownChanges = -1;
+    private int shownPlayer = -1;
+
+    public StandingsTable(GameEngine engine) {
+        this.engine = engine;
+
+        regularFont = new TTFont(Gdx.files.internal("font/MontserratRegular.ttf"), 16).font();
+        lightFont = new TTFont(Gdx.files.internal("font/MontserratLight.ttf"), 16).font();
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        Scoreboard scoreboard = engine.scoreboard();
+        if (scoreboard == null) {
+            return;
+        }
+        if (scoreboard != shownScoreboard || scoreboard.changes() != shownChanges
+                || engine.currentPlayer().getPlayerID() != shownPlayer) {
+            refresh(scoreboard);
+        }
+    }
+
+    private void refresh(Scoreboard scoreboard) {
+        if (scoreboard.size() != rankLabels.length) {
+            layOut(scoreboard.size());
+        }
+        //A new game may have a different number of players
+
+        shownScoreboard = scoreboard;
+        shownChanges = scoreboard.changes();
+        shownPlayer = engine.currentPlayer().getPlayerID();
+
+        for (int rank = 0; rank < scoreboard.size(); rank++) {
+            int p = scoreboard.player(rank);
+            Color color = (p == shownPlayer) ? Color.YELLOW : Color.WHITE;
+
+            rankLabels[rank].setText((rank + 1) + ".");
+            playerLabels[rank].setText("PLAYER " + (p + 1));
+            scoreLabels[rank].setText(String.valueOf(scoreboard.score(p)));
+            rankLabels[rank].setColor(color);
+            playerLabels[rank].setColor(color);
+            scoreLabels[rank].setColor(color);
+        }
+    }
+
+    private void layOut(int players) {
+        clearChildren();
+        rankLabels = new Label[players];
+        playerLabels = new Label[players];
+        scoreLabels = new Label[players];
+
+        for (int rank = 0; rank < players; rank++) {
+            rankLabels[rank] = prepareLabel(regularFont, Align.left);
+            playerLabels[rank] = prepareLabel(lightFont, Align.left);
+            scoreLabels[rank] = prepareLabel(regularFont, Align.right);
+
+            add(rankLabels[rank]).width(30).left();
+            add(playerLabels[rank]).width(110).left();
+            add(scoreLabels[rank]).width(50).right();
+            row();
+        }
+    }
+
+    private Label prepareLabel(BitmapFont font, int alignment) {
+        Label label = new Label("", new Label.LabelStyle(font, Color.WHITE));
+        label.setAlignment(alignment);
+
+        return label;
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.screens.tables;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.utils.Align;
+import drtn.game.GameEngine;
+import drtn.game.ai.SimRandom;
+import drtn.game.ai.SimState;
+import drtn.game.replay.InputEvent;
+import drtn.game.rewind.GameFrame;
+import drtn.game.rewind.Timeline;
+import drtn.game.util.TTFont;
+
+/**
+ * Debugging aid which steps back and forth through the game's {@link Timeline}
+ *
+ * Shows what every player held at the chosen frame, and how the game would be likely to end if it had carried on
+ * from there, as worked out by playing it out a few times in the headless game. Looking back over the timeline
+ * doesn't change the game. Only shown when the game is started with -Ddrtn.debug=true.
+ */
+public class TimelineTable extends Table {
+
+    /**
+     * Number of games played out from the chosen frame to estimate how the game would end from there
+     */
+    public static final int LOOKAHEAD_GAMES = 64;
+
+    private final GameEngine engine;
+
+    private Label frameLabel;
+    private Label holdingsLabel;
+    private Label lookaheadLabel;
+
+    /**
+     * The frame being shown, or -1 to follow the newest one
+     */
+    private int position = -1;
+
+    /**
+     * The size of the timeline when it was last shown, so that it's only redrawn when something has changed
+     */
+    private int shownSize = -1;
+
+    public TimelineTable(GameEngine engine) {
+        this.engine = engine;
+
+        TTFont regularFont = new TTFont(Gdx.files.internal("font/MontserratRegular.ttf"), 14);
+        TTFont lightFont = new TTFont(Gdx.files.internal("font/MontserratLight.ttf"), 14);
+
+        TextButton.TextButtonStyle buttonStyle = new TextButton.TextButtonStyle();
+        buttonStyle.font = regularFont.font();
+        buttonStyle.fontColor = Color.WHITE;
+        buttonStyle.pressedOffsetX = 1;
+        buttonStyle.pressedOffsetY = -1;
+
+        TextButton backButton = new TextButton("<", buttonStyle);
+        backButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                step(-1);
+            }
+        });
+
+        TextButton forwardButton = new TextButton(">", buttonStyle);
+        forwardButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                step(1);
+            }
+        });
+
+        TextButton latestButton = new TextButton("LATEST", buttonStyle);
+        latestButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                position = -1;
+                refresh();
+            }
+        });
+
+        frameLabel = new Label("", new Label.LabelStyle(regularFont.font(), Color.YELLOW));
+        holdingsLabel = new Label("", new Label.LabelStyle(lightFont.font(), Color.WHITE));
+        lookaheadLabel = new Label("", new Label.LabelStyle(lightFont.font(), Color.WHITE));
+        frameLabel.setAlignment(Align.center);
+        holdingsLabel.setAlignment(Align.center);
+        lookaheadLabel.setAlignment(Align.center);
+
+        add(backButton).padRight(10);
+        add(frameLabel).expandX();
+        add(forwardButton).padLeft(10);
+        add(latestButton).padLeft(10);
+        row();
+        add(holdingsLabel).colspan(4);
+        row();
+        add(lookaheadLabel).colspan(4);
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (engine.timeline().size() != shownSize) {
+            refresh();
+        }
+    }
+
+    /**
+     * Moves through the timeline, stopping at either end
+     *
+     * @param frames The number of frames to move by; negative to move back
+     */
+    private void step(int frames) {
+        Timeline timeline = engine.timeline();
+        if (timeline.size() == 0) {
+            return;
+        }
+
+        int current = (position < 0) ? timeline.size() - 1 : position;
+        position = Math.max(0, Math.min(timeline.size() - 1, current + frames));
+        if (position == timeline.size() - 1) {
+            position = -1;
+        }
+        //Reaching the newest frame goes back to following the game
+
+        refresh();
+    }
+
+    private void refresh() {
+        Timeline timeline = engine.timeline();
+        shownSize = timeline.size();
+
+        if (timeline.size() == 0) {
+            frameLabel.setText("NO FRAMES YET");
+            holdingsLabel.setText("");
+            lookaheadLabel.setText("");
+            return;
+        }
+
+        if (position >= timeline.size()) {
+            position = -1;
+        }
+        int index = (position < 0) ? timeline.size() - 1 : position;
+        GameFrame frame = timeline.get(index);
+
+        frameLabel.setText("FRAME " + (index + 1) + " / " + timeline.size() + (position < 0 ? " (LATEST)" : "")
+                + " | " + InputEvent.name(frame.kind()).toUpperCase() + " BY PLAYER " + (frame.actor() + 1)
+                + " | PHASE " + frame.phase() + ", TURN " + frame.turn()
+                + " | ~" + (timeline.retainedBytes() / 1024) + " KB");
+
+        StringBuilder holdings = new StringBuilder();
+        for (int p = 0; p < frame.playerCount(); p++) {
+            holdings.append(p == 0 ? "" : "   ").append("P").append(p + 1)
+                    .append(": $").append(frame.getMoney(p))
+                    .append(" O").append(frame.getResource(p, GameFrame.ORE))
+                    .append(" E").append(frame.getResource(p, GameFrame.ENERGY))
+                    .append(" F").append(frame.getResource(p, GameFrame.FOOD))
+                    .append(" R").append(frame.getRoboticons(p));
+        }
+        holdingsLabel.setText(holdings.toString());
+
+        lookaheadLabel.setText(lookahead(frame));
+    }
+
+    /**
+     * Plays the game out from a frame a number of times, each in its own branch of the frame
+     *
+     * @return String The players' average final scores
+     */
+    private String lookahead(GameFrame frame) {
+        double[] totals = new double[frame.playerCount()];
+        SimState start = engine.branch(frame);
+        SimState game = new SimState(start);
+
+        for (int i = 0; i < LOOKAHEAD_GAMES; i++) {
+            game.copyFrom(start);
+            game.rollout(new SimRandom(i + 1));
+            for (int p = 0; p < totals.length; p++) {
+                totals[p] += game.score(p);
+            }
+        }
+
+        StringBuilder text = new StringBuilder("LIKELY FINAL SCORES FROM HERE:");
+        for (int p = 0; p < totals.length; p++) {
+            text.append("   P").append(p + 1).append(": ").append(Math.round(totals[p] / LOOKAHEAD_GAMES));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A growing list of longs, and the way that one is packed into bytes in a {@link TelemetryStore}
+ *
+ * Each value is stored as its difference from the one before it, zig-zag encoded and written seven bits to a byte.
+ * Columns which hardly change from row to row, such as game numbers, turns and configuration values, so take about a
+ * byte per row, and a column that never changes takes exactly one.
+ */
+final class Column {
+
+    private long[] values;
+    private int size;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    Column() {
+        values = new long[64];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int i) {
+        return values[i];
+    }
+
+    /**
+     * @return long The smallest value added, or 0 if there are none
+     */
+    long min() {
+        return (size == 0) ? 0 : min;
+    }
+
+    /**
+     * @return long The largest value added, or 0 if there are none
+     */
+    long max() {
+        return (size == 0) ? 0 : max;
+    }
+
+    void clear() {
+        size = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    /**
+     * @return byte[] The column packed into bytes
+     */
+    byte[] encode() {
+        byte[] bytes = new byte[size * 2 + 16];
+        int length = 0;
+        long previous = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (bytes.length - length < 10) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            //A long never takes more than ten bytes
+
+            long delta = values[i] - previous;
+            long bits = (delta << 1) ^ (delta >> 63);
+            while ((bits & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((bits & 0x7F) | 0x80);
+                bits >>>= 7;
+            }
+            bytes[length++] = (byte) bits;
+            previous = values[i];
+        }
+
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Unpacks a column packed by {@link #encode()}
+     *
+     * @param bytes The packed column
+     * @param rows The number of values in it
+     * @param into An array to unpack the values into, which is used if it's big enough and replaced if it isn't
+     * @return long[] The array holding the values, from its start
+     * @throws IOException If the column doesn't hold as many values as it should
+     */
+    static long[] decode(byte[] bytes, int rows, long[] into) throws IOException {
+        long[] out = (into != null && into.length >= rows) ? into : new long[rows];
+        int position = 0;
+        long previous = 0;
+
+        try {
+            for (int i = 0; i < rows; i++) {
+                long bits = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    bits |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0 && shift < 70);
+
+                previous += (bits >>> 1) ^ -(bits & 1);
+                out[i] = previous;
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Error: Telemetry column is shorter than it should be.");
+        }
+
+        if (position != bytes.length) {
+            throw new IOException("Error: Telemetry column is longer than it should be.");
+        }
+        return out;
+    }
+
+    /**
+     * Writes a long in the same way as a single value of a column, for the headers that describe columns
+     */
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        long bits = (value << 1) ^ (value >> 63);
+        while ((bits & ~0x7FL) != 0) {
+            out.writeByte((int) ((bits & 0x7F) | 0x80));
+            bits >>>= 7;
+        }
+        out.writeByte((int) bits);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long bits = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = in.readUnsignedByte();
+            bits |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (bits >>> 1) ^ -(bits & 1);
+            }
+        }
+        throw new IOException("Error: Telemetry header is corrupt.");
+    }
+}
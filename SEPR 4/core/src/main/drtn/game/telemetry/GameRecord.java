@@ -0,0 +1,298 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import drtn.game.GameConfig;
+import drtn.game.GameEngine;
+import drtn.game.ai.AiParameters;
+import drtn.game.ai.HeuristicPolicy;
+import drtn.game.ai.SimRandom;
+import drtn.game.ai.SimState;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import drtn.game.save.GameSnapshot;
+import drtn.game.tuning.EconomySweep;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What happened over the course of one game, kept to be added to a {@link TelemetryStore} once the game is over
+ *
+ * A record is filled in as the game goes on, with a row for each player's holdings and each market price at the end
+ * of every turn, and a row for every random event, trade between players and capture of the Chancellor, and is then
+ * finished with the final scores. The rows are laid out as in {@link TelemetrySchema}, without the game number, which
+ * the store adds.
+ */
+public final class GameRecord {
+
+    private final long seed;
+    private final boolean simulated;
+    private final double[] config;
+
+    private final int[] college;
+    private final boolean[] ai;
+    private int[] scores;
+    private int winner = -1;
+    private int turns;
+
+    /**
+     * Rows of every table but the games table, one column at a time
+     */
+    private final Column[][] tables = new Column[TelemetrySchema.TABLES.length][];
+
+    /**
+     * Names of the events that have happened, which the events table refers to by their position in this list
+     */
+    private final List<String> eventNames = new ArrayList<String>();
+
+    /**
+     * @param seed The seed that the game was played with
+     * @param simulated True if the game was played headlessly, without anybody watching
+     * @param config The game's configuration
+     * @param players The number of players
+     */
+    public GameRecord(long seed, boolean simulated, GameConfig config, int players) {
+        this.seed = seed;
+        this.simulated = simulated;
+        this.config = config.toArray();
+        this.college = new int[players];
+        this.ai = new boolean[players];
+
+        for (int p = 0; p < players; p++) {
+            college[p] = TelemetrySchema.NO_COLLEGE;
+        }
+        for (int t = TelemetrySchema.TURNS; t < tables.length; t++) {
+            tables[t] = new Column[TelemetrySchema.width(t) - 1];
+            for (int c = 0; c < tables[t].length; c++) {
+                tables[t][c] = new Column();
+            }
+        }
+    }
+
+    /**
+     * Plays a headless game on the real map, with every player following {@link HeuristicPolicy}, and records it
+     *
+     * @param config The game's configuration
+     * @param seed Seeds the game
+     * @param parameters The parameters that the players decide with
+     * @return GameRecord The finished record
+     */
+    public static GameRecord simulate(GameConfig config, long seed, AiParameters parameters) {
+        SimState state = EconomySweep.newGame(config);
+        SimRandom rnd = new SimRandom(seed);
+        GameRecord record = new GameRecord(seed, true, config, state.playerCount());
+        for (int p = 0; p < state.playerCount(); p++) {
+            record.setPlayer(p, TelemetrySchema.NO_COLLEGE, true);
+        }
+
+        int turn = state.getTurn();
+        while (!state.isOver()) {
+            state.apply(HeuristicPolicy.choose(state, parameters), rnd);
+            if (state.getTurn() != turn) {
+                record.recordTurn(state, turn);
+                turn = state.getTurn();
+            }
+        }
+
+        record.recordTurn(state, turn);
+        record.finish(state);
+        return record;
+    }
+
+    public void setPlayer(int p, int college, boolean ai) {
+        this.college[p] = college;
+        this.ai[p] = ai;
+    }
+
+    /**
+     * Records every player's holdings and the market's prices at the end of a turn in the real game
+     */
+    public void recordTurn(GameEngine engine) {
+        Player[] players = engine.players();
+        Market market = engine.market();
+        int turn = engine.getTurn();
+
+        for (Player player : players) {
+            addTurn(turn, player.getPlayerID(), player.getResource(ResourceType.MONEY),
+                    player.getResource(ResourceType.ORE), player.getResource(ResourceType.ENERGY),
+                    player.getResource(ResourceType.FOOD), player.getRoboticonInventory());
+        }
+
+        addPrices(turn, GameSnapshot.ORE, market.getOreBuyPrice(), market.getOreSellPrice(), market.getOreStock());
+        addPrices(turn, GameSnapshot.ENERGY, market.getEnergyBuyPrice(), market.getEnergySellPrice(),
+                market.getEnergyStock());
+        addPrices(turn, GameSnapshot.FOOD, market.getFoodBuyPrice(), market.getFoodSellPrice(), market.getFoodStock());
+        addPrices(turn, TelemetrySchema.ROBOTICON, market.getRoboticonBuyPrice(), 0, market.getRoboticonStock());
+    }
+
+    /**
+     * Records every player's holdings and the market's prices at the end of a turn in a headless game
+     */
+    public void recordTurn(SimState state, int turn) {
+        for (int p = 0; p < state.playerCount(); p++) {
+            addTurn(turn, p, state.getMoney(p), state.getResource(p, SimState.ORE),
+                    state.getResource(p, SimState.ENERGY), state.getResource(p, SimState.FOOD), state.getRoboticons(p));
+        }
+
+        addPrices(turn, GameSnapshot.ORE, state.getBuyPrice(SimState.ORE), state.getSellPrice(SimState.ORE),
+                state.getStock(SimState.ORE));
+        addPrices(turn, GameSnapshot.ENERGY, state.getBuyPrice(SimState.ENERGY), state.getSellPrice(SimState.ENERGY),
+                state.getStock(SimState.ENERGY));
+        addPrices(turn, GameSnapshot.FOOD, state.getBuyPrice(SimState.FOOD), state.getSellPrice(SimState.FOOD),
+                state.getStock(SimState.FOOD));
+        addPrices(turn, TelemetrySchema.ROBOTICON, state.getRoboticonPrice(), 0, state.getRoboticonStock());
+    }
+
+    public void addTurn(int turn, int p, int money, int ore, int energy, int food, int roboticons) {
+        add(TelemetrySchema.TURNS, turn, p, money, ore, energy, food, roboticons);
+    }
+
+    /**
+     * @param resource {@link GameSnapshot#ORE}, {@link GameSnapshot#ENERGY}, {@link GameSnapshot#FOOD} or
+     * {@link TelemetrySchema#ROBOTICON}
+     */
+    public void addPrices(int turn, int resource, int buyPrice, int sellPrice, int stock) {
+        add(TelemetrySchema.PRICES, turn, resource, buyPrice, sellPrice, stock);
+    }
+
+    /**
+     * @param name The name of the random event, as shown to the player
+     * @param chance The chance that the event had of being picked
+     */
+    public void addEvent(int turn, int p, String name, float chance) {
+        int event = eventNames.indexOf(name);
+        if (event < 0) {
+            event = eventNames.size();
+            eventNames.add(name);
+        }
+        add(TelemetrySchema.EVENTS, turn, p, Math.round(chance * TelemetrySchema.CHANCE_SCALE), event);
+    }
+
+    /**
+     * @param seller The player who gave up the resources
+     * @param buyer The player who paid for them
+     */
+    public void addTrade(int turn, int seller, int buyer, int ore, int energy, int food, int price) {
+        add(TelemetrySchema.TRADES, turn, seller, buyer, ore, energy, food, price);
+    }
+
+    public void addCapture(int turn, int p, int reward) {
+        add(TelemetrySchema.CAPTURES, turn, p, reward);
+    }
+
+    private void add(int table, long... row) {
+        for (int c = 0; c < row.length; c++) {
+            tables[table][c].add(row[c]);
+        }
+    }
+
+    /**
+     * Finishes the record of a real game
+     *
+     * @param engine The game's engine
+     * @param winner The ID of the player who won
+     */
+    public void finish(GameEngine engine, int winner) {
+        Player[] players = engine.players();
+        int[] scores = new int[players.length];
+        for (Player player : players) {
+            scores[player.getPlayerID()] = player.calculateScore();
+        }
+        finish(engine.getTurn(), winner, scores);
+    }
+
+    private void finish(SimState state) {
+        int[] scores = new int[state.playerCount()];
+        int winner = 0;
+        for (int p = 0; p < scores.length; p++) {
+            scores[p] = state.score(p);
+            if (scores[p] > scores[winner]) {
+                winner = p;
+            }
+        }
+        finish(state.getTurn(), winner, scores);
+    }
+
+    /**
+     * @param turns The number of turns that the game lasted
+     * @param winner The ID of the player who won
+     * @param scores Each player's final score
+     */
+    public void finish(int turns, int winner, int[] scores) {
+        if (scores.length != college.length) {
+            throw new IllegalArgumentException("Error: Expected " + college.length + " scores but got "
+                    + scores.length + ".");
+        }
+
+        this.turns = turns;
+        this.winner = winner;
+        this.scores = scores.clone();
+    }
+
+    public boolean isFinished() {
+        return scores != null;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public boolean isSimulated() {
+        return simulated;
+    }
+
+    public int playerCount() {
+        return college.length;
+    }
+
+    public int turns() {
+        return turns;
+    }
+
+    public int winner() {
+        return winner;
+    }
+
+    public int getScore(int p) {
+        return scores[p];
+    }
+
+    /**
+     * @return int The number of rows that the record adds to a table other than the games and players tables
+     */
+    public int rows(int table) {
+        return tables[table][0].size();
+    }
+
+    double[] config() {
+        return config;
+    }
+
+    int getCollege(int p) {
+        return college[p];
+    }
+
+    boolean isAi(int p) {
+        return ai[p];
+    }
+
+    /**
+     * @return long A value of a row of a table other than the games and players tables, with the columns numbered
+     * from the one after the game number
+     */
+    long get(int table, int row, int column) {
+        return tables[table][column].get(row);
+    }
+
+    String eventName(int event) {
+        return eventNames.get(event);
+    }
+}
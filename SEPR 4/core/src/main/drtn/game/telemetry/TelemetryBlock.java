@@ -0,0 +1,275 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import drtn.game.save.SaveFile;
+
+import java.io.*;
+import java.util.zip.CRC32;
+
+/**
+ * The index of one block of games in a {@link TelemetryStore}: which columns it holds, where each of them is, how
+ * many rows each table has and the smallest and largest value in every column
+ *
+ * The index is read from the block's header alone, so the whole of a store can be indexed without reading any of
+ * the games in it, and queries can read just the columns that they need.
+ */
+public final class TelemetryBlock {
+
+    /**
+     * The bytes "DRTB", which start every block
+     */
+    static final int MAGIC = 0x44525442;
+
+    /**
+     * Largest header that a block could reasonably have, to refuse corrupt lengths before reading them
+     */
+    private static final int MAX_HEADER = 1 << 20;
+
+    private final long end;
+    private final int games;
+    private final long firstGame;
+    private final String[] eventNames;
+
+    /**
+     * Rows in each table of {@link TelemetrySchema#TABLES}, and for each of those tables its columns' names and the
+     * position, length, smallest value, largest value and checksum of each; tables that the block doesn't have are
+     * left empty
+     */
+    private final int[] rows = new int[TelemetrySchema.TABLES.length];
+    private final String[][] names = new String[TelemetrySchema.TABLES.length][0];
+    private final long[][] offsets = new long[TelemetrySchema.TABLES.length][0];
+    private final int[][] lengths = new int[TelemetrySchema.TABLES.length][0];
+    private final long[][] mins = new long[TelemetrySchema.TABLES.length][0];
+    private final long[][] maxes = new long[TelemetrySchema.TABLES.length][0];
+    private final int[][] checksums = new int[TelemetrySchema.TABLES.length][0];
+
+    private TelemetryBlock(long end, int games, long firstGame, String[] eventNames) {
+        this.end = end;
+        this.games = games;
+        this.firstGame = firstGame;
+        this.eventNames = eventNames;
+    }
+
+    /**
+     * Reads the index of the block that starts at the given position
+     *
+     * @param file The store's file
+     * @param start Where the block starts
+     * @return TelemetryBlock The block's index, or null if the file ends part-way through the block, or its header is
+     * corrupt, as happens when the game is closed while a block is being written
+     * @throws IOException If the file can't be read
+     */
+    static TelemetryBlock read(RandomAccessFile file, long start) throws IOException {
+        if (file.length() - start < 12) {
+            return null;
+        }
+
+        file.seek(start);
+        if (file.readInt() != MAGIC) {
+            return null;
+        }
+        int headerLength = file.readInt();
+        if (headerLength < 0 || headerLength > MAX_HEADER || file.length() - start < 12L + headerLength) {
+            return null;
+        }
+
+        byte[] header = new byte[headerLength];
+        file.readFully(header);
+        CRC32 crc = new CRC32();
+        crc.update(header);
+        if (file.readInt() != (int) crc.getValue()) {
+            return null;
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(header));
+        long position = start + 12 + headerLength;
+
+        try {
+            int games = count(in);
+            long firstGame = Column.readVarLong(in);
+            String[] eventNames = new String[count(in)];
+            for (int i = 0; i < eventNames.length; i++) {
+                eventNames[i] = in.readUTF();
+            }
+
+            int tables = count(in);
+            long[] tableOffsets = new long[tables];
+            int[] tableIndex = new int[tables];
+            String[][] columnNames = new String[tables][];
+            int[][] columnLengths = new int[tables][];
+            long[][] columnMins = new long[tables][];
+            long[][] columnMaxes = new long[tables][];
+            int[][] columnChecksums = new int[tables][];
+            int[] tableRows = new int[tables];
+
+            for (int t = 0; t < tables; t++) {
+                tableIndex[t] = TelemetrySchema.indexOf(in.readUTF());
+                tableRows[t] = count(in);
+                int columns = count(in);
+                columnNames[t] = new String[columns];
+                columnLengths[t] = new int[columns];
+                columnMins[t] = new long[columns];
+                columnMaxes[t] = new long[columns];
+                columnChecksums[t] = new int[columns];
+                tableOffsets[t] = position;
+
+                for (int c = 0; c < columns; c++) {
+                    columnNames[t][c] = in.readUTF();
+                    columnLengths[t][c] = count(in);
+                    columnMins[t][c] = Column.readVarLong(in);
+                    columnMaxes[t][c] = Column.readVarLong(in);
+                    columnChecksums[t][c] = in.readInt();
+                    position += columnLengths[t][c];
+                }
+            }
+
+            if (position > file.length()) {
+                return null;
+            }
+
+            TelemetryBlock block = new TelemetryBlock(position, games, firstGame, eventNames);
+            for (int t = 0; t < tables; t++) {
+                int table = tableIndex[t];
+                if (table < 0) {
+                    continue;
+                }
+                //Skip tables added by a newer version of the game
+
+                block.rows[table] = tableRows[t];
+                block.names[table] = columnNames[t];
+                block.lengths[table] = columnLengths[t];
+                block.mins[table] = columnMins[t];
+                block.maxes[table] = columnMaxes[t];
+                block.checksums[table] = columnChecksums[t];
+                block.offsets[table] = new long[columnNames[t].length];
+
+                long offset = tableOffsets[t];
+                for (int c = 0; c < columnNames[t].length; c++) {
+                    block.offsets[table][c] = offset;
+                    offset += columnLengths[t][c];
+                }
+            }
+            return block;
+        } catch (EOFException e) {
+            return null;
+        }
+        //A header that runs out early or holds a negative count is treated in the same way as a torn write
+    }
+
+    /**
+     * Reads a count or length from a header, refusing ones which no real block could have
+     */
+    private static int count(DataInput in) throws IOException {
+        int count = SaveFile.readVarInt(in);
+        if (count < 0) {
+            throw new EOFException();
+        }
+        return count;
+    }
+
+    /**
+     * @return long Where the block ends, and the next one starts
+     */
+    public long end() {
+        return end;
+    }
+
+    public int games() {
+        return games;
+    }
+
+    /**
+     * @return long The number of the first game in the block, counting every game in the store from 0
+     */
+    public long firstGame() {
+        return firstGame;
+    }
+
+    public int rows(int table) {
+        return rows[table];
+    }
+
+    /**
+     * @return String The name of an event, as given by the events table's event column in this block
+     */
+    public String eventName(int event) {
+        return eventNames[event];
+    }
+
+    public int eventCount() {
+        return eventNames.length;
+    }
+
+    /**
+     * @return boolean True if the block holds the column
+     */
+    public boolean has(int table, String column) {
+        return find(table, column) >= 0;
+    }
+
+    public long min(int table, String column) {
+        return mins[table][require(table, column)];
+    }
+
+    public long max(int table, String column) {
+        return maxes[table][require(table, column)];
+    }
+
+    /**
+     * @return int The number of bytes that the column takes up in the file
+     */
+    public int length(int table, String column) {
+        return lengths[table][require(table, column)];
+    }
+
+    /**
+     * Reads a column of the block from the store's file
+     *
+     * @param file The store's file
+     * @param table The column's table
+     * @param column The column's name
+     * @param into An array to read the values into, which is used if it's big enough and replaced if it isn't
+     * @return long[] The array holding the values, from its start
+     * @throws IOException If the column can't be read or is corrupt
+     */
+    long[] read(RandomAccessFile file, int table, String column, long[] into) throws IOException {
+        int c = require(table, column);
+        byte[] bytes = new byte[lengths[table][c]];
+        file.seek(offsets[table][c]);
+        file.readFully(bytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        if ((int) crc.getValue() != checksums[table][c]) {
+            throw new IOException("Error: Telemetry column " + TelemetrySchema.TABLES[table] + "." + column
+                    + " of game " + firstGame + " onwards is corrupt.");
+        }
+
+        return Column.decode(bytes, rows[table], into);
+    }
+
+    private int find(int table, String column) {
+        for (int c = 0; c < names[table].length; c++) {
+            if (names[table][c].equals(column)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private int require(int table, String column) {
+        int c = find(table, column);
+        if (c < 0) {
+            throw new IllegalArgumentException("Error: Telemetry has no column " + TelemetrySchema.TABLES[table] + "."
+                    + column + " for game " + firstGame + " onwards.");
+        }
+        return c;
+    }
+}
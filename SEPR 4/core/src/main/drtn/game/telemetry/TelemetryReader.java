@@ -0,0 +1,119 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import drtn.game.save.SaveFile;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a {@link TelemetryStore} a column at a time
+ *
+ * Opening a reader reads every block's header, and nothing else, into an index. Columns are then read one block at
+ * a time, so however many games the store holds, no more than one block's worth of a column is ever in memory.
+ * A block left part-way written at the end of the file is left out.
+ */
+public final class TelemetryReader implements Closeable {
+
+    private final RandomAccessFile file;
+    private final List<TelemetryBlock> blocks = new ArrayList<TelemetryBlock>();
+    private long games;
+
+    /**
+     * @param file The store's file
+     * @throws IOException If the file can't be read, isn't a store or was written by a newer version of the game
+     */
+    public TelemetryReader(File file) throws IOException {
+        this.file = new RandomAccessFile(file, "r");
+
+        try {
+            long position = checkHeader(this.file);
+            TelemetryBlock block;
+            while ((block = TelemetryBlock.read(this.file, position)) != null) {
+                blocks.add(block);
+                games += block.games();
+                position = block.end();
+            }
+        } catch (IOException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that a file starts like a store
+     *
+     * @return long Where the first block starts
+     * @throws IOException If the file isn't a store or was written by a newer version of the game
+     */
+    static long checkHeader(RandomAccessFile file) throws IOException {
+        file.seek(0);
+        try {
+            if (file.readInt() != TelemetryStore.MAGIC) {
+                throw new IOException("Error: Not a telemetry file.");
+            }
+
+            int version = SaveFile.readVarInt(file);
+            if (version > TelemetryStore.VERSION) {
+                throw new IOException("Error: Telemetry file was written by a newer version of the game (version "
+                        + version + ").");
+            }
+        } catch (EOFException e) {
+            throw new IOException("Error: Not a telemetry file.", e);
+        }
+        return file.getFilePointer();
+    }
+
+    /**
+     * @return List The index of every complete block, oldest first
+     */
+    public List<TelemetryBlock> blocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    /**
+     * @return long The number of games in the store
+     */
+    public long games() {
+        return games;
+    }
+
+    /**
+     * Reads one column of one block
+     *
+     * @param block The block, from {@link #blocks()}
+     * @param table The column's table, such as {@link TelemetrySchema#PLAYERS}
+     * @param column The column's name, as given by {@link TelemetrySchema#columns(int)}
+     * @param into An array to read the values into, which is used if it's big enough and replaced if it isn't
+     * @return long[] The array holding the values, from its start, with {@link TelemetryBlock#rows(int)} of them
+     * @throws IOException If the column can't be read or is corrupt
+     */
+    public long[] read(TelemetryBlock block, int table, String column, long[] into) throws IOException {
+        return block.read(file, table, column, into);
+    }
+
+    /**
+     * @return long The size of the file in bytes
+     */
+    public long length() throws IOException {
+        return file.length();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import drtn.game.GameConfig;
+
+/**
+ * Names the tables and columns that finished games are stored in by a {@link TelemetryStore}
+ *
+ * Every game adds one row to the games table, one row per player to the players table, and as many rows as it needs
+ * to the others. The first column of every table but the games table is the number of the game that the row belongs
+ * to, counting every game in the store from 0. Every value is a whole number, apart from the game's configuration,
+ * which is held as the bits of each double. Rows are added in the order that they happened in, so the rows of each
+ * game are next to each other and sorted by turn.
+ */
+public final class TelemetrySchema {
+
+    public static final int GAMES = 0;
+    public static final int PLAYERS = 1;
+    public static final int TURNS = 2;
+    public static final int PRICES = 3;
+    public static final int EVENTS = 4;
+    public static final int TRADES = 5;
+    public static final int CAPTURES = 6;
+
+    public static final String[] TABLES = {"games", "players", "turns", "prices", "events", "trades", "captures"};
+
+    /**
+     * Prefix of the names of the games table's configuration columns, which are followed by {@link GameConfig#NAMES}
+     */
+    public static final String CONFIG_PREFIX = "config.";
+
+    /**
+     * Value of the players table's college column for players who don't belong to a college, as in headless games
+     */
+    public static final int NO_COLLEGE = -1;
+
+    /**
+     * Value of the prices table's resource column for roboticons; ore, energy and food are numbered as in
+     * {@link drtn.game.save.GameSnapshot}
+     */
+    public static final int ROBOTICON = 3;
+
+    /**
+     * Number of parts that the events table's chance column splits a certainty into, so a chance of 1 in 4 is stored
+     * as 250000; blocks written before the column was added don't have it
+     */
+    public static final int CHANCE_SCALE = 1000000;
+
+    private static final String[][] COLUMNS = {
+            {"seed", "simulated", "players", "turns", "winner"},
+            {"game", "player", "college", "ai", "score", "won"},
+            {"game", "turn", "player", "money", "ore", "energy", "food", "roboticons"},
+            {"game", "turn", "resource", "buy", "sell", "stock"},
+            {"game", "turn", "player", "chance", "event"},
+            {"game", "turn", "seller", "buyer", "ore", "energy", "food", "price"},
+            {"game", "turn", "player", "reward"}
+    };
+
+    private TelemetrySchema() {
+    }
+
+    /**
+     * @param table The table, such as {@link #GAMES}
+     * @return String[] The names of its columns, in the order that a row's values are given in
+     */
+    public static String[] columns(int table) {
+        if (table != GAMES) {
+            return COLUMNS[table].clone();
+        }
+
+        String[] columns = new String[COLUMNS[GAMES].length + GameConfig.NAMES.length];
+        System.arraycopy(COLUMNS[GAMES], 0, columns, 0, COLUMNS[GAMES].length);
+        for (int i = 0; i < GameConfig.NAMES.length; i++) {
+            columns[COLUMNS[GAMES].length + i] = CONFIG_PREFIX + GameConfig.NAMES[i];
+        }
+        return columns;
+    }
+
+    /**
+     * @return int The number of columns in a table
+     */
+    public static int width(int table) {
+        return (table == GAMES) ? COLUMNS[GAMES].length + GameConfig.NAMES.length : COLUMNS[table].length;
+    }
+
+    /**
+     * @return int The position of the named table in {@link #TABLES}, or -1 if there's no such table
+     */
+    public static int indexOf(String table) {
+        for (int t = 0; t < TABLES.length; t++) {
+            if (TABLES[t].equals(table)) {
+                return t;
+            }
+        }
+        return -1;
+    }
+}
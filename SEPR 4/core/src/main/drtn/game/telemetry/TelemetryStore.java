@@ -0,0 +1,362 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import drtn.game.save.SaveFile;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of finished games, stored column by column so that questions about millions of games can be
+ * answered by reading only the columns that they need
+ *
+ * The file starts with the bytes "DRTM" and the version of the format, followed by any number of blocks, each
+ * holding the games added between two flushes. A block starts with a header giving the number of its first game,
+ * the names of the random events that its games refer to, and for every table of {@link TelemetrySchema} the number
+ * of rows and each column's name, length, smallest and largest value and CRC-32 checksum; the header is followed by
+ * the columns themselves, packed as described in {@link Column}. The headers between them make up the store's index.
+ *
+ * Blocks are only ever added to the end of the file. If the game is closed part-way through writing a block, the
+ * broken block is ignored when the file is read, and cut off the next time that the store is opened for writing.
+ * Games are held in memory until {@link #DEFAULT_BLOCK_GAMES} of them have been added or the store is flushed, so
+ * a block from the real game, which is written as soon as the game ends, only holds that game. Such stores can be
+ * rewritten into larger blocks with {@link #compact(File, int)}.
+ */
+public final class TelemetryStore implements Closeable {
+
+    /**
+     * Name of the system property that points at the file to store finished games in
+     */
+    public static final String PROPERTY = "drtn.telemetry";
+
+    public static final String DEFAULT_NAME = "games.telemetry";
+
+    /**
+     * The bytes "DRTM", which start every store
+     */
+    public static final int MAGIC = 0x4452544D;
+
+    public static final int VERSION = 1;
+
+    /**
+     * Number of games held in memory before they're written out as a block
+     */
+    public static final int DEFAULT_BLOCK_GAMES = 4096;
+
+    private final File file;
+    private final RandomAccessFile out;
+    private final int blockGames;
+
+    /**
+     * The games added since the last flush, laid out as in the schema
+     */
+    private final Column[][] buffer = new Column[TelemetrySchema.TABLES.length][];
+    private final List<String> eventNames = new ArrayList<String>();
+    private final Map<String, Integer> eventIndex = new HashMap<String, Integer>();
+    private int bufferedGames;
+
+    /**
+     * Number of the next game to be added, counting every game in the file from 0
+     */
+    private long nextGame;
+
+    private TelemetryStore(File file, int blockGames) throws IOException {
+        if (blockGames < 1) {
+            throw new IllegalArgumentException("Error: Blocks must hold at least one game.");
+        }
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Error: Can't create telemetry directory " + directory + ".");
+        }
+
+        this.file = file;
+        this.blockGames = blockGames;
+        out = new RandomAccessFile(file, "rw");
+
+        try {
+            if (out.length() == 0) {
+                out.writeInt(MAGIC);
+                SaveFile.writeVarInt(out, VERSION);
+            } else {
+                recover();
+            }
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+
+        for (int t = 0; t < buffer.length; t++) {
+            buffer[t] = new Column[TelemetrySchema.width(t)];
+            for (int c = 0; c < buffer[t].length; c++) {
+                buffer[t][c] = new Column();
+            }
+        }
+    }
+
+    /**
+     * Opens a store for adding games to, creating it if it doesn't exist yet
+     *
+     * @param file The store's file
+     * @return TelemetryStore The store
+     * @throws IOException If the file can't be opened, isn't a store or was written by a newer version of the game
+     */
+    public static TelemetryStore open(File file) throws IOException {
+        return open(file, DEFAULT_BLOCK_GAMES);
+    }
+
+    /**
+     * @param blockGames The number of games to hold in memory before writing them out as a block
+     */
+    public static TelemetryStore open(File file, int blockGames) throws IOException {
+        return new TelemetryStore(file, blockGames);
+    }
+
+    /**
+     * @return File The file that finished games are stored in, as named by the {@link #PROPERTY} system property, or
+     * alongside the autosave if it isn't set
+     */
+    public static File defaultFile() {
+        String path = System.getProperty(PROPERTY);
+        return (path != null) ? new File(path) : new File(SaveFile.autosaveFile().getParentFile(), DEFAULT_NAME);
+    }
+
+    /**
+     * Checks the file's header and finds the end of its last complete block, cutting off anything after it
+     */
+    private void recover() throws IOException {
+        long end = TelemetryReader.checkHeader(out);
+        TelemetryBlock block;
+        while ((block = TelemetryBlock.read(out, end)) != null) {
+            nextGame = block.firstGame() + block.games();
+            end = block.end();
+        }
+
+        if (end < out.length()) {
+            System.out.println("Error: Telemetry file " + file + " ended part-way through a block, which has been "
+                    + "discarded.");
+            out.setLength(end);
+        }
+    }
+
+    /**
+     * Adds a finished game to the store, writing out a block if enough games have been added since the last one
+     *
+     * @param record The game
+     * @throws IOException If a block had to be written and couldn't be
+     */
+    public synchronized void append(GameRecord record) throws IOException {
+        if (!record.isFinished()) {
+            throw new IllegalArgumentException("Error: Only finished games can be stored.");
+        }
+
+        long game = nextGame++;
+        Column[] games = buffer[TelemetrySchema.GAMES];
+        games[0].add(record.seed());
+        games[1].add(record.isSimulated() ? 1 : 0);
+        games[2].add(record.playerCount());
+        games[3].add(record.turns());
+        games[4].add(record.winner());
+        double[] config = record.config();
+        for (int i = 0; i < config.length; i++) {
+            games[5 + i].add(Double.doubleToLongBits(config[i]));
+        }
+
+        for (int p = 0; p < record.playerCount(); p++) {
+            addRow(TelemetrySchema.PLAYERS, game, p, record.getCollege(p), record.isAi(p) ? 1 : 0,
+                    record.getScore(p), (p == record.winner()) ? 1 : 0);
+        }
+
+        for (int t = TelemetrySchema.TURNS; t < buffer.length; t++) {
+            Column[] columns = buffer[t];
+            for (int row = 0; row < record.rows(t); row++) {
+                columns[0].add(game);
+                for (int c = 1; c < columns.length; c++) {
+                    long value = record.get(t, row, c - 1);
+                    if (t == TelemetrySchema.EVENTS && c == columns.length - 1) {
+                        value = eventIndex(record.eventName((int) value));
+                    }
+                    //Events refer to names shared by the whole block instead of the game's own list
+                    columns[c].add(value);
+                }
+            }
+        }
+
+        bufferedGames++;
+        if (bufferedGames >= blockGames) {
+            flush();
+        }
+    }
+
+    private void addRow(int table, long... row) {
+        for (int c = 0; c < row.length; c++) {
+            buffer[table][c].add(row[c]);
+        }
+    }
+
+    private int eventIndex(String name) {
+        Integer index = eventIndex.get(name);
+        if (index == null) {
+            index = eventNames.size();
+            eventNames.add(name);
+            eventIndex.put(name, index);
+        }
+        return index;
+    }
+
+    /**
+     * Writes out the games added since the last flush as a block, if there are any
+     *
+     * @throws IOException If the block can't be written
+     */
+    public synchronized void flush() throws IOException {
+        if (bufferedGames == 0) {
+            return;
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        SaveFile.writeVarInt(header, bufferedGames);
+        Column.writeVarLong(header, nextGame - bufferedGames);
+        SaveFile.writeVarInt(header, eventNames.size());
+        for (String name : eventNames) {
+            header.writeUTF(name);
+        }
+
+        SaveFile.writeVarInt(header, buffer.length);
+        for (int t = 0; t < buffer.length; t++) {
+            String[] names = TelemetrySchema.columns(t);
+            header.writeUTF(TelemetrySchema.TABLES[t]);
+            SaveFile.writeVarInt(header, buffer[t][0].size());
+            SaveFile.writeVarInt(header, buffer[t].length);
+
+            for (int c = 0; c < buffer[t].length; c++) {
+                byte[] packed = buffer[t][c].encode();
+                CRC32 crc = new CRC32();
+                crc.update(packed);
+
+                header.writeUTF(names[c]);
+                SaveFile.writeVarInt(header, packed.length);
+                Column.writeVarLong(header, buffer[t][c].min());
+                Column.writeVarLong(header, buffer[t][c].max());
+                header.writeInt((int) crc.getValue());
+                body.write(packed);
+            }
+        }
+        header.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(headerBytes.toByteArray());
+
+        ByteArrayOutputStream block = new ByteArrayOutputStream(headerBytes.size() + body.size() + 12);
+        DataOutputStream blockOut = new DataOutputStream(block);
+        blockOut.writeInt(TelemetryBlock.MAGIC);
+        blockOut.writeInt(headerBytes.size());
+        headerBytes.writeTo(blockOut);
+        blockOut.writeInt((int) crc.getValue());
+        body.writeTo(blockOut);
+        blockOut.flush();
+
+        out.seek(out.length());
+        out.write(block.toByteArray());
+        //Write the block in one go, so that a game closed part-way through leaves as little of it behind as possible
+
+        for (Column[] table : buffer) {
+            for (Column column : table) {
+                column.clear();
+            }
+        }
+        eventNames.clear();
+        eventIndex.clear();
+        bufferedGames = 0;
+    }
+
+    /**
+     * @return long The number of games in the store, including those not yet written out
+     */
+    public synchronized long games() {
+        return nextGame;
+    }
+
+    /**
+     * Writes out any games not yet written and closes the file
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Rewrites a store into blocks of the given number of games, which makes it smaller and quicker to query if it was
+     * built up a few games at a time
+     * The store is written under a temporary name and then renamed over the old one, in the same way as a save file
+     *
+     * @param file The store's file
+     * @param blockGames The number of games to put in each block
+     * @throws IOException If the store can't be read or written
+     */
+    public static void compact(File file, int blockGames) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        if (temp.exists() && !temp.delete()) {
+            throw new IOException("Error: Can't replace " + temp + ".");
+        }
+
+        TelemetryReader reader = new TelemetryReader(file);
+        TelemetryStore store = open(temp, blockGames);
+        try {
+            for (TelemetryBlock block : reader.blocks()) {
+                for (int t = 0; t < TelemetrySchema.TABLES.length; t++) {
+                    String[] names = TelemetrySchema.columns(t);
+                    long[][] columns = new long[names.length][];
+                    for (int c = 0; c < names.length; c++) {
+                        columns[c] = block.has(t, names[c]) ? reader.read(block, t, names[c], null)
+                                : new long[block.rows(t)];
+                    }
+                    //Columns added since the block was written are filled in with zeroes
+
+                    for (int row = 0; row < block.rows(t); row++) {
+                        for (int c = 0; c < columns.length; c++) {
+                            long value = columns[c][row];
+                            if (t == TelemetrySchema.EVENTS && c == columns.length - 1) {
+                                value = store.eventIndex(block.eventName((int) value));
+                            }
+                            store.buffer[t][c].add(value);
+                        }
+                    }
+                }
+
+                store.nextGame = block.firstGame() + block.games();
+                store.bufferedGames += block.games();
+                if (store.bufferedGames >= blockGames) {
+                    store.flush();
+                }
+            }
+        } finally {
+            reader.close();
+            store.close();
+        }
+
+        if (!temp.renameTo(file)) {
+            if (!file.delete() || !temp.renameTo(file)) {
+                throw new IOException("Error: Can't replace telemetry file " + file + ".");
+            }
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.telemetry;
+
+import drtn.game.GameConfig;
+import drtn.game.ai.AiParameters;
+import drtn.game.entity.College;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Answers questions about the games in a {@link TelemetryStore} from the command line
+ *
+ * Every question is answered in one pass over the store, a block at a time, reading only the columns that it needs,
+ * so stores far larger than memory can be queried. The commands are:
+ *  - summary: the number of games and how much space each table takes up,
+ *  - winrate: how often the players of each college, each seat and each kind win,
+ *  - events: how often each random event fired, the average chance that it had of being picked when it did, and how
+ *    the players that it hit finished compared to the rest of their game,
+ *  - prices: the spread of the market's buying and selling prices at the end of each turn,
+ *  - simulate [games] [seed]: plays headless games and adds them to the store, and
+ *  - compact [games per block]: rewrites the store into larger blocks.
+ *
+ * Run from the command line with: TelemetryTool command [file] [arguments]...
+ * The file defaults to {@link TelemetryStore#defaultFile()}.
+ */
+public class TelemetryTool {
+
+    public static final int DEFAULT_SIMULATED_GAMES = 10000;
+
+    private static final String[] RESOURCES = {"ore", "energy", "food", "roboticons"};
+
+    /**
+     * @return String The number of games and the space taken up by each table
+     */
+    public static String summary(TelemetryReader reader) throws IOException {
+        long[] rows = new long[TelemetrySchema.TABLES.length];
+        long[] bytes = new long[TelemetrySchema.TABLES.length];
+        long simulated = 0;
+        long[] values = null;
+
+        for (TelemetryBlock block : reader.blocks()) {
+            for (int t = 0; t < TelemetrySchema.TABLES.length; t++) {
+                rows[t] += block.rows(t);
+                for (String column : TelemetrySchema.columns(t)) {
+                    if (block.has(t, column)) {
+                        bytes[t] += block.length(t, column);
+                    }
+                }
+            }
+
+            values = reader.read(block, TelemetrySchema.GAMES, "simulated", values);
+            for (int g = 0; g < block.games(); g++) {
+                simulated += values[g];
+            }
+        }
+
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%d games (%d simulated) in %d blocks, %d bytes (%.1f per game)%n", reader.games(),
+                simulated, reader.blocks().size(), reader.length(),
+                (reader.games() == 0) ? 0.0 : (double) reader.length() / reader.games()));
+        text.append(String.format("%-10s %12s %12s%n", "table", "rows", "bytes"));
+        for (int t = 0; t < TelemetrySchema.TABLES.length; t++) {
+            text.append(String.format("%-10s %12d %12d%n", TelemetrySchema.TABLES[t], rows[t], bytes[t]));
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return String The number of players and winners from each college, each seat and each kind of player
+     */
+    public static String winRate(TelemetryReader reader) throws IOException {
+        long[][] colleges = new long[College.NAMES.length + 1][2];
+        long[][] seats = new long[0][2];
+        long[][] kinds = new long[2][2];
+        long[] college = null;
+        long[] player = null;
+        long[] ai = null;
+        long[] won = null;
+
+        for (TelemetryBlock block : reader.blocks()) {
+            college = reader.read(block, TelemetrySchema.PLAYERS, "college", college);
+            player = reader.read(block, TelemetrySchema.PLAYERS, "player", player);
+            ai = reader.read(block, TelemetrySchema.PLAYERS, "ai", ai);
+            won = reader.read(block, TelemetrySchema.PLAYERS, "won", won);
+
+            int mostSeats = (block.rows(TelemetrySchema.PLAYERS) == 0) ? 0
+                    : (int) block.max(TelemetrySchema.PLAYERS, "player") + 1;
+            if (mostSeats > seats.length) {
+                long[][] grown = new long[mostSeats][2];
+                System.arraycopy(seats, 0, grown, 0, seats.length);
+                seats = grown;
+            }
+            //The index says how many seats this block needs before any of it is read
+
+            for (int i = 0; i < block.rows(TelemetrySchema.PLAYERS); i++) {
+                boolean known = college[i] >= 0 && college[i] < College.NAMES.length;
+                int c = known ? (int) college[i] : College.NAMES.length;
+                tally(colleges[c], won[i]);
+                tally(seats[(int) player[i]], won[i]);
+                tally(kinds[(int) ai[i]], won[i]);
+            }
+        }
+
+        StringBuilder text = new StringBuilder(String.format("%-14s %10s %10s %9s%n", "players", "games", "wins",
+                "win rate"));
+        for (int c = 0; c < colleges.length; c++) {
+            appendRate(text, (c < College.NAMES.length) ? College.NAMES[c] : "No college", colleges[c]);
+        }
+        for (int s = 0; s < seats.length; s++) {
+            appendRate(text, "Player " + (s + 1), seats[s]);
+        }
+        appendRate(text, "Human", kinds[0]);
+        appendRate(text, "AI", kinds[1]);
+        return text.toString();
+    }
+
+    private static void tally(long[] counts, long won) {
+        counts[0]++;
+        counts[1] += won;
+    }
+
+    private static void appendRate(StringBuilder text, String name, long[] counts) {
+        if (counts[0] > 0) {
+            text.append(String.format("%-14s %10d %10d %8.1f%%%n", name, counts[0], counts[1],
+                    100.0 * counts[1] / counts[0]));
+        }
+    }
+
+    /**
+     * Finds how each random event affected the players that it hit, by comparing their final score with the average
+     * final score of their game
+     *
+     * @return String The number of times that each event fired, its average chance of being picked when it did (in
+     * the games that recorded it), the average difference that it made to the score of the player who was hit, and how
+     * often that player went on to win
+     */
+    public static String eventImpact(TelemetryReader reader) throws IOException {
+        Map<String, double[]> events = new LinkedHashMap<String, double[]>();
+        long[] players = null;
+        long[] score = null;
+        long[] won = null;
+        long[] game = null;
+        long[] player = null;
+        long[] event = null;
+        long[] chance = null;
+        int[] start = new int[0];
+        double[] mean = new double[0];
+
+        for (TelemetryBlock block : reader.blocks()) {
+            if (block.rows(TelemetrySchema.EVENTS) == 0) {
+                continue;
+            }
+
+            players = reader.read(block, TelemetrySchema.GAMES, "players", players);
+            score = reader.read(block, TelemetrySchema.PLAYERS, "score", score);
+            won = reader.read(block, TelemetrySchema.PLAYERS, "won", won);
+            game = reader.read(block, TelemetrySchema.EVENTS, "game", game);
+            player = reader.read(block, TelemetrySchema.EVENTS, "player", player);
+            event = reader.read(block, TelemetrySchema.EVENTS, "event", event);
+            boolean chances = block.has(TelemetrySchema.EVENTS, "chance");
+            if (chances) {
+                chance = reader.read(block, TelemetrySchema.EVENTS, "chance", chance);
+            }
+
+            if (start.length < block.games()) {
+                start = new int[block.games()];
+                mean = new double[block.games()];
+            }
+            int row = 0;
+            for (int g = 0; g < block.games(); g++) {
+                start[g] = row;
+                long total = 0;
+                for (int p = 0; p < players[g]; p++) {
+                    total += score[row++];
+                }
+                mean[g] = (players[g] == 0) ? 0 : (double) total / players[g];
+            }
+            //Players are stored game by game, so each game's players start where the last game's ended
+
+            for (int i = 0; i < block.rows(TelemetrySchema.EVENTS); i++) {
+                int g = (int) (game[i] - block.firstGame());
+                int hit = start[g] + (int) player[i];
+
+                String name = block.eventName((int) event[i]);
+                double[] totals = events.get(name);
+                if (totals == null) {
+                    totals = new double[5];
+                    events.put(name, totals);
+                }
+                totals[0]++;
+                totals[1] += score[hit] - mean[g];
+                totals[2] += won[hit];
+                if (chances) {
+                    totals[3] += chance[i] / (double) TelemetrySchema.CHANCE_SCALE;
+                    totals[4]++;
+                }
+            }
+        }
+
+        StringBuilder text = new StringBuilder(String.format("%-24s %10s %9s %14s %9s%n", "event", "fired", "chance",
+                "score vs mean", "win rate"));
+        for (Map.Entry<String, double[]> entry : events.entrySet()) {
+            double[] totals = entry.getValue();
+            String chanceText = (totals[4] == 0) ? "-" : String.format("%.1f%%", 100 * totals[3] / totals[4]);
+            text.append(String.format("%-24s %10d %9s %+14.1f %8.1f%%%n", entry.getKey(), (long) totals[0], chanceText,
+                    totals[1] / totals[0], 100 * totals[2] / totals[0]));
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return String The mean, extremes and percentiles of each resource's buying and selling prices over every turn
+     * of every game
+     */
+    public static String prices(TelemetryReader reader) throws IOException {
+        long[][][] histograms = new long[RESOURCES.length][2][];
+        int largest = 0;
+        for (TelemetryBlock block : reader.blocks()) {
+            if (block.rows(TelemetrySchema.PRICES) > 0) {
+                largest = (int) Math.max(largest, Math.max(block.max(TelemetrySchema.PRICES, "buy"),
+                        block.max(TelemetrySchema.PRICES, "sell")));
+            }
+        }
+        //Size the histograms from the index alone, before reading any prices
+        for (long[][] histogram : histograms) {
+            histogram[0] = new long[largest + 1];
+            histogram[1] = new long[largest + 1];
+        }
+
+        long[] resource = null;
+        long[] buy = null;
+        long[] sell = null;
+        for (TelemetryBlock block : reader.blocks()) {
+            resource = reader.read(block, TelemetrySchema.PRICES, "resource", resource);
+            buy = reader.read(block, TelemetrySchema.PRICES, "buy", buy);
+            sell = reader.read(block, TelemetrySchema.PRICES, "sell", sell);
+
+            for (int i = 0; i < block.rows(TelemetrySchema.PRICES); i++) {
+                int r = (int) resource[i];
+                if (r >= 0 && r < RESOURCES.length) {
+                    histograms[r][0][(int) Math.max(0, buy[i])]++;
+                    histograms[r][1][(int) Math.max(0, sell[i])]++;
+                }
+            }
+        }
+
+        StringBuilder text = new StringBuilder(String.format("%-16s %12s %7s %5s %5s %5s %5s %5s%n", "price", "turns",
+                "mean", "min", "p10", "p50", "p90", "max"));
+        for (int r = 0; r < RESOURCES.length; r++) {
+            appendDistribution(text, RESOURCES[r] + " buy", histograms[r][0]);
+            if (r != TelemetrySchema.ROBOTICON) {
+                appendDistribution(text, RESOURCES[r] + " sell", histograms[r][1]);
+            }
+            //The market doesn't buy roboticons back
+        }
+        return text.toString();
+    }
+
+    private static void appendDistribution(StringBuilder text, String name, long[] histogram) {
+        long count = 0;
+        double total = 0;
+        for (int price = 0; price < histogram.length; price++) {
+            count += histogram[price];
+            total += (double) price * histogram[price];
+        }
+        if (count == 0) {
+            return;
+        }
+
+        text.append(String.format("%-16s %12d %7.1f %5d %5d %5d %5d %5d%n", name, count, total / count,
+                percentile(histogram, count, 0), percentile(histogram, count, 0.1), percentile(histogram, count, 0.5),
+                percentile(histogram, count, 0.9), percentile(histogram, count, 1)));
+    }
+
+    /**
+     * @return int The smallest price which at least the given fraction of the histogram's prices are no higher than
+     */
+    private static int percentile(long[] histogram, long count, double fraction) {
+        long needed = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int price = 0; price < histogram.length; price++) {
+            seen += histogram[price];
+            if (seen >= needed) {
+                return price;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    /**
+     * Plays headless games with the configured economy and adds them to a store
+     *
+     * @param store The store
+     * @param games The number of games to play
+     * @param seed Seeds the first game, with each game after it seeded by the next number
+     */
+    public static void simulate(TelemetryStore store, int games, long seed) throws IOException {
+        GameConfig config = GameConfig.configured();
+        AiParameters parameters = AiParameters.defaults();
+        for (int g = 0; g < games; g++) {
+            store.append(GameRecord.simulate(config, seed + g, parameters));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: TelemetryTool summary|winrate|events|prices|simulate|compact [file] "
+                    + "[arguments]...");
+            return;
+        }
+
+        String command = args[0];
+        File file = (args.length > 1) ? new File(args[1]) : TelemetryStore.defaultFile();
+        long start = System.nanoTime();
+
+        if (command.equals("simulate")) {
+            int games = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_SIMULATED_GAMES;
+            long seed = (args.length > 3) ? Long.parseLong(args[3]) : System.nanoTime();
+            TelemetryStore store = TelemetryStore.open(file);
+            try {
+                simulate(store, games, seed);
+                System.out.println("Stored " + games + " games; " + store.games() + " in total.");
+            } finally {
+                store.close();
+            }
+        } else if (command.equals("compact")) {
+            int blockGames = (args.length > 2) ? Integer.parseInt(args[2]) : TelemetryStore.DEFAULT_BLOCK_GAMES;
+            TelemetryStore.compact(file, blockGames);
+        } else {
+            TelemetryReader reader = new TelemetryReader(file);
+            try {
+                if (command.equals("summary")) {
+                    System.out.print(summary(reader));
+                } else if (command.equals("winrate")) {
+                    System.out.print(winRate(reader));
+                } else if (command.equals("events")) {
+                    System.out.print(eventImpact(reader));
+                } else if (command.equals("prices")) {
+                    System.out.print(prices(reader));
+                } else {
+                    throw new IllegalArgumentException("Error: Unknown command \"" + command + "\".");
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        System.out.println(String.format("Done in %.2fs", (System.nanoTime() - start) / 1e9));
+    }
+}
@@ -0,0 +1,393 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.tuning;
+
+import drtn.game.GameConfig;
+import drtn.game.ai.AiParameters;
+import drtn.game.ai.HeuristicPolicy;
+import drtn.game.ai.SimRandom;
+import drtn.game.ai.SimState;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.pricing.PriceTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+/**
+ * Plays headless games over a range of {@link GameConfig}s, to show how each part of the economy affects the game
+ *
+ * A sweep varies a handful of the configuration's values (its axes) and leaves the rest at a base configuration.
+ * The configurations tried are either every combination of evenly spaced values along each axis, or a Latin
+ * hypercube sample: a fixed number of configurations in which each axis's range is cut into that many equal strata
+ * and every stratum is used exactly once, which covers many axes far more cheaply than a full grid.
+ *
+ * Every configuration plays the same set of games on the real map, with every player following {@link
+ * HeuristicPolicy} with the default parameters, and the games are spread over a pool of threads, one per core by
+ * default. For each configuration the sweep reports:
+ *  - the average length of a game in turns,
+ *  - the average score spread between the winner and the player who came last, and
+ *  - the average inflation over the game, as the rise in the mean price of buying ore, energy, food and roboticons
+ *    from the market.
+ *
+ * Run from the command line with: EconomySweep [cartesian | lhs] [samples] [games] [name=min:max[:steps]]...
+ */
+public class EconomySweep {
+
+    public static final int DEFAULT_SAMPLES = 32;
+
+    /**
+     * Games played with each configuration
+     */
+    public static final int DEFAULT_GAMES = 64;
+
+    public static final int DEFAULT_STEPS = 3;
+
+    public static final int PLAYERS = 4;
+
+    /**
+     * Number of tiles on the real map
+     */
+    public static final int TILES = 16;
+
+    /**
+     * Price of buying and selling resources at the start of the game, before the pricing model first reprices them
+     */
+    public static final int OPENING_BUY_PRICE = 15;
+    public static final int OPENING_SELL_PRICE = 14;
+
+    /**
+     * One of the values that a sweep varies
+     */
+    public static class Axis {
+        public final int index;
+        public final double min;
+        public final double max;
+
+        /**
+         * Number of values tried along the axis in a Cartesian sweep
+         */
+        public final int steps;
+
+        public Axis(int index, double min, double max, int steps) {
+            if (steps < 1) {
+                throw new IllegalArgumentException("Error: An axis needs at least one step.");
+            }
+
+            this.index = index;
+            this.min = min;
+            this.max = max;
+            this.steps = steps;
+        }
+
+        /**
+         * Reads an axis written as name=min:max or name=min:max:steps
+         *
+         * @throws IllegalArgumentException If the axis can't be read
+         */
+        public static Axis parse(String text) {
+            int equals = text.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Error: Axis \"" + text + "\" should be name=min:max[:steps].");
+            }
+
+            String[] range = text.substring(equals + 1).split(":");
+            if (range.length < 2 || range.length > 3) {
+                throw new IllegalArgumentException("Error: Axis \"" + text + "\" should be name=min:max[:steps].");
+            }
+
+            try {
+                return new Axis(GameConfig.indexOf(text.substring(0, equals).trim()), Double.parseDouble(range[0]),
+                        Double.parseDouble(range[1]), (range.length == 3) ? Integer.parseInt(range[2]) : DEFAULT_STEPS);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Error: Axis \"" + text + "\" has a range that isn't a number.");
+            }
+        }
+
+        /**
+         * @return double The value at a fraction of the way along the axis
+         */
+        public double at(double fraction) {
+            return min + fraction * (max - min);
+        }
+    }
+
+    /**
+     * The averages over the games played with one configuration
+     */
+    public static class Result {
+        public final GameConfig config;
+        public final double turns;
+        public final double spread;
+        public final double inflation;
+
+        public Result(GameConfig config, double turns, double spread, double inflation) {
+            this.config = config;
+            this.turns = turns;
+            this.spread = spread;
+            this.inflation = inflation;
+        }
+    }
+
+    private final int games;
+    private final long seed;
+    private final ExecutorService pool;
+
+    /**
+     * @param games The number of games to play with each configuration
+     * @param threads The number of threads to play games on
+     * @param seed Seeds the games, so that sweeps can be repeated
+     */
+    public EconomySweep(int games, int threads, long seed) {
+        this.games = games;
+        this.seed = seed;
+        this.pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Economy Sweep");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Lists every combination of evenly spaced values along the given axes
+     *
+     * @param base The configuration to take the values that aren't swept from
+     * @param axes The values to sweep
+     * @return List The configurations, with the last axis varying fastest
+     */
+    public static List<GameConfig> cartesian(GameConfig base, List<Axis> axes) {
+        List<GameConfig> configs = new ArrayList<GameConfig>();
+        configs.add(base);
+
+        for (Axis axis : axes) {
+            List<GameConfig> expanded = new ArrayList<GameConfig>(configs.size() * axis.steps);
+            for (GameConfig config : configs) {
+                for (int s = 0; s < axis.steps; s++) {
+                    double fraction = (axis.steps == 1) ? 0 : (double) s / (axis.steps - 1);
+                    expanded.add(config.with(axis.index, axis.at(fraction)));
+                }
+            }
+            configs = expanded;
+        }
+
+        return configs;
+    }
+
+    /**
+     * Draws a Latin hypercube sample over the given axes
+     * Each axis's range is cut into as many equal strata as there are samples, and each stratum is used by exactly one
+     * sample, at a random point within it
+     *
+     * @param base The configuration to take the values that aren't swept from
+     * @param axes The values to sweep
+     * @param samples The number of configurations to draw
+     * @param rnd The source of randomness
+     * @return List The configurations
+     */
+    public static List<GameConfig> latinHypercube(GameConfig base, List<Axis> axes, int samples, Random rnd) {
+        double[][] values = new double[samples][axes.size()];
+
+        int[] strata = new int[samples];
+        for (int a = 0; a < axes.size(); a++) {
+            for (int i = 0; i < samples; i++) {
+                strata[i] = i;
+            }
+            for (int i = samples - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int swap = strata[i];
+                strata[i] = strata[j];
+                strata[j] = swap;
+            }
+
+            for (int i = 0; i < samples; i++) {
+                values[i][a] = axes.get(a).at((strata[i] + rnd.nextDouble()) / samples);
+            }
+        }
+
+        List<GameConfig> configs = new ArrayList<GameConfig>(samples);
+        for (int i = 0; i < samples; i++) {
+            GameConfig config = base;
+            for (int a = 0; a < axes.size(); a++) {
+                config = config.with(axes.get(a).index, values[i][a]);
+            }
+            configs.add(config);
+        }
+
+        return configs;
+    }
+
+    /**
+     * Plays the same set of games with each configuration
+     *
+     * @param configs The configurations to try
+     * @return List The results, in the same order as the configurations
+     * @throws InterruptedException If the thread is interrupted while the games are being played
+     */
+    public List<Result> run(List<GameConfig> configs) throws InterruptedException {
+        List<Callable<Result>> tasks = new ArrayList<Callable<Result>>(configs.size());
+        for (final GameConfig config : configs) {
+            tasks.add(new Callable<Result>() {
+                @Override
+                public Result call() {
+                    return play(config, seed, games);
+                }
+            });
+        }
+
+        List<Future<Result>> futures = pool.invokeAll(tasks);
+        List<Result> results = new ArrayList<Result>(futures.size());
+        for (Future<Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error: Sweep game failed.", e.getCause());
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Plays a set of games with one configuration
+     *
+     * @return Result The averages over the games
+     */
+    static Result play(GameConfig config, long gameSeed, int games) {
+        AiParameters parameters = AiParameters.defaults();
+        long turns = 0;
+        long spread = 0;
+        double inflation = 0;
+
+        for (int g = 0; g < games; g++) {
+            SimRandom rnd = new SimRandom(gameSeed * 0x9E3779B97F4A7C15L + g);
+            SimState state = newGame(config);
+            double opening = meanPrice(state);
+
+            while (!state.isOver()) {
+                state.apply(HeuristicPolicy.choose(state, parameters), rnd);
+            }
+
+            int best = Integer.MIN_VALUE;
+            int worst = Integer.MAX_VALUE;
+            for (int p = 0; p < PLAYERS; p++) {
+                best = Math.max(best, state.score(p));
+                worst = Math.min(worst, state.score(p));
+            }
+
+            turns += state.getTurn();
+            spread += best - worst;
+            inflation += meanPrice(state) / opening - 1;
+        }
+
+        return (games == 0) ? new Result(config, 0, 0, 0)
+                : new Result(config, (double) turns / games, (double) spread / games, inflation / games);
+    }
+
+    /**
+     * Sets up the opening of a game on the real map with the given configuration
+     */
+    public static SimState newGame(GameConfig config) {
+        SimState state = new SimState(PLAYERS, TILES, new PriceTable(new InverseStockPricing()));
+
+        for (int p = 0; p < PLAYERS; p++) {
+            state.setPlayer(p, config.round(GameConfig.START_MONEY), config.round(GameConfig.START_ORE),
+                    config.round(GameConfig.START_ENERGY), config.round(GameConfig.START_FOOD), 0);
+        }
+        for (int t = 0; t < TILES; t++) {
+            state.setTile(t, SimState.NO_OWNER, config.tileYield(t + 1, SimState.ORE),
+                    config.tileYield(t + 1, SimState.ENERGY), config.tileYield(t + 1, SimState.FOOD));
+        }
+
+        state.setMarket(SimState.ORE, config.round(GameConfig.ORE_STOCK), OPENING_BUY_PRICE, OPENING_SELL_PRICE);
+        state.setMarket(SimState.ENERGY, config.round(GameConfig.ENERGY_STOCK), OPENING_BUY_PRICE, OPENING_SELL_PRICE);
+        state.setMarket(SimState.FOOD, config.round(GameConfig.FOOD_STOCK), OPENING_BUY_PRICE, OPENING_SELL_PRICE);
+        state.setRoboticonMarket(config.round(GameConfig.ROBOTICON_STOCK), config.round(GameConfig.ROBOTICON_PRICE));
+        state.setRules(config.round(GameConfig.ROBOTICON_PRICE_STEP), config.round(GameConfig.UPGRADE_COST_PER_LEVEL));
+        return state;
+    }
+
+    /**
+     * @return double The mean price of buying ore, energy, food and roboticons from the market
+     */
+    private static double meanPrice(SimState state) {
+        return (state.getBuyPrice(SimState.ORE) + state.getBuyPrice(SimState.ENERGY)
+                + state.getBuyPrice(SimState.FOOD) + state.getRoboticonPrice()) / 4.0;
+    }
+
+    /**
+     * Lays the results out as a table, with a column for each swept value followed by the averages
+     *
+     * @param results The results of a sweep
+     * @param axes The values that were swept
+     * @return String The table
+     */
+    public static String table(List<Result> results, List<Axis> axes) {
+        StringBuilder text = new StringBuilder();
+        for (Axis axis : axes) {
+            text.append(String.format("%14s ", abbreviate(GameConfig.NAMES[axis.index])));
+        }
+        text.append(String.format("%8s %8s %9s%n", "turns", "spread", "inflation"));
+
+        for (Result result : results) {
+            for (Axis axis : axes) {
+                text.append(String.format("%14.2f ", result.config.get(axis.index)));
+            }
+            text.append(String.format("%8.1f %8.1f %8.1f%%%n", result.turns, result.spread, result.inflation * 100));
+        }
+
+        return text.toString();
+    }
+
+    private static String abbreviate(String name) {
+        return (name.length() > 14) ? name.substring(0, 14) : name;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String mode = (args.length > 0) ? args[0] : "lhs";
+        int samples = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_SAMPLES;
+        int games = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_GAMES;
+
+        List<Axis> axes = new ArrayList<Axis>();
+        for (int i = 3; i < args.length; i++) {
+            axes.add(Axis.parse(args[i]));
+        }
+        if (axes.isEmpty()) {
+            axes.add(new Axis(GameConfig.ROBOTICON_PRICE, 10, 40, DEFAULT_STEPS));
+            axes.add(new Axis(GameConfig.UPGRADE_COST_PER_LEVEL, 3, 12, DEFAULT_STEPS));
+            axes.add(new Axis(GameConfig.START_MONEY, 25, 100, DEFAULT_STEPS));
+        }
+
+        List<GameConfig> configs;
+        if (mode.equals("cartesian")) {
+            configs = cartesian(GameConfig.configured(), axes);
+        } else if (mode.equals("lhs")) {
+            configs = latinHypercube(GameConfig.configured(), axes, samples, new Random(samples));
+        } else {
+            throw new IllegalArgumentException("Error: Unknown sweep \"" + mode + "\"; use cartesian or lhs.");
+        }
+
+        EconomySweep sweep = new EconomySweep(games, Runtime.getRuntime().availableProcessors(), 1);
+        long start = System.nanoTime();
+        try {
+            System.out.print(table(sweep.run(configs), axes));
+        } finally {
+            sweep.shutdown();
+        }
+        System.out.println(String.format("%d configurations x %d games in %.1fs", configs.size(), games,
+                (System.nanoTime() - start) / 1e9));
+    }
+}
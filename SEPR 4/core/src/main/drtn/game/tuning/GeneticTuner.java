@@ -0,0 +1,467 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game.tuning;
+
+import drtn.game.GameConfig;
+import drtn.game.ai.AiParameters;
+import drtn.game.ai.HeuristicPolicy;
+import drtn.game.ai.SimRandom;
+import drtn.game.ai.SimState;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Evolves the {@link AiParameters} which tune the heuristic AI players, by playing them against each other in
+ * headless games
+ *
+ * Each generation, every member of the population plays the same set of games (so that luck of the draw evens out
+ * between them) on the simulated game in {@link SimState}, set up by the game's configuration, taking a different seat in each, against opponents who
+ * play with the default parameters. A member's fitness is its average lead over the best of its opponents at the end
+ * of the game. The next generation keeps the fittest few members as they are, and fills the rest of its places with
+ * children of parents picked by tournament, whose parameters are blended from both parents' and then occasionally
+ * nudged at random.
+ *
+ * Games are spread over a pool of threads, one per core by default, and every evaluated generation is written to a
+ * checkpoint file so that a long run can be stopped and picked up again with {@link #resume()}. The best parameters
+ * found so far are also written to best.properties, which {@link drtn.game.ai.TunedStrategy} can play with.
+ *
+ * Run from the command line with: GeneticTuner [generations] [population] [games] [checkpoint directory]
+ */
+public class GeneticTuner {
+
+    public static final int DEFAULT_GENERATIONS = 200;
+    public static final int DEFAULT_POPULATION = 48;
+
+    /**
+     * Games played by each member of the population every generation
+     */
+    public static final int DEFAULT_GAMES = 64;
+
+    public static final int PLAYERS = EconomySweep.PLAYERS;
+    public static final int TILES = EconomySweep.TILES;
+
+    /**
+     * Number of the fittest members carried over to the next generation unchanged
+     */
+    public static final int ELITES = 2;
+
+    /**
+     * Number of members that compete for each parent's place
+     */
+    public static final int TOURNAMENT_SIZE = 3;
+
+    /**
+     * Chance of each of a child's parameters being nudged at random
+     */
+    public static final double MUTATION_RATE = 0.2;
+
+    /**
+     * Spread of each nudge, as a share of the parameter's range
+     */
+    public static final double MUTATION_SCALE = 0.1;
+
+    private static final String CHECKPOINT_PREFIX = "generation-";
+    private static final String CHECKPOINT_SUFFIX = ".txt";
+
+    private final int populationSize;
+    private final int gamesPerMember;
+    private final long seed;
+    private final GameConfig config;
+    private final File checkpointDir;
+    private final ExecutorService pool;
+    private final Random rnd;
+
+    /**
+     * The generation waiting to be evaluated
+     */
+    private List<AiParameters> population;
+
+    /**
+     * The last generation to be evaluated, and the fitness of each of its members
+     */
+    private List<AiParameters> evaluated = Collections.emptyList();
+    private double[] fitness = new double[0];
+
+    /**
+     * The number of the generation waiting to be evaluated
+     */
+    private int generation;
+
+    /**
+     * @param populationSize The number of parameter sets in each generation
+     * @param gamesPerMember The number of games that each of them plays per generation
+     * @param threads The number of threads to play games on
+     * @param seed Seeds the games and the breeding, so that runs can be repeated
+     * @param checkpointDir The directory to write checkpoints to, or null to not write any
+     */
+    public GeneticTuner(int populationSize, int gamesPerMember, int threads, long seed, File checkpointDir) {
+        if (populationSize <= ELITES) {
+            throw new IllegalArgumentException("Error: The population must be larger than " + ELITES + ".");
+        }
+
+        this.populationSize = populationSize;
+        this.gamesPerMember = gamesPerMember;
+        this.seed = seed;
+        this.config = GameConfig.configured();
+        this.checkpointDir = checkpointDir;
+        this.rnd = new Random(seed);
+        this.pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Tuner");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        population = new ArrayList<AiParameters>(populationSize);
+        population.add(AiParameters.defaults());
+        while (population.size() < populationSize) {
+            double[] values = new double[AiParameters.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = AiParameters.min(i) + rnd.nextDouble() * (AiParameters.max(i) - AiParameters.min(i));
+            }
+            population.add(new AiParameters(values));
+        }
+    }
+
+    /**
+     * Evaluates the current generation, checkpoints it and breeds the next one
+     *
+     * @throws IOException If the checkpoint can't be written
+     * @throws InterruptedException If the thread is interrupted while the games are being played
+     */
+    public void step() throws IOException, InterruptedException {
+        fitness = evaluate(population, seed * 31 + generation);
+        evaluated = population;
+
+        if (checkpointDir != null) {
+            writeCheckpoint();
+        }
+
+        population = breed(evaluated, fitness);
+        generation++;
+    }
+
+    /**
+     * Runs the given number of generations, reporting on each one as it finishes
+     */
+    public void run(int generations) throws IOException, InterruptedException {
+        for (int i = 0; i < generations; i++) {
+            long start = System.nanoTime();
+            step();
+
+            int best = fittest(fitness);
+            System.out.println(String.format("Generation %d: best %.1f, mean %.1f (%.1fs) %s", generation - 1,
+                    fitness[best], mean(fitness), (System.nanoTime() - start) / 1e9, evaluated.get(best)));
+        }
+    }
+
+    /**
+     * Plays every member of a population through the same set of games
+     *
+     * @param members The parameter sets to evaluate
+     * @param gameSeed Seeds the maps and production of the games
+     * @return double[] Each member's average lead over its best opponent
+     * @throws InterruptedException If the thread is interrupted while the games are being played
+     */
+    public double[] evaluate(List<AiParameters> members, final long gameSeed) throws InterruptedException {
+        List<Callable<Double>> tasks = new ArrayList<Callable<Double>>(members.size());
+        for (final AiParameters member : members) {
+            tasks.add(new Callable<Double>() {
+                @Override
+                public Double call() {
+                    return playMatches(member, config, gameSeed, gamesPerMember);
+                }
+            });
+        }
+
+        List<Future<Double>> results = pool.invokeAll(tasks);
+        double[] scores = new double[members.size()];
+        for (int i = 0; i < scores.length; i++) {
+            try {
+                scores[i] = results.get(i).get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error: Tuning game failed.", e.getCause());
+            }
+        }
+
+        return scores;
+    }
+
+    /**
+     * Plays a set of games with one player using the given parameters and the rest using the defaults
+     *
+     * @return double The player's average lead over the best of its opponents
+     */
+    static double playMatches(AiParameters candidate, GameConfig config, long gameSeed, int games) {
+        AiParameters baseline = AiParameters.defaults();
+        AiParameters[] seats = new AiParameters[PLAYERS];
+        long total = 0;
+
+        for (int g = 0; g < games; g++) {
+            int seat = g % PLAYERS;
+            for (int p = 0; p < PLAYERS; p++) {
+                seats[p] = (p == seat) ? candidate : baseline;
+            }
+
+            SimRandom rnd = new SimRandom(gameSeed * 0x9E3779B97F4A7C15L + g);
+            SimState state = newGame(config, rnd);
+            while (!state.isOver()) {
+                state.apply(HeuristicPolicy.choose(state, seats[state.getCurrentPlayer()]), rnd);
+            }
+
+            int rival = Integer.MIN_VALUE;
+            for (int p = 0; p < PLAYERS; p++) {
+                if (p != seat) {
+                    rival = Math.max(rival, state.score(p));
+                }
+            }
+            total += state.score(seat) - rival;
+        }
+
+        return (games == 0) ? 0 : (double) total / games;
+    }
+
+    /**
+     * Sets up the opening of a game from the configuration, as {@link EconomySweep#newGame(GameConfig)} does, but on
+     * a random map so that the parameters aren't tuned to one map's yields
+     */
+    static SimState newGame(GameConfig config, SimRandom rnd) {
+        SimState state = EconomySweep.newGame(config);
+        for (int t = 0; t < TILES; t++) {
+            state.setTile(t, SimState.NO_OWNER, 2 + rnd.nextInt(7), 2 + rnd.nextInt(7), 2 + rnd.nextInt(7));
+        }
+        return state;
+    }
+
+    /**
+     * Breeds the next generation from an evaluated one
+     */
+    private List<AiParameters> breed(List<AiParameters> parents, double[] scores) {
+        Integer[] order = new Integer[parents.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        final double[] ranked = scores;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Double.compare(ranked[b], ranked[a]);
+            }
+        });
+
+        List<AiParameters> children = new ArrayList<AiParameters>(populationSize);
+        for (int i = 0; i < ELITES && i < order.length; i++) {
+            children.add(parents.get(order[i]));
+        }
+
+        while (children.size() < populationSize) {
+            double[] mother = parents.get(tournament(scores)).toArray();
+            double[] father = parents.get(tournament(scores)).toArray();
+            double[] child = new double[mother.length];
+
+            for (int i = 0; i < child.length; i++) {
+                child[i] = mother[i] + rnd.nextDouble() * (father[i] - mother[i]);
+                if (rnd.nextDouble() < MUTATION_RATE) {
+                    child[i] += rnd.nextGaussian() * MUTATION_SCALE * (AiParameters.max(i) - AiParameters.min(i));
+                }
+            }
+            children.add(new AiParameters(child));
+        }
+
+        return children;
+    }
+
+    private int tournament(double[] scores) {
+        int winner = rnd.nextInt(scores.length);
+        for (int i = 1; i < TOURNAMENT_SIZE; i++) {
+            int challenger = rnd.nextInt(scores.length);
+            if (scores[challenger] > scores[winner]) {
+                winner = challenger;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Writes the evaluated generation to its checkpoint file, and the best parameters so far to best.properties
+     * Files are written under a temporary name and then renamed, so a run stopped part-way through writing never
+     * leaves a broken checkpoint behind
+     */
+    private void writeCheckpoint() throws IOException {
+        if (!checkpointDir.isDirectory() && !checkpointDir.mkdirs()) {
+            throw new IOException("Error: Can't create checkpoint directory " + checkpointDir + ".");
+        }
+
+        File file = checkpointFile(generation);
+        File temp = new File(checkpointDir, file.getName() + ".tmp");
+        PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(temp)));
+        try {
+            out.println("# generation " + generation + ", seed " + seed + ": fitness "
+                    + Arrays.toString(AiParameters.NAMES));
+            for (int i = 0; i < evaluated.size(); i++) {
+                StringBuilder line = new StringBuilder(Double.toString(fitness[i]));
+                for (double value : evaluated.get(i).toArray()) {
+                    line.append(' ').append(value);
+                }
+                out.println(line);
+            }
+        } finally {
+            out.close();
+        }
+        replace(temp, file);
+
+        int best = fittest(fitness);
+        File bestTemp = new File(checkpointDir, "best.properties.tmp");
+        evaluated.get(best).save(bestTemp, "Fittest parameters of generation " + generation + " (lead "
+                + fitness[best] + ")");
+        replace(bestTemp, new File(checkpointDir, "best.properties"));
+    }
+
+    /**
+     * Picks up a run from the latest checkpoint in the checkpoint directory, breeding the generation after it
+     *
+     * @return boolean True if a checkpoint was found
+     * @throws IOException If the checkpoint can't be read
+     */
+    public boolean resume() throws IOException {
+        int latest = -1;
+        String[] names = (checkpointDir == null) ? null : checkpointDir.list();
+        if (names != null) {
+            for (String name : names) {
+                if (name.startsWith(CHECKPOINT_PREFIX) && name.endsWith(CHECKPOINT_SUFFIX)) {
+                    try {
+                        latest = Math.max(latest, Integer.parseInt(name.substring(CHECKPOINT_PREFIX.length(),
+                                name.length() - CHECKPOINT_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        //Do nothing: not one of our checkpoints
+                    }
+                }
+            }
+        }
+        if (latest < 0) {
+            return false;
+        }
+
+        List<AiParameters> loaded = new ArrayList<AiParameters>();
+        List<Double> scores = new ArrayList<Double>();
+        BufferedReader in = new BufferedReader(new FileReader(checkpointFile(latest)));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = line.split("\\s+");
+                double[] values = new double[fields.length - 1];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = Double.parseDouble(fields[i + 1]);
+                }
+                scores.add(Double.parseDouble(fields[0]));
+                loaded.add(new AiParameters(values));
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Error: Checkpoint " + checkpointFile(latest) + " is corrupt.", e);
+        } finally {
+            in.close();
+        }
+
+        if (loaded.size() <= ELITES) {
+            throw new IOException("Error: Checkpoint " + checkpointFile(latest) + " is too small to breed from.");
+        }
+
+        fitness = new double[scores.size()];
+        for (int i = 0; i < fitness.length; i++) {
+            fitness[i] = scores.get(i);
+        }
+        evaluated = loaded;
+        population = breed(evaluated, fitness);
+        generation = latest + 1;
+        return true;
+    }
+
+    /**
+     * @return int The number of the next generation to be evaluated
+     */
+    public int generation() {
+        return generation;
+    }
+
+    /**
+     * @return AiParameters The fittest member of the last generation to be evaluated, or null if none has been
+     */
+    public AiParameters best() {
+        return evaluated.isEmpty() ? null : evaluated.get(fittest(fitness));
+    }
+
+    public double bestFitness() {
+        return evaluated.isEmpty() ? 0 : fitness[fittest(fitness)];
+    }
+
+    /**
+     * Stops the threads that games are played on
+     */
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int generations = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_GENERATIONS;
+        int populationSize = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_POPULATION;
+        int games = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_GAMES;
+        File dir = new File((args.length > 3) ? args[3] : "tuning");
+
+        GeneticTuner tuner = new GeneticTuner(populationSize, games, Runtime.getRuntime().availableProcessors(),
+                System.nanoTime(), dir);
+        if (tuner.resume()) {
+            System.out.println("Resuming from generation " + tuner.generation() + " in " + dir);
+        }
+
+        try {
+            tuner.run(generations);
+        } finally {
+            tuner.shutdown();
+        }
+        System.out.println("Best parameters: " + tuner.best() + " (written to " + new File(dir, "best.properties")
+                + ")");
+    }
+
+    private File checkpointFile(int n) {
+        return new File(checkpointDir, String.format("%s%04d%s", CHECKPOINT_PREFIX, n, CHECKPOINT_SUFFIX));
+    }
+
+    private static void replace(File from, File to) throws IOException {
+        if ((to.exists() && !to.delete()) || !from.renameTo(to)) {
+            throw new IOException("Error: Can't write " + to + ".");
+        }
+    }
+
+    private static int fittest(double[] scores) {
+        int best = 0;
+        for (int i = 1; i < scores.length; i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static double mean(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            total += value;
+        }
+        return (values.length == 0) ? 0 : total / values.length;
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.*;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.pricing.PriceTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AiStrategyTest {
+
+    private AiTurnService service;
+    private DecisionMetrics metrics;
+    private DecisionRunner runner;
+    private GameView view;
+
+    @Before
+    public void setup() {
+        service = new AiTurnService();
+        metrics = new DecisionMetrics();
+        runner = new DecisionRunner(service, metrics);
+
+        SimState state = new SimState(2, 4, new PriceTable(new InverseStockPricing()));
+        for (int p = 0; p < 2; p++) {
+            state.setPlayer(p, 50, 0, 5, 5, 0);
+        }
+        for (int t = 0; t < 4; t++) {
+            state.setTile(t, SimState.NO_OWNER, 5, 5, 5);
+        }
+        state.setMarket(SimState.ORE, 0, 15, 14);
+        state.setMarket(SimState.ENERGY, 16, 15, 14);
+        state.setMarket(SimState.FOOD, 16, 15, 14);
+        state.setRoboticonMarket(12, 20);
+        state.setPosition(1, 0, 1);
+        view = new GameView(state);
+    }
+
+    @After
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    /**
+     * The built-in strategies should be found through their service registrations
+     */
+    @Test
+    public void strategiesAreDiscovered() {
+        assertEquals(MctsStrategy.NAME, AiStrategies.byName(MctsStrategy.NAME).name());
+        assertTrue(AiStrategies.byName(FlatMonteCarloStrategy.NAME) instanceof FlatMonteCarloStrategy);
+        assertEquals(MctsStrategy.NAME, AiStrategies.configured().name());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownStrategiesAreRejected() {
+        AiStrategies.byName("nonsense");
+    }
+
+    /**
+     * A strategy which ignores its budget should be given up on, and its move replaced by the fallback
+     */
+    @Test
+    public void overrunningStrategiesFallBack() throws Exception {
+        AiStrategy stubborn = new AiStrategy() {
+            @Override
+            public String name() {
+                return "stubborn";
+            }
+
+            @Override
+            public int decide(GameView view, ComputeBudget budget) {
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    //Give up once the engine stops waiting
+                }
+                return SimAction.of(SimAction.CLAIM, 0);
+            }
+        };
+
+        long start = System.nanoTime();
+        CompletableFuture<Integer> decision = runner.decide(stubborn, view, 10);
+        assertEquals(DecisionRunner.FALLBACK, (int) decision.get(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+
+        assertEquals(1, metrics.timeouts("stubborn"));
+        assertEquals(1, metrics.histogram("stubborn").count());
+    }
+
+    /**
+     * Decisions made within budget should be passed on and timed
+     */
+    @Test
+    public void decisionsAreTimedPerStrategy() {
+        int action = runner.decideNow(new FlatMonteCarloStrategy(), view, 5);
+
+        int[] legal = new int[SimState.maxActions(view.tileCount())];
+        boolean isLegal = false;
+        for (int i = view.legalActions(legal) - 1; i >= 0; i--) {
+            isLegal |= legal[i] == action;
+        }
+        assertTrue(isLegal);
+
+        assertEquals(1, metrics.histogram(FlatMonteCarloStrategy.NAME).count());
+        assertEquals(0, metrics.timeouts(FlatMonteCarloStrategy.NAME));
+        assertEquals(0, metrics.histogram(MctsStrategy.NAME).count());
+    }
+
+    /**
+     * Strategies which fail should be replaced by the fallback rather than stopping the game
+     */
+    @Test
+    public void failingStrategiesFallBack() {
+        AiStrategy broken = new AiStrategy() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public int decide(GameView view, ComputeBudget budget) {
+                throw new IllegalStateException("Error: Test failure.");
+            }
+        };
+
+        assertEquals(DecisionRunner.FALLBACK, runner.decideNow(broken, view, 10));
+        assertEquals(0, metrics.timeouts("broken"));
+    }
+
+    /**
+     * Percentiles should be read from the upper edges of the histogram's buckets
+     */
+    @Test
+    public void histogramsEstimatePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(900));
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertEquals(100, histogram.count());
+        assertEquals(1.024, histogram.percentileMillis(50), 1e-9);
+        assertEquals(1.024, histogram.percentileMillis(99), 1e-9);
+        assertEquals(50, histogram.percentileMillis(100), 1e-9);
+        assertEquals(50, histogram.maxMillis(), 1e-9);
+    }
+
+    /**
+     * Harder AI players should be given longer to think, and faster pacing should cut every budget in proportion
+     * or, without a budget of its own, hold each difficulty to simulating more games the harder it is
+     */
+    @Test
+    public void difficultiesMapToBudgets() {
+        assertTrue(Difficulty.EASY.budgetMillis() < Difficulty.NORMAL.budgetMillis());
+        assertTrue(Difficulty.NORMAL.budgetMillis() < Difficulty.HARD.budgetMillis());
+
+        assertEquals(Difficulty.HARD.budgetMillis(), Difficulty.HARD.budgetMillis(StandardPacing.REAL_TIME));
+        assertEquals(Difficulty.HARD.budgetMillis() / 10, Difficulty.HARD.budgetMillis(StandardPacing.ACCELERATED));
+        assertEquals(ComputeBudget.UNLIMITED_ROLLOUTS, Difficulty.HARD.rollouts(StandardPacing.ACCELERATED));
+
+        assertTrue(Difficulty.EASY.rollouts(StandardPacing.UNLIMITED)
+                < Difficulty.NORMAL.rollouts(StandardPacing.UNLIMITED));
+        assertTrue(Difficulty.NORMAL.rollouts(StandardPacing.UNLIMITED)
+                < Difficulty.HARD.rollouts(StandardPacing.UNLIMITED));
+        //Unlimited pacing decides on the render thread, so each difficulty is held to a number of games instead
+    }
+
+    /**
+     * The view should be unaffected by changes to the state it was taken from or to the copies it hands out
+     */
+    @Test
+    public void viewsCannotBeChanged() {
+        SimState copy = view.copyState();
+        copy.apply(SimAction.of(SimAction.CLAIM, 2), new SimRandom(1));
+
+        assertEquals(0, copy.getOwner(2));
+        assertEquals(SimState.NO_OWNER, view.getOwner(2));
+        assertEquals(4, view.getFreeTiles());
+    }
+}
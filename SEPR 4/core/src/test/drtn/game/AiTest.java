@@ -7,8 +7,11 @@
  **/
 
 package drtn.game;
+import drtn.game.ai.Negotiator;
 import drtn.game.entity.AiPlayer;
+import drtn.game.entity.Market;
 import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -32,9 +35,15 @@ public class AiTest extends TesterFile {
     }
 
     @Test
-    public void aiShouldDecideChanceOfAcceptOffer() {
-        assertEquals("Ai has failed to judge the money.", 0, aiPlayer.calculateLikelihood(0, 100), 0.01);
-        assertEquals("Ai should have 2/3 chance of accept.", 0.66, aiPlayer.calculateLikelihood(50, 50), 0.01);
-        assertEquals("Ai should definitely accept this offer.", 1, aiPlayer.calculateLikelihood(100, 50), 0.01);
+    public void aiShouldAnswerOffersByTheirValue() {
+        aiPlayer.setResource(ResourceType.MONEY, 100);
+        aiPlayer.negotiator().refresh(new Market(), 1);
+
+        assertEquals("Ai has failed to judge the money.", Negotiator.Answer.REJECT,
+                aiPlayer.negotiator().answer(new Trade(0, 0, 0, 100, humanPlayer, aiPlayer)));
+        assertEquals("Ai should haggle over this offer.", Negotiator.Answer.COUNTER,
+                aiPlayer.negotiator().answer(new Trade(0, 0, 2, 50, humanPlayer, aiPlayer)));
+        assertEquals("Ai should definitely accept this offer.", Negotiator.Answer.ACCEPT,
+                aiPlayer.negotiator().answer(new Trade(0, 0, 2, 20, humanPlayer, aiPlayer)));
     }
 }
@@ -0,0 +1,167 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.AiTurnService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class AiTurnServiceTest {
+
+    private AiTurnService service;
+
+    /**
+     * Stands in for Gdx.app.postRunnable, holding tasks back until the test runs them
+     */
+    private List<Runnable> renderQueue;
+    private Executor renderThread;
+
+    @Before
+    public void setup() {
+        service = new AiTurnService();
+        renderQueue = new ArrayList<Runnable>();
+        renderThread = new Executor() {
+            @Override
+            public synchronized void execute(Runnable runnable) {
+                renderQueue.add(runnable);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    /**
+     * Decisions should be worked out on the worker thread and only applied once the render thread gets to them
+     */
+    @Test
+    public void decisionsAreAppliedOnTheRenderThread() throws Exception {
+        final String[] worker = new String[1];
+        final int[] applied = {-1};
+
+        CompletableFuture<Integer> decision = service.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                worker[0] = Thread.currentThread().getName();
+                return 7;
+            }
+        });
+        CompletableFuture<Void> application = decision.thenAcceptAsync(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer action) {
+                applied[0] = action;
+            }
+        }, renderThread);
+
+        assertEquals(7, (int) decision.get(5, TimeUnit.SECONDS));
+        assertEquals("AI Turn", worker[0]);
+
+        for (int i = 0; i < 100 && renderQueue.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, renderQueue.size());
+        assertEquals(-1, applied[0]);
+
+        renderQueue.get(0).run();
+        assertTrue(application.isDone());
+        assertEquals(7, applied[0]);
+    }
+
+    /**
+     * Cancelling a decision should interrupt the worker and stop the decision from ever being applied
+     */
+    @Test
+    public void cancellingStopsTheDecision() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<Integer> decision = service.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                started.countDown();
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+                return 7;
+            }
+        });
+        decision.thenAcceptAsync(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer action) {
+                fail("Cancelled decisions shouldn't be applied");
+            }
+        }, renderThread);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(service.isThinking());
+
+        assertTrue(service.cancel());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(decision.isCancelled());
+        assertFalse(service.isThinking());
+        assertFalse(service.cancel());
+
+        for (Runnable runnable : renderQueue) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Starting a new decision should abandon the one before it, and the worker should then move on to the new one
+     */
+    @Test
+    public void newDecisionsReplaceOldOnes() throws Exception {
+        CompletableFuture<Integer> first = service.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws InterruptedException {
+                Thread.sleep(60000);
+                return 1;
+            }
+        });
+        CompletableFuture<Integer> second = service.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return 2;
+            }
+        });
+
+        assertTrue(first.isCancelled());
+        assertEquals(2, (int) second.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Decisions asked for after the service has been shut down should be cancelled rather than left hanging
+     */
+    @Test
+    public void shutdownCancelsNewDecisions() {
+        service.shutdown();
+
+        CompletableFuture<Integer> decision = service.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() {
+                return 1;
+            }
+        });
+
+        assertTrue(decision.isCancelled());
+    }
+}
@@ -0,0 +1,204 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.auction.*;
+import drtn.game.entity.AiPlayer;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AuctionTest extends TesterFile {
+
+    private Market market;
+    private AuctionHouse house;
+    private Player seller;
+    private Player bidder1;
+    private Player bidder2;
+
+    @Before
+    public void setup() {
+        market = new Market();
+        house = new AuctionHouse(market);
+
+        seller = new Player(0);
+        bidder1 = new Player(1);
+        bidder2 = new Player(2);
+
+        seller.setResource(ResourceType.ORE, 10);
+        bidder1.setResource(ResourceType.MONEY, 100);
+        bidder2.setResource(ResourceType.MONEY, 100);
+    }
+
+    /**
+     * Listing a lot should hold the seller's goods, and lots that the seller doesn't have the goods for should be
+     * refused
+     */
+    @Test
+    public void listingTakesGoodsIntoEscrow() {
+        assertNull(house.list(seller, AuctionFormat.ENGLISH, ResourceType.ORE, 11, 10));
+        assertNull(house.list(seller, AuctionFormat.ENGLISH, ResourceType.MONEY, 5, 10));
+
+        Lot lot = house.list(seller, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10);
+        assertNotNull(lot);
+        assertEquals(6, seller.getResource(ResourceType.ORE));
+    }
+
+    /**
+     * In an English auction, each bid must beat the last by the increment and outbid players get their money back
+     */
+    @Test
+    public void englishAuction() {
+        Lot lot = house.list(seller, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10);
+
+        assertFalse(house.bid(lot.getId(), bidder1, 9));
+        assertFalse(house.bid(lot.getId(), seller, 20));
+        assertTrue(house.bid(lot.getId(), bidder1, 10));
+        assertEquals(90, bidder1.getResource(ResourceType.MONEY));
+
+        assertFalse(house.bid(lot.getId(), bidder2, 11));
+        assertTrue(house.bid(lot.getId(), bidder2, 12));
+        assertEquals(100, bidder1.getResource(ResourceType.MONEY));
+        assertEquals(88, bidder2.getResource(ResourceType.MONEY));
+
+        assertFalse(house.bid(lot.getId(), bidder1, 101));
+        assertTrue(house.bid(lot.getId(), bidder1, 100));
+        assertEquals(0, bidder1.getResource(ResourceType.MONEY));
+        assertEquals(100, bidder2.getResource(ResourceType.MONEY));
+
+        assertEquals(1, house.settle().size);
+        assertEquals(4, bidder1.getResource(ResourceType.ORE));
+        assertEquals(150, seller.getResource(ResourceType.MONEY));
+        assertNull(house.lot(lot.getId()));
+    }
+
+    /**
+     * In a sealed-bid auction, the highest bid wins and every losing bid is handed back when the lot is settled
+     */
+    @Test
+    public void sealedBidAuction() {
+        Lot lot = house.list(seller, AuctionFormat.SEALED_BID, ResourceType.ORE, 4, 10);
+
+        assertTrue(house.bid(lot.getId(), bidder1, 30));
+        assertTrue(house.bid(lot.getId(), bidder2, 25));
+        assertFalse(house.bid(lot.getId(), bidder1, 30));
+        assertTrue(house.bid(lot.getId(), bidder2, 40));
+        assertEquals(60, bidder2.getResource(ResourceType.MONEY));
+        assertSame(bidder2, lot.getLeader());
+
+        house.settle();
+        assertEquals(100, bidder1.getResource(ResourceType.MONEY));
+        assertEquals(60, bidder2.getResource(ResourceType.MONEY));
+        assertEquals(4, bidder2.getResource(ResourceType.ORE));
+        assertEquals(90, seller.getResource(ResourceType.MONEY));
+    }
+
+    /**
+     * Unsold goods should go back to their sellers, and bids for lots that have been settled should be refused
+     */
+    @Test
+    public void unsoldLotsAreReturned() {
+        Lot lot = house.list(seller, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10);
+
+        assertEquals(0, house.settle().size);
+        assertEquals(10, seller.getResource(ResourceType.ORE));
+        assertFalse(house.bid(lot.getId(), bidder1, 50));
+
+        Lot next = house.list(seller, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10);
+        assertNotEquals(lot.getId(), next.getId());
+    }
+
+    /**
+     * Lots still open when the game ends must be settled before the winner is found, rather than leaving their goods
+     * out of their sellers' and buyers' scores
+     */
+    @Test
+    public void openLotsAreSettledBeforeTheWinnerIsFound() {
+        GameEngine engine = new GameEngine(null, null);
+        engine.initialisePlayers(0, 3);
+        Player[] players = engine.players();
+        for (Player player : players) {
+            player.setResource(ResourceType.MONEY, 100);
+            player.setResource(ResourceType.FOOD, 20);
+        }
+
+        Lot lot = engine.auctionHouse().list(players[2], AuctionFormat.ENGLISH, ResourceType.FOOD, 15, 5);
+        assertTrue(engine.auctionHouse().bid(lot.getId(), players[1], 10));
+        assertEquals(0, engine.scoreboard().leader());
+        //While the lot is open, its food is held in escrow and counts for nobody
+
+        assertEquals(1, engine.getWinner());
+        assertEquals(35, players[1].getResource(ResourceType.FOOD));
+        assertEquals(0, engine.auctionHouse().size());
+    }
+
+    /**
+     * AI bids should be decided on a worker thread and only placed once they are handed back to the main thread
+     */
+    @Test
+    public void aiBidsArePlacedOnMainThread() throws InterruptedException {
+        final BlockingQueue<Runnable> mainThread = new LinkedBlockingQueue<Runnable>();
+        AiBiddingService service = new AiBiddingService(2, new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                mainThread.add(runnable);
+            }
+        }, null);
+
+        AiPlayer ai = new AiPlayer(1);
+        ai.setResource(ResourceType.MONEY, 200);
+
+        market.setOreBuyPrice(15);
+        Lot lot = house.list(seller, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10);
+
+        service.requestBids(house, new Player[]{seller, ai});
+        assertNull(lot.getLeader());
+
+        Runnable placeBids = mainThread.poll(5, TimeUnit.SECONDS);
+        assertNotNull(placeBids);
+        placeBids.run();
+
+        assertSame(ai, lot.getLeader());
+        assertEquals(10, lot.getLeadingBid());
+
+        service.shutdown();
+    }
+
+    /**
+     * The AI should never bid above what the goods would cost at the market, or eat into its money buffer
+     */
+    @Test
+    public void aiBidsWithinValuation() {
+        AiPlayer ai = new AiPlayer(1);
+
+        LotQuote cheap = new LotQuote(0, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10, 12, 0, false, 200, 15);
+        assertEquals(12, ai.decideBid(cheap));
+
+        LotQuote dear = new LotQuote(0, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10, 61, 0, false, 200, 15);
+        assertEquals(0, ai.decideBid(dear));
+
+        LotQuote broke = new LotQuote(0, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10, 12, 0, false, 25, 15);
+        assertEquals(0, ai.decideBid(broke));
+
+        LotQuote leading = new LotQuote(0, AuctionFormat.ENGLISH, ResourceType.ORE, 4, 10, 12, 10, true, 200, 15);
+        assertEquals(0, ai.decideBid(leading));
+
+        LotQuote sealed = new LotQuote(0, AuctionFormat.SEALED_BID, ResourceType.ORE, 4, 10, 10, 0, false, 200, 15);
+        assertEquals(45, ai.decideBid(sealed));
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import com.badlogic.gdx.utils.Array;
+import drtn.game.barter.*;
+import drtn.game.entity.AiPlayer;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BarterTest {
+
+    private static final int[] UNIT_VALUES = {10, 10, 10, 1};
+
+    private BarterOrder order(Player player, ResourceType surplus, int spare, ResourceType need, int wanted) {
+        BarterOrder order = new BarterOrder(player);
+        order.setSurplus(surplus, spare);
+        order.setNeed(need, wanted);
+        return order;
+    }
+
+    /**
+     * Three players who can each supply the next one's need should be matched into a single three-way cycle
+     */
+    @Test
+    public void findsThreeWayCycle() {
+        Player a = new Player(0);
+        Player b = new Player(1);
+        Player c = new Player(2);
+        Player d = new Player(3);
+
+        Array<BarterOrder> orders = new Array<BarterOrder>();
+        orders.add(order(a, ResourceType.ORE, 5, ResourceType.FOOD, 3));
+        orders.add(order(b, ResourceType.FOOD, 5, ResourceType.ENERGY, 3));
+        orders.add(order(c, ResourceType.ENERGY, 5, ResourceType.ORE, 3));
+        orders.add(order(d, ResourceType.ORE, 5, ResourceType.ORE, 0));
+
+        Array<BarterCycle> cycles = new BarterSolver().solve(orders, UNIT_VALUES);
+        assertEquals(1, cycles.size);
+
+        BarterCycle cycle = cycles.first();
+        assertEquals(3, cycle.getTransfers().size);
+        assertFalse(cycle.involves(d));
+        assertEquals(ResourceType.ORE, cycle.given(a).resource);
+        assertEquals(ResourceType.FOOD, cycle.received(a).resource);
+        assertEquals(3, cycle.given(a).quantity);
+        assertEquals(2, orders.get(0).getSurplus(ResourceType.ORE));
+    }
+
+    /**
+     * Quantities should be scaled so that every participant hands over roughly the same value
+     */
+    @Test
+    public void balancesValues() {
+        Player a = new Player(0);
+        Player b = new Player(1);
+
+        Array<BarterOrder> orders = new Array<BarterOrder>();
+        orders.add(order(a, ResourceType.MONEY, 100, ResourceType.ORE, 10));
+        orders.add(order(b, ResourceType.ORE, 2, ResourceType.MONEY, 100));
+
+        BarterCycle cycle = new BarterSolver().solve(orders, UNIT_VALUES).first();
+        assertEquals(20, cycle.given(a).quantity);
+        assertEquals(2, cycle.given(b).quantity);
+    }
+
+    /**
+     * Cycles longer than the solver's limit should not be found
+     */
+    @Test
+    public void respectsCycleLength() {
+        Array<BarterOrder> orders = new Array<BarterOrder>();
+        ResourceType[] goods = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD};
+        for (int i = 0; i < 3; i++) {
+            orders.add(order(new Player(i), goods[i], 5, goods[(i + 2) % 3], 5));
+        }
+
+        assertEquals(0, new BarterSolver(2).solve(orders, UNIT_VALUES).size);
+    }
+
+    /**
+     * Exchanges between AI players should go ahead straight away, while those involving humans wait for them
+     */
+    @Test
+    public void aiPlayersAcceptAutomatically() {
+        Market market = new Market();
+        Player human = new Player(0);
+        Player ai1 = new AiPlayer(1);
+        Player ai2 = new AiPlayer(2);
+        Player ai3 = new AiPlayer(3);
+
+        ai1.setResource(ResourceType.ORE, 12);
+        ai1.setResource(ResourceType.FOOD, 0);
+        ai2.setResource(ResourceType.FOOD, 12);
+        ai2.setResource(ResourceType.ORE, 0);
+
+        human.setResource(ResourceType.ENERGY, 12);
+        human.setResource(ResourceType.ORE, 0);
+        ai3.setResource(ResourceType.ORE, 12);
+        ai3.setResource(ResourceType.ENERGY, 0);
+
+        BarterExchange exchange = new BarterExchange();
+        Array<BarterCycle> executed = exchange.clear(new Player[]{human, ai1, ai2, ai3}, market);
+
+        assertEquals(1, executed.size);
+        assertTrue(ai1.getResource(ResourceType.FOOD) > 0);
+        assertTrue(ai2.getResource(ResourceType.ORE) > 0);
+
+        BarterCycle proposal = exchange.proposalFor(human);
+        assertNotNull(proposal);
+        assertNull(exchange.proposalFor(ai3));
+
+        int energy = human.getResource(ResourceType.ENERGY);
+        assertTrue(exchange.respond(proposal, human, true));
+        assertTrue(human.getResource(ResourceType.ENERGY) < energy);
+        assertTrue(human.getResource(ResourceType.ORE) > 0);
+        assertEquals(0, exchange.pendingProposals());
+    }
+
+    /**
+     * The solver should clear a large game quickly, and never put a player into two cycles or give away more than
+     * they can spare
+     */
+    @Test
+    public void clearsLargeGames() {
+        Random random = new Random(7);
+        Array<BarterOrder> orders = new Array<BarterOrder>();
+        int[][] spare = new int[64][4];
+
+        for (int i = 0; i < 64; i++) {
+            BarterOrder order = new BarterOrder(new Player(i));
+            for (int g = 0; g < 4; g++) {
+                if (random.nextBoolean()) {
+                    spare[i][g] = random.nextInt(10);
+                    order.setSurplus(BarterOrder.GOODS[g], spare[i][g]);
+                } else {
+                    order.setNeed(BarterOrder.GOODS[g], random.nextInt(10));
+                }
+            }
+            orders.add(order);
+        }
+
+        long start = System.nanoTime();
+        Array<BarterCycle> cycles = new BarterSolver().solve(orders, UNIT_VALUES);
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(cycles.size > 0);
+        assertTrue("Took " + elapsed + "ns", elapsed < 500000000L);
+
+        Set<Player> seen = new HashSet<Player>();
+        for (BarterCycle cycle : cycles) {
+            for (BarterTransfer transfer : cycle.getTransfers()) {
+                assertTrue(seen.add(transfer.from));
+                assertTrue(transfer.quantity <= spare[transfer.from.getPlayerID()][indexOf(transfer.resource)]);
+            }
+        }
+    }
+
+    private int indexOf(ResourceType resource) {
+        for (int g = 0; g < BarterOrder.GOODS.length; g++) {
+            if (BarterOrder.GOODS[g] == resource) {
+                return g;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.SimState;
+import drtn.game.entity.Market;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.tuning.EconomySweep;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EconomySweepTest extends TesterFile {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Configuration files should only override the values that they mention, and values should be kept in range
+     */
+    @Test
+    public void configurationIsLoadedAndClamped() throws Exception {
+        File file = folder.newFile("economy.properties");
+        FileWriter out = new FileWriter(file);
+        out.write("roboticonPrice=35\nstartMoney=-10\nfoodStock=lots\n");
+        out.close();
+
+        GameConfig config = GameConfig.load(file);
+        assertEquals(35, config.round(GameConfig.ROBOTICON_PRICE));
+        assertEquals(GameConfig.min(GameConfig.START_MONEY), config.get(GameConfig.START_MONEY), 1e-9);
+        assertEquals(16, config.round(GameConfig.FOOD_STOCK));
+    }
+
+    /**
+     * The market and the map should be set up from the configuration, and the standard one should match the brief
+     */
+    @Test
+    public void gameIsBuiltFromTheConfiguration() {
+        Market standard = new Market(new InverseStockPricing(), GameConfig.standard());
+        assertEquals(0, standard.getOreStock());
+        assertEquals(16, standard.getEnergyStock());
+        assertEquals(12, standard.getRoboticonStock());
+        assertEquals(20, standard.getRoboticonBuyPrice());
+
+        Market dear = new Market(new InverseStockPricing(), GameConfig.standard()
+                .with(GameConfig.ROBOTICON_PRICE, 30).with(GameConfig.ROBOTICON_PRICE_STEP, 10));
+        assertEquals(30, dear.getRoboticonBuyPrice());
+        assertEquals(10, dear.getRoboticonPriceStep());
+
+        GameConfig rich = GameConfig.standard().with(GameConfig.BASE_YIELD, 8)
+                .with(GameConfig.SPECIALISATION_MULTIPLIER, 2);
+        assertEquals(16, rich.tileYield(2, SimState.ORE));
+        assertEquals(8, rich.tileYield(2, SimState.FOOD));
+        assertEquals(8, rich.tileYield(1, SimState.ORE));
+
+        SimState state = EconomySweep.newGame(rich.with(GameConfig.START_MONEY, 90));
+        assertEquals(90, state.getMoney(0));
+        assertEquals(16, state.getYield(1, SimState.ORE));
+        assertEquals(GameConfig.standard().round(GameConfig.ROBOTICON_PRICE_STEP), state.getRoboticonPriceStep());
+    }
+
+    /**
+     * Tiles built by the real game should match the yields used by the sweep
+     */
+    @Test
+    public void tilesMatchTheSweepsMap() throws Exception {
+        GameConfig config = GameConfig.standard();
+        Tile tile = new Tile(null, 4, config.round(GameConfig.BASE_YIELD), config.round(GameConfig.BASE_YIELD),
+                config.round(GameConfig.BASE_YIELD), null, null, config.get(GameConfig.SPECIALISATION_MULTIPLIER));
+
+        assertEquals(config.tileYield(4, SimState.FOOD), tile.getResource(ResourceType.FOOD));
+        assertEquals(config.tileYield(4, SimState.ORE), tile.getResource(ResourceType.ORE));
+    }
+
+    /**
+     * A Cartesian sweep should try every combination, and a Latin hypercube should use every stratum of every axis
+     */
+    @Test
+    public void sweepsCoverTheirAxes() {
+        List<EconomySweep.Axis> axes = Arrays.asList(
+                new EconomySweep.Axis(GameConfig.ROBOTICON_PRICE, 10, 40, 4),
+                EconomySweep.Axis.parse("startMoney=20:80:3"));
+
+        List<GameConfig> grid = EconomySweep.cartesian(GameConfig.standard(), axes);
+        assertEquals(12, grid.size());
+        assertEquals(10, grid.get(0).get(GameConfig.ROBOTICON_PRICE), 1e-9);
+        assertEquals(80, grid.get(2).get(GameConfig.START_MONEY), 1e-9);
+        assertEquals(40, grid.get(11).get(GameConfig.ROBOTICON_PRICE), 1e-9);
+
+        int samples = 8;
+        List<GameConfig> hypercube = EconomySweep.latinHypercube(GameConfig.standard(), axes, samples, new Random(3));
+        assertEquals(samples, hypercube.size());
+        for (EconomySweep.Axis axis : axes) {
+            boolean[] used = new boolean[samples];
+            for (GameConfig config : hypercube) {
+                int stratum = (int) ((config.get(axis.index) - axis.min) / (axis.max - axis.min) * samples);
+                assertFalse(used[stratum]);
+                used[stratum] = true;
+            }
+        }
+
+        try {
+            EconomySweep.Axis.parse("nonsense=1:2");
+            fail("Expected an unknown configuration value to be rejected");
+        } catch (IllegalArgumentException e) {
+            //Expected
+        }
+    }
+
+    /**
+     * Sweeps should be repeatable, and dearer roboticons should show up as more inflation
+     */
+    @Test
+    public void sweepTabulatesResults() throws Exception {
+        List<EconomySweep.Axis> axes = new ArrayList<EconomySweep.Axis>();
+        axes.add(new EconomySweep.Axis(GameConfig.ROBOTICON_PRICE_STEP, 0, 20, 2));
+
+        EconomySweep sweep = new EconomySweep(8, 2, 5);
+        try {
+            List<EconomySweep.Result> results = sweep.run(EconomySweep.cartesian(GameConfig.standard(), axes));
+            List<EconomySweep.Result> again = sweep.run(EconomySweep.cartesian(GameConfig.standard(), axes));
+
+            assertEquals(2, results.size());
+            assertEquals(results.get(1).spread, again.get(1).spread, 1e-9);
+            assertTrue(results.get(0).turns > 0);
+            assertTrue(results.get(1).inflation > results.get(0).inflation);
+
+            String table = EconomySweep.table(results, axes);
+            assertTrue(table.contains("roboticonPric"));
+            assertTrue(table.contains("inflation"));
+            assertEquals(3, table.split("\n").length);
+        } finally {
+            sweep.shutdown();
+        }
+    }
+}
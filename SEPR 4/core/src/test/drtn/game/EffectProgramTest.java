@@ -0,0 +1,169 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import com.badlogic.gdx.Game;
+import drtn.game.effects.EffectProgram;
+import drtn.game.effects.EffectRunner;
+import drtn.game.effects.ProducerIndex;
+import drtn.game.effects.YieldLayer;
+import drtn.game.entity.Player;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.exceptions.InvalidResourceTypeException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EffectProgramTest extends TesterFile {
+
+    private Game game = new Main();
+    private Player player;
+    private Tile[] tiles;
+    private YieldLayer layer;
+    private ProducerIndex index;
+
+    @Before
+    public void setUp() {
+        player = new Player(0);
+        tiles = new Tile[3];
+        for (int t = 0; t < tiles.length; t++) {
+            tiles[t] = new Tile(game, t + 1, 0, 0, 0, null, new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            tiles[t].setResource(ResourceType.ORE, 10);
+            tiles[t].setResource(ResourceType.ENERGY, 10);
+            tiles[t].setResource(ResourceType.FOOD, 10 + t);
+        }
+        //Set the yields directly, as tiles otherwise specialise according to their IDs; the last tile grows the most
+        //food
+
+        layer = new YieldLayer(tiles.length);
+        for (Tile tile : tiles) {
+            tile.attachYieldLayer(layer);
+        }
+        index = new ProducerIndex(layer, 2);
+
+        player.assignTile(tiles[0]);
+        player.assignTile(tiles[1]);
+        index.setOwner(0, 0);
+        index.setOwner(1, 0);
+        index.setOwner(2, 1);
+    }
+
+    private static EffectProgram single(String target, String op, String magnitudes) {
+        return EffectProgram.compile("{events: [{name: Test, text: \"A test\", target: " + target + ", op: " + op
+                + ", " + magnitudes + "}]}");
+    }
+
+    private EffectRunner runner(EffectProgram program) {
+        return new EffectRunner(program, layer, index, new Random(1));
+    }
+
+    @Test
+    public void standardEventsAreCompiled() throws IOException {
+        EffectProgram program = EffectProgram.standard();
+
+        assertEquals(10, program.size());
+        assertEquals(5, program.tileEventCount());
+        assertEquals(5, program.playerEventCount());
+        assertEquals("Tornado", program.getName(program.tileEvent(3)));
+        assertEquals(EffectProgram.MOST_FOOD, program.getTarget(program.indexOf("Duck-Related Disaster")));
+        assertTrue(program.getText(program.indexOf("Brexit")).contains("+30 Money"));
+    }
+
+    @Test
+    public void tileEventsChangeOnlyThePlayersTilesUntilReverted() throws InvalidResourceTypeException {
+        EffectRunner runner = runner(single("tiles", "multiply", "ore: 0.5, food: 2"));
+        int changes = runner.run(0, player);
+
+        assertEquals(5, tiles[0].getResource(ResourceType.ORE));
+        assertEquals(10, tiles[0].getResource(ResourceType.ENERGY));
+        assertEquals(22, tiles[1].getResource(ResourceType.FOOD));
+        assertEquals(10, tiles[2].getResource(ResourceType.ORE));
+        assertEquals(2, layer.modifierCount());
+        assertEquals(10, tiles[0].getBaseResource(ResourceType.ORE));
+        //Events leave the base yields alone
+
+        runner.revert(changes);
+        assertEquals(10, tiles[0].getResource(ResourceType.ORE));
+        assertEquals(11, tiles[1].getResource(ResourceType.FOOD));
+        assertEquals(0, layer.modifierCount());
+    }
+
+    @Test
+    public void stackedEventsRevertInAnyOrder() throws InvalidResourceTypeException {
+        EffectRunner runner = runner(single("tiles", "add", "energy: -4"));
+        int first = runner.run(0, player);
+        int second = runner.run(0, player);
+        int third = runner.run(0, player);
+
+        assertEquals(0, tiles[0].getResource(ResourceType.ENERGY));
+        //Yields stop at zero
+
+        runner.revert(second);
+        assertEquals(2, tiles[0].getResource(ResourceType.ENERGY));
+        runner.revert(first);
+        runner.revert(third);
+        assertEquals(10, tiles[0].getResource(ResourceType.ENERGY));
+    }
+
+    /**
+     * The tile hit by an event targeting the most productive tile must belong to the player, even when a richer tile
+     * belongs to someone else
+     */
+    @Test
+    public void mostProductiveTileIsThePlayersOwn() throws InvalidResourceTypeException {
+        EffectRunner runner = runner(single("mostFood", "set", "food: 1"));
+        runner.run(0, player);
+
+        assertEquals(10, tiles[0].getResource(ResourceType.FOOD));
+        assertEquals(1, tiles[1].getResource(ResourceType.FOOD));
+        assertEquals(12, tiles[2].getResource(ResourceType.FOOD));
+        assertEquals(10, tiles[1].getResource(ResourceType.ORE));
+    }
+
+    @Test
+    public void playerEventsCannotLeaveLessThanNothing() {
+        player.setResource(ResourceType.MONEY, 10);
+        player.setResource(ResourceType.FOOD, 5);
+
+        EffectRunner runner = runner(single("player", "add", "money: -30, food: 7"));
+        assertEquals(EffectRunner.NONE, runner.run(0, player));
+
+        assertEquals(0, player.getResource(ResourceType.MONEY));
+        assertEquals(12, player.getResource(ResourceType.FOOD));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownTargetIsRejected() {
+        single("everyone", "add", "ore: 1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tileEventsCannotChangeMoney() {
+        single("tiles", "add", "money: 1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void eventsMustLastATurn() {
+        single("player", "add", "ore: 1, turns: 0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playerEventsCannotLastLonger() {
+        single("player", "add", "ore: 1, turns: 3");
+    }
+}
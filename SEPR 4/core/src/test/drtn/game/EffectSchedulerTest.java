@@ -0,0 +1,181 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import com.badlogic.gdx.Game;
+import drtn.game.effects.EffectProgram;
+import drtn.game.effects.EffectRunner;
+import drtn.game.effects.EffectScheduler;
+import drtn.game.effects.ProducerIndex;
+import drtn.game.effects.YieldLayer;
+import drtn.game.entity.Player;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.exceptions.InvalidResourceTypeException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EffectSchedulerTest extends TesterFile {
+
+    private Game game = new Main();
+    private Player[] players;
+    private Tile[] tiles;
+    private YieldLayer layer;
+    private ProducerIndex index;
+
+    @Before
+    public void setUp() {
+        players = new Player[]{new Player(0), new Player(1)};
+        tiles = new Tile[2];
+        layer = new YieldLayer(tiles.length);
+
+        for (int t = 0; t < tiles.length; t++) {
+            tiles[t] = new Tile(game, t + 1, 0, 0, 0, null, new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            tiles[t].setResource(ResourceType.FOOD, 10);
+            tiles[t].attachYieldLayer(layer);
+            players[t].assignTile(tiles[t]);
+        }
+
+        index = new ProducerIndex(layer, players.length);
+        index.setOwner(0, 0);
+        index.setOwner(1, 1);
+    }
+
+    private EffectScheduler scheduler(String rules) {
+        EffectProgram program = EffectProgram.compile("{events: [{name: Blight, target: tiles, op: add, food: -3, "
+                + rules + "}]}");
+        return new EffectScheduler(new EffectRunner(program, layer, index, new Random(1)), players.length);
+    }
+
+    private int food(int t) throws InvalidResourceTypeException {
+        return tiles[t].getResource(ResourceType.FOOD);
+    }
+
+    /**
+     * An event lasting two turns must still be in force when its player next produces, and end once they've produced
+     * for the second time
+     */
+    @Test
+    public void eventsLastForTheirNumberOfTurns() throws InvalidResourceTypeException {
+        EffectScheduler scheduler = scheduler("turns: 2");
+        scheduler.advanceTo(scheduler.tick(1, 0));
+        assertTrue(scheduler.fire(0, 0, players[0]));
+        assertEquals(7, food(0));
+        assertEquals(10, food(1));
+
+        scheduler.advanceTo(scheduler.tick(1, 1));
+        scheduler.advanceTo(scheduler.tick(2, 0));
+        scheduler.advanceTo(scheduler.tick(2, 1));
+        assertEquals(7, food(0));
+
+        scheduler.advanceTo(scheduler.tick(3, 0));
+        assertEquals(10, food(0));
+        assertFalse(scheduler.isActive(0, 0));
+        assertEquals(0, scheduler.activeCount());
+    }
+
+    @Test
+    public void refreshingRestartsTheEvent() throws InvalidResourceTypeException {
+        EffectScheduler scheduler = scheduler("turns: 2, stacking: refresh");
+        scheduler.advanceTo(scheduler.tick(1, 0));
+        scheduler.fire(0, 0, players[0]);
+        scheduler.advanceTo(scheduler.tick(2, 0));
+        assertTrue(scheduler.fire(0, 0, players[0]));
+        assertEquals(7, food(0));
+        assertEquals(1, scheduler.stacks(0, 0));
+
+        scheduler.advanceTo(scheduler.tick(3, 0));
+        assertEquals(7, food(0));
+        scheduler.advanceTo(scheduler.tick(4, 0));
+        assertEquals(10, food(0));
+    }
+
+    @Test
+    public void stackingEventsEndSeparately() throws InvalidResourceTypeException {
+        EffectScheduler scheduler = scheduler("turns: 2, stacking: stack");
+        scheduler.advanceTo(scheduler.tick(1, 0));
+        scheduler.fire(0, 0, players[0]);
+        scheduler.advanceTo(scheduler.tick(2, 0));
+        scheduler.fire(0, 0, players[0]);
+        assertEquals(4, food(0));
+        assertEquals(2, scheduler.stacks(0, 0));
+
+        scheduler.advanceTo(scheduler.tick(3, 0));
+        assertEquals(7, food(0));
+        scheduler.advanceTo(scheduler.tick(4, 0));
+        assertEquals(10, food(0));
+    }
+
+    @Test
+    public void ignoredEventsPassThePlayerBy() throws InvalidResourceTypeException {
+        EffectScheduler scheduler = scheduler("turns: 3, stacking: ignore");
+        scheduler.advanceTo(scheduler.tick(1, 0));
+        scheduler.fire(0, 0, players[0]);
+        scheduler.advanceTo(scheduler.tick(2, 0));
+
+        assertFalse(scheduler.fire(0, 0, players[0]));
+        assertEquals(7, food(0));
+        assertTrue(scheduler.fire(0, 1, players[1]));
+        //Events in force on one player don't stop them hitting another
+    }
+
+    @Test
+    public void cooldownsKeepEventsFromHittingAgain() {
+        EffectScheduler scheduler = scheduler("cooldown: 2");
+        scheduler.advanceTo(scheduler.tick(1, 0));
+        assertTrue(scheduler.fire(0, 0, players[0]));
+
+        scheduler.advanceTo(scheduler.tick(2, 0));
+        assertFalse(scheduler.fire(0, 0, players[0]));
+        scheduler.advanceTo(scheduler.tick(3, 0));
+        assertFalse(scheduler.fire(0, 0, players[0]));
+        scheduler.advanceTo(scheduler.tick(4, 0));
+        assertTrue(scheduler.fire(0, 0, players[0]));
+    }
+
+    /**
+     * Events lasting for many turns of the wheel must end on exactly the right tick, even when ticks are skipped
+     */
+    @Test
+    public void longEventsEndOnTime() throws InvalidResourceTypeException {
+        StringBuilder json = new StringBuilder("{events: [");
+        for (int e = 0; e < 300; e++) {
+            json.append("{name: E").append(e).append(", target: tiles, op: add, food: 1, stacking: stack, turns: ")
+                    .append(e + 1).append("},");
+        }
+        EffectProgram program = EffectProgram.compile(json.append("]}").toString());
+        EffectScheduler scheduler = new EffectScheduler(new EffectRunner(program, layer, index, new Random(1)), 1);
+
+        for (int e = 0; e < program.size(); e++) {
+            scheduler.fire(e, 0, players[0]);
+        }
+        assertEquals(310, food(0));
+
+        for (int turn = 1; turn <= 150; turn++) {
+            scheduler.advanceTo(scheduler.tick(turn, 0));
+            assertEquals(300 - turn, scheduler.activeCount());
+        }
+        scheduler.advanceTo(scheduler.tick(290, 0));
+        assertEquals(10, scheduler.activeCount());
+        assertEquals(20, food(0));
+
+        scheduler.clear();
+        assertEquals(0, scheduler.activeCount());
+        assertEquals(10, food(0));
+        assertEquals(0, layer.modifierCount());
+    }
+}
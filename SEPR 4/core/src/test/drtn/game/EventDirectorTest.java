@@ -0,0 +1,161 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.effects.EffectProgram;
+import drtn.game.effects.EventDirector;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class EventDirectorTest {
+
+    private static final int DRAWS = 200000;
+
+    private static EffectProgram weighted(String... leans) {
+        StringBuilder json = new StringBuilder("{events: [");
+        for (int e = 0; e < leans.length; e++) {
+            json.append("{name: E").append(e).append(", target: player, op: add, money: 1, ").append(leans[e])
+                    .append("},");
+        }
+        return EffectProgram.compile(json.append("]}").toString());
+    }
+
+    private static int[] draw(EventDirector director, float gap, float scarcity, float progress) {
+        int[] hits = new int[3];
+        for (int i = 0; i < DRAWS; i++) {
+            hits[director.choose(0, gap, scarcity, progress)]++;
+        }
+        return hits;
+    }
+
+    @Test
+    public void eventsArePickedInProportionToTheirWeights() {
+        EffectProgram program = weighted("weight: 1", "weight: 3", "weight: 0");
+        EventDirector director = new EventDirector(program, 1, new Random(49));
+
+        int[] hits = draw(director, 0, 0, 0);
+        assertEquals(0.25, hits[0] / (double) DRAWS, 0.01);
+        assertEquals(0.75, hits[1] / (double) DRAWS, 0.01);
+        assertEquals(0, hits[2]);
+        assertEquals(0.75, director.chance(0, 1), 1e-6);
+    }
+
+    @Test
+    public void weightsLeanWithTheGame() {
+        float lean = (float) Math.log(3);
+        EffectProgram program = weighted("leaderGap: " + lean, "scarcity: " + lean, "progress: -" + lean);
+        EventDirector director = new EventDirector(program, 1, new Random(49));
+
+        director.choose(0, 0, 0, 0);
+        assertEquals(1 / 3.0, director.chance(0, 0), 1e-6);
+
+        int[] hits = draw(director, 1, 0, 1);
+        assertEquals(9 / 13.0, hits[0] / (double) DRAWS, 0.01);
+        assertEquals(3 / 13.0, hits[1] / (double) DRAWS, 0.01);
+        assertEquals(1 / 13.0, hits[2] / (double) DRAWS, 0.01);
+        //Trailing the leader by everything, late in the game, the first event is 3 * 3 times as likely as the last
+    }
+
+    /**
+     * Tables must only be rebuilt when a player's weights change, not every time that they're drawn from
+     */
+    @Test
+    public void tablesAreOnlyRebuiltWhenWeightsChange() {
+        EventDirector steady = new EventDirector(weighted("weight: 2", "weight: 1", ""), 2, new Random(49));
+        for (int turn = 0; turn < 100; turn++) {
+            steady.choose(turn % 2, turn / 100f, (100 - turn) / 100f, turn / 100f);
+        }
+        assertEquals(2, steady.rebuilds());
+        //Nothing leans with the game, so each player's table is built once
+
+        EventDirector leaning = new EventDirector(weighted("leaderGap: 1", "", ""), 1, new Random(49));
+        leaning.choose(0, 0.5f, 0, 0);
+        leaning.choose(0, 0.51f, 0.9f, 0.3f);
+        assertEquals(1, leaning.rebuilds());
+        leaning.choose(0, 1, 0, 0);
+        assertEquals(2, leaning.rebuilds());
+    }
+
+    @Test
+    public void thousandsOfEventsCanBePicked() {
+        int events = 5000;
+        String[] leans = new String[events];
+        Random weights = new Random(1);
+        for (int e = 0; e < events; e++) {
+            leans[e] = "weight: " + weights.nextInt(10) + ", scarcity: " + (weights.nextFloat() - 0.5f);
+        }
+        leans[events - 1] = "weight: 5000";
+        EventDirector director = new EventDirector(weighted(leans), 1, new Random(49));
+
+        int heavy = 0;
+        for (int i = 0; i < DRAWS; i++) {
+            int event = director.choose(0, 0, 0.5f, 0);
+            assertTrue(event >= 0 && event < events);
+            if (event == events - 1) {
+                heavy++;
+            }
+        }
+
+        double total = 0;
+        for (int e = 0; e < events; e++) {
+            total += director.chance(0, e);
+        }
+        assertEquals(1, total, 1e-3);
+        assertEquals(director.chance(0, events - 1), heavy / (double) DRAWS, 0.01);
+    }
+
+    @Test
+    public void nothingIsPickedWithoutWeight() {
+        EventDirector director = new EventDirector(weighted("weight: 0", "weight: 0", "weight: 0"), 1,
+                new Random(49));
+        assertEquals(EventDirector.NONE, director.choose(0, 0, 0, 0));
+        assertEquals(0, director.chance(0, 0), 0);
+
+        EventDirector none = new EventDirector(EffectProgram.compile("{events: []}"), 1, new Random(49));
+        assertEquals(EventDirector.NONE, none.choose(0, 0, 0, 0));
+    }
+
+    @Test
+    public void signalsRunFromZeroToOne() {
+        assertEquals(0, EventDirector.leaderGap(80, 80), 0);
+        assertEquals(0.25, EventDirector.leaderGap(60, 80), 1e-6);
+        assertEquals(0, EventDirector.leaderGap(0, 0), 0);
+
+    }
+
+    /**
+     * Scarcity must be measured against the market's configured opening stocks, so that a game opens without any
+     */
+    @Test
+    public void scarcityIsMeasuredAgainstOpeningStocks() {
+        GameConfig standard = GameConfig.standard();
+        int energy = standard.round(GameConfig.ENERGY_STOCK);
+        int food = standard.round(GameConfig.FOOD_STOCK);
+
+        assertEquals(0, EventDirector.scarcity(standard.round(GameConfig.ORE_STOCK), energy, food, standard), 0);
+        assertEquals(0, EventDirector.scarcity(0, energy * 2, food, standard), 0);
+        //The standard market opens without any ore, so running out of it isn't a shortage
+        assertEquals(1, EventDirector.scarcity(0, 0, 0, standard), 0);
+        assertEquals(0.25, EventDirector.scarcity(0, energy / 2, food, standard), 1e-6);
+
+        GameConfig stocked = standard.with(GameConfig.ORE_STOCK, 20).with(GameConfig.FOOD_STOCK, 40);
+        assertEquals(1 / 3.0, EventDirector.scarcity(0, energy, 40, stocked), 1e-6);
+        assertEquals(1 / 3.0, EventDirector.scarcity(10, energy, 20, stocked), 1e-6);
+        assertEquals(0, EventDirector.scarcity(0, 0, 0, GameConfig.standard().with(GameConfig.ORE_STOCK, 0)
+                .with(GameConfig.ENERGY_STOCK, 0).with(GameConfig.FOOD_STOCK, 0)), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeightsAreRejected() {
+        weighted("weight: -1");
+    }
+}
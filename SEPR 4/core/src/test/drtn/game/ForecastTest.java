@@ -0,0 +1,106 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.Forecast;
+import drtn.game.ai.SimState;
+import drtn.game.ai.StandingsForecaster;
+import drtn.game.tuning.EconomySweep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ForecastTest {
+
+    private StandingsForecaster forecaster;
+
+    @Before
+    public void setup() {
+        forecaster = new StandingsForecaster(2, 7);
+    }
+
+    @After
+    public void tearDown() {
+        forecaster.shutdown();
+    }
+
+    private Forecast awaitConverged(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (System.currentTimeMillis() < deadline) {
+            Forecast forecast = forecaster.latest();
+            if (forecast != null && forecast.isConverged()) {
+                return forecast;
+            }
+            Thread.sleep(5);
+        }
+        return forecaster.latest();
+    }
+
+    /**
+     * A forecast of a fresh game should settle well within a second, and describe a sensible spread of outcomes
+     */
+    @Test
+    public void forecastSettlesQuickly() throws Exception {
+        SimState game = EconomySweep.newGame(GameConfig.standard());
+
+        long start = System.currentTimeMillis();
+        forecaster.restart(game);
+        Forecast forecast = awaitConverged(5000);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertNotNull(forecast);
+        assertTrue(forecast.isConverged());
+        assertTrue("Forecast took " + elapsed + "ms", elapsed < 1000);
+        assertTrue(forecast.games() >= StandingsForecaster.MIN_GAMES);
+
+        double total = 0;
+        for (int p = 0; p < forecast.playerCount(); p++) {
+            assertTrue(forecast.low(p) <= forecast.mean(p));
+            assertTrue(forecast.mean(p) <= forecast.high(p));
+            total += forecast.winProbability(p);
+        }
+        assertEquals(1, total, 1e-6);
+    }
+
+    /**
+     * Restarting should throw away the old forecast, so that only the newest state is ever reported on
+     */
+    @Test
+    public void restartingForgetsTheOldState() throws Exception {
+        SimState game = EconomySweep.newGame(GameConfig.standard());
+        forecaster.restart(game);
+
+        game.setPlayer(2, 50, 500, 500, 500, 0);
+        forecaster.restart(game);
+        game.setPlayer(2, 50, 0, 0, 0, 0);
+        //The forecaster should have taken its own copy of the state
+
+        Forecast forecast = awaitConverged(5000);
+        assertTrue(forecast.isConverged());
+        assertEquals(1, forecast.winProbability(2), 1e-9);
+        assertTrue(forecast.mean(2) > forecast.mean(0));
+
+        forecaster.cancel();
+        assertNull(forecaster.latest());
+    }
+
+    /**
+     * A forecaster that has been shut down should ignore any further changes
+     */
+    @Test
+    public void shutdownStopsForecasts() throws Exception {
+        forecaster.shutdown();
+        forecaster.restart(EconomySweep.newGame(GameConfig.standard()));
+
+        Thread.sleep(50);
+        assertNull(forecaster.latest());
+    }
+}
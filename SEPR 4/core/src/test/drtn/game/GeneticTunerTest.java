@@ -0,0 +1,119 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.*;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.pricing.PriceTable;
+import drtn.game.tuning.GeneticTuner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class GeneticTunerTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Parameter vectors should be kept within their ranges, and survive being saved and loaded
+     */
+    @Test
+    public void parametersAreClampedAndSaved() throws Exception {
+        double[] values = AiParameters.defaults().toArray();
+        values[AiParameters.SELL_SHARE] = 7;
+        values[AiParameters.MONEY_BUFFER] = -3;
+        AiParameters params = new AiParameters(values);
+
+        assertEquals(AiParameters.max(AiParameters.SELL_SHARE), params.get(AiParameters.SELL_SHARE), 1e-9);
+        assertEquals(AiParameters.min(AiParameters.MONEY_BUFFER), params.get(AiParameters.MONEY_BUFFER), 1e-9);
+
+        File file = folder.newFile("params.properties");
+        params.save(file, "test");
+        assertEquals(params, AiParameters.load(file));
+    }
+
+    /**
+     * The defaults should reproduce the original rules: sell half on even turns, and buy five units on odd ones
+     */
+    @Test
+    public void heuristicPolicyFollowsItsParameters() {
+        SimState state = new SimState(2, 4, new PriceTable(new InverseStockPricing()));
+        state.setPlayer(0, 200, 3, 12, 8, 0);
+        state.setMarket(SimState.ORE, 16, 15, 14);
+        state.setMarket(SimState.ENERGY, 16, 15, 14);
+        state.setMarket(SimState.FOOD, 2, 15, 14);
+
+        state.setPosition(5, 0, 2);
+        int sell = HeuristicPolicy.choose(state, AiParameters.defaults());
+        assertEquals(SimAction.SELL, SimAction.kind(sell));
+        assertEquals(SimState.ENERGY, SimAction.resource(sell));
+        assertEquals(6, SimAction.quantity(sell));
+
+        state.setPosition(5, 0, 3);
+        int buy = HeuristicPolicy.choose(state, AiParameters.defaults());
+        assertEquals(SimAction.BUY, SimAction.kind(buy));
+        assertEquals(SimState.ORE, SimAction.resource(buy));
+        assertEquals(5, SimAction.quantity(buy));
+        //The AI holds the least food, but the market has too little of it to buy from
+
+        state.apply(buy, new SimRandom(1));
+        assertEquals(8, state.getResource(0, SimState.ORE));
+        assertEquals(11, state.getStock(SimState.ORE));
+    }
+
+    /**
+     * Generations should be written to disk, and a new tuner should carry on from the last of them
+     */
+    @Test
+    public void runsAreCheckpointedAndResumed() throws Exception {
+        File dir = folder.newFolder("tuning");
+
+        GeneticTuner tuner = new GeneticTuner(6, 8, 2, 42, dir);
+        try {
+            tuner.run(2);
+            assertEquals(2, tuner.generation());
+            assertNotNull(tuner.best());
+        } finally {
+            tuner.shutdown();
+        }
+
+        assertTrue(new File(dir, "generation-0000.txt").isFile());
+        assertTrue(new File(dir, "generation-0001.txt").isFile());
+        assertEquals(tuner.best(), AiParameters.load(new File(dir, "best.properties")));
+
+        GeneticTuner resumed = new GeneticTuner(6, 8, 2, 43, dir);
+        try {
+            assertTrue(resumed.resume());
+            assertEquals(2, resumed.generation());
+            assertEquals(tuner.best(), resumed.best());
+        } finally {
+            resumed.shutdown();
+        }
+    }
+
+    /**
+     * Every player starts alike, so the defaults can't expect to lead when playing against themselves
+     */
+    @Test
+    public void fitnessIsMeasuredAgainstTheDefaults() throws Exception {
+        GeneticTuner tuner = new GeneticTuner(3, 16, 2, 7, null);
+        try {
+            double[] fitness = tuner.evaluate(Collections.singletonList(AiParameters.defaults()), 1);
+            assertTrue(fitness[0] <= 0);
+        } finally {
+            tuner.shutdown();
+        }
+    }
+}
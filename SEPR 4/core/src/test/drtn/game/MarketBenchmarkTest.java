@@ -0,0 +1,58 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class MarketBenchmarkTest {
+
+    /**
+     * The same seed should always give the same workload, and recording a workload and reading it back in should
+     * give exactly the same operations
+     */
+    @Test
+    public void workloadsRoundTrip() throws IOException {
+        MarketBenchmark.Workload workload = MarketBenchmark.Workload.generate(42, 500);
+        MarketBenchmark.Workload again = MarketBenchmark.Workload.generate(42, 500);
+
+        File file = File.createTempFile("workload", ".txt");
+        file.deleteOnExit();
+        workload.write(file);
+        MarketBenchmark.Workload replayed = MarketBenchmark.Workload.read(file);
+
+        assertEquals(500, replayed.size());
+        for (int i = 0; i < workload.size(); i++) {
+            assertEquals(workload.player[i], again.player[i]);
+            assertEquals(workload.player[i], replayed.player[i]);
+            assertEquals(workload.buy[i], replayed.buy[i]);
+            assertEquals(workload.resource[i], replayed.resource[i]);
+            assertEquals(workload.quantity[i], replayed.quantity[i]);
+        }
+    }
+
+    /**
+     * A run should time every operation and give the same results on every pass
+     */
+    @Test
+    public void runReportsEveryOperation() {
+        MarketBenchmark.Workload workload = MarketBenchmark.Workload.generate(7, 2000);
+        MarketBenchmark.Result result = new MarketBenchmark(workload).run(0, 2);
+
+        assertEquals(2000, result.operations);
+        assertTrue(result.accepted > 0 && result.accepted <= 2000);
+        assertTrue(result.opsPerSecond > 0);
+        assertTrue(result.p50 <= result.p90 && result.p90 <= result.p99 && result.p99 <= result.p999);
+        assertTrue(result.p999 <= result.max);
+    }
+}
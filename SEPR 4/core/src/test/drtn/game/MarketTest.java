@@ -264,5 +264,45 @@ public class MarketTest extends TesterFile{
         assertTrue(initialsellprice > testMarket.getFoodSellPrice());
     }
 
+    /**
+     * Taking back a trade must undo exactly what it did, leaving alone anything else that changed the player's
+     * holdings since, such as an auction refunding their bid
+     */
+    @Test
+    public void takingBackATradeOnlyUndoesTheTrade() {
+        TestPlayer.setResource(ResourceType.MONEY, 100);
+        TestPlayer.setResource(ResourceType.FOOD, 10);
+        testMarket.setOreStock(16);
+        int oreStock = testMarket.getOreStock();
+        int oreBuyPrice = testMarket.getOreBuyPrice();
+        int oreSellPrice = testMarket.getOreSellPrice();
+
+        assertTrue(testMarket.buy(ResourceType.ORE, 2, TestPlayer));
+        Market.Receipt bought = testMarket.lastReceipt();
+        assertEquals(-2 * oreBuyPrice, bought.getMoney());
+        assertTrue(testMarket.sell(ResourceType.FOOD, 4, TestPlayer));
+        Market.Receipt sold = testMarket.lastReceipt();
+
+        TestPlayer.varyResource(ResourceType.MONEY, 30);
+        TestPlayer.varyResource(ResourceType.ORE, 5);
+        //An auction hands back a bid and a lot after the trades
+
+        testMarket.takeBack(sold, TestPlayer);
+        assertEquals(10, TestPlayer.getResource(ResourceType.FOOD));
+        testMarket.takeBack(bought, TestPlayer);
+        assertEquals(130, TestPlayer.getResource(ResourceType.MONEY));
+        assertEquals(5, TestPlayer.getResource(ResourceType.ORE));
+        assertEquals(oreStock, testMarket.getOreStock());
+        assertEquals(oreBuyPrice, testMarket.getOreBuyPrice());
+        assertEquals(oreSellPrice, testMarket.getOreSellPrice());
+
+        int roboticonPrice = testMarket.getRoboticonBuyPrice();
+        assertTrue(testMarket.buy(ResourceType.ROBOTICON, 1, TestPlayer));
+        testMarket.takeBack(testMarket.lastReceipt(), TestPlayer);
+        assertEquals(0, TestPlayer.getRoboticonInventory());
+        assertEquals(roboticonPrice, testMarket.getRoboticonBuyPrice());
+        assertEquals(130, TestPlayer.getResource(ResourceType.MONEY));
+    }
+
 
 }
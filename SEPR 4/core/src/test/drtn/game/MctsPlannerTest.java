@@ -0,0 +1,193 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.MctsPlanner;
+import drtn.game.ai.SimAction;
+import drtn.game.ai.SimRandom;
+import drtn.game.ai.SimState;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.pricing.PriceTable;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MctsPlannerTest {
+
+    private static MctsPlanner planner;
+
+    @BeforeClass
+    public static void startPlanner() {
+        planner = new MctsPlanner(2);
+    }
+
+    @AfterClass
+    public static void stopPlanner() {
+        planner.shutdown();
+    }
+
+    /**
+     * Builds the opening state of a game with the given number of players and tiles, matching the real game's
+     * starting resources and market
+     */
+    private SimState newGame(int players, int tiles) {
+        SimState state = new SimState(players, tiles, new PriceTable(new InverseStockPricing()));
+
+        for (int p = 0; p < players; p++) {
+            state.setPlayer(p, 50, 0, 5, 5, 0);
+        }
+        for (int t = 0; t < tiles; t++) {
+            state.setTile(t, SimState.NO_OWNER, 5, 5, 5);
+        }
+
+        state.setMarket(SimState.ORE, 0, 15, 14);
+        state.setMarket(SimState.ENERGY, 16, 15, 14);
+        state.setMarket(SimState.FOOD, 16, 15, 14);
+        state.setRoboticonMarket(12, 20);
+        return state;
+    }
+
+    /**
+     * Copies should be independent of the state they were copied from
+     */
+    @Test
+    public void copiesAreIndependent() {
+        SimState original = newGame(2, 4);
+        SimState copy = new SimState(original);
+
+        copy.apply(SimAction.of(SimAction.CLAIM, 1), new SimRandom(1));
+        assertEquals(0, copy.getOwner(1));
+        assertEquals(3, copy.getFreeTiles());
+        assertEquals(SimState.NO_OWNER, original.getOwner(1));
+        assertEquals(4, original.getFreeTiles());
+
+        copy.copyFrom(original);
+        assertEquals(SimState.NO_OWNER, copy.getOwner(1));
+        assertEquals(0, copy.getCurrentPlayer());
+    }
+
+    /**
+     * A game played out at random should always end with every tile claimed
+     */
+    @Test
+    public void rolloutsFinishTheGame() {
+        SimState state = newGame(4, 16);
+        state.rollout(new SimRandom(3));
+
+        assertTrue(state.isOver());
+        assertEquals(0, state.getFreeTiles());
+        assertEquals(5, state.getPhase());
+    }
+
+    /**
+     * Roboticons bought and deployed should produce resources, and upgrades should cost 6 per level
+     */
+    @Test
+    public void followsTheGameRules() {
+        SimState state = newGame(1, 2);
+        state.setPlayer(0, 60, 0, 5, 5, 0);
+        SimRandom rnd = new SimRandom(5);
+
+        state.apply(SimAction.of(SimAction.CLAIM, 0), rnd);
+        state.apply(SimAction.of(SimAction.BUY_ROBOTICONS, 2), rnd);
+        assertEquals(60 - 20 - 25, state.getMoney(0));
+        assertEquals(2, state.getRoboticons(0));
+
+        state.apply(SimAction.of(SimAction.DEPLOY, SimState.FOOD), rnd);
+        assertEquals(1, state.getRoboticons(0));
+        assertEquals(2, state.getLevel(0, SimState.FOOD));
+        assertEquals(15 - 6, state.getMoney(0));
+
+        state.apply(SimAction.PASS, rnd);
+        assertTrue(state.getResource(0, SimState.FOOD) >= 5 + 2 * 5);
+        assertEquals(5, state.getPhase());
+    }
+
+    /**
+     * The planner should only ever choose legal moves, and should play plenty of games in its budget
+     */
+    @Test
+    public void choosesLegalMoves() {
+        SimState state = newGame(4, 16);
+        MctsPlanner.Decision decision = planner.plan(state, 100);
+
+        assertEquals(SimAction.CLAIM, SimAction.kind(decision.action));
+        assertTrue(decision.rollouts > 100);
+        assertTrue(decision.expectedScore > 0);
+    }
+
+    /**
+     * A cap on the games played out should end the search long before its time runs out
+     */
+    @Test
+    public void stopsAfterItsRollouts() {
+        SimState state = newGame(4, 16);
+        MctsPlanner.Decision decision = planner.plan(state, 60000, 64);
+
+        assertEquals(SimAction.CLAIM, SimAction.kind(decision.action));
+        assertEquals(64, decision.rollouts);
+        //The two workers play half of the games each
+        assertTrue(decision.elapsedNanos < 10000000000L);
+    }
+
+    /**
+     * Given the choice, the planner should claim the tile that produces the most
+     */
+    @Test
+    public void prefersProductiveTiles() {
+        SimState state = newGame(2, 4);
+        state.setTile(2, SimState.NO_OWNER, 20, 20, 20);
+        state.setPlayer(0, 50, 0, 5, 5, 1);
+        state.setPlayer(1, 50, 0, 5, 5, 1);
+
+        MctsPlanner.Decision decision = planner.plan(state, 300);
+        assertEquals(SimAction.of(SimAction.CLAIM, 2), decision.action);
+    }
+
+    /**
+     * Given a list of candidate tiles, the planner should only consider claiming those while any are free
+     */
+    @Test
+    public void onlyClaimsCandidateTiles() {
+        SimState state = newGame(2, 16);
+        state.setClaimCandidates(new int[]{5, 9}, 2);
+        int[] legal = new int[SimState.maxActions(16)];
+
+        assertEquals(3, state.legalActions(legal));
+        assertEquals(SimAction.of(SimAction.CLAIM, 5), legal[0]);
+        assertEquals(SimAction.of(SimAction.CLAIM, 9), legal[1]);
+
+        int claim = planner.plan(state, 50).action;
+        assertTrue(claim == SimAction.of(SimAction.CLAIM, 5) || claim == SimAction.of(SimAction.CLAIM, 9)
+                || claim == SimAction.PASS);
+
+        state.setTile(5, 1, 5, 5, 5);
+        state.setTile(9, 1, 5, 5, 5);
+        assertEquals(15, state.legalActions(legal));
+        //Once the candidates are gone, every free tile can be claimed
+    }
+
+    /**
+     * The planner should give up its search straight away if the thread waiting on it is interrupted
+     */
+    @Test
+    public void stopsWhenInterrupted() {
+        SimState state = newGame(4, 16);
+        long start = System.nanoTime();
+
+        Thread.currentThread().interrupt();
+        MctsPlanner.Decision decision = planner.plan(state, 60000);
+
+        assertTrue(Thread.interrupted());
+        assertTrue(System.nanoTime() - start < 5000000000L);
+        assertEquals(SimAction.CLAIM, SimAction.kind(decision.action));
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.Negotiator;
+import drtn.game.entity.AiPlayer;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NegotiatorTest extends TesterFile {
+
+    private AiPlayer ai;
+    private Player human;
+    private Player rival;
+    private Market market;
+    private Negotiator negotiator;
+
+    @Before
+    public void setup() {
+        ai = new AiPlayer(0);
+        human = new Player(1);
+        rival = new Player(2);
+        market = new Market();
+
+        ai.setResource(ResourceType.ORE, 0);
+        ai.setResource(ResourceType.ENERGY, 30);
+        ai.setResource(ResourceType.FOOD, 4);
+        ai.setResource(ResourceType.MONEY, 200);
+        human.setResource(ResourceType.MONEY, 200);
+        rival.setResource(ResourceType.MONEY, 200);
+
+        negotiator = ai.negotiator();
+        negotiator.refresh(market, 1);
+    }
+
+    /**
+     * Goods that the AI is short of should be valued at what the market charges for them, and goods that it can spare
+     * at what the market pays for them
+     */
+    @Test
+    public void valuesBundlesAgainstTheMarket() {
+        assertEquals(6, negotiator.need(2));
+        assertEquals(6 * 15 + 2 * 14, negotiator.valueOf(0, 0, 8));
+
+        //The market has no ore to sell
+        assertEquals(Negotiator.SCARCE_RESOURCE_VALUE, negotiator.valueOf(1, 0, 0));
+
+        assertEquals(20, negotiator.surplus(1));
+        assertEquals(5 * 14, negotiator.costOf(0, 5, 0));
+        assertEquals(2 * 15, negotiator.costOf(0, 0, 2));
+    }
+
+    /**
+     * Market quotes should only be looked up once per turn
+     */
+    @Test
+    public void quotesAreCachedForTheTurn() {
+        market.setEnergySellPrice(40);
+
+        negotiator.refresh(market, 1);
+        assertEquals(5 * 14, negotiator.costOf(0, 5, 0));
+
+        negotiator.refresh(market, 2);
+        assertEquals(5 * 40, negotiator.costOf(0, 5, 0));
+    }
+
+    /**
+     * The AI should buy goods worth their price, haggle over dearer ones, and never haggle over a counter-offer
+     */
+    @Test
+    public void answersOffersByValue() {
+        Trade cheap = new Trade(0, 0, 2, 20, human, ai);
+        assertEquals(Negotiator.Answer.ACCEPT, negotiator.answer(cheap));
+
+        Trade dear = new Trade(0, 0, 2, 100, human, ai);
+        assertEquals(Negotiator.Answer.COUNTER, negotiator.answer(dear));
+        assertEquals(30, negotiator.counterPrice(dear));
+
+        Trade recounter = dear.counter(0, 0, 2, 100).counter(0, 0, 2, 100);
+        assertSame(ai, recounter.getRespondent());
+        assertEquals(Negotiator.Answer.REJECT, negotiator.answer(recounter));
+
+        ai.setResource(ResourceType.MONEY, Negotiator.MONEY_BUFFER);
+        assertEquals(Negotiator.Answer.REJECT, negotiator.answer(dear));
+    }
+
+    /**
+     * When the AI's own offer is countered, it should sell as long as it's paid what the goods are worth to it
+     */
+    @Test
+    public void sellsAtCostOrBetter() {
+        Trade offer = new Trade(0, 5, 0, 100, ai, human);
+
+        assertEquals(Negotiator.Answer.ACCEPT, negotiator.answer(offer.counter(0, 5, 0, 70)));
+        assertEquals(Negotiator.Answer.REJECT, negotiator.answer(offer.counter(0, 5, 0, 69)));
+    }
+
+    /**
+     * Each opponent's markup should rise when they accept and fall when they reject, independently of each other
+     */
+    @Test
+    public void learnsEachOpponentsMarkup() {
+        TradeBook book = new TradeBook();
+        Player[] players = {ai, human, rival};
+
+        Trade offer = negotiator.propose(players, book);
+        assertNotNull(offer);
+        assertSame(ai, offer.getSender());
+        assertEquals(10, offer.energyAmount);
+        assertEquals((int) Math.ceil(10 * 14 * Negotiator.INITIAL_MARKUP), offer.getPrice());
+
+        negotiator.offerSent(offer);
+        negotiator.recordOutcome(offer, true);
+        assertEquals(Negotiator.INITIAL_MARKUP * Negotiator.MARKUP_STEP, negotiator.markupFor(offer.getRespondent()), 1e-9);
+
+        Player other = (offer.getRespondent() == human) ? rival : human;
+        assertEquals(Negotiator.INITIAL_MARKUP, negotiator.markupFor(other), 1e-9);
+
+        //The opponent who paid the most last time should be offered the next lot
+        Trade next = negotiator.propose(players, book);
+        assertSame(offer.getRespondent(), next.getRespondent());
+
+        for (int i = 0; i < 20; i++) {
+            negotiator.offerSent(next);
+            negotiator.recordOutcome(next, false);
+        }
+        assertEquals(Negotiator.MIN_MARKUP, negotiator.markupFor(next.getRespondent()), 1e-9);
+    }
+
+    /**
+     * A counter-offer should move the opponent's markup halfway towards the one implied by their price
+     */
+    @Test
+    public void countersMoveTheMarkup() {
+        Trade offer = new Trade(0, 5, 0, 100, ai, human);
+        negotiator.offerSent(offer);
+
+        negotiator.recordCounter(offer.counter(0, 5, 0, 70));
+        assertEquals((Negotiator.INITIAL_MARKUP + 1) / 2, negotiator.markupFor(human), 1e-9);
+        assertEquals(0, negotiator.outstandingOffers());
+    }
+
+    /**
+     * Offers that expire without an answer should be treated as rejected
+     */
+    @Test
+    public void expiredOffersAreTreatedAsRejections() {
+        TradeBook book = new TradeBook(1, 1);
+        Trade offer = new Trade(0, 5, 0, 100, ai, human);
+        assertTrue(book.offer(offer));
+        negotiator.offerSent(offer);
+
+        negotiator.forgetExpired(book);
+        assertEquals(1, negotiator.outstandingOffers());
+
+        book.advanceTo(1);
+        negotiator.forgetExpired(book);
+        assertEquals(0, negotiator.outstandingOffers());
+        assertEquals(Negotiator.INITIAL_MARKUP / Negotiator.MARKUP_STEP, negotiator.markupFor(human), 1e-9);
+    }
+}
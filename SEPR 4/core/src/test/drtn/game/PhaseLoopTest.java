@@ -0,0 +1,179 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+public class PhaseLoopTest {
+
+    /**
+     * Stands in for Gdx.app.postRunnable, holding tasks back until the test runs them
+     */
+    private List<Runnable> renderQueue;
+    private Executor renderThread;
+
+    @Before
+    public void setup() {
+        renderQueue = new ArrayList<Runnable>();
+        renderThread = new Executor() {
+            @Override
+            public void execute(Runnable runnable) {
+                renderQueue.add(runnable);
+            }
+        };
+    }
+
+    /**
+     * Runs the tasks handed back to the render thread, as if the next frame had been drawn
+     */
+    private void nextFrame() {
+        List<Runnable> frame = new ArrayList<Runnable>(renderQueue);
+        renderQueue.clear();
+
+        for (Runnable runnable : frame) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * Phases which end the next phase from inside themselves (as AI players do) should be played one after another
+     * without the stack growing
+     */
+    @Test
+    public void chainedPhasesDontGrowTheStack() {
+        final int phases = 100000;
+        final int[] played = {0};
+        final int[] depths = {-1, -1};
+        final PhaseLoop[] loop = new PhaseLoop[1];
+
+        loop[0] = new PhaseLoop(new Runnable() {
+            @Override
+            public void run() {
+                played[0]++;
+                if (played[0] == 1) {
+                    depths[0] = Thread.currentThread().getStackTrace().length;
+                } else if (played[0] == phases) {
+                    depths[1] = Thread.currentThread().getStackTrace().length;
+                }
+
+                if (played[0] < phases) {
+                    loop[0].request();
+                }
+            }
+        }, renderThread, 60000);
+
+        loop[0].request();
+
+        assertEquals(phases, played[0]);
+        assertEquals(depths[0], depths[1]);
+        assertEquals(0, loop[0].pending());
+        assertFalse(loop[0].isRunning());
+    }
+
+    /**
+     * Once its time for the frame has run out, the loop should wait for the next frame before carrying on
+     */
+    @Test
+    public void waitsForTheNextFrameOnceTimeRunsOut() {
+        final int[] played = {0};
+        final PhaseLoop[] loop = new PhaseLoop[1];
+
+        loop[0] = new PhaseLoop(new Runnable() {
+            @Override
+            public void run() {
+                played[0]++;
+                if (played[0] < 3) {
+                    loop[0].request();
+                }
+            }
+        }, renderThread, 0);
+
+        loop[0].request();
+        assertEquals(1, played[0]);
+        assertTrue(loop[0].isRunning());
+        assertEquals(1, renderQueue.size());
+
+        loop[0].request();
+        assertEquals(1, played[0]);
+        //Requests made while waiting for the next frame should only be queued up
+
+        nextFrame();
+        assertEquals(2, played[0]);
+        nextFrame();
+        assertEquals(3, played[0]);
+        nextFrame();
+        assertEquals(4, played[0]);
+        nextFrame();
+
+        assertEquals(4, played[0]);
+        assertEquals(0, loop[0].pending());
+        assertFalse(loop[0].isRunning());
+    }
+
+    /**
+     * No phases should start while the loop is suspended, but they should all be played once it's resumed
+     */
+    @Test
+    public void suspendingHoldsPhasesBack() {
+        final int[] played = {0};
+        PhaseLoop loop = new PhaseLoop(new Runnable() {
+            @Override
+            public void run() {
+                played[0]++;
+            }
+        }, renderThread, 60000);
+
+        loop.suspend();
+        loop.request();
+        loop.request();
+        assertEquals(0, played[0]);
+        assertEquals(2, loop.pending());
+
+        loop.resume();
+        assertEquals(2, played[0]);
+        assertEquals(0, loop.pending());
+    }
+
+    /**
+     * A frame that's waiting to carry on the loop shouldn't start any phases if the game has been suspended since
+     */
+    @Test
+    public void suspendingStopsWaitingFrames() {
+        final int[] played = {0};
+        final PhaseLoop[] loop = new PhaseLoop[1];
+
+        loop[0] = new PhaseLoop(new Runnable() {
+            @Override
+            public void run() {
+                played[0]++;
+                loop[0].request();
+            }
+        }, renderThread, 0);
+
+        loop[0].request();
+        assertEquals(1, played[0]);
+
+        loop[0].suspend();
+        nextFrame();
+        assertEquals(1, played[0]);
+        assertFalse(loop[0].isRunning());
+
+        loop[0].setFrameSliceMillis(0);
+        loop[0].resume();
+        assertEquals(2, played[0]);
+        assertTrue(loop[0].isRunning());
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import drtn.game.pricing.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PricingModelTest {
+
+    /**
+     * Checks that the compiled table for the default model reproduces the market's original pricing formula
+     */
+    @Test
+    public void testInverseStockTableMatchesOriginalFormula() {
+        PriceTable table = new PriceTable(new InverseStockPricing());
+
+        assertEquals(0, table.buyPrice(0));
+        assertEquals(200, table.sellPrice(0));
+
+        for (int stock = 1; stock < table.size() + 10; stock++) {
+            assertEquals(160 / stock + 2, table.buyPrice(stock));
+            assertEquals(Math.max(1, 160 / stock), table.sellPrice(stock));
+        }
+    }
+
+    /**
+     * Checks that the Assessment 3 curve reproduces the prices charged by the Assessment 3 market
+     */
+    @Test
+    public void testFractalPricing() {
+        PricingModel model = new FractalPricing();
+
+        assertEquals(50, model.calculateBuyPrice(0));
+        assertEquals(30, model.calculateSellPrice(0));
+        assertEquals(16, model.calculateBuyPrice(2));
+        assertEquals(9, model.calculateSellPrice(2));
+        assertEquals(10, model.calculateBuyPrice(16));
+        assertEquals(6, model.calculateSellPrice(16));
+    }
+
+    /**
+     * Checks that every model charges more to buy than it pays to sell, and that prices never rise as stock grows
+     */
+    @Test
+    public void testModelsAreMonotonic() {
+        String[] names = {InverseStockPricing.NAME, FractalPricing.NAME, LogisticPricing.NAME,
+                ConstantElasticityPricing.NAME};
+
+        for (String name : names) {
+            PricingModel model = PricingModels.byName(name);
+            assertEquals(name, model.getName());
+
+            for (int stock = 1; stock < 200; stock++) {
+                assertTrue(name, model.calculateBuyPrice(stock) >= model.calculateSellPrice(stock));
+                assertTrue(name, model.calculateSellPrice(stock) <= model.calculateSellPrice(stock - 1));
+                assertTrue(name, model.calculateSellPrice(stock) >= 1);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownModel() {
+        PricingModels.byName("free-money");
+    }
+
+    /**
+     * Checks that a market built with an alternative model prices its trades using that model
+     */
+    @Test
+    public void testMarketUsesModel() {
+        Market market = new Market(new FractalPricing());
+        Player player = new Player(0);
+        player.setResource(ResourceType.MONEY, 1000);
+
+        assertTrue(market.buy(ResourceType.FOOD, 14, player));
+        assertEquals(16, market.getFoodBuyPrice());
+        assertEquals(9, market.getFoodSellPrice());
+        assertEquals(FractalPricing.NAME, market.getPricingModel().getName());
+    }
+}
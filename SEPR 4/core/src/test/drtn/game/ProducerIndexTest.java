@@ -0,0 +1,161 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.effects.ProducerIndex;
+import drtn.game.effects.YieldLayer;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class ProducerIndexTest {
+
+    private static final int TILES = 2000;
+    private static final int PLAYERS = 3;
+
+    private YieldLayer layer;
+    private ProducerIndex index;
+    private Random random;
+
+    @Before
+    public void setUp() {
+        random = new Random(48);
+        layer = new YieldLayer(TILES);
+        for (int t = 0; t < TILES; t++) {
+            for (int r = 0; r < 3; r++) {
+                layer.setBase(t, r, random.nextInt(50));
+            }
+        }
+        index = new ProducerIndex(layer, PLAYERS);
+    }
+
+    /**
+     * @return int The player's tile with the best yield of the resource, found by looking through every tile
+     */
+    private int scan(int p, int resource, boolean most) {
+        int best = -1;
+        for (int t = 0; t < TILES; t++) {
+            if (index.getOwner(t) != p) {
+                continue;
+            }
+            if (best < 0 || (most ? layer.get(t, resource) > layer.get(best, resource)
+                    : layer.get(t, resource) < layer.get(best, resource))) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    private void assertMatchesScan() {
+        for (int p = 0; p < PLAYERS; p++) {
+            for (int r = 0; r < 3; r++) {
+                assertEquals(scan(p, r, true), index.top(p, r));
+                assertEquals(scan(p, r, false), index.bottom(p, r));
+            }
+        }
+    }
+
+    /**
+     * The index must agree with a scan of the whole map through a mix of claims, changes of owner, changes to base
+     * yields and modifiers being added and removed
+     */
+    @Test
+    public void indexAgreesWithAScanOfTheMap() {
+        int[] modifiers = new int[500];
+        int modifierCount = 0;
+
+        for (int step = 0; step < 5000; step++) {
+            int t = random.nextInt(TILES);
+            switch (random.nextInt(4)) {
+                case 0:
+                    index.setOwner(t, random.nextInt(PLAYERS + 1) - 1);
+                    break;
+                case 1:
+                    layer.setBase(t, random.nextInt(3), random.nextInt(50));
+                    break;
+                case 2:
+                    if (modifierCount < modifiers.length) {
+                        modifiers[modifierCount++] = layer.add(t, new float[]{random.nextFloat() * 2, 1, 0},
+                                new float[]{0, random.nextInt(20) - 10, random.nextInt(30)}, 0);
+                    }
+                    break;
+                default:
+                    if (modifierCount > 0) {
+                        int i = random.nextInt(modifierCount);
+                        layer.remove(modifiers[i]);
+                        modifiers[i] = modifiers[--modifierCount];
+                    }
+            }
+
+            if (step % 500 == 0) {
+                assertMatchesScan();
+            }
+        }
+        assertMatchesScan();
+    }
+
+    @Test
+    public void topAndBottomTilesComeInOrder() {
+        for (int t = 0; t < TILES; t += 2) {
+            index.setOwner(t, 1);
+        }
+
+        int[] picked = new int[25];
+        assertEquals(25, index.top(1, YieldLayer.FOOD, 25, picked));
+        for (int i = 1; i < picked.length; i++) {
+            assertTrue(layer.get(picked[i - 1], YieldLayer.FOOD) >= layer.get(picked[i], YieldLayer.FOOD));
+        }
+        int cutoff = layer.get(picked[24], YieldLayer.FOOD);
+        int better = 0;
+        for (int t = 0; t < TILES; t += 2) {
+            if (layer.get(t, YieldLayer.FOOD) > cutoff) {
+                better++;
+            }
+        }
+        assertTrue(better < 25);
+        //Nothing left out of the top 25 beats the last of them
+
+        assertEquals(25, index.bottom(1, YieldLayer.ORE, 25, picked));
+        for (int i = 1; i < picked.length; i++) {
+            assertTrue(layer.get(picked[i - 1], YieldLayer.ORE) <= layer.get(picked[i], YieldLayer.ORE));
+        }
+    }
+
+    @Test
+    public void randomTilesAreDistinctAndOwned() {
+        for (int t = 0; t < 10; t++) {
+            index.setOwner(t, 2);
+        }
+
+        int[] picked = new int[20];
+        assertEquals(10, index.random(2, 20, random, picked));
+        Set<Integer> seen = new HashSet<Integer>();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2, index.getOwner(picked[i]));
+            assertTrue(seen.add(picked[i]));
+        }
+        assertEquals(0, index.random(0, 3, random, picked));
+    }
+
+    @Test
+    public void playersWithoutTilesHaveNoProducers() {
+        assertEquals(-1, index.top(0, YieldLayer.ORE));
+        assertEquals(0, index.top(0, YieldLayer.ORE, 5, new int[5]));
+
+        index.setOwner(7, 0);
+        index.setOwner(7, ProducerIndex.UNOWNED);
+        assertEquals(-1, index.bottom(0, YieldLayer.FOOD));
+        assertEquals(0, index.count(0));
+    }
+}
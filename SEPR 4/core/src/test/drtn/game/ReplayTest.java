@@ -0,0 +1,248 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.AiParameters;
+import drtn.game.ai.SimAction;
+import drtn.game.ai.SimState;
+import drtn.game.enums.ResourceType;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.pricing.PriceTable;
+import drtn.game.replay.HeadlessReplayer;
+import drtn.game.replay.InputEvent;
+import drtn.game.replay.InputRecorder;
+import drtn.game.replay.Recording;
+import drtn.game.tuning.EconomySweep;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class ReplayTest {
+
+    private static Recording sampleGame(long seed) {
+        return HeadlessReplayer.record(EconomySweep.newGame(GameConfig.standard()), seed, AiParameters.defaults());
+    }
+
+    private static byte[] toBytes(Recording recording) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recording.write(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Two players who each own a tile, in the roboticon placement phase
+     */
+    private static SimState smallGame() {
+        SimState state = new SimState(2, 4, new PriceTable(new InverseStockPricing()));
+        for (int p = 0; p < 2; p++) {
+            state.setPlayer(p, 100, 5, 5, 5, 1);
+        }
+        state.setTile(0, 0, 5, 5, 5);
+        state.setTile(1, 1, 5, 5, 5);
+        state.setTile(2, SimState.NO_OWNER, 5, 5, 5);
+        state.setTile(3, SimState.NO_OWNER, 5, 5, 5);
+        state.setMarket(SimState.ORE, 16, 15, 14);
+        state.setMarket(SimState.ENERGY, 16, 15, 14);
+        state.setMarket(SimState.FOOD, 16, 15, 14);
+        state.setRoboticonMarket(12, 20);
+        state.setPosition(3, 0, 1);
+        return state;
+    }
+
+    @Test
+    public void headlessGameReplaysExactly() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Recording recording = sampleGame(seed);
+
+            assertTrue(recording.size() > 0);
+            assertNotEquals(Recording.NO_FINGERPRINT, recording.fingerprint());
+            assertTrue(HeadlessReplayer.verify(recording));
+
+            SimState replayed = HeadlessReplayer.replay(recording);
+            assertTrue(replayed.isOver());
+            assertEquals(recording.fingerprint(), replayed.fingerprint());
+        }
+    }
+
+    /**
+     * Replaying with a different seed draws different yields, so it should be caught by the fingerprint
+     */
+    @Test
+    public void replayDependsOnSeed() {
+        Recording recording = sampleGame(1);
+        Recording other = sampleGame(2);
+
+        assertNotEquals(recording.fingerprint(), other.fingerprint());
+    }
+
+    @Test
+    public void recordingSurvivesRoundTrip() throws Exception {
+        Recording recording = sampleGame(3);
+        Recording read = Recording.read(new ByteArrayInputStream(toBytes(recording)));
+
+        assertEquals(recording.seed(), read.seed());
+        assertEquals(recording.fingerprint(), read.fingerprint());
+        assertEquals(recording.start().fingerprint(), read.start().fingerprint());
+        assertEquals(recording.size(), read.size());
+        for (int i = 0; i < recording.size(); i++) {
+            assertEquals(recording.getTime(i), read.getTime(i));
+            assertEquals(recording.getPlayer(i), read.getPlayer(i));
+            assertEquals(recording.getKind(i), read.getKind(i));
+            assertEquals(recording.getArgument(i), read.getArgument(i));
+        }
+        assertTrue(HeadlessReplayer.verify(read));
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptRecordingIsRejected() throws Exception {
+        byte[] bytes = toBytes(sampleGame(4));
+        bytes[bytes.length / 2] ^= 0x10;
+
+        Recording.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void newerVersionIsRejected() throws Exception {
+        byte[] bytes = toBytes(sampleGame(5));
+        bytes[4] = (byte) ((Recording.VERSION + 1) << 1);
+        //The version follows the four bytes of "DRPL", as a zig-zag encoded number
+
+        try {
+            Recording.read(new ByteArrayInputStream(bytes));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("newer version"));
+        }
+    }
+
+    /**
+     * Auctions, trades between players, the mini-game and the Chancellor don't exist in the headless game, so their
+     * inputs should be kept but leave the replay untouched
+     */
+    @Test
+    public void inputsWithoutHeadlessEquivalentAreSkipped() {
+        SimState start = smallGame();
+        InputRecorder recorder = new InputRecorder(1, start);
+        recorder.record(0, 0, InputEvent.AUCTION_LIST, InputEvent.trade(ResourceType.ORE, 3));
+        recorder.record(1, 0, InputEvent.AUCTION_BID, 40);
+        recorder.record(2, 0, InputEvent.TRADE_ACCEPT, 1);
+        recorder.record(3, 0, InputEvent.TRADE_REJECT, 1);
+        recorder.record(4, 0, InputEvent.MINI_GAME_PICK, 2);
+        recorder.record(5, 0, InputEvent.CATCH_CHANCELLOR, 50);
+        Recording recording = recorder.finish(start.fingerprint());
+
+        SimState state = new SimState(start);
+        assertEquals(0, HeadlessReplayer.replay(recording, state));
+        assertEquals(start.fingerprint(), state.fingerprint());
+        assertEquals(6, recording.size());
+        assertEquals(5, recording.duration());
+    }
+
+    /**
+     * Inputs only take effect for the player whose turn it is, and only when they're allowed in the real game
+     */
+    @Test
+    public void placementsAndUpgradesReplay() {
+        SimState start = smallGame();
+        InputRecorder recorder = new InputRecorder(1, start);
+        recorder.record(0, 0, InputEvent.PLACE_ROBOTICON, 1);
+        //Player 0 doesn't own tile 1
+        recorder.record(1, 0, InputEvent.PLACE_ROBOTICON, 0);
+        recorder.record(2, 0, InputEvent.UPGRADE, SimAction.argument(SimAction.upgrade(0, SimState.FOOD)));
+        recorder.record(3, 1, InputEvent.UPGRADE, SimAction.argument(SimAction.upgrade(0, SimState.FOOD)));
+        //It's not player 1's turn
+        Recording recording = recorder.finish(Recording.NO_FINGERPRINT);
+
+        SimState state = HeadlessReplayer.replay(recording);
+        assertEquals(0, state.getRoboticons(0));
+        assertEquals(1, state.getLevel(0, SimState.ORE));
+        assertEquals(2, state.getLevel(0, SimState.FOOD));
+        assertEquals(100 - start.getUpgradeCostPerLevel(), state.getMoney(0));
+        assertEquals(0, state.getLevel(1, SimState.ORE));
+        assertEquals(1, state.getRoboticons(1));
+    }
+
+    /**
+     * A recording that doesn't say where its game finished, as from the real game, mustn't be reported as matching
+     */
+    @Test
+    public void recordingsWithoutFingerprintsAreNotVerified() {
+        InputRecorder recorder = new InputRecorder(1, smallGame());
+        recorder.record(0, 0, InputEvent.PLACE_ROBOTICON, 0);
+        Recording recording = recorder.finish(Recording.NO_FINGERPRINT);
+
+        assertFalse(HeadlessReplayer.isVerifiable(recording));
+        assertFalse(HeadlessReplayer.verify(recording));
+        assertTrue(HeadlessReplayer.isVerifiable(sampleGame(1)));
+    }
+
+    /**
+     * Upgrades are only allowed in phase 3, and only for players who can pay for them
+     */
+    @Test
+    public void upgradesNeedPhaseThreeAndMoney() {
+        SimState state = smallGame();
+        state.perform(SimAction.of(SimAction.PLACE, 0));
+        int upgrade = SimAction.upgrade(0, SimState.ORE);
+
+        state.setPlayer(0, state.getUpgradeCostPerLevel() - 1, 5, 5, 5, 0);
+        state.perform(upgrade);
+        assertEquals(1, state.getLevel(0, SimState.ORE));
+        assertEquals(state.getUpgradeCostPerLevel() - 1, state.getMoney(0));
+
+        state.setPlayer(0, 100, 5, 5, 5, 0);
+        state.setPosition(5, 0, 1);
+        state.perform(upgrade);
+        assertEquals(1, state.getLevel(0, SimState.ORE));
+        assertEquals(100, state.getMoney(0));
+
+        state.setPosition(3, 0, 1);
+        state.perform(upgrade);
+        assertEquals(2, state.getLevel(0, SimState.ORE));
+    }
+
+    @Test
+    public void tradeArgumentsMatchMarketActions() {
+        int argument = InputEvent.trade(ResourceType.ENERGY, 7);
+        int action = InputEvent.toAction(InputEvent.MARKET_SELL, argument);
+
+        assertEquals(SimAction.SELL, SimAction.kind(action));
+        assertEquals(SimState.ENERGY, SimAction.resource(action));
+        assertEquals(7, SimAction.quantity(action));
+        assertEquals(InputEvent.NO_ACTION, InputEvent.toAction(InputEvent.AUCTION_BID, argument));
+    }
+
+    /**
+     * A whole game should replay in well under a millisecond once the JIT has warmed up
+     */
+    @Test
+    public void wholeGameReplaysQuickly() {
+        Recording recording = sampleGame(6);
+        SimState state = recording.start();
+
+        for (int i = 0; i < 200; i++) {
+            HeadlessReplayer.replay(recording, state);
+        }
+        //Let the JIT compile the replayer before timing it
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 50; i++) {
+            long start = System.nanoTime();
+            HeadlessReplayer.replay(recording, state);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        assertTrue("Replay took " + best / 1000000.0 + "ms", best < 5000000L);
+        assertEquals(recording.fingerprint(), state.fingerprint());
+    }
+}
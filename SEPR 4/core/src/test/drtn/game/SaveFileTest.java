@@ -0,0 +1,387 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.auction.AuctionFormat;
+import drtn.game.auction.AuctionHouse;
+import drtn.game.auction.Lot;
+import drtn.game.effects.EffectProgram;
+import drtn.game.effects.EffectRunner;
+import drtn.game.effects.EffectScheduler;
+import drtn.game.effects.ProducerIndex;
+import drtn.game.effects.YieldLayer;
+import drtn.game.entity.Player;
+import drtn.game.entity.Tile;
+import drtn.game.enums.ResourceType;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.save.Autosaver;
+import drtn.game.save.GameSnapshot;
+import drtn.game.save.SaveFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+public class SaveFileTest extends TesterFile {
+
+    private File directory;
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("saves", "");
+        assertTrue(directory.delete());
+        assertTrue(directory.mkdirs());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Builds a game part-way through, with tiles claimed, roboticons placed and trades pending
+     */
+    private static GameSnapshot sampleGame(int tiles, long seed) {
+        Random rnd = new Random(seed);
+        GameSnapshot snapshot = new GameSnapshot(GameConfig.standard().toArray(), InverseStockPricing.NAME, 4,
+                tiles);
+        snapshot.setPosition(3, 2, 7, 41, true);
+
+        for (int p = 0; p < 4; p++) {
+            snapshot.setPlayer(p, p >= 2, 100 + rnd.nextInt(900), rnd.nextInt(50), rnd.nextInt(50), rnd.nextInt(50),
+                    rnd.nextInt(3));
+        }
+
+        for (int t = 0; t < tiles; t++) {
+            int owner = rnd.nextInt(3) == 0 ? GameSnapshot.NO_OWNER : rnd.nextInt(4);
+            snapshot.setTile(t, owner, rnd.nextInt(10), rnd.nextInt(10), rnd.nextInt(10));
+            if (owner != GameSnapshot.NO_OWNER && rnd.nextBoolean()) {
+                snapshot.setRoboticon(t, t, 1 + rnd.nextInt(10), 1 + rnd.nextInt(10), 1 + rnd.nextInt(10));
+            }
+        }
+
+        snapshot.setMarket(GameSnapshot.ORE, 16, 12, 8);
+        snapshot.setMarket(GameSnapshot.ENERGY, 0, 20, 15);
+        snapshot.setMarket(GameSnapshot.FOOD, 16, 15, 11);
+        snapshot.setMarket(GameSnapshot.ROBOTICON, 9, 25, 0);
+
+        snapshot.addTrade(0, 1, 3, 0, 2, 40, 9, false);
+        snapshot.addTrade(2, 3, 0, 5, 0, 25, 8, true);
+        return snapshot;
+    }
+
+    private static byte[] toBytes(GameSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SaveFile.write(snapshot, out);
+        return out.toByteArray();
+    }
+
+    private static void assertSameGame(GameSnapshot expected, GameSnapshot actual) {
+        assertArrayEquals(expected.config().toArray(), actual.config().toArray(), 0);
+        assertEquals(expected.pricingModel(), actual.pricingModel());
+        assertEquals(expected.phase(), actual.phase());
+        assertEquals(expected.currentPlayer(), actual.currentPlayer());
+        assertEquals(expected.turn(), actual.turn());
+        assertEquals(expected.roboticonIDCounter(), actual.roboticonIDCounter());
+        assertEquals(expected.isTileAcquired(), actual.isTileAcquired());
+
+        assertEquals(expected.playerCount(), actual.playerCount());
+        for (int p = 0; p < expected.playerCount(); p++) {
+            assertEquals(expected.isAi(p), actual.isAi(p));
+            assertEquals(expected.getMoney(p), actual.getMoney(p));
+            for (int r = GameSnapshot.ORE; r <= GameSnapshot.FOOD; r++) {
+                assertEquals(expected.getResource(p, r), actual.getResource(p, r));
+            }
+            assertEquals(expected.getRoboticons(p), actual.getRoboticons(p));
+        }
+
+        assertEquals(expected.tileCount(), actual.tileCount());
+        for (int t = 0; t < expected.tileCount(); t++) {
+            assertEquals(expected.getOwner(t), actual.getOwner(t));
+            assertEquals(expected.getRoboticonID(t), actual.getRoboticonID(t));
+            for (int r = GameSnapshot.ORE; r <= GameSnapshot.FOOD; r++) {
+                assertEquals(expected.getYield(t, r), actual.getYield(t, r));
+                assertEquals(expected.getLevel(t, r), actual.getLevel(t, r));
+            }
+        }
+
+        for (int r = GameSnapshot.ORE; r <= GameSnapshot.ROBOTICON; r++) {
+            assertEquals(expected.getStock(r), actual.getStock(r));
+            assertEquals(expected.getBuyPrice(r), actual.getBuyPrice(r));
+        }
+        for (int r = GameSnapshot.ORE; r <= GameSnapshot.FOOD; r++) {
+            assertEquals(expected.getSellPrice(r), actual.getSellPrice(r));
+        }
+
+        assertEquals(expected.tradeCount(), actual.tradeCount());
+        for (int i = 0; i < expected.tradeCount(); i++) {
+            for (int f = 0; f < GameSnapshot.TRADE_FIELDS; f++) {
+                assertEquals(expected.getTrade(i, f), actual.getTrade(i, f));
+            }
+        }
+    }
+
+    @Test
+    public void gameSurvivesRoundTrip() throws Exception {
+        GameSnapshot game = sampleGame(16, 1);
+        File file = new File(directory, "game.sav");
+
+        SaveFile.write(game, file);
+        assertSameGame(game, SaveFile.read(file));
+        assertFalse(new File(directory, "game.sav.tmp").exists());
+    }
+
+    /**
+     * A 128x128 board should save well within a frame's worth of the autosave thread's time
+     */
+    @Test
+    public void largeBoardSavesQuickly() throws Exception {
+        GameSnapshot game = sampleGame(128 * 128, 2);
+        File file = new File(directory, "large.sav");
+
+        for (int i = 0; i < 5; i++) {
+            SaveFile.write(game, file);
+        }
+        //Let the JIT compile the writer before timing it
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            SaveFile.write(game, file);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        assertTrue("Save took " + best / 1000000.0 + "ms", best < 50000000L);
+        assertSameGame(game, SaveFile.read(file));
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptSaveIsRejected() throws Exception {
+        byte[] bytes = toBytes(sampleGame(16, 3));
+        bytes[bytes.length / 2] ^= 0x10;
+
+        SaveFile.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedSaveIsRejected() throws Exception {
+        byte[] bytes = toBytes(sampleGame(16, 4));
+        byte[] truncated = new byte[bytes.length - 6];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+
+        SaveFile.read(new ByteArrayInputStream(truncated));
+    }
+
+    @Test
+    public void newerVersionIsRejected() throws Exception {
+        byte[] bytes = toBytes(sampleGame(16, 5));
+        bytes[4] = (byte) ((SaveFile.VERSION + 1) << 1);
+        //The version follows the four bytes of "DRTN", as a zig-zag encoded number
+
+        try {
+            SaveFile.read(new ByteArrayInputStream(bytes));
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("newer version"));
+        }
+    }
+
+    /**
+     * Only the last of several snapshots handed to the autosaver in quick succession needs to end up on disk
+     */
+    @Test
+    public void autosaverWritesLatestSnapshot() throws Exception {
+        File file = new File(directory, "auto.sav");
+        Autosaver autosaver = new Autosaver(file);
+
+        GameSnapshot last = null;
+        for (int i = 0; i < 10; i++) {
+            last = sampleGame(1024, 10 + i);
+            autosaver.save(last);
+        }
+
+        assertTrue(autosaver.flush(5000));
+        assertSameGame(last, SaveFile.read(file));
+
+        autosaver.shutdown();
+        assertTrue(autosaver.flush(5000));
+    }
+
+    /**
+     * Goods and money held in escrow by open auctions must be saved as their owners', rather than lost with the lots
+     */
+    @Test
+    public void openAuctionsGiveBackTheirEscrow() throws Exception {
+        GameEngine engine = new GameEngine(null, null);
+        engine.initialisePlayers(0, 3);
+        Player[] players = engine.players();
+        for (Player player : players) {
+            player.setResource(ResourceType.MONEY, 100);
+            player.setResource(ResourceType.ORE, 20);
+            player.setResource(ResourceType.FOOD, 20);
+        }
+
+        AuctionHouse house = engine.auctionHouse();
+        Lot english = house.list(players[0], AuctionFormat.ENGLISH, ResourceType.FOOD, 10, 5);
+        assertTrue(house.bid(english.getId(), players[1], 20));
+        assertTrue(house.bid(english.getId(), players[2], 30));
+        Lot sealed = house.list(players[1], AuctionFormat.SEALED_BID, ResourceType.ORE, 5, 5);
+        assertTrue(house.bid(sealed.getId(), players[0], 15));
+        assertTrue(house.bid(sealed.getId(), players[2], 25));
+
+        GameSnapshot snapshot = SaveFile.read(new ByteArrayInputStream(toBytes(GameSnapshot.capture(engine))));
+        assertEquals(10, players[0].getResource(ResourceType.FOOD));
+        //Saving only reads the game, leaving the lots open
+
+        GameEngine loaded = new GameEngine(null, null);
+        loaded.restore(snapshot);
+        for (Player player : loaded.players()) {
+            assertEquals(100, player.getResource(ResourceType.MONEY));
+            assertEquals(20, player.getResource(ResourceType.ORE));
+            assertEquals(20, player.getResource(ResourceType.FOOD));
+        }
+    }
+
+    /**
+     * Sets up four tiles owned by the first of two players, with random events picking tiles by the given seed
+     */
+    private static EffectScheduler effectGame(EffectProgram program, Player[] players, Tile[] tiles, long seed) {
+        YieldLayer layer = new YieldLayer(tiles.length);
+        ProducerIndex index = new ProducerIndex(layer, players.length);
+        for (int t = 0; t < tiles.length; t++) {
+            tiles[t] = new Tile(new Main(), t + 1, 0, 0, 0, null, new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            tiles[t].setResource(ResourceType.FOOD, 10 + t);
+            tiles[t].attachYieldLayer(layer);
+            players[0].assignTile(tiles[t]);
+            index.setOwner(t, 0);
+        }
+        return new EffectScheduler(new EffectRunner(program, layer, index, new Random(seed)), players.length);
+    }
+
+    private static int[] food(Tile[] tiles) throws Exception {
+        int[] food = new int[tiles.length];
+        for (int t = 0; t < tiles.length; t++) {
+            food[t] = tiles[t].getResource(ResourceType.FOOD);
+        }
+        return food;
+    }
+
+    /**
+     * An event in force when the game is saved must carry on in the loaded game on the same tiles, for the turns
+     * that it had left, and then stay cooling down for as long as it had left
+     */
+    @Test
+    public void effectsAndCooldownsSurviveRoundTrip() throws Exception {
+        EffectProgram program = EffectProgram.compile("{events: [{name: Blight, target: random, count: 2, op: add, "
+                + "food: -5, turns: 3, cooldown: 4}]}");
+        Player[] players = {new Player(0), new Player(1)};
+        Tile[] savedTiles = new Tile[4];
+        Tile[] loadedTiles = new Tile[4];
+        EffectScheduler saved = effectGame(program, players, savedTiles, 1);
+        EffectScheduler loaded = effectGame(program, new Player[]{new Player(0), new Player(1)}, loadedTiles, 2);
+        //The loaded game's events pick other tiles, so only tiles restored from the save can match
+
+        saved.advanceTo(saved.tick(1, 0));
+        assertTrue(saved.fire(0, 0, players[0]));
+        saved.advanceTo(saved.tick(1, 1));
+
+        GameSnapshot snapshot = new GameSnapshot(GameConfig.standard().toArray(), InverseStockPricing.NAME, 2,
+                savedTiles.length);
+        snapshot.captureEffects(saved);
+        SaveFile.read(new ByteArrayInputStream(toBytes(snapshot))).restoreEffects(loaded, 2, loadedTiles.length);
+
+        assertEquals(saved.now(), loaded.now());
+        assertTrue(loaded.isActive(0, 0));
+        assertArrayEquals(food(savedTiles), food(loadedTiles));
+
+        for (int turn = 2; turn < 6; turn++) {
+            for (int p = 0; p < 2; p++) {
+                saved.advanceTo(saved.tick(turn, p));
+                loaded.advanceTo(loaded.tick(turn, p));
+                assertEquals(turn < 4, loaded.isActive(0, 0));
+                assertArrayEquals(food(savedTiles), food(loadedTiles));
+                assertFalse(loaded.fire(0, 0, players[0]));
+            }
+        }
+        assertArrayEquals(new int[]{10, 11, 12, 13}, food(loadedTiles));
+        //The event lasts until the player's third production after it hit, and cools down until their sixth
+
+        loaded.advanceTo(loaded.tick(6, 0));
+        assertTrue(loaded.fire(0, 0, players[0]));
+    }
+
+    /**
+     * Saves from before events were saved load with no events in force or cooling down
+     */
+    @Test
+    public void firstVersionSavesLoadWithoutEffects() throws Exception {
+        GameSnapshot game = sampleGame(4, 3);
+        game.setEffectTick(9);
+        game.addEffect(0, 1, 2, new int[]{0, 3});
+        game.addCooldown(0, 1, 4);
+        assertEquals(1, SaveFile.read(new ByteArrayInputStream(toBytes(game))).effectCount());
+
+        byte[] bytes = toBytes(sampleGame(4, 3));
+        bytes[4] = 2;
+        //Version 1 is written as the zig-zag encoded byte 2, straight after the magic number
+        int end = bytes.length - 4 - 3;
+        //Version 2 adds the effect tick, and the numbers of events and cooldowns (all single bytes here) at the end
+        byte[] first = Arrays.copyOf(bytes, end + 4);
+        CRC32 crc = new CRC32();
+        crc.update(first, 0, end);
+        ByteBuffer.wrap(first, end, 4).putInt((int) crc.getValue());
+
+        GameSnapshot loaded = SaveFile.read(new ByteArrayInputStream(first));
+        assertEquals(0, loaded.effectCount());
+        assertEquals(0, loaded.cooldownCount());
+        assertSameGame(sampleGame(4, 3), loaded);
+    }
+
+    @Test
+    public void loadedOffersKeepTheirExpiry() {
+        TradeBook book = new TradeBook(3, 4);
+        Player seller = new Player(0);
+        Player buyer = new Player(1);
+        book.advanceTo(5);
+
+        Trade trade = new Trade(1, 0, 0, 10, seller, buyer);
+        assertTrue(book.offer(trade, 6));
+        assertEquals(6, trade.getExpiryTurn());
+        assertEquals(1, book.offersFor(buyer).size());
+
+        Trade stale = new Trade(0, 1, 0, 10, seller, buyer);
+        assertTrue(book.offer(stale, 100));
+        assertEquals(8, stale.getExpiryTurn());
+        //No offer can outlive the book's lifetime, whatever a save file says
+
+        book.advanceTo(6);
+        assertEquals(1, book.offersFor(buyer).size());
+        assertSame(stale, book.offersFor(buyer).get(0));
+    }
+}
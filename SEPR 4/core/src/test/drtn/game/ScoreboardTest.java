@@ -0,0 +1,131 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.effects.EffectProgram;
+import drtn.game.effects.EffectRunner;
+import drtn.game.effects.ProducerIndex;
+import drtn.game.effects.YieldLayer;
+import drtn.game.entity.Market;
+import drtn.game.entity.Player;
+import drtn.game.enums.ResourceType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScoreboardTest {
+
+    private static final ResourceType[] SCORED = {ResourceType.ORE, ResourceType.ENERGY, ResourceType.FOOD};
+
+    private Player[] players;
+    private Scoreboard scoreboard;
+
+    @Before
+    public void setUp() {
+        players = new Player[]{new Player(0), new Player(1), new Player(2), new Player(3)};
+        players[2].setResource(ResourceType.ORE, 20);
+        players[3].setResource(ResourceType.FOOD, 8);
+        scoreboard = new Scoreboard(players);
+    }
+
+    /**
+     * The scoreboard's standings must match those found by working out and sorting every player's score
+     */
+    private void assertMatchesScores() {
+        int leader = 0;
+        for (Player player : players) {
+            int p = player.getPlayerID();
+            assertEquals(player.calculateScore(), scoreboard.score(p));
+            assertEquals(p, scoreboard.player(scoreboard.rank(p)));
+
+            int above = 0;
+            for (Player other : players) {
+                if (other.calculateScore() > player.calculateScore()
+                        || (other.calculateScore() == player.calculateScore() && other.getPlayerID() < p)) {
+                    above++;
+                }
+            }
+            assertEquals(above, scoreboard.rank(p));
+
+            if (player.calculateScore() > players[leader].calculateScore()) {
+                leader = p;
+            }
+        }
+        assertEquals(leader, scoreboard.leader());
+    }
+
+    @Test
+    public void playersAreRankedByTheirStartingScores() {
+        assertEquals(2, scoreboard.leader());
+        assertEquals(1, scoreboard.rank(3));
+        assertEquals(2, scoreboard.rank(0));
+        assertEquals(3, scoreboard.rank(1));
+        //Players 0 and 1 are tied, so the lower ID goes first
+        assertMatchesScores();
+    }
+
+    @Test
+    public void changesToResourcesMovePlayers() {
+        players[1].varyResource(ResourceType.ENERGY, 30);
+        assertEquals(1, scoreboard.leader());
+        assertEquals(40, scoreboard.score(1));
+
+        players[1].setResource(ResourceType.ENERGY, 0);
+        assertEquals(3, scoreboard.rank(1));
+        assertMatchesScores();
+
+        int changes = scoreboard.changes();
+        players[0].varyResource(ResourceType.MONEY, 500);
+        players[0].increaseRoboticonInventory();
+        assertEquals(changes, scoreboard.changes());
+        //Money and roboticons don't count towards the score
+    }
+
+    @Test
+    public void tradesAndEventsAreFollowed() {
+        players[3].setResource(ResourceType.MONEY, 500);
+        new Trade(10, 0, 0, 50, players[2], players[3]).execute();
+        assertMatchesScores();
+
+        Market market = new Market();
+        market.buy(ResourceType.FOOD, 5, players[3]);
+        assertMatchesScores();
+
+        YieldLayer layer = new YieldLayer(0);
+        EffectProgram program = EffectProgram.compile("{events: [{name: Raid, target: player, op: set, ore: 0}]}");
+        new EffectRunner(program, layer, new ProducerIndex(layer, players.length), new Random(1)).run(0, players[2]);
+        assertEquals(0, scoreboard.rank(3));
+        assertMatchesScores();
+    }
+
+    /**
+     * Unlike sorting the players to find the winner, keeping the scoreboard must never reorder the players themselves
+     */
+    @Test
+    public void standingsFollowRandomChangesWithoutReorderingPlayers() {
+        Random random = new Random(50);
+        for (int step = 0; step < 2000; step++) {
+            Player player = players[random.nextInt(players.length)];
+            ResourceType type = SCORED[random.nextInt(SCORED.length)];
+            if (random.nextBoolean()) {
+                player.varyResource(type, random.nextInt(21) - 10);
+            } else {
+                player.setResource(type, random.nextInt(30));
+            }
+            assertMatchesScores();
+        }
+
+        for (int p = 0; p < players.length; p++) {
+            assertEquals(p, players[p].getPlayerID());
+        }
+    }
+}
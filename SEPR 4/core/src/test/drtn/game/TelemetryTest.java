@@ -0,0 +1,243 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.AiParameters;
+import drtn.game.save.GameSnapshot;
+import drtn.game.telemetry.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.*;
+
+public class TelemetryTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("telemetry", ".telemetry");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + ".tmp").delete();
+    }
+
+    /**
+     * A short game between two players, in which the second player wins after being hit by an event
+     */
+    private static GameRecord sampleGame(long seed, String event) {
+        GameRecord record = new GameRecord(seed, false, GameConfig.standard(), 2);
+        record.setPlayer(0, 1, false);
+        record.setPlayer(1, 4, true);
+
+        for (int turn = 1; turn <= 3; turn++) {
+            record.addTurn(turn, 0, 50 + turn, turn, 2 * turn, 3 * turn, 0);
+            record.addTurn(turn, 1, 60 + turn, turn, turn, turn, 1);
+            record.addPrices(turn, GameSnapshot.ORE, 15 + turn, 14 + turn, 16 - turn);
+            record.addPrices(turn, TelemetrySchema.ROBOTICON, 20, 0, 12 - turn);
+        }
+        record.addEvent(2, 1, event, 0.25f);
+        record.addTrade(2, 0, 1, 3, 0, 0, 40);
+        record.addCapture(3, 1, 50);
+        record.finish(3, 1, new int[]{90, 140});
+        return record;
+    }
+
+    @Test
+    public void gamesSurviveRoundTrip() throws IOException {
+        TelemetryStore store = TelemetryStore.open(file);
+        store.append(sampleGame(11, "Tornado"));
+        store.append(sampleGame(12, "Brexit"));
+        assertEquals(2, store.games());
+        store.close();
+
+        TelemetryReader reader = new TelemetryReader(file);
+        try {
+            assertEquals(2, reader.games());
+            assertEquals(1, reader.blocks().size());
+            TelemetryBlock block = reader.blocks().get(0);
+
+            long[] seeds = reader.read(block, TelemetrySchema.GAMES, "seed", null);
+            assertEquals(11, seeds[0]);
+            assertEquals(12, seeds[1]);
+            long[] startMoney = reader.read(block, TelemetrySchema.GAMES, "config.startMoney", null);
+            assertEquals(GameConfig.standard().get(GameConfig.START_MONEY), Double.longBitsToDouble(startMoney[1]),
+                    0);
+
+            assertEquals(4, block.rows(TelemetrySchema.PLAYERS));
+            long[] won = reader.read(block, TelemetrySchema.PLAYERS, "won", null);
+            long[] college = reader.read(block, TelemetrySchema.PLAYERS, "college", null);
+            assertArrayEquals(new long[]{0, 1, 0, 1}, won);
+            assertArrayEquals(new long[]{1, 4, 1, 4}, college);
+
+            assertEquals(12, block.rows(TelemetrySchema.TURNS));
+            long[] money = reader.read(block, TelemetrySchema.TURNS, "money", null);
+            assertEquals(63, money[5]);
+            assertEquals(51, block.min(TelemetrySchema.TURNS, "money"));
+            assertEquals(63, block.max(TelemetrySchema.TURNS, "money"));
+
+            long[] events = reader.read(block, TelemetrySchema.EVENTS, "event", null);
+            long[] eventGames = reader.read(block, TelemetrySchema.EVENTS, "game", null);
+            assertEquals("Tornado", block.eventName((int) events[0]));
+            assertEquals("Brexit", block.eventName((int) events[1]));
+            assertEquals(1, eventGames[1]);
+            long[] chances = reader.read(block, TelemetrySchema.EVENTS, "chance", null);
+            assertEquals(TelemetrySchema.CHANCE_SCALE / 4, chances[0]);
+
+            long[] price = reader.read(block, TelemetrySchema.TRADES, "price", null);
+            long[] reward = reader.read(block, TelemetrySchema.CAPTURES, "reward", null);
+            assertEquals(40, price[0]);
+            assertEquals(50, reward[1]);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unfinishedGameIsRefused() throws IOException {
+        TelemetryStore store = TelemetryStore.open(file);
+        try {
+            store.append(new GameRecord(1, false, GameConfig.standard(), 2));
+        } finally {
+            store.close();
+        }
+    }
+
+    /**
+     * A block that was only partly written when the game closed should be left out, and then cut off so that new games
+     * carry on from the last complete one
+     */
+    @Test
+    public void tornBlockIsDiscarded() throws IOException {
+        TelemetryStore store = TelemetryStore.open(file, 1);
+        store.append(sampleGame(1, "Tornado"));
+        store.append(sampleGame(2, "Tornado"));
+        store.close();
+
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        raw.setLength(raw.length() - 5);
+        raw.close();
+
+        TelemetryReader reader = new TelemetryReader(file);
+        assertEquals(1, reader.games());
+        reader.close();
+
+        store = TelemetryStore.open(file, 1);
+        store.append(sampleGame(3, "Tornado"));
+        store.close();
+
+        reader = new TelemetryReader(file);
+        try {
+            assertEquals(2, reader.games());
+            TelemetryBlock last = reader.blocks().get(1);
+            assertEquals(1, last.firstGame());
+            assertEquals(3, reader.read(last, TelemetrySchema.GAMES, "seed", null)[0]);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void corruptColumnIsRejected() throws IOException {
+        TelemetryStore store = TelemetryStore.open(file);
+        store.append(sampleGame(1, "Tornado"));
+        store.close();
+
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        raw.seek(raw.length() - 1);
+        int last = raw.read();
+        raw.seek(raw.length() - 1);
+        raw.write(last ^ 0x01);
+        raw.close();
+
+        TelemetryReader reader = new TelemetryReader(file);
+        try {
+            reader.read(reader.blocks().get(0), TelemetrySchema.CAPTURES, "reward", null);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void compactingMergesBlocks() throws IOException {
+        TelemetryStore store = TelemetryStore.open(file, 1);
+        for (int g = 0; g < 10; g++) {
+            store.append(sampleGame(g, (g % 2 == 0) ? "Tornado" : "Viking Raid"));
+        }
+        store.close();
+        long before = file.length();
+
+        TelemetryStore.compact(file, 4);
+
+        TelemetryReader reader = new TelemetryReader(file);
+        try {
+            assertEquals(10, reader.games());
+            assertEquals(3, reader.blocks().size());
+            assertTrue(file.length() < before);
+
+            TelemetryBlock block = reader.blocks().get(1);
+            assertEquals(4, block.firstGame());
+            long[] events = reader.read(block, TelemetrySchema.EVENTS, "event", null);
+            long[] games = reader.read(block, TelemetrySchema.EVENTS, "game", null);
+            for (int i = 0; i < block.rows(TelemetrySchema.EVENTS); i++) {
+                assertEquals((games[i] % 2 == 0) ? "Tornado" : "Viking Raid", block.eventName((int) events[i]));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void simulatedGameIsRecordedEveryTurn() {
+        GameRecord record = GameRecord.simulate(GameConfig.standard(), 5, AiParameters.defaults());
+
+        assertTrue(record.isFinished());
+        assertTrue(record.isSimulated());
+        assertTrue(record.turns() > 0);
+        assertEquals(record.playerCount() * (record.turns() + 1), record.rows(TelemetrySchema.TURNS));
+        assertEquals(4 * (record.turns() + 1), record.rows(TelemetrySchema.PRICES));
+        for (int p = 0; p < record.playerCount(); p++) {
+            assertTrue(record.getScore(record.winner()) >= record.getScore(p));
+        }
+    }
+
+    @Test
+    public void queriesAggregateEveryBlock() throws IOException {
+        TelemetryStore store = TelemetryStore.open(file, 3);
+        for (int g = 0; g < 8; g++) {
+            store.append(sampleGame(g, "Tornado"));
+        }
+        store.close();
+
+        TelemetryReader reader = new TelemetryReader(file);
+        try {
+            String winRate = TelemetryTool.winRate(reader);
+            assertTrue(winRate, winRate.matches("(?s).*Wentworth\\s+8\\s+8\\s+100\\.0%.*"));
+            assertTrue(winRate, winRate.matches("(?s).*Langwith\\s+8\\s+0\\s+0\\.0%.*"));
+
+            String events = TelemetryTool.eventImpact(reader);
+            assertTrue(events, events.matches("(?s).*Tornado\\s+8\\s+25\\.0%\\s+\\+25\\.0\\s+100\\.0%.*"));
+
+            String prices = TelemetryTool.prices(reader);
+            assertTrue(prices, prices.matches("(?s).*ore buy\\s+24\\s+17\\.0\\s+16\\s+16\\s+17\\s+18\\s+18.*"));
+            assertTrue(TelemetryTool.summary(reader).startsWith("8 games (0 simulated) in 3 blocks"));
+        } finally {
+            reader.close();
+        }
+    }
+}
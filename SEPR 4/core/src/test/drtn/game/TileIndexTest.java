@@ -0,0 +1,112 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TileIndexTest {
+
+    /**
+     * Claimed tiles should drop out of the index, and the index should be full once every tile is claimed
+     */
+    @Test
+    public void claimsTakeTilesOutOfTheRunning() {
+        TileIndex index = new TileIndex(4, 2);
+        index.setYields(0, 1, 1, 1);
+        index.setYields(1, 9, 9, 9);
+        index.setYields(2, 5, 5, 5);
+        index.setYields(3, 2, 2, 2);
+
+        assertEquals(1, index.best());
+        assertTrue(index.claim(1));
+        assertFalse(index.claim(1));
+        assertFalse(index.isFree(1));
+        assertEquals(2, index.best());
+        assertEquals(3, index.freeCount());
+        assertEquals(0, index.nextFree(0));
+        assertEquals(2, index.nextFree(1));
+
+        index.claim(0);
+        index.claim(2);
+        assertFalse(index.isFull());
+        index.claim(3);
+
+        assertTrue(index.isFull());
+        assertEquals(-1, index.best());
+        assertEquals(-1, index.nextFree(0));
+    }
+
+    /**
+     * A tile's value should be its own yields plus a share of its neighbours' average yields
+     */
+    @Test
+    public void valuesIncludeNeighbours() {
+        TileIndex index = new TileIndex(6, 3);
+        index.setYields(1, 3, 3, 3);
+        index.setYields(4, 10, 0, 2);
+
+        assertEquals(9 + TileIndex.ADJACENCY_WEIGHT * 12 / 3, index.value(1), 1e-9);
+        assertEquals(TileIndex.ADJACENCY_WEIGHT * 9 / 2, index.value(0), 1e-9);
+        assertEquals(TileIndex.ADJACENCY_WEIGHT * 12 / 2, index.value(5), 1e-9);
+        assertEquals(4, index.best());
+    }
+
+    /**
+     * Under any mix of claims and yield changes, the index should agree with a search over every tile
+     */
+    @Test
+    public void agreesWithExhaustiveSearch() {
+        Random rnd = new Random(34);
+        TileIndex index = new TileIndex(48, 6);
+        boolean[] claimed = new boolean[48];
+        int[] top = new int[5];
+
+        for (int t = 0; t < 48; t++) {
+            index.setYields(t, rnd.nextInt(10), rnd.nextInt(10), rnd.nextInt(10));
+        }
+
+        for (int step = 0; step < 2000 && !index.isFull(); step++) {
+            int tile = rnd.nextInt(48);
+            if (rnd.nextInt(4) == 0) {
+                assertEquals(!claimed[tile], index.claim(tile));
+                claimed[tile] = true;
+            } else {
+                index.setYields(tile, rnd.nextInt(10), rnd.nextInt(10), rnd.nextInt(10));
+            }
+
+            int n = index.best(top);
+            boolean[] listed = new boolean[48];
+            for (int i = 0; i < n; i++) {
+                assertFalse(claimed[top[i]]);
+                assertFalse(listed[top[i]]);
+                listed[top[i]] = true;
+                if (i > 0) {
+                    assertTrue(index.value(top[i - 1]) >= index.value(top[i]));
+                }
+            }
+
+            int free = 0;
+            for (int t = 0; t < 48; t++) {
+                if (!claimed[t]) {
+                    free++;
+                    if (!listed[t] && n > 0) {
+                        assertTrue(index.value(t) <= index.value(top[n - 1]));
+                    }
+                }
+            }
+            assertEquals(free, index.freeCount());
+            assertEquals(Math.min(free, top.length), n);
+            assertEquals(n == 0 ? -1 : top[0], index.best());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.ai.SimState;
+import drtn.game.enums.ResourceType;
+import drtn.game.pricing.InverseStockPricing;
+import drtn.game.pricing.PriceTable;
+import drtn.game.replay.HeadlessReplayer;
+import drtn.game.replay.InputEvent;
+import drtn.game.replay.InputRecorder;
+import drtn.game.replay.Recording;
+import drtn.game.rewind.GameFrame;
+import drtn.game.rewind.PersistentIntArray;
+import drtn.game.rewind.Timeline;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TimelineTest {
+
+    private static final int PLAYERS = 2;
+    private static final int TILES = 16;
+
+    /**
+     * A frame part-way through a game, with both players holding things and the market stocked
+     */
+    private static GameFrame sampleFrame() {
+        GameFrame.Editor editor = GameFrame.empty(PLAYERS, TILES).edit();
+        editor.setPosition(5, 1, 3, 4, false);
+        editor.setPlayer(0, 120, 3, 4, 5, 1);
+        editor.setPlayer(1, 80, 6, 7, 8, 0);
+        for (int t = 0; t < TILES; t++) {
+            editor.setTile(t, (t < 4) ? t % PLAYERS : GameFrame.NO_OWNER, t % 5, (t + 1) % 5, (t + 2) % 5);
+        }
+        editor.setRoboticon(2, 3, 2, 0, 1);
+        editor.setMarket(GameFrame.ORE, 16, 15, 14);
+        editor.setMarket(GameFrame.ENERGY, 12, 18, 17);
+        editor.setMarket(GameFrame.FOOD, 20, 12, 11);
+        editor.setMarket(GameFrame.ROBOTICON, 10, 20, 0);
+        return editor.done(InputEvent.END_PHASE, 0, 5);
+    }
+
+    @Test
+    public void settingLeavesOldArrayAlone() {
+        PersistentIntArray original = PersistentIntArray.filled(1000, 7);
+        PersistentIntArray changed = original.set(999, 3).set(0, 1);
+
+        assertEquals(7, original.get(999));
+        assertEquals(7, original.get(0));
+        assertEquals(3, changed.get(999));
+        assertEquals(1, changed.get(0));
+        assertEquals(7, changed.get(500));
+        assertSame(original, original.set(10, 7));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void indexOutsideArrayIsRejected() {
+        PersistentIntArray.filled(10, 0).get(10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void finishedEditorCantBeUsed() {
+        PersistentIntArray.Editor editor = PersistentIntArray.filled(10, 0).edit();
+        editor.done();
+        editor.set(0, 1);
+    }
+
+    /**
+     * Changing many values in the same leaf through one editor should only copy the nodes on the way to it once
+     */
+    @Test
+    public void editorCopiesEachNodeOnce() {
+        PersistentIntArray original = PersistentIntArray.filled(1024, 0);
+        PersistentIntArray.Editor editor = original.edit();
+        for (int i = 0; i < PersistentIntArray.WIDTH; i++) {
+            editor.set(i, i + 1);
+        }
+        PersistentIntArray changed = editor.done();
+
+        int before = PersistentIntArray.countNodes(Arrays.asList(original));
+        int both = PersistentIntArray.countNodes(Arrays.asList(original, changed));
+        assertEquals(2, both - before);
+        //A new root and a new leaf
+    }
+
+    /**
+     * Hundreds of frames which each change one tile should cost little more than the first frame
+     */
+    @Test
+    public void framesShareWhatDidntChange() {
+        Timeline timeline = new Timeline(1000);
+        timeline.add(sampleFrame());
+        long oneFrame = timeline.retainedBytes();
+
+        for (int i = 0; i < 500; i++) {
+            GameFrame.Editor editor = timeline.next(PLAYERS, TILES);
+            editor.setTile(i % TILES, 0, i, i, i);
+            timeline.add(editor.done(InputEvent.CLAIM_TILE, 0, i % TILES));
+        }
+
+        long perFrame = (timeline.retainedBytes() - oneFrame) / 500;
+        assertTrue("Each frame took " + perFrame + " bytes", perFrame <= 2 * PersistentIntArray.NODE_BYTES + 96);
+        //A new root and leaf for the tiles, and the frame itself
+        assertEquals(1, timeline.get(0).getYield(0, GameFrame.ENERGY));
+        assertEquals(499, timeline.head().getYield(499 % TILES, GameFrame.FOOD));
+    }
+
+    @Test
+    public void unchangedMarketIsShared() {
+        Timeline timeline = new Timeline();
+        timeline.add(sampleFrame());
+
+        GameFrame.Editor editor = timeline.next(PLAYERS, TILES);
+        editor.setMarket(GameFrame.ORE, 16, 15, 14);
+        editor.setPlayer(0, 100, 3, 4, 5, 1);
+        timeline.add(editor.done(InputEvent.MARKET_BUY, 0, 0));
+
+        editor = timeline.next(PLAYERS, TILES);
+        editor.setMarket(GameFrame.ORE, 15, 16, 15);
+        timeline.add(editor.done(InputEvent.MARKET_BUY, 0, 0));
+
+        long twoMarkets = timeline.retainedBytes();
+        assertEquals(16, timeline.get(1).getStock(GameFrame.ORE));
+        assertEquals(15, timeline.head().getStock(GameFrame.ORE));
+        assertEquals(16, timeline.head().getBuyPrice(GameFrame.ORE));
+        assertEquals(100, timeline.head().getMoney(0));
+
+        timeline.undo();
+        assertTrue(timeline.retainedBytes() < twoMarkets);
+    }
+
+    @Test
+    public void fullTimelineForgetsOldestFrame() {
+        Timeline timeline = new Timeline(3);
+        for (int i = 0; i < 5; i++) {
+            GameFrame.Editor editor = timeline.next(PLAYERS, TILES);
+            editor.setPlayer(0, i, 0, 0, 0, 0);
+            timeline.add(editor.done(InputEvent.MARKET_SELL, 0, i));
+        }
+
+        assertEquals(3, timeline.size());
+        assertEquals(2, timeline.get(0).getMoney(0));
+        assertEquals(4, timeline.head().getMoney(0));
+    }
+
+    @Test
+    public void undoGoesBackOneFrame() {
+        Timeline timeline = new Timeline();
+        assertNull(timeline.undo());
+
+        timeline.add(sampleFrame());
+        assertNull(timeline.undo());
+        assertEquals(1, timeline.size());
+
+        GameFrame.Editor editor = timeline.next(PLAYERS, TILES);
+        editor.setPlayer(0, 60, 3, 4, 5, 4);
+        timeline.add(editor.done(InputEvent.BUY_ROBOTICONS, 0, 3));
+
+        GameFrame previous = timeline.undo();
+        assertEquals(120, previous.getMoney(0));
+        assertEquals(1, previous.getRoboticons(0));
+        assertSame(previous, timeline.head());
+        assertEquals(1, timeline.size());
+    }
+
+    @Test
+    public void frameBranchesIntoHeadlessGame() {
+        GameFrame frame = sampleFrame();
+        SimState state = frame.toSimState(new PriceTable(new InverseStockPricing()), 5, 20);
+
+        assertEquals(5, state.getPhase());
+        assertEquals(1, state.getCurrentPlayer());
+        assertEquals(3, state.getTurn());
+        assertEquals(120, state.getMoney(0));
+        assertEquals(8, state.getResource(1, SimState.FOOD));
+        assertEquals(1, state.getRoboticons(0));
+        assertEquals(0, state.getOwner(2));
+        assertEquals(SimState.NO_OWNER, state.getOwner(4));
+        assertEquals(2, state.getLevel(2, SimState.ORE));
+        assertEquals(1, state.getLevel(2, SimState.FOOD));
+        assertEquals(12, state.getStock(SimState.ENERGY));
+        assertEquals(17, state.getSellPrice(SimState.ENERGY));
+        assertEquals(10, state.getRoboticonStock());
+        assertEquals(20, state.getUpgradeCostPerLevel());
+    }
+
+    /**
+     * Each undo cancels the most recent input that hasn't already been undone, as long as nothing else came between
+     */
+    @Test
+    public void undoneInputsArePaired() {
+        SimState start = sampleFrame().toSimState(new PriceTable(new InverseStockPricing()), 5, 20);
+        int buy = InputEvent.trade(ResourceType.ORE, 2);
+
+        InputRecorder recorder = new InputRecorder(1, start);
+        recorder.record(0, 1, InputEvent.MARKET_BUY, buy);
+        recorder.record(1, 1, InputEvent.MARKET_BUY, buy);
+        recorder.record(2, 1, InputEvent.UNDO, InputEvent.MARKET_BUY);
+        recorder.record(3, 1, InputEvent.UNDO, InputEvent.MARKET_BUY);
+        recorder.record(4, 1, InputEvent.MARKET_BUY, buy);
+        recorder.record(5, 1, InputEvent.END_PHASE, 5);
+        recorder.record(6, 0, InputEvent.UNDO, InputEvent.MARKET_BUY);
+        //Nothing is left to undo after the phase has ended
+        Recording recording = recorder.finish(Recording.NO_FINGERPRINT);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(recording.isUndone(i));
+        }
+        assertFalse(recording.isUndone(4));
+        assertFalse(recording.isUndone(5));
+        assertTrue(recording.isUndone(6));
+
+        recorder = new InputRecorder(1, start);
+        recorder.record(0, 1, InputEvent.MARKET_BUY, buy);
+        recorder.record(1, 1, InputEvent.UNDO, InputEvent.MARKET_BUY);
+        recorder.record(2, 1, InputEvent.MARKET_BUY, buy);
+        SimState replayed = HeadlessReplayer.replay(recorder.finish(Recording.NO_FINGERPRINT));
+
+        SimState once = new SimState(start);
+        once.perform(InputEvent.toAction(InputEvent.MARKET_BUY, buy));
+        assertEquals(once.getResource(1, SimState.ORE), replayed.getResource(1, SimState.ORE));
+        assertEquals(once.getMoney(1), replayed.getMoney(1));
+        assertTrue(replayed.getMoney(1) < start.getMoney(1));
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.entity.Player;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TradeBookTest {
+
+    private Player player1;
+    private Player player2;
+    private Player player3;
+    private TradeBook book;
+
+    @Before
+    public void setup() {
+        player1 = new Player(0);
+        player2 = new Player(1);
+        player3 = new Player(2);
+        book = new TradeBook(2, 2);
+    }
+
+    /**
+     * Offers should be queued separately for each respondent and handed out oldest-first
+     */
+    @Test
+    public void offersAreQueuedPerRespondent() {
+        Trade first = new Trade(1, 0, 0, 10, player1, player2);
+        Trade second = new Trade(0, 1, 0, 10, player3, player2);
+        Trade other = new Trade(0, 0, 1, 10, player2, player3);
+
+        assertTrue(book.offer(first));
+        assertTrue(book.offer(second));
+        assertTrue(book.offer(other));
+
+        assertEquals(2, book.pendingFor(player2));
+        assertEquals(1, book.pendingFor(player3));
+        assertEquals(0, book.pendingFor(player1));
+
+        assertSame(first, book.poll(player2));
+        assertSame(second, book.poll(player2));
+        assertNull(book.poll(player2));
+        assertSame(other, book.poll(player3));
+        assertEquals(0, book.size());
+    }
+
+    /**
+     * A player should be able to have several offers open with the same respondent, up to the book's limit
+     */
+    @Test
+    public void multipleOffersPerPairAreLimited() {
+        assertTrue(book.offer(new Trade(1, 0, 0, 10, player1, player2)));
+        assertTrue(book.offer(new Trade(2, 0, 0, 20, player1, player2)));
+        assertFalse(book.canOffer(player1, player2));
+        assertFalse(book.offer(new Trade(3, 0, 0, 30, player1, player2)));
+
+        assertTrue(book.canOffer(player3, player2));
+        assertEquals(2, book.pendingBetween(player1, player2));
+
+        book.poll(player2);
+        assertTrue(book.canOffer(player1, player2));
+    }
+
+    /**
+     * Offers should be withdrawn once their lifetime has run out, and not before
+     */
+    @Test
+    public void offersExpire() {
+        Trade early = new Trade(1, 0, 0, 10, player1, player2);
+        book.offer(early);
+
+        book.advanceTo(1);
+        Trade late = new Trade(2, 0, 0, 10, player1, player2);
+        book.offer(late);
+        assertTrue(book.isPending(early));
+
+        assertEquals(1, book.advanceTo(2));
+        assertFalse(book.isPending(early));
+        assertTrue(book.isPending(late));
+        assertEquals(1, book.pendingBetween(player1, player2));
+
+        assertEquals(1, book.advanceTo(10));
+        assertEquals(0, book.size());
+    }
+
+    /**
+     * Offers removed before they expire should not be counted as expired
+     */
+    @Test
+    public void removedOffersDoNotExpire() {
+        Trade trade = new Trade(1, 0, 0, 10, player1, player2);
+        book.offer(trade);
+        assertTrue(book.remove(trade));
+        assertFalse(book.remove(trade));
+
+        assertEquals(0, book.advanceTo(5));
+    }
+
+    /**
+     * Counter-offers should replace the original offer, be sent back to the original proposer and link back to the
+     * offer that they counter
+     */
+    @Test
+    public void counterOffersLinkToOriginal() {
+        Trade original = new Trade(5, 0, 0, 100, player1, player2);
+        book.offer(original);
+
+        Trade counter = book.counter(original, 5, 0, 0, 60);
+        assertNotNull(counter);
+        assertSame(original, counter.getOriginal());
+        assertTrue(counter.isCounterOffer());
+        assertSame(player1, counter.getRespondent());
+        assertSame(player2, counter.getProposer());
+        assertSame(player1, counter.getSender());
+
+        assertFalse(book.isPending(original));
+        assertSame(counter, book.peek(player1));
+        assertNull(book.peek(player2));
+
+        Trade reply = book.counter(counter, 5, 0, 0, 80);
+        assertSame(player2, reply.getRespondent());
+        assertSame(counter, reply.getOriginal());
+        assertEquals(80, reply.getPrice());
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * @author DRTN
+ * Team Website with download:
+ * https://nicopinedo.github.io/SEPR4/
+ *
+ * This Class contains either modifications or is entirely new in Assessment 4
+ **/
+
+package drtn.game;
+
+import drtn.game.effects.YieldLayer;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class YieldLayerTest {
+
+    private YieldLayer layer;
+
+    @Before
+    public void setUp() {
+        layer = new YieldLayer(2);
+        for (int t = 0; t < 2; t++) {
+            layer.setBase(t, YieldLayer.ORE, 10);
+            layer.setBase(t, YieldLayer.ENERGY, 20);
+            layer.setBase(t, YieldLayer.FOOD, 30);
+        }
+    }
+
+    private int add(int t, float ore, float energy, float food, float oreOffset, float energyOffset, float foodOffset) {
+        return layer.add(t, new float[]{ore, energy, food}, new float[]{oreOffset, energyOffset, foodOffset}, 0);
+    }
+
+    @Test
+    public void modifiersApplyInTheOrderThatTheyWereAdded() {
+        add(0, 1, 1, 1, 5, 0, 0);
+        add(0, 2, 1, 1, 0, 0, 0);
+        add(0, 1, 0, 1, 0, 7, 0);
+        //Add 5 ore, then double it, then override energy with 7
+
+        assertEquals(30, layer.get(0, YieldLayer.ORE));
+        assertEquals(7, layer.get(0, YieldLayer.ENERGY));
+        assertEquals(30, layer.get(0, YieldLayer.FOOD));
+        assertEquals(10, layer.get(1, YieldLayer.ORE));
+        assertEquals(10, layer.getBase(0, YieldLayer.ORE));
+    }
+
+    /**
+     * Removing a modifier from the middle of a tile's list must leave the others in force, in the same order
+     */
+    @Test
+    public void removingAModifierOnlyUndoesThatModifier() {
+        int add = add(0, 1, 1, 1, 5, 0, 0);
+        int twice = add(0, 2, 1, 1, 0, 0, 0);
+        int more = add(0, 1, 1, 1, 1, 0, 0);
+        assertEquals(31, layer.get(0, YieldLayer.ORE));
+
+        layer.remove(twice);
+        assertEquals(16, layer.get(0, YieldLayer.ORE));
+        assertEquals(2, layer.modifierCount());
+
+        layer.remove(add);
+        layer.remove(more);
+        assertEquals(10, layer.get(0, YieldLayer.ORE));
+        assertFalse(layer.isModified(0));
+    }
+
+    @Test
+    public void baseYieldsCanChangeUnderModifiers() {
+        add(1, 1, 1, 0.5f, 0, 0, 0);
+        assertEquals(15, layer.get(1, YieldLayer.FOOD));
+
+        layer.setBase(1, YieldLayer.FOOD, 8);
+        assertEquals(4, layer.get(1, YieldLayer.FOOD));
+    }
+
+    @Test
+    public void yieldsStopAtZero() {
+        add(0, 1, 1, 1, -15, 0, 0);
+        add(0, 1, 1, 1, 3, 0, 0);
+        assertEquals(3, layer.get(0, YieldLayer.ORE));
+    }
+
+    @Test
+    public void removedSlotsAreReused() {
+        for (int i = 0; i < 1000; i++) {
+            layer.remove(add(i % 2, 1, 1, 1, 1, 1, 1));
+        }
+        int handle = add(0, 1, 1, 1, 1, 1, 1);
+
+        assertTrue(handle < 16);
+        assertEquals(1, layer.modifierCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void modifiersCannotBeRemovedTwice() {
+        int handle = add(0, 1, 1, 1, 1, 1, 1);
+        layer.remove(handle);
+        layer.remove(handle);
+    }
+}